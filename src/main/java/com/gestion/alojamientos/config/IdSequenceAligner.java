@@ -0,0 +1,60 @@
+package com.gestion.alojamientos.config;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ajusta las secuencias de IDs a los datos existentes.
+ * Las tablas de alto volumen pasaron de AUTO_INCREMENT (IDENTITY) a secuencias pooled-lo
+ * para que Hibernate pueda agrupar los INSERT en lotes JDBC. Hibernate crea las secuencias
+ * empezando en 1, así que en una base con datos previos se adelantan hasta MAX(id) + 1
+ * antes de que la aplicación acepte peticiones.
+ */
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    /**
+     * Tabla -> secuencia, igual que los @SequenceGenerator de las entidades.
+     */
+    static final Map<String, String> SEQUENCES = Map.of(
+            "booking", "booking_seq",
+            "detail_booking", "detail_booking_seq",
+            "voucher", "voucher_seq",
+            "detail_voucher", "detail_voucher_seq",
+            "message", "message_seq",
+            "notification", "notification_seq",
+            "transaction", "transaction_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // El EntityManagerFactory se inyecta para ejecutar después de que Hibernate cree las secuencias
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((table, sequence) -> {
+            try {
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM `" + table + "`", Long.class);
+                Long next = jdbcTemplate.queryForObject("SELECT next_not_cached_value FROM " + sequence, Long.class);
+                if (maxId != null && next != null && next <= maxId) {
+                    jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+                    log.info("Secuencia {} ajustada a {} (MAX(id) de {} = {})", sequence, maxId + 1, table, maxId);
+                }
+            } catch (Exception e) {
+                log.warn("No se pudo verificar la secuencia {} de la tabla {}: {}", sequence, table, e.getMessage());
+            }
+        });
+    }
+}
@@ -1,6 +1,9 @@
 package com.gestion.alojamientos.config;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -15,14 +18,24 @@ public class MapboxConfig {
     @Value("${mapbox.api.key}")
     private String mapboxApiKey;
 
+    @Value("${mapbox.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${mapbox.read-timeout-ms:3000}")
+    private long readTimeoutMs;
+
     /**
      * Bean para RestTemplate que se utilizará para hacer llamadas HTTP a la API de Mapbox.
+     * Los timeouts evitan que una petición del usuario quede bloqueada si Mapbox no responde.
      * 
      * @return RestTemplate configurado
      */
     @Bean
-    public RestTemplate mapboxRestTemplate() {
-        return new RestTemplate();
+    public RestTemplate mapboxRestTemplate(RestTemplateBuilder builder) {
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
     }
 
     /**
@@ -0,0 +1,69 @@
+package com.gestion.alojamientos.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Prepara la columna espacial de ubication.
+ * ddl-auto=update crea la columna coordinates como POINT nullable; aquí se rellena en las filas
+ * existentes (por bloques, para no bloquear la tabla en una sola transacción), se pasa a NOT NULL
+ * y se crea el índice SPATIAL que usan las búsquedas por radio. Cada paso comprueba el estado
+ * actual, así que ejecutarlo en cada arranque es inocuo.
+ */
+@Component
+public class UbicationSpatialMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(UbicationSpatialMigration.class);
+
+    static final String INDEX_NAME = "idx_ubication_coordinates";
+    static final int BACKFILL_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // El EntityManagerFactory se inyecta para ejecutar después de que Hibernate cree la columna
+    public UbicationSpatialMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        try {
+            long backfilled = 0;
+            int updated;
+            do {
+                updated = jdbcTemplate.update(
+                        "UPDATE ubication SET coordinates = "
+                        + "IF(latitud IS NULL OR longitud IS NULL, POINT(0, 0), POINT(longitud, latitud)) "
+                        + "WHERE coordinates IS NULL LIMIT " + BACKFILL_BATCH_SIZE);
+                backfilled += updated;
+            } while (updated == BACKFILL_BATCH_SIZE);
+            if (backfilled > 0) {
+                log.info("Columna ubication.coordinates rellenada en {} filas", backfilled);
+            }
+
+            String nullable = jdbcTemplate.queryForObject(
+                    "SELECT IS_NULLABLE FROM information_schema.COLUMNS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'ubication' AND COLUMN_NAME = 'coordinates'",
+                    String.class);
+            if ("YES".equals(nullable)) {
+                jdbcTemplate.execute("ALTER TABLE ubication MODIFY coordinates POINT NOT NULL");
+            }
+
+            Integer indexes = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.STATISTICS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'ubication' AND INDEX_NAME = ?",
+                    Integer.class, INDEX_NAME);
+            if (indexes == null || indexes == 0) {
+                jdbcTemplate.execute("CREATE SPATIAL INDEX " + INDEX_NAME + " ON ubication (coordinates)");
+                log.info("Índice SPATIAL {} creado en ubication", INDEX_NAME);
+            }
+        } catch (Exception e) {
+            log.warn("No se pudo preparar la columna espacial de ubication: {}", e.getMessage());
+        }
+    }
+}
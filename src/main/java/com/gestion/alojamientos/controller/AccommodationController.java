@@ -12,17 +12,29 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
 import org.springframework.beans.factory.annotation.Autowired;
 // IMPORTACIONES DE SPRING
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.gestion.alojamientos.dto.accommodation.AccommodationCreateDTO;
 import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationPricingDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationSearchDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationSearchPageDTO;
 import com.gestion.alojamientos.dto.accommodation.AccommodationUpdateDTO;
 import com.gestion.alojamientos.dto.accommodation.DeleteAccommodationDTO;
+import com.gestion.alojamientos.security.AuthenticatedUser;
 import com.gestion.alojamientos.service.AccomodationService;
+import com.gestion.alojamientos.service.QuoteService;
 
+import jakarta.persistence.EntityNotFoundException;
+
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/accommodations")
 @Tag(name = "Accommodations", description = "Endpoints para la gestión de alojamientos. Incluye búsqueda pública y operaciones de creación, actualización y eliminación lógica para anfitriones (ROLE_HOST) con autenticación JWT. Integra Mapbox para ubicaciones y soporta hasta 10 imágenes por alojamiento.")
@@ -31,35 +43,50 @@ public class AccommodationController {
     @Autowired
     private AccomodationService accommodationService;
 
+    @Autowired
+    private QuoteService quoteService;
+
    // ENDPOINT: GET /api/accommodations
-//    @GetMapping
-//    @Operation(
-//        summary = "Buscar alojamientos disponibles",
-//        description = "Consulta alojamientos disponibles filtrando por ciudad, fechas de disponibilidad, precio máximo y paginación. Utiliza Mapbox para geolocalización y valida disponibilidad contra reservas existentes. Filtros opcionales para flexibilidad de búsqueda."
-//    )
-//    @ApiResponses(value = {
-//        @ApiResponse(responseCode = "200", description = "Lista paginada de alojamientos disponibles recuperada exitosamente.",
-//            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccommodationDTO.class))),
-//        @ApiResponse(responseCode = "400", description = "Parámetros inválidos (e.g., fechas inconsistentes, precio negativo)."),
-//        @ApiResponse(responseCode = "500", description = "Error interno del servidor durante la consulta o integración con Mapbox.")
-//    })
-//    public ResponseEntity<List<AccommodationDTO>> searchAccommodations(
-//        @Parameter(description = "Ciudad para filtrar alojamientos (e.g., Madrid). Opcional.", required = false, example = "Madrid")
-//        @RequestParam(required = false) String city,
-//        @Parameter(description = "Fecha de inicio de disponibilidad (formato YYYY-MM-DD). Opcional.", required = false, example = "2025-10-01")
-//        @RequestParam(required = false) String startDate,
-//        @Parameter(description = "Fecha de fin de disponibilidad (formato YYYY-MM-DD). Opcional.", required = false, example = "2025-10-10")
-//        @RequestParam(required = false) String endDate,
-//        @Parameter(description = "Precio máximo por noche (en USD). Opcional.", required = false, example = "100.0")
-//        @RequestParam(required = false) Double maxPrice,
-//        @Parameter(description = "Número de página (0-based) para paginación.", required = false, example = "0")
-//        @RequestParam(defaultValue = "0") int page,
-//        @Parameter(description = "Tamaño de la página (máximo 10 por requerimientos de usabilidad).", required = false, example = "10")
-//        @RequestParam(defaultValue = "10") int size
-//    ) {
-//        // Lógica placeholder (en implementación real: consultar DB con filtros, integrar Mapbox, paginar)
-//        return ResponseEntity.ok(List.of(new AccommodationDTO()));
-//    }
+   @GetMapping
+   @Operation(
+       summary = "Buscar alojamientos disponibles",
+       description = "Consulta alojamientos aprobados y activos filtrando por ciudad, tipo, capacidad mínima, servicios y disponibilidad entre checkIn y checkOut. " +
+                     "La paginación es por cursor: la primera página se pide sin cursor y las siguientes enviando el **nextCursor** de la respuesta anterior."
+   )
+   @ApiResponses(value = {
+       @ApiResponse(responseCode = "200", description = "Página de alojamientos disponibles recuperada exitosamente.",
+           content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccommodationSearchPageDTO.class))),
+       @ApiResponse(responseCode = "400", description = "Parámetros inválidos (e.g., fechas inconsistentes, ciudad o tipo desconocidos, tamaño de página fuera de rango)."),
+       @ApiResponse(responseCode = "500", description = "Error interno del servidor durante la consulta.")
+   })
+   public ResponseEntity<AccommodationSearchPageDTO> searchAccommodations(
+       @Parameter(description = "Ciudad para filtrar alojamientos. Opcional.", required = false, example = "SALENTO")
+       @RequestParam(required = false) String city,
+       @Parameter(description = "Tipo de alojamiento. Opcional.", required = false, example = "HOUSE")
+       @RequestParam(required = false) String type,
+       @Parameter(description = "Capacidad mínima de huéspedes. Opcional.", required = false, example = "4")
+       @RequestParam(required = false) Integer minGuests,
+       @Parameter(description = "IDs de servicios que el alojamiento debe ofrecer (todos). Opcional.", required = false, example = "1,3")
+       @RequestParam(required = false) List<Long> services,
+       @Parameter(description = "Fecha de entrada (formato YYYY-MM-DD). Opcional, requiere checkOut.", required = false, example = "2025-10-01")
+       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+       @Parameter(description = "Fecha de salida (formato YYYY-MM-DD). Opcional, requiere checkIn.", required = false, example = "2025-10-10")
+       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+       @Parameter(description = "Cursor devuelto en nextCursor por la página anterior. Omitir en la primera página.", required = false, example = "120")
+       @RequestParam(required = false) Long cursor,
+       @Parameter(description = "Tamaño de la página (máximo 50).", required = false, example = "10")
+       @RequestParam(defaultValue = "10") int size
+   ) {
+       try {
+           AccommodationSearchDTO searchDTO = new AccommodationSearchDTO(city, type, minGuests, services, checkIn, checkOut, cursor, size);
+           return ResponseEntity.ok(accommodationService.searchAccommodations(searchDTO));
+       } catch (IllegalArgumentException e) {
+           return ResponseEntity.badRequest().body(null);
+       } catch (Exception e) {
+           e.printStackTrace();
+           return ResponseEntity.status(500).body(null);
+       }
+   }
 
    // ENDPOINT: POST /api/accommodations
    @PostMapping("/new")
@@ -154,6 +181,44 @@ public class AccommodationController {
        return ResponseEntity.ok(accommodation);
    }
 
+   // ENDPOINT: PUT /api/accommodations/{id}/pricing
+   @PutMapping("/{id}/pricing")
+   @PreAuthorize("hasRole('ROLE_HOST')")
+   @SecurityRequirement(name = "bearerAuth")
+   @Operation(
+       summary = "Configurar la tarifa de un alojamiento",
+       description = "Define el precio base por noche, los descuentos por estadía semanal (7+ noches) y mensual (28+ noches) y las temporadas de precio. " +
+                     "Reemplaza todas las temporadas existentes; las cotizaciones se recalculan a partir del siguiente request."
+   )
+   @ApiResponses(value = {
+       @ApiResponse(responseCode = "204", description = "Tarifa actualizada exitosamente."),
+       @ApiResponse(responseCode = "400", description = "Tarifa inválida (precio no positivo, descuentos fuera de rango o temporadas inconsistentes)."),
+       @ApiResponse(responseCode = "401", description = "Usuario no autenticado o token JWT inválido."),
+       @ApiResponse(responseCode = "403", description = "No autorizado: el usuario no es anfitrión o no es el propietario."),
+       @ApiResponse(responseCode = "404", description = "Alojamiento no encontrado por ID."),
+       @ApiResponse(responseCode = "500", description = "Error interno durante la actualización.")
+   })
+   public ResponseEntity<Void> updatePricing(
+       @Parameter(description = "ID del alojamiento.", required = true, example = "1")
+       @PathVariable Long id,
+       @Parameter(description = "DTO con el precio base, descuentos y temporadas.", required = true)
+       @RequestBody AccommodationPricingDTO dto
+   ) {
+       try {
+           quoteService.updatePricing(id, AuthenticatedUser.id(), dto);
+       } catch (AccessDeniedException e) {
+           return ResponseEntity.status(403).build();
+       } catch (IllegalArgumentException e) {
+           return ResponseEntity.badRequest().build();
+       } catch (EntityNotFoundException e) {
+           return ResponseEntity.status(404).build();
+       } catch (Exception e) {
+           e.printStackTrace();
+           return ResponseEntity.status(500).build();
+       }
+       return ResponseEntity.noContent().build();
+   }
+
    // ENDPOINT: DELETE /api/accommodations/{id}
    @DeleteMapping("/{id}")
    @PreAuthorize("hasRole('ROLE_HOST')")
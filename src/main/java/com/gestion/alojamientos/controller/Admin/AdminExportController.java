@@ -0,0 +1,107 @@
+package com.gestion.alojamientos.controller.Admin;
+
+import com.gestion.alojamientos.dto.admin.BulkExportReportDTO;
+import com.gestion.alojamientos.service.BulkExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * Controlador REST de las exportaciones masivas de reservas, detalles de reserva y comprobantes.
+ * La descarga directa envía el volcado comprimido con gzip mientras se lee de la base de datos;
+ * la exportación a archivo escribe el volcado del día en el servidor y se puede relanzar si se interrumpe.
+ * Fuera de /api/admins/** (público); SecurityConfig exige un token de administrador en /api/admin/**.
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Admin Exports", description = "Volcados completos en NDJSON o CSV comprimidos para finanzas y BI.")
+public class AdminExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final BulkExportService bulkExportService;
+
+    public AdminExportController(BulkExportService bulkExportService) {
+        this.bulkExportService = bulkExportService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/admin/exports/{dataset}
+    // =============================================================
+    @GetMapping("/{dataset}")
+    @Operation(
+        summary = "Descargar exportación",
+        description = "Volcado de **bookings**, **detail-bookings** o **vouchers** en orden de ID, comprimido con gzip. " +
+                      "Si la descarga se corta, se retoma con **afterId** igual al último ID recibido."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archivo .ndjson.gz o .csv.gz."),
+        @ApiResponse(responseCode = "400", description = "Exportación, formato o ID inicial no válidos.")
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+        @PathVariable String dataset,
+        @Parameter(description = "ndjson (por defecto) o csv.", example = "ndjson")
+        @RequestParam(required = false) String format,
+        @Parameter(description = "Exporta solo las filas con ID mayor a este.", example = "120000")
+        @RequestParam(required = false) Long afterId
+    ) {
+        // Se valida antes de enviar el estado 200 y empezar a escribir
+        try {
+            BulkExportService.ExportWriter writer = bulkExportService.export(dataset, format, afterId);
+            String fileName = bulkExportService.fileName(dataset, format, LocalDate.now());
+            return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(writer::writeTo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // =============================================================
+    // ENDPOINT: POST /api/admin/exports/{dataset}/file
+    // =============================================================
+    @PostMapping("/{dataset}/file")
+    @Operation(
+        summary = "Exportar a archivo",
+        description = "Escribe el volcado del día en el directorio de exportaciones del servidor. " +
+                      "Si una ejecución anterior quedó a medias, continúa desde su último checkpoint; si ya terminó, no la repite."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación completa."),
+        @ApiResponse(responseCode = "400", description = "Exportación o formato no válidos."),
+        @ApiResponse(responseCode = "409", description = "Ya hay una exportación a archivo en curso.")
+    })
+    public ResponseEntity<BulkExportReportDTO> exportToFile(
+        @PathVariable String dataset,
+        @Parameter(description = "ndjson (por defecto) o csv.", example = "ndjson")
+        @RequestParam(required = false) String format
+    ) {
+        // Siempre se vuelca el estado actual de las tablas: el archivo y su checkpoint llevan la fecha de hoy
+        try {
+            return ResponseEntity.ok(bulkExportService.exportToFile(dataset, format, LocalDate.now()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).build();
+        } catch (UncheckedIOException e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
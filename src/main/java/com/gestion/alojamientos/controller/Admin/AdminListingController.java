@@ -0,0 +1,178 @@
+package com.gestion.alojamientos.controller.Admin;
+
+import com.gestion.alojamientos.dto.admin.AdminAccommodationRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminBookingRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminGuestRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminHostRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingFilterDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingPageDTO;
+import com.gestion.alojamientos.service.AdminListingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+
+/**
+ * Controlador REST de los listados de administración.
+ * Las páginas se piden por cursor (keyset sobre el ID) con filtros opcionales de estado, ciudad y rango
+ * de fechas de creación; las rutas /stream devuelven el listado completo como un arreglo JSON que se
+ * escribe mientras se lee de la base de datos.
+ * Fuera de /api/admins/** (público); SecurityConfig exige un token de administrador en /api/admin/**.
+ */
+@RestController
+@RequestMapping("/api/admin/listings")
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Admin Listings", description = "Listados paginados por cursor y exportación en streaming para administradores.")
+public class AdminListingController {
+
+    private final AdminListingService adminListingService;
+
+    public AdminListingController(AdminListingService adminListingService) {
+        this.adminListingService = adminListingService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/admin/listings/guests
+    // =============================================================
+    @GetMapping("/guests")
+    @Operation(summary = "Listar huéspedes", description = "Filtro opcional **state** (ACTIVE, INACTIVE, SUSPENDED, DELETED).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de huéspedes."),
+        @ApiResponse(responseCode = "400", description = "Estado desconocido, filtro no aplicable o tamaño de página fuera de rango.")
+    })
+    public ResponseEntity<AdminListingPageDTO<AdminGuestRowDTO>> listGuests(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @Parameter(description = "Cursor devuelto en nextCursor por la página anterior.", example = "120")
+        @RequestParam(required = false) Long cursor,
+        @Parameter(description = "Tamaño de la página (máximo 500).", example = "50")
+        @RequestParam(required = false) Integer size
+    ) {
+        return page(() -> adminListingService.listGuests(filter, cursor, size));
+    }
+
+    @GetMapping(value = "/guests/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exportar huéspedes", description = "Todos los huéspedes que cumplen el filtro, desde el cursor si se indica.")
+    public ResponseEntity<StreamingResponseBody> streamGuests(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor
+    ) {
+        return stream(() -> adminListingService.streamGuests(filter, cursor));
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/admin/listings/hosts
+    // =============================================================
+    @GetMapping("/hosts")
+    @Operation(summary = "Listar anfitriones", description = "Filtro opcional **state** con el estado del anfitrión (por ejemplo PENDING o APPROVED).")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de anfitriones."),
+        @ApiResponse(responseCode = "400", description = "Estado desconocido, filtro no aplicable o tamaño de página fuera de rango.")
+    })
+    public ResponseEntity<AdminListingPageDTO<AdminHostRowDTO>> listHosts(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(required = false) Integer size
+    ) {
+        return page(() -> adminListingService.listHosts(filter, cursor, size));
+    }
+
+    @GetMapping(value = "/hosts/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exportar anfitriones", description = "Todos los anfitriones que cumplen el filtro, desde el cursor si se indica.")
+    public ResponseEntity<StreamingResponseBody> streamHosts(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor
+    ) {
+        return stream(() -> adminListingService.streamHosts(filter, cursor));
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/admin/listings/accommodations
+    // =============================================================
+    @GetMapping("/accommodations")
+    @Operation(
+        summary = "Listar alojamientos",
+        description = "Filtros opcionales: **state** (de aprobación u operativo), **city** y el rango **from**/**to** " +
+                      "(YYYY-MM-DD) sobre la fecha de creación."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de alojamientos."),
+        @ApiResponse(responseCode = "400", description = "Estado o ciudad desconocidos, fechas inconsistentes o tamaño de página fuera de rango.")
+    })
+    public ResponseEntity<AdminListingPageDTO<AdminAccommodationRowDTO>> listAccommodations(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(required = false) Integer size
+    ) {
+        return page(() -> adminListingService.listAccommodations(filter, cursor, size));
+    }
+
+    @GetMapping(value = "/accommodations/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exportar alojamientos", description = "Todos los alojamientos que cumplen el filtro, desde el cursor si se indica.")
+    public ResponseEntity<StreamingResponseBody> streamAccommodations(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor
+    ) {
+        return stream(() -> adminListingService.streamAccommodations(filter, cursor));
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/admin/listings/bookings
+    // =============================================================
+    @GetMapping("/bookings")
+    @Operation(
+        summary = "Listar reservas",
+        description = "Filtros opcionales: **state**, **city** del alojamiento y el rango **from**/**to** " +
+                      "(YYYY-MM-DD) sobre la fecha de creación de la reserva."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de reservas."),
+        @ApiResponse(responseCode = "400", description = "Estado o ciudad desconocidos, fechas inconsistentes o tamaño de página fuera de rango.")
+    })
+    public ResponseEntity<AdminListingPageDTO<AdminBookingRowDTO>> listBookings(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor,
+        @RequestParam(required = false) Integer size
+    ) {
+        return page(() -> adminListingService.listBookings(filter, cursor, size));
+    }
+
+    @GetMapping(value = "/bookings/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Exportar reservas", description = "Todas las reservas que cumplen el filtro, desde el cursor si se indica.")
+    public ResponseEntity<StreamingResponseBody> streamBookings(
+        @ModelAttribute AdminListingFilterDTO filter,
+        @RequestParam(required = false) Long cursor
+    ) {
+        return stream(() -> adminListingService.streamBookings(filter, cursor));
+    }
+
+    private static <T> ResponseEntity<AdminListingPageDTO<T>> page(Supplier<AdminListingPageDTO<T>> listing) {
+        try {
+            return ResponseEntity.ok(listing.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // Los filtros se validan aquí, antes de enviar el estado 200 y empezar a escribir
+    private static ResponseEntity<StreamingResponseBody> stream(Supplier<AdminListingService.ListingWriter> listing) {
+        try {
+            AdminListingService.ListingWriter writer = listing.get();
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(writer::writeTo);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.gestion.alojamientos.controller;
+
+import com.gestion.alojamientos.dto.accommodation.AutocompleteSuggestionDTO;
+import com.gestion.alojamientos.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Controlador REST del autocompletado de la barra de búsqueda.
+ * Responde solo desde memoria: no abre transacciones ni carga entidades.
+ */
+@RestController
+@RequestMapping("/api/public/autocomplete")
+@Tag(name = "Autocomplete", description = "Sugerencias de títulos, ciudades y servicios mientras el usuario escribe.")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/autocomplete
+    // =============================================================
+    @GetMapping
+    @Operation(
+        summary = "Sugerencias de autocompletado",
+        description = "Devuelve títulos de alojamientos, ciudades y servicios cuyo texto, o alguna de sus palabras, " +
+                      "empieza por **q** (sin distinguir tildes ni mayúsculas), de la más a la menos popular. " +
+                      "**kind** indica el tipo de sugerencia y **value** el dato a usar en la búsqueda."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sugerencias generadas correctamente.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AutocompleteSuggestionDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Texto demasiado largo o límite fuera de rango."),
+        @ApiResponse(responseCode = "500", description = "Error interno al generar las sugerencias.")
+    })
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> suggest(
+        @Parameter(description = "Texto escrito hasta ahora (máximo 100 caracteres).", required = true, example = "sal")
+        @RequestParam String q,
+        @Parameter(description = "Máximo de sugerencias (1 a 20).", example = "8")
+        @RequestParam(defaultValue = "8") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(autocompleteService.suggest(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.gestion.alojamientos.controller;
+
+import com.gestion.alojamientos.dto.booking.AvailabilityCalendarDTO;
+import com.gestion.alojamientos.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Controlador REST para consultas públicas de disponibilidad de alojamientos.
+ * Complementa a BookingController con lecturas masivas resueltas desde el índice en memoria.
+ */
+@RestController
+@RequestMapping("/api/public/availability")
+@Tag(name = "Availability", description = "Calendarios de disponibilidad de alojamientos para páginas de búsqueda.")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    public AvailabilityController(AvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/availability/calendar
+    // =============================================================
+    @GetMapping("/calendar")
+    @Operation(
+        summary = "Calendario de disponibilidad de varios alojamientos",
+        description = "Devuelve, en una sola petición, un bitmap por alojamiento con las noches ocupadas a partir de **startDate**. " +
+                      "El bitmap viene en Base64 (bit i = noche startDate + i, little-endian); un bit en 1 indica noche ocupada."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Calendarios generados correctamente.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AvailabilityCalendarDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos (sin alojamientos, demasiados IDs o rango fuera de límites)."),
+        @ApiResponse(responseCode = "500", description = "Error interno al generar los calendarios.")
+    })
+    public ResponseEntity<List<AvailabilityCalendarDTO>> getAvailabilityCalendars(
+        @Parameter(description = "IDs de los alojamientos (máximo 200).", required = true, example = "1,2,3")
+        @RequestParam List<Long> ids,
+        @Parameter(description = "Primera noche del calendario (YYYY-MM-DD).", required = true, example = "2025-12-01")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Número de noches a consultar (máximo 366).", example = "60")
+        @RequestParam(defaultValue = "60") int days
+    ) {
+        try {
+            return ResponseEntity.ok(availabilityService.getAvailabilityCalendars(ids, startDate, days));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
+}
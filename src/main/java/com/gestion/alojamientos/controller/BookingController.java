@@ -1,8 +1,12 @@
 package com.gestion.alojamientos.controller;
 
 import com.gestion.alojamientos.dto.booking.BookingCreateDTO;
+import com.gestion.alojamientos.dto.booking.BookingEventDTO;
 import com.gestion.alojamientos.dto.booking.BookingUpdateDTO;
 import com.gestion.alojamientos.dto.booking.DeleteBookingDTO;
+import com.gestion.alojamientos.dto.booking.GroupBookingCreateDTO;
+import com.gestion.alojamientos.security.AuthenticatedUser;
+import com.gestion.alojamientos.service.BookingEventService;
 import com.gestion.alojamientos.service.BookingService;
 import com.gestion.alojamientos.dto.booking.BookingDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +24,7 @@ import java.util.*;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,6 +38,8 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
     @Autowired
     private BookingService bookingService;
+    @Autowired
+    private BookingEventService bookingEventService;
 
 
       // =============================================================
@@ -138,6 +145,40 @@ public class BookingController {
         return ResponseEntity.status(201).body(createdBooking);
     }
 
+    // ENDPOINT: POST /api/booking/create-group
+    @PostMapping("/create-group")
+    @PreAuthorize("hasRole('ROLE_GUEST')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Crear una reserva grupal (varios alojamientos)",
+        description = "Permite a un usuario con rol **GUEST** reservar hasta 50 alojamientos en una sola operación. " +
+                      "Se valida la disponibilidad de todos antes de persistir y se crean todas las reservas o ninguna."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Reservas creadas exitosamente.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = BookingDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Grupo vacío o con más de 50 reservas."),
+        @ApiResponse(responseCode = "401", description = "Usuario no autenticado o token inválido."),
+        @ApiResponse(responseCode = "403", description = "Rol no autorizado (solo GUEST puede crear reservas)."),
+        @ApiResponse(responseCode = "404", description = "Algún alojamiento o huésped no existe."),
+        @ApiResponse(responseCode = "500", description = "Datos inválidos, fechas no disponibles o error interno; no se crea ninguna reserva.")
+    })
+    public ResponseEntity<List<BookingDTO>> createGroupBooking(
+        @Parameter(description = "DTO con la lista de reservas del grupo.", required = true)
+        @RequestBody GroupBookingCreateDTO dto
+    ) {
+        try {
+            return ResponseEntity.status(201).body(bookingService.createGroupBooking(dto));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
+
     // ENDPOINT: PUT /api/booking/update
     @PutMapping("/update")
     @PreAuthorize("hasAnyRole('ROLE_GUEST', 'ROLE_HOST')")
@@ -155,6 +196,7 @@ public class BookingController {
         @ApiResponse(responseCode = "401", description = "Usuario no autenticado o token inválido."),
         @ApiResponse(responseCode = "403", description = "Rol no autorizado."),
         @ApiResponse(responseCode = "404", description = "Reserva no encontrada."),
+        @ApiResponse(responseCode = "409", description = "Transición de estado no permitida (p. ej. CANCELLED → CONFIRMED) o nuevas fechas ocupadas."),
         @ApiResponse(responseCode = "500", description = "Error interno durante la actualización.")
     })
     public ResponseEntity<BookingDTO> updateBooking(
@@ -164,6 +206,8 @@ public class BookingController {
         BookingDTO updatedBooking = null;
         try {
             updatedBooking = bookingService.updateBooking(dto);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(null);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body(null);
@@ -186,6 +230,7 @@ public class BookingController {
         @ApiResponse(responseCode = "401", description = "Usuario no autenticado o token inválido."),
         @ApiResponse(responseCode = "403", description = "Rol no autorizado."),
         @ApiResponse(responseCode = "404", description = "Reserva no encontrada."),
+        @ApiResponse(responseCode = "409", description = "La reserva ya no se puede cancelar por su estado actual."),
         @ApiResponse(responseCode = "500", description = "Error interno durante la eliminación.")
     })
     public ResponseEntity<Void> deleteBooking(
@@ -195,6 +240,8 @@ public class BookingController {
         boolean cancel;
        try {
         cancel = bookingService.cancelBooking(dto);
+       } catch (IllegalStateException e) {
+        return ResponseEntity.status(409).body(null);
        } catch (Exception e) {
         e.printStackTrace();
         return ResponseEntity.status(500).body(null);
@@ -204,4 +251,37 @@ public class BookingController {
        }
        return ResponseEntity.ok(null);
     }
+
+    // ENDPOINT: GET /api/booking/{bookingId}/events
+    @GetMapping("/{bookingId}/events")
+    @PreAuthorize("hasAnyRole('ROLE_GUEST', 'ROLE_HOST', 'ROLE_ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(
+        summary = "Historial de estados de una reserva",
+        description = "Devuelve las transiciones de estado registradas para la reserva, de la más antigua a la más reciente. " +
+                      "**processedAt** indica cuándo se ejecutaron sus efectos secundarios (correos, reembolsos)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Historial obtenido correctamente.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = BookingEventDTO.class)))),
+        @ApiResponse(responseCode = "401", description = "Usuario no autenticado o token inválido."),
+        @ApiResponse(responseCode = "403", description = "El usuario no es el huésped, el anfitrión ni un administrador."),
+        @ApiResponse(responseCode = "404", description = "Reserva no encontrada."),
+        @ApiResponse(responseCode = "500", description = "Error interno al obtener el historial.")
+    })
+    public ResponseEntity<List<BookingEventDTO>> getBookingHistory(
+        @Parameter(description = "ID de la reserva.", required = true, example = "1")
+        @PathVariable Long bookingId
+    ) {
+        try {
+            return ResponseEntity.ok(bookingEventService.getHistory(bookingId, AuthenticatedUser.id(), AuthenticatedUser.role()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(Collections.emptyList());
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(404).body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package com.gestion.alojamientos.controller;
 
+import com.gestion.alojamientos.dto.accommodation.DistanceMatrixDTO;
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
+import com.gestion.alojamientos.dto.accommodation.MapClusterDTO;
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationSummaryDTO;
 import com.gestion.alojamientos.exception.ElementNotFoundException;
 import com.gestion.alojamientos.model.accomodation.Ubication;
 import com.gestion.alojamientos.service.LocationService;
@@ -8,9 +13,11 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientException;
 
 import java.util.List;
 
@@ -93,6 +100,95 @@ public class LocationController {
         }
     }
 
+    /**
+     * Geocodifica la dirección registrada de un alojamiento y guarda las coordenadas obtenidas.
+     *
+     * @param accommodationId ID del alojamiento
+     * @return Ubicación actualizada
+     */
+    @PostMapping("/accommodation/{accommodationId}/geocode")
+    @Operation(summary = "Geocodificar alojamiento",
+               description = "Obtiene las coordenadas a partir de la dirección y ciudad del alojamiento y las guarda")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Coordenadas obtenidas y guardadas"),
+        @ApiResponse(responseCode = "404", description = "Alojamiento, dirección o lugar no encontrado"),
+        @ApiResponse(responseCode = "400", description = "Dirección inválida"),
+        @ApiResponse(responseCode = "503", description = "Mapbox no disponible")
+    })
+    public ResponseEntity<Ubication> geocodeAccommodation(
+            @Parameter(description = "ID del alojamiento") @PathVariable Long accommodationId) {
+
+        try {
+            return ResponseEntity.ok(locationService.geocodeAccommodation(accommodationId));
+        } catch (ElementNotFoundException | EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RestClientException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Coordenadas de una dirección.
+     *
+     * @param address Dirección a buscar
+     * @return Coordenadas y nombre del lugar
+     */
+    @GetMapping("/geocode")
+    @Operation(summary = "Geocodificar dirección",
+               description = "Devuelve las coordenadas de una dirección; las direcciones ya consultadas se responden desde caché")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Dirección encontrada"),
+        @ApiResponse(responseCode = "404", description = "Dirección no encontrada"),
+        @ApiResponse(responseCode = "400", description = "Dirección vacía o demasiado larga"),
+        @ApiResponse(responseCode = "503", description = "Mapbox no disponible")
+    })
+    public ResponseEntity<GeocodingResultDTO> geocodeAddress(
+            @Parameter(description = "Dirección (máximo 200 caracteres)", example = "Carrera 14 # 20-15, Armenia") @RequestParam String address) {
+
+        try {
+            return ResponseEntity.ok(locationService.geocodeAddress(address));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RestClientException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Nombre del lugar en unas coordenadas.
+     *
+     * @param latitude Latitud
+     * @param longitude Longitud
+     * @return Coordenadas y nombre del lugar
+     */
+    @GetMapping("/reverse-geocode")
+    @Operation(summary = "Geocodificación inversa",
+               description = "Devuelve el nombre del lugar en las coordenadas; las coordenadas ya consultadas se responden desde caché")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lugar encontrado"),
+        @ApiResponse(responseCode = "404", description = "Ningún lugar en esas coordenadas"),
+        @ApiResponse(responseCode = "400", description = "Coordenadas inválidas"),
+        @ApiResponse(responseCode = "503", description = "Mapbox no disponible")
+    })
+    public ResponseEntity<GeocodingResultDTO> reverseGeocode(
+            @Parameter(description = "Latitud (-90 a 90)") @RequestParam Double latitude,
+            @Parameter(description = "Longitud (-180 a 180)") @RequestParam Double longitude) {
+
+        try {
+            return ResponseEntity.ok(locationService.reverseGeocode(latitude, longitude));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RestClientException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Obtiene las coordenadas de un alojamiento.
      * 
@@ -127,20 +223,111 @@ public class LocationController {
      */
     @GetMapping("/nearby")
     @Operation(summary = "Buscar alojamientos cercanos", 
-               description = "Busca alojamientos cercanos a un punto específico")
+               description = "Busca alojamientos aprobados y activos dentro del radio, ordenados por distancia real")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente"),
         @ApiResponse(responseCode = "400", description = "Parámetros inválidos")
     })
-    public ResponseEntity<List<Ubication>> findNearbyAccommodations(
+    public ResponseEntity<List<NearbyAccommodationDTO>> findNearbyAccommodations(
             @Parameter(description = "Latitud del punto de referencia") @RequestParam Double latitude,
             @Parameter(description = "Longitud del punto de referencia") @RequestParam Double longitude,
-            @Parameter(description = "Radio de búsqueda en kilómetros") @RequestParam Double radiusKm) {
+            @Parameter(description = "Radio de búsqueda en kilómetros") @RequestParam Double radiusKm,
+            @Parameter(description = "Máximo de resultados (por defecto 50, máximo 500)") @RequestParam(required = false) Integer limit) {
         
         try {
-            List<Ubication> nearbyUbications = locationService.findNearbyAccommodations(
-                    latitude, longitude, radiusKm);
-            return ResponseEntity.ok(nearbyUbications);
+            List<NearbyAccommodationDTO> nearby = locationService.findNearbyAccommodations(
+                    latitude, longitude, radiusKm, limit);
+            return ResponseEntity.ok(nearby);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Busca los k alojamientos más cercanos a un punto con los datos de su tarjeta de listado.
+     *
+     * @param latitude Latitud del punto de referencia
+     * @param longitude Longitud del punto de referencia
+     * @param k Número de alojamientos
+     * @param maxRadiusKm Distancia máxima en kilómetros
+     * @param type Tipo de alojamiento (opcional)
+     * @param minGuests Capacidad mínima (opcional)
+     * @return Alojamientos del más cercano al más lejano
+     */
+    @GetMapping("/nearest")
+    @Operation(summary = "Alojamientos más cercanos",
+               description = "Devuelve los k alojamientos más cercanos con título, tipo, foto principal, distancia y calificación")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos")
+    })
+    public ResponseEntity<List<NearbyAccommodationSummaryDTO>> findNearestAccommodations(
+            @Parameter(description = "Latitud del punto de referencia") @RequestParam Double latitude,
+            @Parameter(description = "Longitud del punto de referencia") @RequestParam Double longitude,
+            @Parameter(description = "Número de alojamientos (por defecto 20, máximo 100)") @RequestParam(required = false) Integer k,
+            @Parameter(description = "Distancia máxima en kilómetros (por defecto 50)") @RequestParam(required = false) Double maxRadiusKm,
+            @Parameter(description = "Tipo de alojamiento (HOUSE, APARTMENT, ...)") @RequestParam(required = false) String type,
+            @Parameter(description = "Capacidad mínima de huéspedes") @RequestParam(required = false) Integer minGuests) {
+
+        try {
+            return ResponseEntity.ok(locationService.findNearestAccommodations(
+                    latitude, longitude, k, maxRadiusKm, type, minGuests));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Grupos de alojamientos para el mapa, precalculados por nivel de zoom.
+     *
+     * @return Centroide, cantidad y precio mínimo de cada grupo visible
+     */
+    @GetMapping("/clusters")
+    @Operation(summary = "Grupos de alojamientos para el mapa",
+               description = "Devuelve los grupos visibles en el rectángulo al zoom indicado (centroide, cantidad y precio " +
+                             "mínimo). Los grupos de un solo alojamiento incluyen su ID. Si minLongitude > maxLongitude " +
+                             "el rectángulo cruza el antimeridiano")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Grupos obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Rectángulo o zoom inválidos, o área demasiado grande para el zoom")
+    })
+    public ResponseEntity<List<MapClusterDTO>> getMapClusters(
+            @Parameter(description = "Latitud del borde sur", example = "4.3") @RequestParam Double minLatitude,
+            @Parameter(description = "Longitud del borde oeste", example = "-75.9") @RequestParam Double minLongitude,
+            @Parameter(description = "Latitud del borde norte", example = "5.2") @RequestParam Double maxLatitude,
+            @Parameter(description = "Longitud del borde este", example = "-75.4") @RequestParam Double maxLongitude,
+            @Parameter(description = "Nivel de zoom del mapa", example = "9") @RequestParam Integer zoom) {
+
+        try {
+            return ResponseEntity.ok(locationService.getMapClusters(minLatitude, minLongitude, maxLatitude, maxLongitude, zoom));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Calcula las distancias desde uno o varios orígenes a muchos alojamientos en una sola llamada.
+     *
+     * @param originLatitudes Latitudes de los orígenes
+     * @param originLongitudes Longitudes de los orígenes
+     * @param accommodationIds IDs de los alojamientos
+     * @return Matriz de distancias en kilómetros
+     */
+    @GetMapping("/distance-matrix")
+    @Operation(summary = "Matriz de distancias",
+               description = "Distancias en km desde cada origen (máximo 25) a cada alojamiento (máximo 1000); " +
+                             "distancesKm[i][j] corresponde al origen i y al alojamiento accommodationIds[j]")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matriz calculada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos")
+    })
+    public ResponseEntity<DistanceMatrixDTO> getDistanceMatrix(
+            @Parameter(description = "Latitudes de los orígenes", example = "4.53,4.45") @RequestParam List<Double> originLatitudes,
+            @Parameter(description = "Longitudes de los orígenes", example = "-75.68,-75.77") @RequestParam List<Double> originLongitudes,
+            @Parameter(description = "IDs de los alojamientos", example = "1,2,3") @RequestParam List<Long> accommodationIds) {
+
+        try {
+            return ResponseEntity.ok(locationService.getDistanceMatrix(originLatitudes, originLongitudes, accommodationIds));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
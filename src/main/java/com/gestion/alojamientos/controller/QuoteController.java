@@ -0,0 +1,68 @@
+package com.gestion.alojamientos.controller;
+
+import com.gestion.alojamientos.dto.booking.QuoteDTO;
+import com.gestion.alojamientos.service.QuoteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Controlador REST para cotizaciones públicas de estadías.
+ * Los precios se calculan en el servidor a partir del calendario de precios de cada alojamiento.
+ */
+@RestController
+@RequestMapping("/api/public/quotes")
+@Tag(name = "Quotes", description = "Cotización de estadías con temporadas, descuentos y tarifa de servicio del anfitrión.")
+public class QuoteController {
+
+    private final QuoteService quoteService;
+
+    public QuoteController(QuoteService quoteService) {
+        this.quoteService = quoteService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/quotes
+    // =============================================================
+    @GetMapping
+    @Operation(
+        summary = "Cotizar una estadía en varios alojamientos",
+        description = "Devuelve, en una sola petición, la cotización de las mismas fechas para hasta 50 alojamientos. " +
+                      "Los alojamientos sin precio configurado se omiten del resultado."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cotizaciones calculadas correctamente.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuoteDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos (sin alojamientos, más de 50 IDs o fechas inconsistentes)."),
+        @ApiResponse(responseCode = "500", description = "Error interno al calcular las cotizaciones.")
+    })
+    public ResponseEntity<List<QuoteDTO>> getQuotes(
+        @Parameter(description = "IDs de los alojamientos (máximo 50).", required = true, example = "1,2,3")
+        @RequestParam List<Long> ids,
+        @Parameter(description = "Fecha de entrada (YYYY-MM-DD).", required = true, example = "2025-12-01")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+        @Parameter(description = "Fecha de salida (YYYY-MM-DD).", required = true, example = "2025-12-05")
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut
+    ) {
+        try {
+            return ResponseEntity.ok(quoteService.quoteBulk(ids, checkIn, checkOut));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
+}
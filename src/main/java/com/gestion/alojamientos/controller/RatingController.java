@@ -0,0 +1,116 @@
+package com.gestion.alojamientos.controller;
+
+import com.gestion.alojamientos.dto.accommodation.TopRatedAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.RatingSummaryDTO;
+import com.gestion.alojamientos.service.RatingSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Controlador REST de lectura de calificaciones.
+ * Los promedios salen de los resúmenes mantenidos en cada alta o baja, sin recorrer las calificaciones.
+ */
+@RestController
+@RequestMapping("/api/public/ratings")
+@Tag(name = "Ratings", description = "Promedios de calificaciones por alojamiento y anfitrión, y listado de mejor calificados.")
+public class RatingController {
+
+    private final RatingSummaryService ratingSummaryService;
+
+    public RatingController(RatingSummaryService ratingSummaryService) {
+        this.ratingSummaryService = ratingSummaryService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/ratings/accommodations/{id}
+    // =============================================================
+    @GetMapping("/accommodations/{id}")
+    @Operation(
+        summary = "Resumen de calificaciones de un alojamiento",
+        description = "Número de calificaciones, promedio general y promedio de cada dimensión. " +
+                      "Sin calificaciones devuelve **ratingCount** en 0 y los promedios vacíos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumen obtenido correctamente.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RatingSummaryDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Error interno al leer el resumen.")
+    })
+    public ResponseEntity<RatingSummaryDTO> getAccommodationSummary(
+        @Parameter(description = "ID del alojamiento.", required = true, example = "1")
+        @PathVariable Long id
+    ) {
+        try {
+            return ResponseEntity.ok(ratingSummaryService.getAccommodationSummary(id));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/ratings/hosts/{id}
+    // =============================================================
+    @GetMapping("/hosts/{id}")
+    @Operation(
+        summary = "Resumen de calificaciones de un anfitrión",
+        description = "Agrega las calificaciones de todos los alojamientos del anfitrión."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Resumen obtenido correctamente.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RatingSummaryDTO.class))),
+        @ApiResponse(responseCode = "500", description = "Error interno al leer el resumen.")
+    })
+    public ResponseEntity<RatingSummaryDTO> getHostSummary(
+        @Parameter(description = "ID del anfitrión.", required = true, example = "1")
+        @PathVariable Long id
+    ) {
+        try {
+            return ResponseEntity.ok(ratingSummaryService.getHostSummary(id));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/ratings/top
+    // =============================================================
+    @GetMapping("/top")
+    @Operation(
+        summary = "Alojamientos mejor calificados",
+        description = "Alojamientos aprobados y activos ordenados por promedio de calificación (y, en empate, por número " +
+                      "de calificaciones). **minRatings** evita que uno con una sola calificación perfecta encabece la lista."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Listado generado correctamente.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TopRatedAccommodationDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Límite fuera de rango o mínimo de calificaciones menor que 1."),
+        @ApiResponse(responseCode = "500", description = "Error interno al generar el listado.")
+    })
+    public ResponseEntity<List<TopRatedAccommodationDTO>> getTopRated(
+        @Parameter(description = "Mínimo de calificaciones para aparecer.", example = "3")
+        @RequestParam(defaultValue = "3") int minRatings,
+        @Parameter(description = "Máximo de resultados (1 a 100).", example = "20")
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(ratingSummaryService.getTopRated(minRatings, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
+}
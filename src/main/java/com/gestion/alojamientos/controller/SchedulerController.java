@@ -1,13 +1,17 @@
 package com.gestion.alojamientos.controller;
 
+import com.gestion.alojamientos.dto.booking.StateTransitionReportDTO;
 import com.gestion.alojamientos.service.BookingNotificationScheduler;
+import com.gestion.alojamientos.service.BookingStateTransitionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
@@ -22,9 +26,12 @@ import java.time.LocalDate;
 public class SchedulerController {
 
     private final BookingNotificationScheduler bookingNotificationScheduler;
+    private final BookingStateTransitionService bookingStateTransitionService;
 
-    public SchedulerController(BookingNotificationScheduler bookingNotificationScheduler) {
+    public SchedulerController(BookingNotificationScheduler bookingNotificationScheduler,
+                               BookingStateTransitionService bookingStateTransitionService) {
         this.bookingNotificationScheduler = bookingNotificationScheduler;
+        this.bookingStateTransitionService = bookingStateTransitionService;
     }
 
     /**
@@ -79,4 +86,36 @@ public class SchedulerController {
         int sentCount = bookingNotificationScheduler.sendCheckInRemindersForDate(tomorrow);
         return ResponseEntity.ok(sentCount);
     }
+
+    /**
+     * Ejecuta manualmente el avance de estados (CONFIRMED → CHECK_IN, CHECK_IN → CHECK_OUT).
+     * Es idempotente: relanzarlo solo mueve las reservas que aún no avanzaron.
+     *
+     * @param date Fecha de referencia (por defecto hoy)
+     * @return Resumen con el número de reservas movidas
+     */
+    @PostMapping("/advance-states")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @SecurityRequirement(name = "bearerAuth")
+    @Operation(summary = "Avanzar estados de reservas",
+               description = "Pasa a CHECK_IN las reservas confirmadas cuyo check-in ya llegó y a CHECK_OUT las que ya terminaron")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estados avanzados exitosamente"),
+        @ApiResponse(responseCode = "400", description = "La fecha es posterior a hoy"),
+        @ApiResponse(responseCode = "403", description = "Solo un administrador puede avanzar los estados"),
+        @ApiResponse(responseCode = "409", description = "Ya hay una ejecución en curso")
+    })
+    public ResponseEntity<StateTransitionReportDTO> advanceStates(
+            @Parameter(description = "Fecha de referencia, hoy o anterior (por defecto hoy)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        // Con una fecha futura se harían check-in y check-out antes de tiempo
+        if (date != null && date.isAfter(LocalDate.now())) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(bookingStateTransitionService.advanceStates(date != null ? date : LocalDate.now()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(null);
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package com.gestion.alojamientos.controller;
+
+import com.gestion.alojamientos.dto.accommodation.AccommodationSummaryDTO;
+import com.gestion.alojamientos.dto.accommodation.FacetCountsDTO;
+import com.gestion.alojamientos.service.AccomodationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Controlador REST para la búsqueda pública de alojamientos por texto libre.
+ * Las consultas se resuelven desde el índice invertido en memoria, sin recorrer la tabla de alojamientos.
+ */
+@RestController
+@RequestMapping("/api/public/search")
+@Tag(name = "Search", description = "Búsqueda de alojamientos por texto para la barra de búsqueda.")
+public class SearchController {
+
+    private final AccomodationService accommodationService;
+
+    public SearchController(AccomodationService accommodationService) {
+        this.accommodationService = accommodationService;
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/search/text
+    // =============================================================
+    @GetMapping("/text")
+    @Operation(
+        summary = "Buscar alojamientos por texto",
+        description = "Busca en el título, las normas de la casa y los servicios de los alojamientos aprobados y activos. " +
+                      "No distingue tildes ni mayúsculas y reconoce plurales (\"cabañas\" encuentra \"Cabaña\"). " +
+                      "Todas las palabras deben aparecer; la última se trata como prefijo mientras el usuario escribe. " +
+                      "Los resultados vienen ordenados por relevancia (BM25)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alojamientos encontrados, del más al menos relevante.",
+            content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AccommodationSummaryDTO.class)))),
+        @ApiResponse(responseCode = "400", description = "Texto vacío o demasiado largo, o límite fuera de rango."),
+        @ApiResponse(responseCode = "500", description = "Error interno durante la búsqueda.")
+    })
+    public ResponseEntity<List<AccommodationSummaryDTO>> searchByText(
+        @Parameter(description = "Texto a buscar (máximo 200 caracteres).", required = true, example = "cabaña con piscina")
+        @RequestParam String q,
+        @Parameter(description = "Máximo de resultados (1 a 100).", example = "20")
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(accommodationService.searchByText(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.emptyList());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(Collections.emptyList());
+        }
+    }
+
+    // =============================================================
+    // ENDPOINT: GET /api/public/search/facets
+    // =============================================================
+    @GetMapping("/facets")
+    @Operation(
+        summary = "Conteos por faceta de los alojamientos",
+        description = "Devuelve cuántos alojamientos aprobados y activos hay por ciudad, tipo, servicio y rango de capacidad " +
+                      "para la combinación de filtros indicada. Ciudad, tipo y capacidad se cuentan sin su propio filtro " +
+                      "(cuántos habría al cambiar de valor); los servicios, sobre los resultados ya filtrados."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Conteos calculados correctamente.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = FacetCountsDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Ciudad o tipo desconocidos, o capacidad no positiva."),
+        @ApiResponse(responseCode = "500", description = "Error interno al calcular los conteos.")
+    })
+    public ResponseEntity<FacetCountsDTO> getFacetCounts(
+        @Parameter(description = "Ciudad seleccionada. Opcional.", example = "SALENTO")
+        @RequestParam(required = false) String city,
+        @Parameter(description = "Tipo de alojamiento seleccionado. Opcional.", example = "HOUSE")
+        @RequestParam(required = false) String type,
+        @Parameter(description = "Capacidad mínima de huéspedes. Opcional.", example = "4")
+        @RequestParam(required = false) Integer minGuests,
+        @Parameter(description = "IDs de servicios exigidos (todos). Opcional.", example = "1,3")
+        @RequestParam(required = false) List<Long> services
+    ) {
+        try {
+            return ResponseEntity.ok(accommodationService.getFacetCounts(city, type, minGuests, services));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Tarifa completa de un alojamiento: precio base, descuentos por estadía larga y temporadas.
+ * Al guardarla se reemplazan todas las temporadas existentes.
+ */
+public record AccommodationPricingDTO(
+        @NotNull
+        Double basePricePerNight,
+        Double weeklyDiscountPercent,
+        Double monthlyDiscountPercent,
+        List<SeasonalPriceRuleDTO> seasons
+) { }
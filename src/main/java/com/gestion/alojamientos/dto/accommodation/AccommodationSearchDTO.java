@@ -0,0 +1,20 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Criterios de búsqueda de alojamientos. Todos los filtros son opcionales;
+ * checkIn y checkOut deben venir juntos.
+ * cursor es el nextCursor devuelto por la página anterior (null para la primera página).
+ */
+public record AccommodationSearchDTO(
+        String city,
+        String accommodationType,
+        Integer minGuests,
+        List<Long> serviceIds,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        Long cursor,
+        Integer size
+) { }
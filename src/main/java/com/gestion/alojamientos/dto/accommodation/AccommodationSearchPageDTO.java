@@ -0,0 +1,13 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+import java.util.List;
+
+/**
+ * Página de resultados de la búsqueda paginada por cursor (keyset).
+ * Para pedir la siguiente página se envía nextCursor como cursor; es null cuando no hay más resultados.
+ */
+public record AccommodationSearchPageDTO(
+        List<AccommodationSummaryDTO> items,
+        Long nextCursor,
+        boolean hasMore
+) { }
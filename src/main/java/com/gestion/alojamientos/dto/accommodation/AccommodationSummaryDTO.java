@@ -0,0 +1,14 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Resumen de un alojamiento para listados de resultados.
+ * Solo lleva la foto principal para no cargar colecciones completas por cada fila.
+ */
+public record AccommodationSummaryDTO(
+        Long id,
+        String title,
+        String accomodationType,
+        String city,
+        Integer maxGuestCapacity,
+        String mainPhoto
+) { }
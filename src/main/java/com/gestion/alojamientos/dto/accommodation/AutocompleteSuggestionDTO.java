@@ -0,0 +1,12 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Sugerencia del autocompletado.
+ * kind indica qué se sugiere (TITLE, CITY o SERVICE) y value el dato para la siguiente consulta:
+ * ID del alojamiento, nombre del enum de la ciudad o ID del servicio.
+ */
+public record AutocompleteSuggestionDTO(
+        String label,
+        String kind,
+        String value
+) { }
@@ -0,0 +1,16 @@
+package com.gestion.alojamientos.dto.accommodation.CalificationAccommodation;
+
+/**
+ * Resumen de calificaciones de un alojamiento o de un anfitrión: total y promedio general y por dimensión.
+ * Con ratingCount en 0 los promedios vienen en null.
+ */
+public record RatingSummaryDTO(
+        Long id,
+        Long ratingCount,
+        Double averageRating,
+        Double cleanliness,
+        Double comfort,
+        Double location,
+        Double accuracyOfListing,
+        Double communicationHost
+) { }
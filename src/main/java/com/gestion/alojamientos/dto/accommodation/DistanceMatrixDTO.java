@@ -0,0 +1,13 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+import java.util.List;
+
+/**
+ * Matriz de distancias en kilómetros: distancesKm[i][j] es la distancia del origen i
+ * al alojamiento accommodationIds[j]. Los alojamientos sin coordenadas van en missingAccommodationIds.
+ */
+public record DistanceMatrixDTO(
+        List<Long> accommodationIds,
+        List<Long> missingAccommodationIds,
+        double[][] distancesKm
+) { }
@@ -0,0 +1,12 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Número de alojamientos de un valor de faceta.
+ * value es lo que se envía como filtro (nombre del enum, ID del servicio o rango de capacidad)
+ * y label el texto a mostrar.
+ */
+public record FacetCountDTO(
+        String value,
+        String label,
+        Integer count
+) { }
@@ -0,0 +1,17 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+import java.util.List;
+
+/**
+ * Conteos por faceta para la página de resultados, ordenados de mayor a menor.
+ * total cumple todos los filtros. Ciudad, tipo y capacidad se cuentan sin su propio filtro
+ * (cuántos habría al cambiar de valor); los servicios se cuentan sobre los resultados filtrados
+ * (cuántos quedarían al exigir también ese servicio).
+ */
+public record FacetCountsDTO(
+        Integer total,
+        List<FacetCountDTO> cities,
+        List<FacetCountDTO> accommodationTypes,
+        List<FacetCountDTO> services,
+        List<FacetCountDTO> capacities
+) { }
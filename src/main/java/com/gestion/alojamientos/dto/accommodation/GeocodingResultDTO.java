@@ -0,0 +1,10 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Resultado de geocodificación: coordenadas y nombre completo del lugar según Mapbox.
+ */
+public record GeocodingResultDTO(
+        Double latitude,
+        Double longitude,
+        String placeName
+) { }
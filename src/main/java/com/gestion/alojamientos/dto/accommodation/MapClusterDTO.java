@@ -0,0 +1,14 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Grupo de alojamientos para pintar en el mapa a un nivel de zoom.
+ * latitude/longitude es el centroide de los alojamientos del grupo; minPrice es el menor precio
+ * base por noche (null si ninguno lo tiene). accommodationId solo viene cuando count es 1.
+ */
+public record MapClusterDTO(
+        Double latitude,
+        Double longitude,
+        Integer count,
+        Double minPrice,
+        Long accommodationId
+) { }
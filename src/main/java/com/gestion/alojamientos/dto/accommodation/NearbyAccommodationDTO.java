@@ -0,0 +1,11 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Alojamiento encontrado en una búsqueda por radio, con su distancia real (Haversine) al punto consultado.
+ */
+public record NearbyAccommodationDTO(
+        Long accommodationId,
+        Double latitude,
+        Double longitude,
+        Double distanceKm
+) { }
@@ -0,0 +1,17 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Alojamiento cercano listo para mostrar en la vista "cerca de mí":
+ * lleva lo necesario para la tarjeta del listado sin pedir cada alojamiento por separado.
+ */
+public record NearbyAccommodationSummaryDTO(
+        Long id,
+        String title,
+        String accomodationType,
+        String mainPhoto,
+        Double latitude,
+        Double longitude,
+        Double distanceKm,
+        Double averageRating,
+        Long ratingCount
+) { }
@@ -0,0 +1,19 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Temporada de precios de un alojamiento. Las fechas son noches inclusivas.
+ * nightlyPrice reemplaza el precio base y adjustmentPercent se aplica encima (ambos opcionales).
+ */
+public record SeasonalPriceRuleDTO(
+        @NotNull
+        LocalDate startDate,
+        @NotNull
+        LocalDate endDate,
+        Double nightlyPrice,
+        Double adjustmentPercent,
+        String description
+) { }
@@ -0,0 +1,9 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Alojamiento encontrado en la búsqueda por texto con su puntuación BM25 (mayor es más relevante).
+ */
+public record TextSearchHitDTO(
+        Long accommodationId,
+        Double score
+) { }
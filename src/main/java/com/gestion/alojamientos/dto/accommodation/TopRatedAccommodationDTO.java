@@ -0,0 +1,13 @@
+package com.gestion.alojamientos.dto.accommodation;
+
+/**
+ * Alojamiento del listado "mejor calificados", con lo necesario para su tarjeta.
+ */
+public record TopRatedAccommodationDTO(
+        Long id,
+        String title,
+        String accomodationType,
+        String mainPhoto,
+        Double averageRating,
+        Long ratingCount
+) { }
@@ -0,0 +1,22 @@
+package com.gestion.alojamientos.dto.admin;
+
+import java.time.LocalDateTime;
+
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+
+/**
+ * Fila del listado de alojamientos: datos propios, ciudad y anfitrión, sin fotos, servicios ni reservas.
+ */
+public record AdminAccommodationRowDTO(
+        Long id,
+        String title,
+        AccomodationType accomodationType,
+        Cities city,
+        ApprovalStatus approvalStatus,
+        OperationalStatus operationalStatus,
+        Long hostId,
+        LocalDateTime createdTime
+) { }
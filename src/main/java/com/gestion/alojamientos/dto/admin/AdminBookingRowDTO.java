@@ -0,0 +1,23 @@
+package com.gestion.alojamientos.dto.admin;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+
+/**
+ * Fila del listado de reservas: estado, importe, fechas de estancia y los IDs de huésped y alojamiento.
+ */
+public record AdminBookingRowDTO(
+        Long id,
+        LocalDateTime creationDate,
+        StatesOfBooking bookingState,
+        Double totalPrice,
+        Boolean paymentStatus,
+        Long guestId,
+        Long accommodationId,
+        Cities city,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) { }
@@ -0,0 +1,15 @@
+package com.gestion.alojamientos.dto.admin;
+
+import com.gestion.alojamientos.model.enums.StatesOfGuest;
+
+/**
+ * Fila del listado de huéspedes: solo columnas propias, sin las listas de reservas o pagos.
+ */
+public record AdminGuestRowDTO(
+        Long id,
+        String email,
+        String username,
+        String name,
+        String phoneNumber,
+        StatesOfGuest state
+) { }
@@ -0,0 +1,15 @@
+package com.gestion.alojamientos.dto.admin;
+
+import com.gestion.alojamientos.model.enums.StatesOfHost;
+
+/**
+ * Fila del listado de anfitriones: solo columnas propias, sin alojamientos ni comentarios.
+ */
+public record AdminHostRowDTO(
+        Long id,
+        String email,
+        String username,
+        String name,
+        String phoneNumber,
+        StatesOfHost status
+) { }
@@ -0,0 +1,17 @@
+package com.gestion.alojamientos.dto.admin;
+
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Filtros opcionales de los listados de administración.
+ * state es el estado propio de cada listado (en alojamientos vale tanto el de aprobación como el operativo);
+ * city y el rango de fechas (creación, ambos extremos incluidos) solo aplican a alojamientos y reservas.
+ */
+public record AdminListingFilterDTO(
+        String state,
+        String city,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+) { }
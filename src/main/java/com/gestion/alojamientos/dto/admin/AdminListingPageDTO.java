@@ -0,0 +1,13 @@
+package com.gestion.alojamientos.dto.admin;
+
+import java.util.List;
+
+/**
+ * Página de un listado de administración paginado por cursor (keyset sobre el ID).
+ * Para pedir la siguiente página se envía nextCursor como cursor; es null cuando no hay más filas.
+ */
+public record AdminListingPageDTO<T>(
+        List<T> items,
+        Long nextCursor,
+        boolean hasMore
+) { }
@@ -0,0 +1,18 @@
+package com.gestion.alojamientos.dto.admin;
+
+/**
+ * Resultado de una exportación masiva a archivo.
+ * rows y lastId son acumulados desde el inicio del archivo, también cuando la ejecución retomó un checkpoint;
+ * resumed indica que se continuó un archivo parcial y alreadyComplete que el archivo ya existía completo.
+ */
+public record BulkExportReportDTO(
+        String dataset,
+        String format,
+        String file,
+        Long rows,
+        Long lastId,
+        Long bytes,
+        Boolean resumed,
+        Boolean alreadyComplete,
+        Long elapsedMillis
+) { }
@@ -0,0 +1,16 @@
+package com.gestion.alojamientos.dto.booking;
+
+import java.time.LocalDate;
+
+/**
+ * Calendario compacto de disponibilidad de un alojamiento.
+ * occupiedNights es un bitmap en Base64: el bit i (orden little-endian, como BitSet.toByteArray)
+ * corresponde a la noche startDate + i y vale 1 si está ocupada.
+ */
+public record AvailabilityCalendarDTO(
+        Long accommodationId,
+        LocalDate startDate,
+        Integer days,
+        Integer freeNights,
+        String occupiedNights
+) { }
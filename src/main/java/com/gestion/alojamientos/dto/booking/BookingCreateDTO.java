@@ -7,11 +7,10 @@ import jakarta.validation.constraints.NotNull;
 
 public record BookingCreateDTO(
         /**
-         * Estado de la creacion de la reserva, se hace por medio
-         * de un String para que en la capa de de servicios se maneje correctamente
-         * Campo obligatorio
+         * Estado solicitado para la reserva. Se ignora: toda reserva
+         * se crea como PENDING y solo avanza por las transiciones del servicio
+         * Campo opcional
          */
-        @NotBlank @NotNull @NotEmpty
         String bookingState,
 
         /**
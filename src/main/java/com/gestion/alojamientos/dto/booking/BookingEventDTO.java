@@ -0,0 +1,16 @@
+package com.gestion.alojamientos.dto.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Transición del historial de una reserva.
+ * fromState es null en el evento de creación; processedAt es null mientras sus efectos secundarios estén pendientes.
+ */
+public record BookingEventDTO(
+        Long id,
+        Long bookingId,
+        String fromState,
+        String toState,
+        LocalDateTime occurredAt,
+        LocalDateTime processedAt
+) { }
@@ -19,10 +19,10 @@ public record BookingUpdateDTO(
         String bookingState,
 
         /**
-         * Valor total de la reserva
-         * Campo obligatorio
+         * Valor total de la reserva. Se ignora: el total se recotiza
+         * en el servidor cuando cambian las fechas
+         * Campo opcional
          */
-        @NotBlank @NotNull @NotEmpty
         Double totalPrice,
 
         /**
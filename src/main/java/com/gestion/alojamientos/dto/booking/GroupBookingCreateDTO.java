@@ -0,0 +1,18 @@
+package com.gestion.alojamientos.dto.booking;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record GroupBookingCreateDTO(
+        /**
+         * Reservas del grupo, una por alojamiento (o por rango de fechas).
+         * Se crean todas o ninguna.
+         * Campo obligatorio, máximo 50 reservas
+         */
+        @NotNull @NotEmpty @Size(max = 50)
+        List<BookingCreateDTO> bookings
+) {
+}
@@ -0,0 +1,21 @@
+package com.gestion.alojamientos.dto.booking;
+
+import java.time.LocalDate;
+
+/**
+ * Cotización de una estadía calculada en el servidor.
+ * subTotal es la suma de las noches, discount el descuento por estadía larga,
+ * serviceFee la tarifa de servicio del anfitrión (feeTier) y total = subTotal - discount + serviceFee.
+ */
+public record QuoteDTO(
+        Long accommodationId,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        Integer nights,
+        Double averageNightlyPrice,
+        Double subTotal,
+        Double discount,
+        Double serviceFee,
+        String feeTier,
+        Double total
+) { }
@@ -0,0 +1,15 @@
+package com.gestion.alojamientos.dto.booking;
+
+import java.time.LocalDate;
+
+/**
+ * Resultado de una ejecución del avance automático de estados.
+ * checkedIn: reservas CONFIRMED → CHECK_IN; checkedOut: reservas CHECK_IN → CHECK_OUT.
+ */
+public record StateTransitionReportDTO(
+        LocalDate date,
+        Integer checkedIn,
+        Integer checkedOut,
+        Integer chunks,
+        Long elapsedMillis
+) { }
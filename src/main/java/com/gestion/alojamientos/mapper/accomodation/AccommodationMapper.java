@@ -42,6 +42,10 @@ public interface AccommodationMapper {
     @Mapping(target = "accomodationType", ignore = true) // porque viene como String
     @Mapping(target = "approvalStatus", ignore = true)
     @Mapping(target = "operationalStatus", ignore = true)
+    // La tarifa se gestiona solo con QuoteService.updatePricing
+    @Mapping(target = "basePricePerNight", ignore = true)
+    @Mapping(target = "weeklyDiscountPercent", ignore = true)
+    @Mapping(target = "monthlyDiscountPercent", ignore = true)
     Accomodation toEntity(AccommodationDTO dto);
 
 
@@ -59,6 +63,10 @@ public interface AccommodationMapper {
     @Mapping(target = "urlPhotos", source = "urlPhotos")
     @Mapping(target = "createdTime", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "updateTime", expression = "java(java.time.LocalDateTime.now())")
+    // La tarifa se gestiona solo con QuoteService.updatePricing
+    @Mapping(target = "basePricePerNight", ignore = true)
+    @Mapping(target = "weeklyDiscountPercent", ignore = true)
+    @Mapping(target = "monthlyDiscountPercent", ignore = true)
     Accomodation toEntity(AccommodationCreateDTO dto);
 
 
@@ -74,6 +82,10 @@ public interface AccommodationMapper {
     @Mapping(target = "accomodationType", expression = "java(mapAccommodationType(dto.accommodationType()))")
     @Mapping(target = "urlPhotos", source = "urlPhotos")
     @Mapping(target = "updateTime", expression = "java(java.time.LocalDateTime.now())")
+    // La tarifa se gestiona solo con QuoteService.updatePricing
+    @Mapping(target = "basePricePerNight", ignore = true)
+    @Mapping(target = "weeklyDiscountPercent", ignore = true)
+    @Mapping(target = "monthlyDiscountPercent", ignore = true)
     Accomodation toEntity(AccommodationUpdateDTO dto);
 
     // ======= DELETE DTO → ENTITY (solo para validación o soft delete) =======
@@ -90,6 +102,10 @@ public interface AccommodationMapper {
     @Mapping(target = "urlPhotos", ignore = true)
     @Mapping(target = "createdTime", ignore = true)
     @Mapping(target = "updateTime", expression = "java(java.time.LocalDateTime.now())")
+    // La tarifa se gestiona solo con QuoteService.updatePricing
+    @Mapping(target = "basePricePerNight", ignore = true)
+    @Mapping(target = "weeklyDiscountPercent", ignore = true)
+    @Mapping(target = "monthlyDiscountPercent", ignore = true)
     Accomodation toEntity(DeleteAccommodationDTO dto);
     // ======= MÉTODOS AUXILIARES =======
     @Named("enumToString")
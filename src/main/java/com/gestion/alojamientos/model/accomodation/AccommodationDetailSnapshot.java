@@ -0,0 +1,35 @@
+package com.gestion.alojamientos.model.accomodation;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Detalle de un alojamiento ya armado (AccommodationDTO serializado en JSON) para servir la ficha
+ * con una sola lectura por clave primaria. formatVersion descarta las filas escritas con otra forma del DTO.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "accommodation_detail_snapshots")
+public class AccommodationDetailSnapshot {
+
+    @Id
+    @Column(name = "accommodation_id")
+    private Long accommodationId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "format_version", nullable = false)
+    private Integer formatVersion;
+
+    @Column(name = "built_at", nullable = false)
+    private LocalDateTime builtAt;
+}
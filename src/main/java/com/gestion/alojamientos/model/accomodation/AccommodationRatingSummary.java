@@ -0,0 +1,31 @@
+package com.gestion.alojamientos.model.accomodation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de calificaciones de un alojamiento. Se actualiza en la misma transacción que agrega o
+ * quita la calificación (ver RatingSummaryRepoCustom), nunca recalculando sobre todas las filas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "accommodation_rating_summaries",
+       indexes = @Index(name = "idx_accommodation_rating_avg", columnList = "average_rating, rating_count"))
+public class AccommodationRatingSummary {
+
+    @Id
+    @Column(name = "accommodation_id")
+    private Long accommodationId;
+
+    @Column(name = "host_id")
+    private Long hostId;
+
+    @Embedded
+    private RatingTotals totals;
+}
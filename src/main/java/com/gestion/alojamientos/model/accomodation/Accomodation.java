@@ -6,6 +6,9 @@ import java.util.List;
 import com.gestion.alojamientos.model.booking.Booking;
 import com.gestion.alojamientos.model.users.Host;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +21,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "accomodations")
+// Cabecera del alojamiento; las escrituras por JPA mantienen la región al día (READ_WRITE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accommodations")
 public class Accomodation {
 
     @Id
@@ -48,6 +54,15 @@ public class Accomodation {
     @Column(name = "number_of_bathrooms")
     private Integer numberOfBathrooms; // Number of bathrooms
 
+    @Column(name = "base_price_per_night")
+    private Double basePricePerNight; // Nightly price before seasonal rules
+
+    @Column(name = "weekly_discount_percent")
+    private Double weeklyDiscountPercent; // Discount for stays of 7 nights or more
+
+    @Column(name = "monthly_discount_percent")
+    private Double monthlyDiscountPercent; // Discount for stays of 28 nights or more
+
     @Enumerated(EnumType.STRING)
     @Column(name = "approval_status")
     private ApprovalStatus approvalStatus; // Approval status
@@ -75,6 +90,7 @@ public class Accomodation {
     @ElementCollection
     @CollectionTable(name = "accomodation_photos", joinColumns = @JoinColumn(name = "accomodation_id"))
     @Column(name = "url_photo")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accommodation-photos")
     private List<String> urlPhotos; // Photo URLs
 
     @OneToMany(mappedBy = "accomodation")
@@ -86,5 +102,6 @@ public class Accomodation {
         joinColumns = @JoinColumn(name = "accomodation_id"),
         inverseJoinColumns = @JoinColumn(name = "service_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accommodation-services")
     private List<Services> servicesList; // List of services
 }
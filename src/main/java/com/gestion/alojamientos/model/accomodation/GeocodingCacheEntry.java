@@ -0,0 +1,43 @@
+package com.gestion.alojamientos.model.accomodation;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Respuesta de Mapbox guardada para no volver a geocodificar la misma dirección o coordenada.
+ * cacheKey es la dirección normalizada (prefijo F|) o la coordenada redondeada (prefijo R|).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "geocoding_cache", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_geocoding_cache_key", columnNames = "cache_key")
+})
+public class GeocodingCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_key", nullable = false, length = 255)
+    private String cacheKey;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(name = "place_name", length = 500)
+    private String placeName;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+}
@@ -0,0 +1,26 @@
+package com.gestion.alojamientos.model.accomodation;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de las calificaciones recibidas por todos los alojamientos de un anfitrión.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "host_rating_summaries")
+public class HostRatingSummary {
+
+    @Id
+    @Column(name = "host_id")
+    private Long hostId;
+
+    @Embedded
+    private RatingTotals totals;
+}
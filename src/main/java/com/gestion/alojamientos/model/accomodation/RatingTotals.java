@@ -0,0 +1,45 @@
+package com.gestion.alojamientos.model.accomodation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Acumulados de calificaciones: número, suma de promedios y suma de cada dimensión.
+ * Se mantienen sumando o restando una calificación a la vez, así los promedios se leen sin recorrer
+ * la tabla de calificaciones. averageRating se guarda ya calculado para poder ordenar por él con índice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class RatingTotals {
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "prom_sum", nullable = false)
+    private Double promSum;
+
+    @Column(name = "cleanliness_sum", nullable = false)
+    private Long cleanlinessSum;
+
+    @Column(name = "comfort_sum", nullable = false)
+    private Long comfortSum;
+
+    @Column(name = "location_sum", nullable = false)
+    private Long locationSum;
+
+    @Column(name = "accuracy_sum", nullable = false)
+    private Long accuracySum;
+
+    @Column(name = "communication_sum", nullable = false)
+    private Long communicationSum;
+
+    @Column(name = "average_rating")
+    private Double averageRating; // prom_sum / rating_count; null cuando no quedan calificaciones
+}
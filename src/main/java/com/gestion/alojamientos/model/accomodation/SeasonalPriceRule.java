@@ -0,0 +1,42 @@
+package com.gestion.alojamientos.model.accomodation;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "seasonal_price_rule", indexes = @Index(name = "idx_price_rule_accomodation", columnList = "accomodation_id, end_date"))
+public class SeasonalPriceRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id; // Unique identifier
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "accomodation_id", nullable = false)
+    private Accomodation accomodation; // Accommodation the rule applies to
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate; // First night of the season (inclusive)
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate; // Last night of the season (inclusive)
+
+    @Column(name = "nightly_price")
+    private Double nightlyPrice; // Replaces the base price during the season (optional)
+
+    @Column(name = "adjustment_percent")
+    private Double adjustmentPercent; // Percentage applied on top of the price, e.g. 20 or -15 (optional)
+
+    @Column(name = "description", length = 255)
+    private String description; // Season name
+}
@@ -1,5 +1,13 @@
 package com.gestion.alojamientos.model.accomodation;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,8 +20,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "ubication")
+// Se carga junto a cada alojamiento cacheado (OneToOne ansioso)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ubications")
 public class Ubication {
 
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,4 +44,24 @@ public class Ubication {
 
     @Column(name = "longitud")
     private Double longitud;
-}
\ No newline at end of file
+
+    // POINT(longitud latitud) derivado de las columnas anteriores; respalda el índice SPATIAL.
+    // UbicationSpatialMigration lo rellena en filas antiguas y lo deja NOT NULL.
+    @JsonIgnore
+    @Column(name = "coordinates", columnDefinition = "POINT")
+    private Point coordinates;
+
+    /**
+     * Mantiene el punto sincronizado con latitud/longitud. Sin coordenadas se guarda POINT(0 0),
+     * porque el índice SPATIAL exige NOT NULL; las consultas filtran latitud/longitud IS NOT NULL.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncCoordinates() {
+        double x = latitud != null && longitud != null ? longitud : 0.0;
+        double y = latitud != null && longitud != null ? latitud : 0.0;
+        if (coordinates == null || coordinates.getX() != x || coordinates.getY() != y) {
+            coordinates = GEOMETRY_FACTORY.createPoint(new Coordinate(x, y));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gestion.alojamientos.model.booking;
+
+import java.time.LocalDateTime;
+
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro append-only de las transiciones de estado de una reserva.
+ * Los datos de la transición no se modifican nunca; solo processedAt, attempts y lastError
+ * reflejan el despacho asíncrono de los efectos secundarios (correos, pagos, reembolsos).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_event", indexes = {
+        @Index(name = "idx_booking_event_booking", columnList = "booking_id"),
+        @Index(name = "idx_booking_event_processed", columnList = "processed_at")
+})
+public class BookingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_event_seq")
+    @SequenceGenerator(name = "booking_event_seq", sequenceName = "booking_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false, updatable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_state", updatable = false)
+    private StatesOfBooking fromState; // null cuando la reserva se crea
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_state", nullable = false, updatable = false)
+    private StatesOfBooking toState;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt; // null mientras los efectos secundarios no se hayan ejecutado
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
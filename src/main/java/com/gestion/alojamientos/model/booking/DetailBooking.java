@@ -23,7 +23,8 @@ import lombok.NoArgsConstructor;
 public class DetailBooking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detail_booking_seq")
+    @SequenceGenerator(name = "detail_booking_seq", sequenceName = "detail_booking_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "check_in_date", nullable = false)
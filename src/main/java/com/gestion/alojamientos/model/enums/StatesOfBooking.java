@@ -5,5 +5,19 @@ public enum StatesOfBooking {
     CONFIRMED,
     CANCELLED,
     CHECK_IN,
-    CHECK_OUT
+    CHECK_OUT;
+
+    /**
+     * Transiciones permitidas del ciclo de vida de una reserva:
+     * PENDING → CONFIRMED → CHECK_IN → CHECK_OUT, y PENDING/CONFIRMED → CANCELLED.
+     * CANCELLED y CHECK_OUT son estados finales.
+     */
+    public boolean canTransitionTo(StatesOfBooking target) {
+        return switch (this) {
+            case PENDING -> target == CONFIRMED || target == CANCELLED;
+            case CONFIRMED -> target == CHECK_IN || target == CANCELLED;
+            case CHECK_IN -> target == CHECK_OUT;
+            case CANCELLED, CHECK_OUT -> false;
+        };
+    }
 }
@@ -15,7 +15,8 @@ import lombok.NoArgsConstructor;
 public class DetailVoucher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detail_voucher_seq")
+    @SequenceGenerator(name = "detail_voucher_seq", sequenceName = "detail_voucher_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "description", length = 500)
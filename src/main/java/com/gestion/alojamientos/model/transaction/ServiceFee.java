@@ -1,5 +1,8 @@
 package com.gestion.alojamientos.model.transaction;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +15,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Entity
 @Table(name = "service_fee")
+// Tarifas de referencia: se cargan con cada anfitrión y casi nunca cambian
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service-fees")
 public class ServiceFee {
 
     @Id
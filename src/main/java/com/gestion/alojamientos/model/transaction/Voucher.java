@@ -21,7 +21,8 @@ import lombok.NoArgsConstructor;
 public class Voucher {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "voucher_seq")
+    @SequenceGenerator(name = "voucher_seq", sequenceName = "voucher_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "creation_date", nullable = false)
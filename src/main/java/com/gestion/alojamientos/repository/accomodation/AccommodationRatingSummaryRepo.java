@@ -0,0 +1,30 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.gestion.alojamientos.model.accomodation.AccommodationRatingSummary;
+
+@Repository
+public interface AccommodationRatingSummaryRepo extends JpaRepository<AccommodationRatingSummary, Long>,
+        AccommodationRatingSummaryRepoCustom {
+
+    /**
+     * Alojamientos aprobados y activos mejor calificados, recorriendo el índice de average_rating:
+     * filas [id, título, tipo, promedio, total]. Los empates se resuelven por número de calificaciones.
+     */
+    @Query("""
+           SELECT s.accommodationId, a.title, a.accomodationType, s.totals.averageRating, s.totals.ratingCount
+           FROM AccommodationRatingSummary s JOIN Accomodation a ON a.id = s.accommodationId
+           WHERE s.totals.ratingCount >= :minRatings
+           AND a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           ORDER BY s.totals.averageRating DESC, s.totals.ratingCount DESC, s.accommodationId ASC
+           """)
+    List<Object[]> findTopRatedRows(@Param("minRatings") long minRatings, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import com.gestion.alojamientos.model.accomodation.AccomodationCalification;
+
+/**
+ * Escrituras atómicas sobre los resúmenes de calificaciones de alojamientos y anfitriones.
+ * Deben llamarse dentro de la transacción que guarda o borra la calificación.
+ */
+public interface AccommodationRatingSummaryRepoCustom {
+
+    /**
+     * Suma la calificación a los resúmenes del alojamiento y del anfitrión (si lo hay), creando las filas
+     * que falten. Cada fila se modifica con una sola sentencia, sin leerla antes.
+     */
+    void addToTotals(Long accommodationId, Long hostId, AccomodationCalification calification);
+
+    /**
+     * Resta la calificación de los resúmenes del alojamiento y del anfitrión. Un resumen sin calificaciones
+     * queda en cero y sin promedio.
+     */
+    void subtractFromTotals(Long accommodationId, Long hostId, AccomodationCalification calification);
+
+    /**
+     * Vuelve a calcular todos los resúmenes desde accomodation_calification.
+     *
+     * @return Número de alojamientos con al menos una calificación
+     */
+    int rebuildAll();
+}
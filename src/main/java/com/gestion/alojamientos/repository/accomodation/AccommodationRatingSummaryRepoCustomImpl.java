@@ -0,0 +1,125 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import org.hibernate.query.NativeQuery;
+
+import com.gestion.alojamientos.model.accomodation.AccommodationRatingSummary;
+import com.gestion.alojamientos.model.accomodation.AccomodationCalification;
+import com.gestion.alojamientos.model.accomodation.HostRatingSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class AccommodationRatingSummaryRepoCustomImpl implements AccommodationRatingSummaryRepoCustom {
+
+    private static final String TOTAL_COLUMNS =
+            "rating_count, prom_sum, cleanliness_sum, comfort_sum, location_sum, accuracy_sum, communication_sum, average_rating";
+
+    private static final String TOTAL_VALUES =
+            "1, :prom, :cleanliness, :comfort, :location, :accuracy, :communication, :prom";
+
+    // MariaDB aplica las asignaciones de izquierda a derecha: average_rating ya ve la suma y el conteo nuevos
+    private static final String ADD_ASSIGNMENTS =
+            "rating_count = rating_count + 1, " +
+            "prom_sum = prom_sum + VALUES(prom_sum), " +
+            "cleanliness_sum = cleanliness_sum + VALUES(cleanliness_sum), " +
+            "comfort_sum = comfort_sum + VALUES(comfort_sum), " +
+            "location_sum = location_sum + VALUES(location_sum), " +
+            "accuracy_sum = accuracy_sum + VALUES(accuracy_sum), " +
+            "communication_sum = communication_sum + VALUES(communication_sum), " +
+            "average_rating = prom_sum / rating_count";
+
+    // Al llegar a cero la suma de promedios se deja en 0 exacto para no arrastrar el error de redondeo
+    private static final String SUBTRACT_ASSIGNMENTS =
+            "rating_count = rating_count - 1, " +
+            "prom_sum = IF(rating_count = 0, 0, prom_sum - :prom), " +
+            "cleanliness_sum = cleanliness_sum - :cleanliness, " +
+            "comfort_sum = comfort_sum - :comfort, " +
+            "location_sum = location_sum - :location, " +
+            "accuracy_sum = accuracy_sum - :accuracy, " +
+            "communication_sum = communication_sum - :communication, " +
+            "average_rating = IF(rating_count = 0, NULL, prom_sum / rating_count)";
+
+    private static final String TOTAL_AGGREGATES =
+            "COUNT(*), SUM(c.prom), SUM(c.cleanliness), SUM(c.comfort), SUM(c.location), " +
+            "SUM(c.accuracy_of_listing), SUM(c.value_for_money), AVG(c.prom)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void addToTotals(Long accommodationId, Long hostId, AccomodationCalification calification) {
+        bind(nativeQuery(
+                "INSERT INTO accommodation_rating_summaries (accommodation_id, host_id, " + TOTAL_COLUMNS + ") " +
+                "VALUES (:id, :hostId, " + TOTAL_VALUES + ") " +
+                "ON DUPLICATE KEY UPDATE " + ADD_ASSIGNMENTS)
+                .setParameter("id", accommodationId)
+                .setParameter("hostId", hostId), calification)
+                .executeUpdate();
+        if (hostId != null) {
+            bind(nativeQuery(
+                    "INSERT INTO host_rating_summaries (host_id, " + TOTAL_COLUMNS + ") " +
+                    "VALUES (:id, " + TOTAL_VALUES + ") " +
+                    "ON DUPLICATE KEY UPDATE " + ADD_ASSIGNMENTS)
+                    .setParameter("id", hostId), calification)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void subtractFromTotals(Long accommodationId, Long hostId, AccomodationCalification calification) {
+        bind(nativeQuery(
+                "UPDATE accommodation_rating_summaries SET " + SUBTRACT_ASSIGNMENTS + " " +
+                "WHERE accommodation_id = :id AND rating_count > 0")
+                .setParameter("id", accommodationId), calification)
+                .executeUpdate();
+        if (hostId != null) {
+            bind(nativeQuery(
+                    "UPDATE host_rating_summaries SET " + SUBTRACT_ASSIGNMENTS + " " +
+                    "WHERE host_id = :id AND rating_count > 0")
+                    .setParameter("id", hostId), calification)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public int rebuildAll() {
+        nativeQuery("DELETE FROM accommodation_rating_summaries").executeUpdate();
+        nativeQuery("DELETE FROM host_rating_summaries").executeUpdate();
+        int accommodations = nativeQuery(
+                "INSERT INTO accommodation_rating_summaries (accommodation_id, host_id, " + TOTAL_COLUMNS + ") " +
+                "SELECT a.id, a.host_id, " + TOTAL_AGGREGATES + " " +
+                "FROM accomodation_calification c JOIN accomodations a ON a.id = c.accomodation_id " +
+                "GROUP BY a.id, a.host_id")
+                .executeUpdate();
+        nativeQuery(
+                "INSERT INTO host_rating_summaries (host_id, " + TOTAL_COLUMNS + ") " +
+                "SELECT a.host_id, " + TOTAL_AGGREGATES + " " +
+                "FROM accomodation_calification c JOIN accomodations a ON a.id = c.accomodation_id " +
+                "WHERE a.host_id IS NOT NULL " +
+                "GROUP BY a.host_id")
+                .executeUpdate();
+        return accommodations;
+    }
+
+    /**
+     * Consulta nativa que solo invalida las regiones de los resúmenes en la caché de segundo nivel;
+     * sin declararlo, Hibernate vaciaría la caché completa en cada calificación.
+     */
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object> nativeQuery(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(AccommodationRatingSummary.class)
+                .addSynchronizedEntityClass(HostRatingSummary.class);
+    }
+
+    private static NativeQuery<Object> bind(NativeQuery<Object> query, AccomodationCalification calification) {
+        return query
+                .setParameter("prom", calification.getProm())
+                .setParameter("cleanliness", calification.getCleanliness())
+                .setParameter("comfort", calification.getComfort())
+                .setParameter("location", calification.getLocation())
+                .setParameter("accuracy", calification.getAccuracyOfListing())
+                .setParameter("communication", calification.getCommunicationHost());
+    }
+}
@@ -60,6 +60,155 @@ public interface AccommodationRepo extends JpaRepository<Accomodation, Long>, Jp
            "LEFT JOIN FETCH a.ubication " +
            "WHERE a.id = :id")
     Optional<Accomodation> findByIdWithUbication(@Param("id") Long id);
+
+    /**
+     * Coordenadas de los alojamientos aprobados y activos para el índice geoespacial.
+     * Filas: [id, latitud, longitud, tipo, capacidad máxima]
+     */
+    @Query("""
+           SELECT a.id, u.latitud, u.longitud, a.accomodationType, a.maxGuestCapacity FROM Accomodation a
+           JOIN a.ubication u
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           AND u.latitud IS NOT NULL
+           AND u.longitud IS NOT NULL
+           """)
+    List<Object[]> findIndexableLocations();
+
+    /**
+     * Textos de los alojamientos aprobados y activos para el índice de búsqueda por texto.
+     * Filas: [id, título, normas de la casa]
+     */
+    @Query("""
+           SELECT a.id, a.title, a.houseRules FROM Accomodation a
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           """)
+    List<Object[]> findTextIndexableAccommodations();
+
+    /**
+     * Nombres de los servicios de los alojamientos aprobados y activos. Filas: [id del alojamiento, nombre]
+     */
+    @Query("""
+           SELECT a.id, s.name FROM Accomodation a
+           JOIN a.servicesList s
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           """)
+    List<Object[]> findTextIndexableServiceNames();
+
+    /**
+     * Valores de faceta de los alojamientos aprobados y activos.
+     * Filas: [id, ciudad, tipo, capacidad máxima]; la ciudad es null si no hay ubicación.
+     */
+    @Query("""
+           SELECT a.id, u.city, a.accomodationType, a.maxGuestCapacity FROM Accomodation a
+           LEFT JOIN a.ubication u
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           """)
+    List<Object[]> findFacetRows();
+
+    /**
+     * Servicios de los alojamientos aprobados y activos. Filas: [id del alojamiento, id del servicio, nombre]
+     */
+    @Query("""
+           SELECT a.id, s.id, s.name FROM Accomodation a
+           JOIN a.servicesList s
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           """)
+    List<Object[]> findFacetServiceRows();
+
+    /**
+     * Títulos de los alojamientos aprobados y activos con su número de reservas, para el autocompletado.
+     * Filas: [id, título, reservas]
+     */
+    @Query("""
+           SELECT a.id, a.title, COUNT(b) FROM Accomodation a
+           LEFT JOIN a.bookingList b
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           GROUP BY a.id, a.title
+           """)
+    List<Object[]> findAutocompleteTitleRows();
+
+    /**
+     * Datos de resumen de varios alojamientos para listados:
+     * filas [id, título, tipo, ciudad, capacidad máxima]. La ciudad es null si no hay ubicación.
+     */
+    @Query("""
+           SELECT a.id, a.title, a.accomodationType, u.city, a.maxGuestCapacity FROM Accomodation a
+           LEFT JOIN a.ubication u
+           WHERE a.id IN :ids
+           """)
+    List<Object[]> findListingRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Coordenadas y precio de los alojamientos aprobados y activos para los grupos del mapa.
+     * Filas: [id, latitud, longitud, precio base por noche]
+     */
+    @Query("""
+           SELECT a.id, u.latitud, u.longitud, a.basePricePerNight FROM Accomodation a
+           JOIN a.ubication u
+           WHERE a.approvalStatus = 'APPROVED'
+           AND a.operationalStatus = 'ACTIVE'
+           AND u.latitud IS NOT NULL
+           AND u.longitud IS NOT NULL
+           """)
+    List<Object[]> findClusterableLocations();
+
+    /**
+     * Alojamientos aprobados y activos a menos de radiusKm del punto, resueltos en base de datos.
+     * El rectángulo (minLat..maxLng) filtra con el índice SPATIAL y ST_Distance_Sphere (radio 6371 km,
+     * el mismo de GeoIndexServiceImpl.haversineKm) da la distancia exacta.
+     * type y minGuests son opcionales (null = sin filtro).
+     * Filas: [id, latitud, longitud, distancia en km], ordenadas por distancia.
+     */
+    @Query(value = """
+                   SELECT a.id, u.latitud, u.longitud,
+                          ST_Distance_Sphere(u.coordinates, POINT(:lng, :lat), 6371000) / 1000 AS distance_km
+                   FROM ubication u
+                   JOIN accomodations a ON a.ubication_id = u.id
+                   WHERE MBRContains(ST_Envelope(LineString(POINT(:minLng, :minLat), POINT(:maxLng, :maxLat))), u.coordinates)
+                   AND ST_Distance_Sphere(u.coordinates, POINT(:lng, :lat), 6371000) <= :radiusKm * 1000
+                   AND u.latitud IS NOT NULL
+                   AND u.longitud IS NOT NULL
+                   AND a.approval_status = 'APPROVED'
+                   AND a.operational_status = 'ACTIVE'
+                   AND (:type IS NULL OR a.accomodation_type = :type)
+                   AND (:minGuests IS NULL OR a.max_guest_capacity >= :minGuests)
+                   ORDER BY distance_km
+                   LIMIT :limit
+                   """, nativeQuery = true)
+    List<Object[]> findWithinRadiusSpatial(@Param("lat") double latitude,
+                                           @Param("lng") double longitude,
+                                           @Param("radiusKm") double radiusKm,
+                                           @Param("minLat") double minLat,
+                                           @Param("maxLat") double maxLat,
+                                           @Param("minLng") double minLng,
+                                           @Param("maxLng") double maxLng,
+                                           @Param("type") String type,
+                                           @Param("minGuests") Integer minGuests,
+                                           @Param("limit") int limit);
+
+    /**
+     * Datos mínimos para listados de varios alojamientos: filas [id, título, tipo].
+     */
+    @Query("SELECT a.id, a.title, a.accomodationType FROM Accomodation a WHERE a.id IN :ids")
+    List<Object[]> findSummaryRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Coordenadas de varios alojamientos: filas [id, latitud, longitud] (solo los que tienen coordenadas).
+     */
+    @Query("""
+           SELECT a.id, u.latitud, u.longitud FROM Accomodation a
+           JOIN a.ubication u
+           WHERE a.id IN :ids
+           AND u.latitud IS NOT NULL
+           AND u.longitud IS NOT NULL
+           """)
+    List<Object[]> findCoordinatesByIds(@Param("ids") Collection<Long> ids);
     
     /**
      * Encuentra Accommodation por ID con Fotos
@@ -76,7 +225,25 @@ public interface AccommodationRepo extends JpaRepository<Accomodation, Long>, Jp
            "LEFT JOIN FETCH a.servicesList " +
            "WHERE a.id = :id")
     Optional<Accomodation> findByIdWithServices(@Param("id") Long id);
-    
+
+    /**
+     * IDs de las reservas del alojamiento, sin cargar las entidades (ficha precalculada)
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.accomodation.id = :id ORDER BY b.id")
+    List<Long> findBookingIdsByAccommodationId(@Param("id") Long id);
+
+    /**
+     * IDs de las calificaciones del alojamiento, sin cargar las entidades (ficha precalculada)
+     */
+    @Query("SELECT c.id FROM AccomodationCalification c WHERE c.accomodation.id = :id ORDER BY c.id")
+    List<Long> findCalificationIdsByAccommodationId(@Param("id") Long id);
+
+    /**
+     * IDs de los comentarios del alojamiento, sin cargar las entidades (ficha precalculada)
+     */
+    @Query("SELECT c.id FROM CommentAccomodation c WHERE c.accomodation.id = :id ORDER BY c.id")
+    List<Long> findCommentIdsByAccommodationId(@Param("id") Long id);
+
     //INFORMACIÓN COMPUESTA PARA DETALLES
     
     /**
@@ -109,17 +276,6 @@ public interface AccommodationRepo extends JpaRepository<Accomodation, Long>, Jp
            "AND a.operationalStatus = 'OPERATIONAL'")
     List<Accomodation> findByCity(@Param("city") Cities city);
     
-    /**
-     * Encuentra Accommodations por Ciudad con paginación
-     */
-    @Query("SELECT a FROM Accomodation a " +
-           "LEFT JOIN FETCH a.ubication u " +
-           "LEFT JOIN FETCH a.urlPhotos " +
-           "WHERE u.city = :city " +
-           "AND a.approvalStatus = 'APPROVED' " +
-           "AND a.operationalStatus = 'OPERATIONAL'")
-    Page<Accomodation> findByCity(@Param("city") Cities city, Pageable pageable);
-    
     /**
      * Encuentra Accommodations por Host ID
      */
@@ -161,9 +317,30 @@ public interface AccommodationRepo extends JpaRepository<Accomodation, Long>, Jp
            "WHERE (LOWER(a.title) LIKE LOWER(CONCAT('%', :searchText, '%')) " +
            "OR LOWER(a.houseRules) LIKE LOWER(CONCAT('%', :searchText, '%'))) " +
            "AND a.approvalStatus = 'APPROVED' " +
-           "AND a.operationalStatus = 'OPERATIONAL'")
+           "AND a.operationalStatus = 'ACTIVE'")
     List<Accomodation> searchByText(@Param("searchText") String searchText);
     
+    /**
+     * Fotos de varios alojamientos en una sola consulta: filas [accomodationId, urlPhoto].
+     * Usada por la búsqueda para elegir la foto principal sin cargar la colección de cada fila.
+     */
+    @Query("SELECT a.id, p FROM Accomodation a " +
+           "JOIN a.urlPhotos p " +
+           "WHERE a.id IN :ids")
+    List<Object[]> findPhotosByAccommodationIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Datos de tarifa de varios alojamientos: filas
+     * [id, basePricePerNight, weeklyDiscountPercent, monthlyDiscountPercent, serviceFee.value, serviceFee.typeFee].
+     * La tarifa de servicio es la asignada al anfitrión (puede ser null).
+     */
+    @Query("SELECT a.id, a.basePricePerNight, a.weeklyDiscountPercent, a.monthlyDiscountPercent, f.value, f.typeFee " +
+           "FROM Accomodation a " +
+           "LEFT JOIN a.host h " +
+           "LEFT JOIN h.serviceFee f " +
+           "WHERE a.id IN :ids")
+    List<Object[]> findPricingByIds(@Param("ids") Collection<Long> ids);
+    
     // CONSULTAS DE ESTADO Y APROBACIÓN
     
     /**
@@ -0,0 +1,123 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.DetailBooking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Filtros de la búsqueda de alojamientos.
+ * Solo se añaden los predicados de los filtros presentes, de modo que la base de datos
+ * recibe una única consulta sin condiciones del tipo ":param IS NULL OR ...".
+ * Las colecciones (fotos, servicios) nunca se cargan con fetch join: los servicios y la
+ * disponibilidad se resuelven con subconsultas correlacionadas.
+ */
+public final class AccommodationSearchSpecs {
+
+    private AccommodationSearchSpecs() {
+    }
+
+    /**
+     * Construye la especificación completa de la búsqueda.
+     * afterId es el cursor de la página anterior (se devuelven IDs estrictamente mayores).
+     */
+    public static Specification<Accomodation> search(Cities city,
+                                                     AccomodationType type,
+                                                     Integer minGuests,
+                                                     Collection<Long> serviceIds,
+                                                     LocalDate checkIn,
+                                                     LocalDate checkOut,
+                                                     Collection<StatesOfBooking> blockingStates,
+                                                     Long afterId) {
+        List<Specification<Accomodation>> specs = new ArrayList<>();
+        specs.add(publishedWithLocation());
+        if (afterId != null) {
+            specs.add((root, query, cb) -> cb.greaterThan(root.get("id"), afterId));
+        }
+        if (city != null) {
+            specs.add(inCity(city));
+        }
+        if (type != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("accomodationType"), type));
+        }
+        if (minGuests != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("maxGuestCapacity"), minGuests));
+        }
+        if (serviceIds != null && !serviceIds.isEmpty()) {
+            specs.add(hasAllServices(serviceIds));
+        }
+        if (checkIn != null && checkOut != null) {
+            specs.add(availableBetween(checkIn, checkOut, blockingStates));
+        }
+        return Specification.allOf(specs);
+    }
+
+    /**
+     * Alojamientos aprobados y activos. Carga ubicación y anfitrión (relaciones a uno)
+     * en la misma consulta para no lanzar un SELECT adicional por fila.
+     */
+    static Specification<Accomodation> publishedWithLocation() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("ubication", JoinType.LEFT);
+                root.fetch("host", JoinType.LEFT);
+            }
+            return cb.and(
+                    cb.equal(root.get("approvalStatus"), ApprovalStatus.APPROVED),
+                    cb.equal(root.get("operationalStatus"), OperationalStatus.ACTIVE));
+        };
+    }
+
+    static Specification<Accomodation> inCity(Cities city) {
+        return (root, query, cb) -> cb.equal(root.get("ubication").get("city"), city);
+    }
+
+    /**
+     * El alojamiento ofrece todos los servicios indicados.
+     */
+    static Specification<Accomodation> hasAllServices(Collection<Long> serviceIds) {
+        long required = serviceIds.stream().distinct().count();
+        return (root, query, cb) -> {
+            Subquery<Long> matched = query.subquery(Long.class);
+            Root<Accomodation> correlated = matched.correlate(root);
+            Join<Accomodation, Services> service = correlated.join("servicesList");
+            matched.select(cb.count(service)).where(service.get("id").in(serviceIds));
+            return cb.equal(matched, required);
+        };
+    }
+
+    /**
+     * Ninguna reserva activa ocupa noches en [checkIn, checkOut).
+     */
+    static Specification<Accomodation> availableBetween(LocalDate checkIn, LocalDate checkOut,
+                                                        Collection<StatesOfBooking> blockingStates) {
+        return (root, query, cb) -> {
+            Subquery<Long> overlapping = query.subquery(Long.class);
+            Root<Booking> booking = overlapping.from(Booking.class);
+            Join<Booking, DetailBooking> detail = booking.join("detailBooking");
+            overlapping.select(booking.get("id")).where(
+                    cb.equal(booking.get("accomodation"), root),
+                    booking.get("bookingState").in(blockingStates),
+                    cb.lessThan(detail.get("checkInDate"), checkOut),
+                    cb.greaterThan(detail.get("checkOutDate"), checkIn));
+            return cb.not(cb.exists(overlapping));
+        };
+    }
+}
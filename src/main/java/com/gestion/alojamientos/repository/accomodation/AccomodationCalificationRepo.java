@@ -1,5 +1,6 @@
 package com.gestion.alojamientos.repository.accomodation;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,22 @@ public interface AccomodationCalificationRepo extends JpaRepository<Accomodation
            "WHERE ac.accomodation.id = :accommodationId")
     Optional<Double> calculateAverageRating(@Param("accommodationId") Long accommodationId);
     
+    /**
+     * Promedio y número de calificaciones de varios alojamientos: filas [accommodationId, promedio, total]
+     */
+    @Query("SELECT ac.accomodation.id, AVG(ac.prom), COUNT(ac) FROM AccomodationCalification ac " +
+           "WHERE ac.accomodation.id IN :ids " +
+           "GROUP BY ac.accomodation.id")
+    List<Object[]> findRatingSummariesByAccommodationIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Calificaciones de todos los alojamientos de un anfitrión, de la más antigua a la más reciente
+     */
+    @Query("SELECT ac FROM AccomodationCalification ac " +
+           "WHERE ac.accomodation.host.id = :hostId " +
+           "ORDER BY ac.id")
+    List<AccomodationCalification> findByHostId(@Param("hostId") Long hostId);
+
     /**
      * Cuenta calificaciones por Accommodation
      */
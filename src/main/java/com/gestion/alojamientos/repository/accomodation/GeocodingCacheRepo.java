@@ -0,0 +1,17 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.gestion.alojamientos.model.accomodation.GeocodingCacheEntry;
+
+@Repository
+public interface GeocodingCacheRepo extends JpaRepository<GeocodingCacheEntry, Long> {
+
+    /**
+     * Entrada guardada para una dirección normalizada o coordenada redondeada.
+     */
+    Optional<GeocodingCacheEntry> findByCacheKey(String cacheKey);
+}
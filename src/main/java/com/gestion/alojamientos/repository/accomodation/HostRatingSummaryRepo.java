@@ -0,0 +1,10 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.gestion.alojamientos.model.accomodation.HostRatingSummary;
+
+@Repository
+public interface HostRatingSummaryRepo extends JpaRepository<HostRatingSummary, Long> {
+}
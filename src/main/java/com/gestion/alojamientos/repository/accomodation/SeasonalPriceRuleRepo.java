@@ -0,0 +1,34 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.gestion.alojamientos.model.accomodation.SeasonalPriceRule;
+
+@Repository
+public interface SeasonalPriceRuleRepo extends JpaRepository<SeasonalPriceRule, Long> {
+
+    /**
+     * Reglas vigentes (que terminan en o después de fromDate) de varios alojamientos en una sola consulta.
+     */
+    @Query("SELECT r FROM SeasonalPriceRule r " +
+           "WHERE r.accomodation.id IN :accommodationIds " +
+           "AND r.endDate >= :fromDate " +
+           "ORDER BY r.startDate, r.id")
+    List<SeasonalPriceRule> findActiveByAccommodationIds(@Param("accommodationIds") Collection<Long> accommodationIds,
+                                                         @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Elimina todas las reglas de un alojamiento
+     */
+    @Modifying
+    @Query("DELETE FROM SeasonalPriceRule r WHERE r.accomodation.id = :accommodationId")
+    int deleteByAccommodationId(@Param("accommodationId") Long accommodationId);
+}
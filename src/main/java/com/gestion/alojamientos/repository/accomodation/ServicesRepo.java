@@ -3,19 +3,31 @@ package com.gestion.alojamientos.repository.accomodation;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.gestion.alojamientos.model.accomodation.Services;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ServicesRepo extends JpaRepository<Services, Long> {
+public interface ServicesRepo extends JpaRepository<Services, Long>, ServicesRepoCustom {
     
     // @Query("SELECT s FROM Services s WHERE s.active = true ORDER BY s.name")
     // List<Services> findAllActiveServices();
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     boolean existsByName(String name);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")
+    })
     Optional<Services> findByName(String name);
 }
\ No newline at end of file
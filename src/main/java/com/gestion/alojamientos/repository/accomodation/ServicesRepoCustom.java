@@ -0,0 +1,18 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import java.util.List;
+
+import com.gestion.alojamientos.model.accomodation.Services;
+
+/**
+ * Consultas de servicios que no se pueden derivar del nombre del método.
+ */
+public interface ServicesRepoCustom {
+
+    /**
+     * Servicios con esos IDs, en el orden pedido y sin repetidos; los IDs inexistentes se omiten.
+     * Reemplaza al findAllById de JpaRepository: primero mira la caché de segundo nivel y solo
+     * consulta en la base de datos, en un único IN, los que falten.
+     */
+    List<Services> findAllById(Iterable<Long> ids);
+}
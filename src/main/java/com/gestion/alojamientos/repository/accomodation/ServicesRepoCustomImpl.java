@@ -0,0 +1,48 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import com.gestion.alojamientos.model.accomodation.Services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class ServicesRepoCustomImpl implements ServicesRepoCustom {
+
+    static final int BATCH_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Services> findAllById(Iterable<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // CacheMode.NORMAL es necesario para que la carga múltiple consulte la caché de segundo nivel
+        List<Services> found = entityManager.unwrap(Session.class)
+                .byMultipleIds(Services.class)
+                .with(CacheMode.NORMAL)
+                .withBatchSize(BATCH_SIZE)
+                .multiLoad(new ArrayList<>(distinct));
+        List<Services> services = new ArrayList<>(found.size());
+        for (Services service : found) {
+            if (service != null) {
+                services.add(service);
+            }
+        }
+        return services;
+    }
+}
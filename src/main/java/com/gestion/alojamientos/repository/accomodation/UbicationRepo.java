@@ -27,11 +27,15 @@ public interface UbicationRepo extends JpaRepository<Ubication, Long> {
     boolean existsByDireccionAndCity(String direccion, Cities city);
     
     /**
-     * Encuentra ubicaciones cercanas por coordenadas (ejemplo básico)
+     * Encuentra ubicaciones dentro de un rectángulo de coordenadas.
+     * MBRContains sobre la columna POINT usa el índice SPATIAL en lugar de recorrer la tabla.
      */
-    @Query("SELECT u FROM Ubication u " +
-           "WHERE u.latitud BETWEEN :minLat AND :maxLat " +
-           "AND u.longitud BETWEEN :minLng AND :maxLng")
+    @Query(value = """
+                   SELECT u.* FROM ubication u
+                   WHERE MBRContains(ST_Envelope(LineString(POINT(:minLng, :minLat), POINT(:maxLng, :maxLat))), u.coordinates)
+                   AND u.latitud IS NOT NULL
+                   AND u.longitud IS NOT NULL
+                   """, nativeQuery = true)
     List<Ubication> findByCoordinatesRange(@Param("minLat") Double minLat, 
                                           @Param("maxLat") Double maxLat,
                                           @Param("minLng") Double minLng, 
@@ -0,0 +1,42 @@
+package com.gestion.alojamientos.repository.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestion.alojamientos.model.booking.BookingEvent;
+
+public interface BookingEventRepo extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Historial de transiciones de una reserva en orden de ocurrencia.
+     */
+    List<BookingEvent> findByBookingIdOrderByIdAsc(Long bookingId);
+
+    /**
+     * IDs de eventos cuyos efectos secundarios aún no se han ejecutado y no agotaron sus reintentos.
+     */
+    @Query("""
+           SELECT e.id FROM BookingEvent e
+           WHERE e.processedAt IS NULL
+           AND e.attempts < :maxAttempts
+           ORDER BY e.id
+           """)
+    List<Long> findUndispatchedIds(@Param("maxAttempts") int maxAttempts, Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BookingEvent e SET e.processedAt = :now WHERE e.id = :id")
+    int markProcessed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BookingEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+}
@@ -2,18 +2,25 @@ package com.gestion.alojamientos.repository.booking;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.gestion.alojamientos.model.booking.Booking;
 import com.gestion.alojamientos.model.enums.StatesOfBooking;
 
+import jakarta.persistence.LockModeType;
+
 public interface BookingRepo extends JpaRepository<Booking, Long> {
      /**
       * Busca todas las reservas asociadas a un huésped específico.
@@ -152,6 +159,107 @@ public interface BookingRepo extends JpaRepository<Booking, Long> {
                                           @Param("checkIn") LocalDate checkIn,
                                           @Param("checkOut") LocalDate checkOut);
 
+    /**
+     * Participantes de una reserva: (id del huésped, id del anfitrión del alojamiento).
+     * Vacío si la reserva no existe.
+     */
+    @Query("SELECT b.guest.id, a.host.id FROM Booking b JOIN b.accomodation a WHERE b.id = :bookingId")
+    List<Object[]> findParticipantIds(@Param("bookingId") Long bookingId);
+
+    /**
+     * Obtiene los rangos ocupados (id reserva, id alojamiento, check-in, check-out)
+     * de las reservas en los estados dados cuya salida sea posterior a la fecha indicada
+     */
+    @Query("""
+           SELECT b.id, b.accomodation.id, d.checkInDate, d.checkOutDate
+           FROM Booking b
+           JOIN b.detailBooking d
+           WHERE b.bookingState IN :states
+           AND d.checkOutDate > :fromDate
+           """)
+    List<Object[]> findOccupiedRanges(@Param("states") Collection<StatesOfBooking> states,
+                                      @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Obtiene (id reserva, id alojamiento, fecha de creación) de las reservas en el estado dado.
+     * Se usa al arrancar para reprogramar el vencimiento de las reservas pendientes.
+     */
+    @Query("""
+           SELECT b.id, b.accomodation.id, b.creationDate
+           FROM Booking b
+           WHERE b.bookingState = :state
+           """)
+    List<Object[]> findHoldsByState(@Param("state") StatesOfBooking state);
+
+    /**
+     * Cambia el estado de una reserva solo si sigue en el estado esperado.
+     * Devuelve 1 si la reserva cambió y 0 si ya estaba en otro estado (por ejemplo, confirmada).
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE Booking b
+           SET b.bookingState = :newState, b.updateTime = :now
+           WHERE b.id = :id AND b.bookingState = :expectedState
+           """)
+    int updateStateIfCurrent(@Param("id") Long id,
+                             @Param("expectedState") StatesOfBooking expectedState,
+                             @Param("newState") StatesOfBooking newState,
+                             @Param("now") LocalDateTime now);
+
+    /**
+     * Bloque de IDs de reservas en el estado indicado cuyo check-in ya llegó, ordenados por ID.
+     * Las filas quedan bloqueadas hasta el fin de la transacción para que el UPDATE posterior
+     * y el registro de eventos cubran exactamente las mismas reservas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+           SELECT b.id FROM Booking b
+           JOIN b.detailBooking d
+           WHERE b.bookingState = :state
+           AND d.checkInDate <= :date
+           AND b.id > :afterId
+           ORDER BY b.id
+           """)
+    List<Long> findIdsDueForCheckIn(@Param("state") StatesOfBooking state,
+                                    @Param("date") LocalDate date,
+                                    @Param("afterId") Long afterId,
+                                    Limit limit);
+
+    /**
+     * Igual que findIdsDueForCheckIn, pero por fecha de check-out.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+           SELECT b.id FROM Booking b
+           JOIN b.detailBooking d
+           WHERE b.bookingState = :state
+           AND d.checkOutDate <= :date
+           AND b.id > :afterId
+           ORDER BY b.id
+           """)
+    List<Long> findIdsDueForCheckOut(@Param("state") StatesOfBooking state,
+                                     @Param("date") LocalDate date,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
+    /**
+     * Cambia en bloque el estado de las reservas indicadas que sigan en expectedState.
+     *
+     * @return Número de reservas actualizadas
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE Booking b
+           SET b.bookingState = :newState, b.updateTime = :now
+           WHERE b.id IN :ids AND b.bookingState = :expectedState
+           """)
+    int updateStateForIds(@Param("ids") Collection<Long> ids,
+                          @Param("expectedState") StatesOfBooking expectedState,
+                          @Param("newState") StatesOfBooking newState,
+                          @Param("now") LocalDateTime now);
+
 
     // ==============================
     // CONSULTAS DE ESTADÍSTICAS
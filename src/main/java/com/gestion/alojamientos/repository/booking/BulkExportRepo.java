@@ -0,0 +1,62 @@
+package com.gestion.alojamientos.repository.booking;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Lectura de tablas completas para las exportaciones masivas, directamente por JDBC y sin pasar por Hibernate.
+ * Con un fetch size positivo el driver de MariaDB abre un cursor de solo avance y trae las filas por bloques,
+ * así la memoria usada no depende del tamaño de la tabla. Cada fila se entrega al handler en orden de ID.
+ */
+@Repository
+public class BulkExportRepo {
+
+    /**
+     * Tabla -> columnas exportadas, igual que los @Column de las entidades. La primera siempre es el ID.
+     */
+    static final Map<String, List<String>> COLUMNS;
+
+    static {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        columns.put("booking", List.of("id", "creation_date", "update_time", "booking_state", "total_price",
+                "payment_status", "payment_method_id", "guest_id", "detail_booking_id", "voucher_id", "accommodation_id"));
+        columns.put("detail_booking", List.of("id", "check_in_date", "check_out_date", "number_of_guests",
+                "price_per_night", "sub_total", "discount", "service_fee_id"));
+        columns.put("voucher", List.of("id", "creation_date", "guest_id", "sub_total", "tax", "discount", "total",
+                "voucher_state", "payment_method_id", "detail_voucher_id", "booking_id"));
+        COLUMNS = Map.copyOf(columns);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // JdbcTemplate propio: el fetch size aplica a todas sus consultas y no debe afectar al resto de la aplicación
+    public BulkExportRepo(DataSource dataSource, @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Math.max(fetchSize, 1));
+    }
+
+    public List<String> columns(String table) {
+        List<String> columns = COLUMNS.get(table);
+        if (columns == null) {
+            throw new IllegalArgumentException("Tabla no exportable: " + table);
+        }
+        return columns;
+    }
+
+    /**
+     * Recorre las filas con ID mayor a afterId. Debe llamarse fuera de una transacción de JPA:
+     * mientras el cursor está abierto la conexión no puede ejecutar otras consultas.
+     */
+    public void scan(String table, long afterId, RowCallbackHandler handler) {
+        String sql = "SELECT " + String.join(", ", columns(table)) + " FROM `" + table + "` WHERE id > ? ORDER BY id";
+        jdbcTemplate.query(sql, handler, afterId);
+    }
+}
@@ -0,0 +1,132 @@
+package com.gestion.alojamientos.repository.user;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import com.gestion.alojamientos.dto.admin.AdminAccommodationRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminBookingRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminGuestRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminHostRowDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.DetailBooking;
+import com.gestion.alojamientos.model.users.Guest;
+import com.gestion.alojamientos.model.users.Host;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Consultas de los listados de administración ordenadas por ID.
+ * Seleccionan directamente las columnas de cada fila (sin entidades administradas ni colecciones perezosas),
+ * así una página no lanza consultas adicionales por fila y un recorrido completo puede leerse con un cursor
+ * del driver: con fetch size MariaDB entrega las filas por bloques en lugar de cargar el resultado entero.
+ */
+@Repository
+public class AdminListingRepo {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<AdminGuestRowDTO> findGuestRows(Specification<Guest> filter, int limit) {
+        return guestRows(filter).setMaxResults(limit).getResultList();
+    }
+
+    public Stream<AdminGuestRowDTO> streamGuestRows(Specification<Guest> filter, int fetchSize) {
+        return stream(guestRows(filter), fetchSize);
+    }
+
+    public List<AdminHostRowDTO> findHostRows(Specification<Host> filter, int limit) {
+        return hostRows(filter).setMaxResults(limit).getResultList();
+    }
+
+    public Stream<AdminHostRowDTO> streamHostRows(Specification<Host> filter, int fetchSize) {
+        return stream(hostRows(filter), fetchSize);
+    }
+
+    public List<AdminAccommodationRowDTO> findAccommodationRows(Specification<Accomodation> filter, int limit) {
+        return accommodationRows(filter).setMaxResults(limit).getResultList();
+    }
+
+    public Stream<AdminAccommodationRowDTO> streamAccommodationRows(Specification<Accomodation> filter, int fetchSize) {
+        return stream(accommodationRows(filter), fetchSize);
+    }
+
+    public List<AdminBookingRowDTO> findBookingRows(Specification<Booking> filter, int limit) {
+        return bookingRows(filter).setMaxResults(limit).getResultList();
+    }
+
+    public Stream<AdminBookingRowDTO> streamBookingRows(Specification<Booking> filter, int fetchSize) {
+        return stream(bookingRows(filter), fetchSize);
+    }
+
+    private TypedQuery<AdminGuestRowDTO> guestRows(Specification<Guest> filter) {
+        return rows(Guest.class, AdminGuestRowDTO.class, filter, (root, cb) -> cb.construct(AdminGuestRowDTO.class,
+                root.get("id"), root.get("email"), root.get("username"), root.get("name"),
+                root.get("phoneNumber"), root.get("state")));
+    }
+
+    private TypedQuery<AdminHostRowDTO> hostRows(Specification<Host> filter) {
+        return rows(Host.class, AdminHostRowDTO.class, filter, (root, cb) -> cb.construct(AdminHostRowDTO.class,
+                root.get("id"), root.get("email"), root.get("username"), root.get("name"),
+                root.get("phoneNumber"), root.get("status")));
+    }
+
+    private TypedQuery<AdminAccommodationRowDTO> accommodationRows(Specification<Accomodation> filter) {
+        return rows(Accomodation.class, AdminAccommodationRowDTO.class, filter, (root, cb) -> {
+            Join<Accomodation, Ubication> ubication = root.join("ubication", JoinType.LEFT);
+            return cb.construct(AdminAccommodationRowDTO.class,
+                    root.get("id"), root.get("title"), root.get("accomodationType"), ubication.get("city"),
+                    root.get("approvalStatus"), root.get("operationalStatus"), root.get("host").get("id"),
+                    root.get("createdTime"));
+        });
+    }
+
+    private TypedQuery<AdminBookingRowDTO> bookingRows(Specification<Booking> filter) {
+        return rows(Booking.class, AdminBookingRowDTO.class, filter, (root, cb) -> {
+            Join<Booking, Accomodation> accommodation = root.join("accomodation", JoinType.LEFT);
+            Join<Accomodation, Ubication> ubication = accommodation.join("ubication", JoinType.LEFT);
+            Join<Booking, DetailBooking> detail = root.join("detailBooking", JoinType.LEFT);
+            return cb.construct(AdminBookingRowDTO.class,
+                    root.get("id"), root.get("creationDate"), root.get("bookingState"), root.get("totalPrice"),
+                    root.get("paymentStatus"), root.get("guest").get("id"), accommodation.get("id"),
+                    ubication.get("city"), detail.get("checkInDate"), detail.get("checkOutDate"));
+        });
+    }
+
+    private <E, R> TypedQuery<R> rows(Class<E> type, Class<R> rowType, Specification<E> filter,
+                                      RowSelection<E, R> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(rowType);
+        Root<E> root = query.from(type);
+        query.select(selection.select(root, cb));
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private static <R> Stream<R> stream(TypedQuery<R> query, int fetchSize) {
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize).getResultStream();
+    }
+
+    @FunctionalInterface
+    private interface RowSelection<E, R> {
+        Selection<R> select(Root<E> root, CriteriaBuilder cb);
+    }
+}
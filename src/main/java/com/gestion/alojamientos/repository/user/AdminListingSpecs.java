@@ -0,0 +1,108 @@
+package com.gestion.alojamientos.repository.user;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.model.enums.StatesOfGuest;
+import com.gestion.alojamientos.model.enums.StatesOfHost;
+import com.gestion.alojamientos.model.users.Guest;
+import com.gestion.alojamientos.model.users.Host;
+
+/**
+ * Filtros de los listados de administración. Igual que en la búsqueda de alojamientos, solo se añaden
+ * los predicados de los filtros presentes. afterId es el cursor: se devuelven IDs estrictamente mayores,
+ * de modo que cada página es un rango sobre la clave primaria y no depende de un OFFSET.
+ * Las fechas son [from, to): el servicio convierte el día final a la medianoche del día siguiente.
+ */
+public final class AdminListingSpecs {
+
+    private AdminListingSpecs() {
+    }
+
+    public static Specification<Guest> guests(StatesOfGuest state, Long afterId) {
+        List<Specification<Guest>> specs = new ArrayList<>();
+        if (afterId != null) {
+            specs.add(after(afterId));
+        }
+        if (state != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("state"), state));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Host> hosts(StatesOfHost status, Long afterId) {
+        List<Specification<Host>> specs = new ArrayList<>();
+        if (afterId != null) {
+            specs.add(after(afterId));
+        }
+        if (status != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Accomodation> accommodations(ApprovalStatus approvalStatus,
+                                                             OperationalStatus operationalStatus,
+                                                             Cities city,
+                                                             LocalDateTime from,
+                                                             LocalDateTime to,
+                                                             Long afterId) {
+        List<Specification<Accomodation>> specs = new ArrayList<>();
+        if (afterId != null) {
+            specs.add(after(afterId));
+        }
+        if (approvalStatus != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("approvalStatus"), approvalStatus));
+        }
+        if (operationalStatus != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("operationalStatus"), operationalStatus));
+        }
+        if (city != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("ubication").get("city"), city));
+        }
+        if (from != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdTime"), from));
+        }
+        if (to != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("createdTime"), to));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Booking> bookings(StatesOfBooking state,
+                                                  Cities city,
+                                                  LocalDateTime from,
+                                                  LocalDateTime to,
+                                                  Long afterId) {
+        List<Specification<Booking>> specs = new ArrayList<>();
+        if (afterId != null) {
+            specs.add(after(afterId));
+        }
+        if (state != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("bookingState"), state));
+        }
+        if (city != null) {
+            specs.add((root, query, cb) -> cb.equal(root.get("accomodation").get("ubication").get("city"), city));
+        }
+        if (from != null) {
+            specs.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("creationDate"), from));
+        }
+        if (to != null) {
+            specs.add((root, query, cb) -> cb.lessThan(root.get("creationDate"), to));
+        }
+        return Specification.allOf(specs);
+    }
+
+    private static <T> Specification<T> after(Long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+}
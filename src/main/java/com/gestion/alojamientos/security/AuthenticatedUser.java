@@ -0,0 +1,55 @@
+package com.gestion.alojamientos.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Acceso al usuario autenticado de la petición actual, tal como lo dejó JwtAuthenticationFilter:
+ * el email como nombre, el rol como autoridad ROLE_* y el ID del usuario (claim userId) en los detalles.
+ */
+public final class AuthenticatedUser {
+
+    private AuthenticatedUser() {
+    }
+
+    /**
+     * ID del usuario autenticado, o null si la petición no trae un token válido.
+     */
+    public static Long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getDetails() instanceof Long id ? id : null;
+    }
+
+    /**
+     * Rol del usuario autenticado sin el prefijo ROLE_ (GUEST, HOST o ADMIN), o null si no hay autenticación.
+     */
+    public static String role() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authority.getAuthority().startsWith("ROLE_")) {
+                return authority.getAuthority().substring("ROLE_".length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Indica si el usuario autenticado tiene el rol, por ejemplo "ROLE_ADMIN".
+     */
+    public static boolean hasRole(String role) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (role.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
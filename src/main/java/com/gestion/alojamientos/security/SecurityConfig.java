@@ -48,6 +48,13 @@ public class SecurityConfig {
                     "/api/admins/**",
                     "/api/hosts/**"
                 ).permitAll()
+                // Operaciones que afectan a todas las reservas: solo administradores.
+                // Se declaran aquí porque los @PreAuthorize no se evalúan (no hay @EnableMethodSecurity)
+                .requestMatchers("/api/scheduler/advance-states").hasRole("ADMIN")
+                // Listados y exportaciones masivas de administración
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Métricas de Hibernate y de la caché: solo administradores
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // Todo lo demás requiere autenticación JWT
                 .anyRequest().authenticated()
             );
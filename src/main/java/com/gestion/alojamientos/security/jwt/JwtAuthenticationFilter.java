@@ -55,6 +55,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (jwtUtil.validateToken(token)) {
                 String username = jwtUtil.getUsernameFromToken(token);
                 String role = jwtUtil.getRoleFromToken(token);
+                // El token de administrador lleva el rol ADMINISTRADOR; las reglas de acceso usan ROLE_ADMIN
+                if ("ADMINISTRADOR".equals(role)) {
+                    role = "ADMIN";
+                }
 
                 List<SimpleGrantedAuthority> authorities = role != null
                         ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
@@ -62,6 +66,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(username, null, authorities);
+                // El ID del usuario queda en los detalles para validar propiedad (ver AuthenticatedUser)
+                auth.setDetails(jwtUtil.getUserIdFromToken(token));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
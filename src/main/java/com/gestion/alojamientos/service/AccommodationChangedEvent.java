@@ -0,0 +1,12 @@
+package com.gestion.alojamientos.service;
+
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+
+/**
+ * Un alojamiento se creó, cambió de datos, estado o coordenadas, o se dio de baja.
+ * Se publica dentro de la transacción que lo guarda; cada {@link AccommodationIndex} lo escucha con
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}, así un rollback no deja cambios en los índices.
+ *
+ * @param accommodation Alojamiento tal como quedó guardado
+ */
+public record AccommodationChangedEvent(Accomodation accommodation) { }
@@ -0,0 +1,25 @@
+package com.gestion.alojamientos.service;
+
+import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
+
+/**
+ * Ficha de alojamiento precalculada.
+ * Consulta primero una caché LRU en memoria, luego la tabla accommodation_detail_snapshots y solo
+ * al final arma el detalle desde las tablas de origen. Los cambios del alojamiento, sus fotos,
+ * servicios, reservas, calificaciones o comentarios deben avisar con invalidate.
+ */
+public interface AccommodationDetailService {
+
+    /**
+     * Detalle del alojamiento.
+     *
+     * @throws jakarta.persistence.EntityNotFoundException si el alojamiento no existe
+     */
+    AccommodationDTO getDetail(Long accommodationId);
+
+    /**
+     * Descarta el detalle guardado y lo reconstruye en segundo plano cuando la transacción actual
+     * hace commit (o de inmediato si no hay transacción).
+     */
+    void invalidate(Long accommodationId);
+}
@@ -0,0 +1,28 @@
+package com.gestion.alojamientos.service;
+
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+
+/**
+ * Índice en memoria derivado de la tabla de alojamientos. Se carga completo al arrancar y en la recarga
+ * periódica, y entre recargas se actualiza por alojamiento al recibir un {@link AccommodationChangedEvent}.
+ */
+public interface AccommodationIndex {
+
+    /**
+     * Recarga el índice completo desde la base de datos.
+     *
+     * @return Número de alojamientos indexados
+     */
+    int reloadIndex();
+
+    /**
+     * Reindexa un alojamiento con sus valores actuales, o lo quita si ya no cumple las condiciones del índice
+     * (por lo general, aprobado y activo).
+     */
+    void upsert(Accomodation accommodation);
+
+    /**
+     * Quita un alojamiento del índice.
+     */
+    void remove(Long accommodationId);
+}
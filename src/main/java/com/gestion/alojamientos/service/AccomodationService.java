@@ -11,4 +11,7 @@ public interface AccomodationService {
     AccommodationDTO updateAccommodation(Long accommodationId, AccommodationUpdateDTO accommodationDTO) throws Exception;
     boolean softDeleteAccommodation(Long accommodationId, Long hostId) throws  Exception;
     List<AccommodationDTO> getHostAccommodations(Long hostId);
+    AccommodationSearchPageDTO searchAccommodations(AccommodationSearchDTO searchDTO);
+    List<AccommodationSummaryDTO> searchByText(String query, int limit);
+    FacetCountsDTO getFacetCounts(String city, String accommodationType, Integer minGuests, List<Long> serviceIds);
 }
@@ -0,0 +1,49 @@
+package com.gestion.alojamientos.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.gestion.alojamientos.dto.admin.AdminAccommodationRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminBookingRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminGuestRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminHostRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingFilterDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingPageDTO;
+
+/**
+ * Listados de administración de huéspedes, anfitriones, alojamientos y reservas.
+ * Reemplazan a los getAll de AdminService, que cargan la tabla completa: cada página es una consulta
+ * por rango de ID (cursor) con los filtros resueltos en la base de datos, y el modo streaming escribe
+ * el listado completo en JSON fila a fila con memoria constante.
+ * Todos los métodos validan los filtros antes de consultar y lanzan IllegalArgumentException si no son válidos.
+ */
+public interface AdminListingService {
+
+    AdminListingPageDTO<AdminGuestRowDTO> listGuests(AdminListingFilterDTO filter, Long cursor, Integer size);
+
+    AdminListingPageDTO<AdminHostRowDTO> listHosts(AdminListingFilterDTO filter, Long cursor, Integer size);
+
+    AdminListingPageDTO<AdminAccommodationRowDTO> listAccommodations(AdminListingFilterDTO filter, Long cursor, Integer size);
+
+    AdminListingPageDTO<AdminBookingRowDTO> listBookings(AdminListingFilterDTO filter, Long cursor, Integer size);
+
+    /**
+     * Todas las filas desde el cursor (o desde el principio) como un arreglo JSON.
+     * La consulta se abre recién al escribir, en una transacción de solo lectura propia.
+     */
+    ListingWriter streamGuests(AdminListingFilterDTO filter, Long cursor);
+
+    ListingWriter streamHosts(AdminListingFilterDTO filter, Long cursor);
+
+    ListingWriter streamAccommodations(AdminListingFilterDTO filter, Long cursor);
+
+    ListingWriter streamBookings(AdminListingFilterDTO filter, Long cursor);
+
+    /**
+     * Escritura diferida de un listado; separa la validación (al pedirlo) de la consulta (al escribir).
+     */
+    @FunctionalInterface
+    interface ListingWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
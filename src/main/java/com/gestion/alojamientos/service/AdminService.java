@@ -40,6 +40,8 @@ public interface AdminService {
 
     AdminDto getAdminByEmail(String email) throws ElementNotFoundException;
 
+    // Los getAll* cargan la tabla completa; los listados paginados y en streaming están en AdminListingService
+
     // 1. Usuarios (Guests)
     List<GuestDto> getAllGuests();
     GuestDto getGuestById(Long id);
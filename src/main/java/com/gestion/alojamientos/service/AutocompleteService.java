@@ -0,0 +1,20 @@
+package com.gestion.alojamientos.service;
+
+import java.util.List;
+
+import com.gestion.alojamientos.dto.accommodation.AutocompleteSuggestionDTO;
+
+/**
+ * Autocompletado de la barra de búsqueda sobre títulos de alojamientos, ciudades y servicios.
+ * Las sugerencias viven en un trie comprimido en memoria con la popularidad máxima de cada subárbol,
+ * así las mejores sugerencias de un prefijo salen sin recorrer el subárbol completo ni consultar la base de datos.
+ * Popularidad: reservas para los títulos y alojamientos publicados para ciudades y servicios.
+ */
+public interface AutocompleteService extends AccommodationIndex {
+
+    /**
+     * Sugerencias cuyo texto, o alguna de sus palabras, empieza por el prefijo (sin tildes ni mayúsculas),
+     * de la más a la menos popular.
+     */
+    List<AutocompleteSuggestionDTO> suggest(String prefix, int limit);
+}
@@ -0,0 +1,96 @@
+package com.gestion.alojamientos.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.gestion.alojamientos.dto.booking.AvailabilityCalendarDTO;
+import com.gestion.alojamientos.model.booking.Booking;
+
+/**
+ * Índice en memoria de disponibilidad por alojamiento.
+ * Mantiene las noches ocupadas de cada alojamiento para resolver los solapamientos
+ * sin consultar la base de datos en cada intento de reserva.
+ */
+public interface AvailabilityService {
+
+    /**
+     * Verifica si un alojamiento está libre en todas las noches del rango [checkIn, checkOut).
+     *
+     * @param accommodationId ID del alojamiento
+     * @param checkIn Fecha de entrada (primera noche ocupada)
+     * @param checkOut Fecha de salida (no se ocupa esa noche)
+     * @return true si ninguna noche del rango está ocupada, false en caso contrario
+     */
+    boolean isAvailable(Long accommodationId, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Construye el calendario de noches ocupadas de varios alojamientos en una sola llamada,
+     * resuelto íntegramente desde el índice en memoria.
+     *
+     * @param accommodationIds IDs de los alojamientos
+     * @param startDate Primera noche del calendario
+     * @param days Número de noches a partir de startDate
+     * @return Un calendario por alojamiento, en el mismo orden recibido
+     */
+    List<AvailabilityCalendarDTO> getAvailabilityCalendars(List<Long> accommodationIds, LocalDate startDate, int days);
+
+    /**
+     * Ocupa de forma atómica las noches del rango [checkIn, checkOut) si están libres.
+     * Solo se serializan los intentos sobre el mismo alojamiento; la retención queda ligada a la
+     * transacción actual y se libera si ésta hace rollback o si nunca se asocia a una reserva.
+     *
+     * @param accommodationId ID del alojamiento
+     * @param checkIn Fecha de entrada
+     * @param checkOut Fecha de salida
+     * @return Identificador de la retención, o null si alguna noche ya está ocupada
+     */
+    Long reserve(Long accommodationId, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Asocia una retención obtenida con {@link #reserve} a la reserva persistida.
+     * Dentro de una transacción la asociación se confirma al hacer commit.
+     *
+     * @param accommodationId ID del alojamiento
+     * @param holdId Identificador de la retención
+     * @param bookingId ID de la reserva creada
+     */
+    void bindReservation(Long accommodationId, Long holdId, Long bookingId);
+
+    /**
+     * Retiene de forma atómica las nuevas noches [checkIn, checkOut) de una reserva existente si están libres,
+     * sin contar las que ya ocupa la propia reserva. Usa el mismo bloqueo por alojamiento que {@link #reserve}.
+     * La retención se libera al terminar la transacción, cuando {@link #syncBooking} ya registró las nuevas noches.
+     *
+     * @param accommodationId ID del alojamiento
+     * @param bookingId ID de la reserva que cambia de fechas
+     * @param checkIn Nueva fecha de entrada
+     * @param checkOut Nueva fecha de salida
+     * @return true si las noches quedaron retenidas, false si alguna está ocupada por otra reserva
+     */
+    boolean reschedule(Long accommodationId, Long bookingId, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Sincroniza el índice con el estado actual de una reserva.
+     * Si la reserva bloquea disponibilidad (PENDING, CONFIRMED, CHECK_IN) se registran sus noches,
+     * en caso contrario se liberan. Dentro de una transacción el cambio se aplica al hacer commit.
+     *
+     * @param booking Reserva con su detalle y alojamiento cargados
+     */
+    void syncBooking(Booking booking);
+
+    /**
+     * Libera las noches ocupadas por una reserva.
+     * Dentro de una transacción el cambio se aplica al hacer commit.
+     *
+     * @param accommodationId ID del alojamiento
+     * @param bookingId ID de la reserva
+     */
+    void releaseBooking(Long accommodationId, Long bookingId);
+
+    /**
+     * Reconstruye el índice completo a partir de las reservas vigentes en base de datos.
+     *
+     * @return Número de reservas cargadas
+     */
+    int reloadIndex();
+}
@@ -0,0 +1,22 @@
+package com.gestion.alojamientos.service;
+
+/**
+ * Ejecuta los efectos secundarios de los eventos de reserva en un pool de workers.
+ * La entrega es al menos una vez: un evento se marca procesado solo cuando todos los
+ * BookingEventHandler terminan sin error, y los pendientes se reintentan periódicamente.
+ */
+public interface BookingEventDispatcher {
+
+    /**
+     * Encola el evento para su despacho. Dentro de una transacción se encola al hacer commit,
+     * de modo que un rollback nunca dispara correos de una transición inexistente.
+     */
+    void dispatch(Long eventId);
+
+    /**
+     * Encola los eventos aún no procesados (p. ej. tras un reinicio o un fallo del servidor de correo).
+     *
+     * @return Número de eventos encolados
+     */
+    int dispatchPending();
+}
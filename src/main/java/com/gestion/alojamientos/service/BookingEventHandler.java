@@ -0,0 +1,13 @@
+package com.gestion.alojamientos.service;
+
+import com.gestion.alojamientos.model.booking.BookingEvent;
+
+/**
+ * Efecto secundario de una transición de reserva (correo, cobro, reembolso...).
+ * Cada implementación decide qué transiciones le interesan; el resto las ignora.
+ * Debe tolerar ejecutarse más de una vez para el mismo evento.
+ */
+public interface BookingEventHandler {
+
+    void handle(BookingEvent event) throws Exception;
+}
@@ -0,0 +1,47 @@
+package com.gestion.alojamientos.service;
+
+import java.util.List;
+
+import com.gestion.alojamientos.dto.booking.BookingEventDTO;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+
+/**
+ * Registro append-only del ciclo de vida de las reservas.
+ * Cada transición queda guardada en la misma transacción que el cambio de estado; sus efectos
+ * secundarios (correos, pagos) los ejecuta BookingEventDispatcher de forma asíncrona tras el commit.
+ */
+public interface BookingEventService {
+
+    /**
+     * Registra una transición de estado de la reserva y programa el despacho de sus efectos secundarios.
+     *
+     * @param booking Reserva ya persistida (con ID)
+     * @param from Estado anterior, o null si la reserva se acaba de crear
+     * @param to Estado nuevo
+     */
+    void recordTransition(Booking booking, StatesOfBooking from, StatesOfBooking to);
+
+    /**
+     * Registra la misma transición para un bloque de reservas actualizadas en bloque (INSERT en lotes JDBC).
+     */
+    void recordTransitions(List<Long> bookingIds, StatesOfBooking from, StatesOfBooking to);
+
+    /**
+     * Cancela la reserva solo si sigue en PENDING y registra la transición en la misma transacción.
+     *
+     * @return true si la reserva seguía pendiente y se canceló
+     */
+    boolean expirePending(Long bookingId);
+
+    /**
+     * Historial de transiciones de una reserva, de la más antigua a la más reciente.
+     * Solo lo pueden leer el huésped de la reserva, el anfitrión del alojamiento o un administrador.
+     *
+     * @param userId ID del usuario autenticado
+     * @param role   rol del usuario autenticado (GUEST, HOST o ADMIN)
+     * @throws jakarta.persistence.EntityNotFoundException si la reserva no existe
+     * @throws org.springframework.security.access.AccessDeniedException si el usuario no participa en la reserva
+     */
+    List<BookingEventDTO> getHistory(Long bookingId, Long userId, String role);
+}
@@ -6,6 +6,7 @@ import com.gestion.alojamientos.dto.booking.*;
 
 public interface BookingService{
     BookingDTO createBooking(BookingCreateDTO createBookingDTO) throws Exception;
+    List<BookingDTO> createGroupBooking(GroupBookingCreateDTO groupBookingDTO) throws Exception;
     boolean  cancelBooking(DeleteBookingDTO cancelBookingDTO) throws Exception;
     List<BookingDTO> getGuestBookings(Long idGuest) throws Exception;
     List<BookingDTO> getAccommodationBookings(Long idAccommodation) throws Exception;
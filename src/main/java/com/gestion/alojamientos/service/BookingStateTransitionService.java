@@ -0,0 +1,28 @@
+package com.gestion.alojamientos.service;
+
+import java.time.LocalDate;
+
+import com.gestion.alojamientos.dto.booking.StateTransitionReportDTO;
+
+/**
+ * Avance diario de estados por fecha: CONFIRMED → CHECK_IN al llegar el check-in
+ * y CHECK_IN → CHECK_OUT al llegar el check-out.
+ * Trabaja con UPDATE en bloque por lotes acotados (una transacción por lote), por lo que
+ * es idempotente y se puede relanzar si se interrumpe a mitad de ejecución.
+ */
+public interface BookingStateTransitionService {
+
+    /**
+     * Tarea programada diaria; avanza los estados con la fecha de hoy.
+     */
+    void advanceStatesDaily();
+
+    /**
+     * Avanza los estados de todas las reservas cuyas fechas sean anteriores o iguales a la indicada.
+     *
+     * @param date Fecha de referencia
+     * @return Resumen con el número de reservas movidas
+     * @throws IllegalStateException si ya hay una ejecución en curso
+     */
+    StateTransitionReportDTO advanceStates(LocalDate date);
+}
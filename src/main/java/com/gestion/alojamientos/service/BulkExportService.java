@@ -0,0 +1,52 @@
+package com.gestion.alojamientos.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+import com.gestion.alojamientos.dto.admin.BulkExportReportDTO;
+
+/**
+ * Exportaciones completas de reservas, detalles de reserva y comprobantes para finanzas y BI.
+ * Las filas se leen por JDBC con un cursor de solo avance y se escriben comprimidas con gzip en
+ * NDJSON (un objeto JSON por línea) o CSV con encabezado, sin acumularlas en memoria.
+ * dataset: bookings, detail-bookings o vouchers; format: ndjson o csv. Los valores desconocidos
+ * lanzan IllegalArgumentException antes de abrir la consulta.
+ */
+public interface BulkExportService {
+
+    /**
+     * Exportación hacia el cliente, desde el ID siguiente a afterId (o desde el principio).
+     * Las filas van en orden de ID: si la descarga se corta, se retoma con el último ID recibido.
+     */
+    ExportWriter export(String dataset, String format, Long afterId);
+
+    /**
+     * Escribe el volcado del día en el directorio de exportaciones. Cada bloque de filas se cierra como
+     * un miembro gzip independiente y se registra en un checkpoint, así una ejecución interrumpida
+     * continúa desde el último bloque confirmado en lugar de empezar de nuevo.
+     *
+     * @param day Solo nombra el archivo y su checkpoint (por defecto hoy); el contenido es siempre el estado
+     *            actual de la tabla, no una foto de esa fecha
+     * @throws IllegalStateException si ya hay una exportación a archivo en curso
+     */
+    BulkExportReportDTO exportToFile(String dataset, String format, LocalDate day);
+
+    /**
+     * Tarea programada diaria; exporta las tres tablas con el formato configurado.
+     */
+    void exportDaily();
+
+    /**
+     * Nombre del archivo que produce una exportación, por ejemplo booking-2025-01-31.ndjson.gz.
+     */
+    String fileName(String dataset, String format, LocalDate day);
+
+    /**
+     * Escritura diferida de una exportación; la consulta se abre recién al escribir.
+     */
+    @FunctionalInterface
+    interface ExportWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
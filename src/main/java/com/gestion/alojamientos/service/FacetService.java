@@ -0,0 +1,24 @@
+package com.gestion.alojamientos.service;
+
+import java.util.Collection;
+
+import com.gestion.alojamientos.dto.accommodation.FacetCountsDTO;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.Cities;
+
+/**
+ * Conteos por faceta (ciudad, tipo, servicio y rango de capacidad) de los alojamientos aprobados y activos.
+ * Mantiene en memoria un bitmap comprimido (Roaring) de IDs por cada valor de faceta, así cualquier
+ * combinación de filtros se resuelve con intersecciones de bitmaps en lugar de un COUNT por valor.
+ * Los cambios se aplican al hacer commit ({@link AccommodationChangedEvent}).
+ */
+public interface FacetService extends AccommodationIndex {
+
+    /**
+     * Conteos de todas las facetas para la combinación de filtros dada. Todos los filtros son opcionales.
+     *
+     * @param minGuests Capacidad mínima
+     * @param serviceIds Servicios que el alojamiento debe ofrecer (todos)
+     */
+    FacetCountsDTO getFacetCounts(Cities city, AccomodationType type, Integer minGuests, Collection<Long> serviceIds);
+}
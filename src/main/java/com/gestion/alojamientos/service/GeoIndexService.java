@@ -0,0 +1,36 @@
+package com.gestion.alojamientos.service;
+
+import java.util.List;
+
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationDTO;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+
+/**
+ * Índice geoespacial en memoria de los alojamientos aprobados y activos.
+ * Divide el globo en celdas de latitud/longitud fijas; una búsqueda por radio solo
+ * recorre las celdas que cubren el círculo y filtra por distancia exacta (Haversine).
+ * Los cambios de coordenadas o de estado se aplican al hacer commit ({@link AccommodationChangedEvent}).
+ */
+public interface GeoIndexService extends AccommodationIndex {
+
+    /**
+     * Alojamientos dentro del radio, ordenados por distancia ascendente.
+     *
+     * @param latitude Latitud del punto de referencia
+     * @param longitude Longitud del punto de referencia
+     * @param radiusKm Radio en kilómetros
+     * @param limit Máximo de resultados
+     */
+    List<NearbyAccommodationDTO> findWithinRadius(double latitude, double longitude, double radiusKm, int limit);
+
+    /**
+     * Los k alojamientos más cercanos al punto que cumplan los filtros, ordenados por distancia.
+     *
+     * @param k Número de resultados buscados
+     * @param maxRadiusKm Distancia máxima a la que se buscan vecinos
+     * @param type Tipo de alojamiento requerido (null para cualquiera)
+     * @param minGuests Capacidad mínima requerida (null para cualquiera)
+     */
+    List<NearbyAccommodationDTO> findNearest(double latitude, double longitude, int k, double maxRadiusKm,
+                                             AccomodationType type, Integer minGuests);
+}
@@ -0,0 +1,27 @@
+package com.gestion.alojamientos.service;
+
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
+
+/**
+ * Geocodificación directa e inversa con caché.
+ * Consulta primero una caché LRU en memoria, luego la tabla geocoding_cache y solo al final
+ * Mapbox. Las búsquedas idénticas simultáneas comparten una única llamada a Mapbox.
+ */
+public interface GeocodingService {
+
+    /**
+     * Coordenadas de una dirección.
+     *
+     * @param address Dirección libre (máximo 200 caracteres)
+     * @return Primera coincidencia de Mapbox
+     * @throws jakarta.persistence.EntityNotFoundException si Mapbox no encuentra la dirección
+     */
+    GeocodingResultDTO geocode(String address);
+
+    /**
+     * Nombre del lugar en unas coordenadas (redondeadas a 5 decimales, ~1 m).
+     *
+     * @throws jakarta.persistence.EntityNotFoundException si Mapbox no devuelve ningún lugar
+     */
+    GeocodingResultDTO reverseGeocode(Double latitude, Double longitude);
+}
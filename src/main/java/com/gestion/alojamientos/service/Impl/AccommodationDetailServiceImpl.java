@@ -0,0 +1,239 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
+import com.gestion.alojamientos.mapper.accomodation.ServicesMapper;
+import com.gestion.alojamientos.model.accomodation.AccommodationDetailSnapshot;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.repository.accomodation.AccommodationDetailSnapshotRepo;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+
+@Service
+public class AccommodationDetailServiceImpl implements AccommodationDetailService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccommodationDetailServiceImpl.class);
+
+    // Subir cuando cambie la forma de AccommodationDTO: las filas antiguas se reconstruyen al leerlas
+    static final int FORMAT_VERSION = 1;
+
+    private final AccommodationRepo accommodationRepo;
+    private final AccommodationDetailSnapshotRepo snapshotRepo;
+    private final ServicesMapper servicesMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+
+    // LRU en memoria; cada instancia solo se entera de sus propios cambios, maxAge acota lo que otra puede servir viejo
+    private final Map<Long, Snapshot> memoryCache;
+
+    // Alojamientos con una reconstrucción encolada: su fila guardada ya no es fiable
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    // Un detalle armado en una lectura solo se guarda en memoria si no hubo invalidaciones mientras se armaba
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Un solo hilo: las reconstrucciones de un mismo alojamiento nunca se pisan entre sí
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "accommodation-detail-1");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AccommodationDetailServiceImpl(AccommodationRepo accommodationRepo,
+                                          AccommodationDetailSnapshotRepo snapshotRepo,
+                                          ServicesMapper servicesMapper,
+                                          ObjectMapper objectMapper,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${accommodation.detail-cache.size:5000}") int cacheSize,
+                                          @Value("${accommodation.detail-cache.max-age-minutes:60}") long maxAgeMinutes) {
+        this.accommodationRepo = accommodationRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.servicesMapper = servicesMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdown();
+    }
+
+    @Override
+    public AccommodationDTO getDetail(Long accommodationId) {
+        Snapshot cached = memoryCache.get(accommodationId);
+        if (cached != null && isFresh(cached)) {
+            return cached.detail();
+        }
+
+        if (!pending.contains(accommodationId)) {
+            Snapshot stored = readStored(accommodationId);
+            if (stored != null && isFresh(stored)) {
+                memoryCache.put(accommodationId, stored);
+                return stored.detail();
+            }
+        }
+
+        // Sin copia válida: se arma aquí y la fila se escribe en segundo plano para no alargar la lectura
+        long seen = invalidations.get();
+        AccommodationDTO detail = build(accommodationId);
+        if (invalidations.get() == seen) {
+            memoryCache.put(accommodationId, new Snapshot(detail, LocalDateTime.now()));
+        }
+        schedule(accommodationId);
+        return detail;
+    }
+
+    @Override
+    public void invalidate(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndSchedule(accommodationId);
+                }
+            });
+        } else {
+            evictAndSchedule(accommodationId);
+        }
+    }
+
+    private void evictAndSchedule(Long accommodationId) {
+        invalidations.incrementAndGet();
+        memoryCache.remove(accommodationId);
+        schedule(accommodationId);
+    }
+
+    private void schedule(Long accommodationId) {
+        // Varias invalidaciones seguidas del mismo alojamiento se resuelven con una sola reconstrucción
+        if (pending.add(accommodationId)) {
+            rebuilder.execute(() -> rebuild(accommodationId));
+        }
+    }
+
+    private void rebuild(Long accommodationId) {
+        // Se quita antes de leer: un cambio que llegue durante la reconstrucción vuelve a encolarla
+        pending.remove(accommodationId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Snapshot built = new Snapshot(build(accommodationId), LocalDateTime.now());
+                // Armado con datos ya confirmados: sirve en memoria aunque falle la escritura de la fila
+                memoryCache.put(accommodationId, built);
+                snapshotRepo.save(AccommodationDetailSnapshot.builder()
+                        .accommodationId(accommodationId)
+                        .payload(serialize(built.detail()))
+                        .formatVersion(FORMAT_VERSION)
+                        .builtAt(built.builtAt())
+                        .build());
+            });
+        } catch (EntityNotFoundException e) {
+            memoryCache.remove(accommodationId);
+            if (snapshotRepo.existsById(accommodationId)) {
+                snapshotRepo.deleteById(accommodationId);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia insertó la misma fila a la vez; su versión es igual de reciente
+            log.debug("Detalle del alojamiento {} ya guardado por otra instancia", accommodationId);
+        } catch (Exception e) {
+            log.warn("No se pudo reconstruir el detalle del alojamiento {}", accommodationId, e);
+        }
+    }
+
+    private Snapshot readStored(Long accommodationId) {
+        AccommodationDetailSnapshot row = snapshotRepo.findById(accommodationId).orElse(null);
+        if (row == null || row.getFormatVersion() != FORMAT_VERSION) {
+            return null;
+        }
+        try {
+            return new Snapshot(objectMapper.readValue(row.getPayload(), AccommodationDTO.class), row.getBuiltAt());
+        } catch (JsonProcessingException e) {
+            log.warn("Detalle guardado ilegible para el alojamiento {}; se reconstruye", accommodationId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Arma el detalle con cinco consultas acotadas: datos base con ubicación y anfitrión, fotos, servicios
+     * y los IDs de reservas, calificaciones y comentarios (sin cargar esas entidades).
+     */
+    private AccommodationDTO build(Long accommodationId) {
+        Accomodation accommodation = accommodationRepo.findBaseById(accommodationId)
+                .orElseThrow(() -> new EntityNotFoundException("Alojamiento no encontrado con ID: " + accommodationId));
+        List<String> photos = accommodationRepo.findByIdWithPhotos(accommodationId)
+                .map(Accomodation::getUrlPhotos).orElse(null);
+        List<Services> services = accommodationRepo.findByIdWithServices(accommodationId)
+                .map(Accomodation::getServicesList).orElse(null);
+
+        return new AccommodationDTO(
+                accommodation.getId(),
+                accommodation.getTitle(),
+                accommodation.getAccomodationType() != null ? accommodation.getAccomodationType().name() : null,
+                accommodation.getHouseRules(),
+                accommodation.getUbication() != null ? accommodation.getUbication().getId() : null,
+                accommodation.getMaxGuestCapacity(),
+                accommodation.getNumberOfBeds(),
+                accommodation.getNumberOfBathrooms(),
+                accommodation.getApprovalStatus() != null ? accommodation.getApprovalStatus().name() : null,
+                accommodation.getOperationalStatus() != null ? accommodation.getOperationalStatus().name() : null,
+                accommodation.getCreatedTime(),
+                accommodation.getUpdateTime(),
+                accommodation.getHost() != null ? accommodation.getHost().getId() : null,
+                accommodationRepo.findBookingIdsByAccommodationId(accommodationId),
+                accommodationRepo.findCalificationIdsByAccommodationId(accommodationId),
+                accommodationRepo.findCommentIdsByAccommodationId(accommodationId),
+                photos != null ? new ArrayList<>(photos) : null,
+                services != null ? servicesMapper.toDtoList(services) : null);
+    }
+
+    private String serialize(AccommodationDTO detail) {
+        try {
+            return objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el detalle del alojamiento " + detail.id(), e);
+        }
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return snapshot.builtAt().isAfter(LocalDateTime.now().minus(maxAge));
+    }
+
+    private record Snapshot(AccommodationDTO detail, LocalDateTime builtAt) { }
+}
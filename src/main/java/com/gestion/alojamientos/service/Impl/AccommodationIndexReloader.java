@@ -0,0 +1,39 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.gestion.alojamientos.service.AccommodationIndex;
+
+/**
+ * Recarga periódica de todos los índices en memoria de alojamientos, para recoger aprobaciones,
+ * precios, popularidad y cambios de estado hechos fuera de la API.
+ */
+@Service
+public class AccommodationIndexReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(AccommodationIndexReloader.class);
+
+    private final List<AccommodationIndex> indexes;
+
+    public AccommodationIndexReloader(List<AccommodationIndex> indexes) {
+        this.indexes = indexes;
+    }
+
+    @Scheduled(initialDelayString = "${search.indexes.reload-ms:600000}",
+               fixedDelayString = "${search.indexes.reload-ms:600000}")
+    public void reloadAll() {
+        for (AccommodationIndex index : indexes) {
+            // Una recarga fallida no detiene las demás; el índice sigue con los datos anteriores
+            try {
+                index.reloadIndex();
+            } catch (Exception e) {
+                log.error("Error recargando {}", index.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
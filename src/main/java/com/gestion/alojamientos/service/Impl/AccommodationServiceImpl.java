@@ -1,30 +1,47 @@
 package com.gestion.alojamientos.service.Impl;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.gestion.alojamientos.dto.accommodation.AccommodationCreateDTO;
 import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationSearchDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationSearchPageDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationSummaryDTO;
 import com.gestion.alojamientos.dto.accommodation.AccommodationUpdateDTO;
-import com.gestion.alojamientos.dto.accommodation.ServiceDTO;
+import com.gestion.alojamientos.dto.accommodation.FacetCountsDTO;
+import com.gestion.alojamientos.dto.accommodation.TextSearchHitDTO;
 import com.gestion.alojamientos.mapper.accomodation.AccommodationMapper;
-import com.gestion.alojamientos.mapper.accomodation.ServicesMapper;
 import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
 import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
 import com.gestion.alojamientos.model.accomodation.OperationalStatus;
 import com.gestion.alojamientos.model.accomodation.Services;
 import com.gestion.alojamientos.model.accomodation.Ubication;
 import com.gestion.alojamientos.model.users.Host;
 import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.AccommodationSearchSpecs;
 import com.gestion.alojamientos.repository.accomodation.ServicesRepo;
 import com.gestion.alojamientos.repository.accomodation.UbicationRepo;
 import com.gestion.alojamientos.repository.user.HostRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.AccommodationDetailService;
 import com.gestion.alojamientos.service.AccomodationService;
+import com.gestion.alojamientos.service.FacetService;
+import com.gestion.alojamientos.service.TextSearchService;
 
 import jakarta.persistence.*;
 import jakarta.transaction.Transactional;
@@ -33,6 +50,11 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class AccommodationServiceImpl implements AccomodationService {
 
+    static final int DEFAULT_SEARCH_PAGE_SIZE = 10;
+    static final int MAX_SEARCH_PAGE_SIZE = 50;
+    static final int MAX_TEXT_SEARCH_LIMIT = 100;
+    static final int MAX_TEXT_QUERY_LENGTH = 200;
+
     @Autowired
     private AccommodationRepo accommodationRepo;
     @Autowired
@@ -44,7 +66,13 @@ public class AccommodationServiceImpl implements AccomodationService {
     @Autowired
     private AccommodationMapper accommodationMapper;
     @Autowired
-    private ServicesMapper servicesMapper;
+    private TextSearchService textSearchService;
+    @Autowired
+    private FacetService facetService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private AccommodationDetailService accommodationDetailService;
 
     @Override
     public AccommodationDTO createAccommodation(Long hostId, AccommodationCreateDTO accommodationDTO) throws Exception {
@@ -81,17 +109,15 @@ public class AccommodationServiceImpl implements AccomodationService {
 
         // Guardar alojamiento
         Accomodation savedAccommodation = accommodationRepo.save(accommodation);
-        
+        eventPublisher.publishEvent(new AccommodationChangedEvent(savedAccommodation));
+
         return accommodationMapper.toDto(savedAccommodation);
     }
 
     @Override
     public AccommodationDTO getAccommodationById(Long accommodationId) {
-        Accomodation accommodation = accommodationRepo.findBaseById(accommodationId).orElseThrow(() -> new EntityNotFoundException("Alojamiento no encontrado con ID: " + accommodationId));
-        // Paso 2: carga las colecciones usando las mismas entidades persistentes
-        accommodationRepo.findByIdWithPhotos(accommodationId).ifPresent(a -> accommodation.setUrlPhotos(a.getUrlPhotos()));
-        accommodationRepo.findByIdWithPhotos(accommodationId).ifPresent(a -> accommodation.setServicesList(a.getServicesList()));
-        return accommodationMapper.toDto(accommodation);
+        // Ficha precalculada: memoria, luego una lectura por clave y solo si falta se arma desde las tablas
+        return accommodationDetailService.getDetail(accommodationId);
     }
 
     @Override
@@ -116,6 +142,9 @@ public class AccommodationServiceImpl implements AccomodationService {
         }
 
         Accomodation updatedAccommodation = accommodationRepo.save(existingAccommodation);
+        // El precio base y la ubicación pueden haber cambiado
+        eventPublisher.publishEvent(new AccommodationChangedEvent(updatedAccommodation));
+        accommodationDetailService.invalidate(updatedAccommodation.getId());
         return accommodationMapper.toDto(updatedAccommodation);
     }
 
@@ -140,6 +169,9 @@ public class AccommodationServiceImpl implements AccomodationService {
         accommodation.setOperationalStatus(OperationalStatus.DELETED);
         accommodation.setUpdateTime(LocalDateTime.now());
         accommodationRepo.save(accommodation);
+        // Eliminado: cada índice lo quita al recibir el evento
+        eventPublisher.publishEvent(new AccommodationChangedEvent(accommodation));
+        accommodationDetailService.invalidate(accommodation.getId());
 
         return true;
     }
@@ -157,13 +189,132 @@ public class AccommodationServiceImpl implements AccomodationService {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public AccommodationSearchPageDTO searchAccommodations(AccommodationSearchDTO searchDTO) {
+        LocalDate checkIn = searchDTO.checkIn();
+        LocalDate checkOut = searchDTO.checkOut();
+        if ((checkIn == null) != (checkOut == null)) {
+            throw new IllegalArgumentException("Debe indicar tanto la fecha de entrada como la de salida");
+        }
+        if (checkIn != null && !checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("La fecha de salida debe ser posterior a la de entrada");
+        }
+        if (searchDTO.minGuests() != null && searchDTO.minGuests() <= 0) {
+            throw new IllegalArgumentException("El número de huéspedes debe ser mayor a cero");
+        }
+        int size = searchDTO.size() == null ? DEFAULT_SEARCH_PAGE_SIZE : searchDTO.size();
+        if (size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        Specification<Accomodation> spec = AccommodationSearchSpecs.search(
+                parseEnum(Cities.class, searchDTO.city(), "Ciudad"),
+                parseEnum(AccomodationType.class, searchDTO.accommodationType(), "Tipo de alojamiento"),
+                searchDTO.minGuests(),
+                searchDTO.serviceIds(),
+                checkIn,
+                checkOut,
+                AvailabilityServiceImpl.BLOCKING_STATES,
+                searchDTO.cursor());
+
+        // Se pide una fila extra para saber si existe una página siguiente sin ejecutar un COUNT
+        List<Accomodation> rows = accommodationRepo.findBy(spec,
+                query -> query.sortBy(Sort.by("id")).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<Accomodation> page = hasMore ? rows.subList(0, size) : rows;
+        if (page.isEmpty()) {
+            return new AccommodationSearchPageDTO(List.of(), null, false);
+        }
+
+        Map<Long, String> mainPhotos = new HashMap<>();
+        for (Object[] row : accommodationRepo.findPhotosByAccommodationIds(
+                page.stream().map(Accomodation::getId).toList())) {
+            mainPhotos.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+
+        List<AccommodationSummaryDTO> items = page.stream()
+            .map(a -> new AccommodationSummaryDTO(
+                a.getId(),
+                a.getTitle(),
+                a.getAccomodationType() != null ? a.getAccomodationType().name() : null,
+                a.getUbication() != null && a.getUbication().getCity() != null ? a.getUbication().getCity().name() : null,
+                a.getMaxGuestCapacity(),
+                mainPhotos.get(a.getId())))
+            .collect(Collectors.toList());
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new AccommodationSearchPageDTO(items, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<AccommodationSummaryDTO> searchByText(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda es obligatorio");
+        }
+        if (query.length() > MAX_TEXT_QUERY_LENGTH) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede superar " + MAX_TEXT_QUERY_LENGTH + " caracteres");
+        }
+        if (limit <= 0 || limit > MAX_TEXT_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_TEXT_SEARCH_LIMIT);
+        }
+
+        List<TextSearchHitDTO> hits = textSearchService.search(query, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(TextSearchHitDTO::accommodationId).toList();
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : accommodationRepo.findListingRowsByIds(ids)) {
+            rows.put((Long) row[0], row);
+        }
+        Map<Long, String> mainPhotos = new HashMap<>();
+        for (Object[] row : accommodationRepo.findPhotosByAccommodationIds(ids)) {
+            mainPhotos.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+
+        // Se conserva el orden de relevancia del índice; los eliminados desde la última recarga se omiten
+        List<AccommodationSummaryDTO> result = new ArrayList<>(hits.size());
+        for (Long id : ids) {
+            Object[] row = rows.get(id);
+            if (row != null) {
+                result.add(new AccommodationSummaryDTO(
+                    id,
+                    (String) row[1],
+                    row[2] != null ? ((AccomodationType) row[2]).name() : null,
+                    row[3] != null ? ((Cities) row[3]).name() : null,
+                    (Integer) row[4],
+                    mainPhotos.get(id)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public FacetCountsDTO getFacetCounts(String city, String accommodationType, Integer minGuests, List<Long> serviceIds) {
+        if (minGuests != null && minGuests <= 0) {
+            throw new IllegalArgumentException("El número de huéspedes debe ser mayor a cero");
+        }
+        return facetService.getFacetCounts(
+                parseEnum(Cities.class, city, "Ciudad"),
+                parseEnum(AccomodationType.class, accommodationType, "Tipo de alojamiento"),
+                minGuests,
+                serviceIds);
+    }
+
+    // Método auxiliar para convertir los filtros de texto a enums
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(label + " no válido: " + value);
+        }
+    }
+
     // Método auxiliar para validar y obtener servicios
     private List<Services> validateAndGetServices(List<Long> serviceDTOs) {
-        List<Services> services = new ArrayList<>();
-        for (Long serviceDTO : serviceDTOs) {
-            servicesRepo.findById(serviceDTO)
-                .ifPresent(s -> services.add(servicesMapper.toEntity(new ServiceDTO(s.getId(), s.getName()))));
-        }
-        return services;
+        // Una sola carga por lote: los servicios ya en la caché de segundo nivel no llegan a la base de datos
+        return servicesRepo.findAllById(serviceDTOs);
     }
 }
\ No newline at end of file
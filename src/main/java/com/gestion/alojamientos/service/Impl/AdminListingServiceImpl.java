@@ -0,0 +1,239 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.dto.admin.AdminAccommodationRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminBookingRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminGuestRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminHostRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingFilterDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingPageDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.model.enums.StatesOfGuest;
+import com.gestion.alojamientos.model.enums.StatesOfHost;
+import com.gestion.alojamientos.model.users.Guest;
+import com.gestion.alojamientos.model.users.Host;
+import com.gestion.alojamientos.repository.user.AdminListingRepo;
+import com.gestion.alojamientos.repository.user.AdminListingSpecs;
+import com.gestion.alojamientos.service.AdminListingService;
+
+@Service
+public class AdminListingServiceImpl implements AdminListingService {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final AdminListingRepo listingRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int streamFetchSize;
+
+    public AdminListingServiceImpl(AdminListingRepo listingRepo,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${admin.listings.stream-fetch-size:500}") int streamFetchSize) {
+        this.listingRepo = listingRepo;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.streamFetchSize = streamFetchSize;
+    }
+
+    @Override
+    public AdminListingPageDTO<AdminGuestRowDTO> listGuests(AdminListingFilterDTO filter, Long cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Specification<Guest> spec = guestSpec(filter, cursor);
+        return page(listingRepo.findGuestRows(spec, pageSize + 1), pageSize, AdminGuestRowDTO::id);
+    }
+
+    @Override
+    public AdminListingPageDTO<AdminHostRowDTO> listHosts(AdminListingFilterDTO filter, Long cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Specification<Host> spec = hostSpec(filter, cursor);
+        return page(listingRepo.findHostRows(spec, pageSize + 1), pageSize, AdminHostRowDTO::id);
+    }
+
+    @Override
+    public AdminListingPageDTO<AdminAccommodationRowDTO> listAccommodations(AdminListingFilterDTO filter, Long cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Specification<Accomodation> spec = accommodationSpec(filter, cursor);
+        return page(listingRepo.findAccommodationRows(spec, pageSize + 1), pageSize, AdminAccommodationRowDTO::id);
+    }
+
+    @Override
+    public AdminListingPageDTO<AdminBookingRowDTO> listBookings(AdminListingFilterDTO filter, Long cursor, Integer size) {
+        int pageSize = pageSize(size);
+        Specification<Booking> spec = bookingSpec(filter, cursor);
+        return page(listingRepo.findBookingRows(spec, pageSize + 1), pageSize, AdminBookingRowDTO::id);
+    }
+
+    @Override
+    public ListingWriter streamGuests(AdminListingFilterDTO filter, Long cursor) {
+        Specification<Guest> spec = guestSpec(filter, cursor);
+        return writer(fetchSize -> listingRepo.streamGuestRows(spec, fetchSize));
+    }
+
+    @Override
+    public ListingWriter streamHosts(AdminListingFilterDTO filter, Long cursor) {
+        Specification<Host> spec = hostSpec(filter, cursor);
+        return writer(fetchSize -> listingRepo.streamHostRows(spec, fetchSize));
+    }
+
+    @Override
+    public ListingWriter streamAccommodations(AdminListingFilterDTO filter, Long cursor) {
+        Specification<Accomodation> spec = accommodationSpec(filter, cursor);
+        return writer(fetchSize -> listingRepo.streamAccommodationRows(spec, fetchSize));
+    }
+
+    @Override
+    public ListingWriter streamBookings(AdminListingFilterDTO filter, Long cursor) {
+        Specification<Booking> spec = bookingSpec(filter, cursor);
+        return writer(fetchSize -> listingRepo.streamBookingRows(spec, fetchSize));
+    }
+
+    // ===== Filtros =====
+
+    private Specification<Guest> guestSpec(AdminListingFilterDTO filter, Long cursor) {
+        AdminListingFilterDTO f = orEmpty(filter);
+        rejectLocationAndDates(f, "huéspedes");
+        return AdminListingSpecs.guests(parseEnum(StatesOfGuest.class, f.state(), "Estado"), cursor);
+    }
+
+    private Specification<Host> hostSpec(AdminListingFilterDTO filter, Long cursor) {
+        AdminListingFilterDTO f = orEmpty(filter);
+        rejectLocationAndDates(f, "anfitriones");
+        return AdminListingSpecs.hosts(parseEnum(StatesOfHost.class, f.state(), "Estado"), cursor);
+    }
+
+    private Specification<Accomodation> accommodationSpec(AdminListingFilterDTO filter, Long cursor) {
+        AdminListingFilterDTO f = orEmpty(filter);
+        validateDates(f);
+        // Los valores de ApprovalStatus y OperationalStatus no se repiten: el estado indica a cuál se refiere
+        ApprovalStatus approval = null;
+        OperationalStatus operational = null;
+        if (f.state() != null && !f.state().isBlank()) {
+            String state = f.state().trim().toUpperCase(Locale.ROOT);
+            try {
+                approval = ApprovalStatus.valueOf(state);
+            } catch (IllegalArgumentException e) {
+                operational = parseEnum(OperationalStatus.class, state, "Estado");
+            }
+        }
+        return AdminListingSpecs.accommodations(approval, operational, parseEnum(Cities.class, f.city(), "Ciudad"),
+                startOf(f.from()), endOf(f.to()), cursor);
+    }
+
+    private Specification<Booking> bookingSpec(AdminListingFilterDTO filter, Long cursor) {
+        AdminListingFilterDTO f = orEmpty(filter);
+        validateDates(f);
+        return AdminListingSpecs.bookings(parseEnum(StatesOfBooking.class, f.state(), "Estado"),
+                parseEnum(Cities.class, f.city(), "Ciudad"), startOf(f.from()), endOf(f.to()), cursor);
+    }
+
+    private static AdminListingFilterDTO orEmpty(AdminListingFilterDTO filter) {
+        return filter != null ? filter : new AdminListingFilterDTO(null, null, null, null);
+    }
+
+    private static void rejectLocationAndDates(AdminListingFilterDTO filter, String listing) {
+        if ((filter.city() != null && !filter.city().isBlank()) || filter.from() != null || filter.to() != null) {
+            throw new IllegalArgumentException("Los filtros de ciudad y fechas no aplican al listado de " + listing);
+        }
+    }
+
+    private static void validateDates(AdminListingFilterDTO filter) {
+        if (filter.from() != null && filter.to() != null && filter.to().isBefore(filter.from())) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la inicial");
+        }
+    }
+
+    private static LocalDateTime startOf(LocalDate day) {
+        return day != null ? day.atStartOfDay() : null;
+    }
+
+    // El día final se incluye completo: el límite es la medianoche siguiente (exclusiva)
+    private static LocalDateTime endOf(LocalDate day) {
+        return day != null ? day.plusDays(1).atStartOfDay() : null;
+    }
+
+    // Método auxiliar para convertir los filtros de texto a enums
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(label + " no válido: " + value);
+        }
+    }
+
+    // ===== Paginación y streaming =====
+
+    private static int pageSize(Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
+    /**
+     * Se pide una fila extra para saber si existe una página siguiente sin ejecutar un COUNT.
+     */
+    private static <R> AdminListingPageDTO<R> page(List<R> rows, int pageSize, Function<R, Long> id) {
+        boolean hasMore = rows.size() > pageSize;
+        List<R> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasMore ? id.apply(items.get(items.size() - 1)) : null;
+        return new AdminListingPageDTO<>(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    /**
+     * Cada fila se serializa apenas llega del cursor y se envía al cliente por bloques del tamaño del
+     * fetch size, así ni el servidor ni el driver retienen más de un bloque en memoria.
+     */
+    private <R> ListingWriter writer(IntFunction<Stream<R>> source) {
+        return out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                json.writeStartArray();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<R> rows = source.apply(streamFetchSize)) {
+                        int written = 0;
+                        for (R row : (Iterable<R>) rows::iterator) {
+                            json.writeObject(row);
+                            if (++written % streamFetchSize == 0) {
+                                json.flush();
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -26,7 +26,6 @@ import com.gestion.alojamientos.mapper.booking.BookingMapper;
 import com.gestion.alojamientos.mapper.accomodation.CommentAccomodationMapper;
 import com.gestion.alojamientos.mapper.accomodation.CommentHostMapper;
 import com.gestion.alojamientos.model.accomodation.Accomodation;
-import com.gestion.alojamientos.model.accomodation.AccomodationCalification;
 import com.gestion.alojamientos.model.accomodation.OperationalStatus;
 import com.gestion.alojamientos.model.base.SuperUser;
 import com.gestion.alojamientos.model.enums.StatesAdmin;
@@ -38,18 +37,21 @@ import com.gestion.alojamientos.repository.user.AdminRepository;
 import com.gestion.alojamientos.repository.user.GuestRepository;
 import com.gestion.alojamientos.repository.user.HostRepo;
 import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.AccomodationCalificationRepo;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
 import com.gestion.alojamientos.repository.accomodation.CommentAccomodationRepo;
 import com.gestion.alojamientos.repository.accomodation.CommentHostRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.AccommodationDetailService;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -98,6 +100,10 @@ public class AdminServiceImpl implements com.gestion.alojamientos.service.AdminS
     private AccommodationRepo accommodationRepo;
     @Autowired(required = false)
     private AccommodationMapper accommodationMapper;
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired(required = false)
+    private AccommodationDetailService accommodationDetailService;
 
     @Autowired(required = false)
     private BookingRepo bookingRepo;
@@ -115,6 +121,8 @@ public class AdminServiceImpl implements com.gestion.alojamientos.service.AdminS
     private CommentHostMapper commentHostMapper;
     @Autowired
     private AccommodationCalificationMapper accommodationCalificationMapper;
+    @Autowired(required = false)
+    private AccomodationCalificationRepo accomodationCalificationRepo;
 
 
     @Override
@@ -355,13 +363,14 @@ public class AdminServiceImpl implements com.gestion.alojamientos.service.AdminS
         if (accommodationMapper == null) {
             throw new UnsupportedOperationException("AccommodationMapper no está disponible (CALIFICATIONS).");
         }
-        List<AccommodationCalificationDTO> list = new ArrayList<>();
-        for(Accomodation accommodation : accommodationRepo.findByHostId(id)) {
-            for(AccomodationCalification accomodationCalification: accommodation.getAccomodationCalificationList()){
-                list.add(accommodationCalificationMapper.toDTO(accomodationCalification));
-            }
+        if (accomodationCalificationRepo == null) {
+            throw new UnsupportedOperationException("AccomodationCalificationRepo no está disponible (CALIFICATIONS).");
         }
-        return list;
+        // Una sola consulta sobre las calificaciones en lugar de cargar cada alojamiento y su lista completa
+        return accomodationCalificationRepo.findByHostId(id)
+                .stream()
+                .map(accommodationCalificationMapper::toDTO)
+                .collect(Collectors.toList());
     }
     // ===== 3. Alojamientos =====
 
@@ -397,6 +406,12 @@ public class AdminServiceImpl implements com.gestion.alojamientos.service.AdminS
 
         accommodation.setOperationalStatus(OperationalStatus.DELETED);
         accommodationRepo.save(accommodation);
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new AccommodationChangedEvent(accommodation));
+        }
+        if (accommodationDetailService != null) {
+            accommodationDetailService.invalidate(id);
+        }
     }
 
     // ===== 4. Reservas =====
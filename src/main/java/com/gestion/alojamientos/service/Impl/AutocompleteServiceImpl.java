@@ -0,0 +1,315 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gestion.alojamientos.dto.accommodation.AutocompleteSuggestionDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.AutocompleteService;
+
+@Service
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteServiceImpl.class);
+
+    static final String KIND_TITLE = "TITLE";
+    static final String KIND_CITY = "CITY";
+    static final String KIND_SERVICE = "SERVICE";
+
+    static final int MAX_PREFIX_LENGTH = 100;
+    static final int MAX_SUGGESTIONS = 20;
+
+    // Nombres con tildes para mostrar; las ciudades que no estén aquí se derivan del nombre del enum
+    private static final Map<Cities, String> CITY_LABELS = new EnumMap<>(Map.of(
+            Cities.CALARCA, "Calarcá",
+            Cities.LA_TEBAIDA, "La Tebaida"));
+
+    private final AccommodationRepo accommodationRepo;
+
+    // El trie no admite escrituras concurrentes con lecturas; las escrituras son raras y cortas
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Catalog catalog = new Catalog();
+    private final IndexReloadJournal<Catalog> reloadJournal = new IndexReloadJournal<>();
+
+    public AutocompleteServiceImpl(AccommodationRepo accommodationRepo) {
+        this.accommodationRepo = accommodationRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        upsert(event.accommodation());
+    }
+
+    @Override
+    public synchronized int reloadIndex() {
+        long start = System.currentTimeMillis();
+        reloadJournal.start();
+        try {
+            return load(start);
+        } finally {
+            reloadJournal.stop();
+        }
+    }
+
+    private int load(long start) {
+        Map<Long, Cities> cities = new HashMap<>();
+        for (Object[] row : accommodationRepo.findFacetRows()) {
+            cities.put((Long) row[0], (Cities) row[1]);
+        }
+        Map<Long, List<Long>> services = new HashMap<>();
+        Map<Long, String> serviceNames = new HashMap<>();
+        for (Object[] row : accommodationRepo.findFacetServiceRows()) {
+            services.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            serviceNames.put((Long) row[1], (String) row[2]);
+        }
+
+        Catalog fresh = new Catalog();
+        fresh.serviceNames.putAll(serviceNames);
+        List<Object[]> rows = accommodationRepo.findAutocompleteTitleRows();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            fresh.put(id, new Listing((String) row[1], cities.get(id), services.getOrDefault(id, List.of()),
+                    ((Number) row[2]).intValue()));
+        }
+
+        reloadJournal.publish(fresh, next -> {
+            lock.writeLock().lock();
+            try {
+                catalog = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        log.info("Autocompletado cargado: {} alojamientos ({} ms)", rows.size(), System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    @Override
+    public void upsert(Accomodation accommodation) {
+        if (accommodation == null || accommodation.getId() == null) {
+            return;
+        }
+        Long accommodationId = accommodation.getId();
+        if (accommodation.getApprovalStatus() != ApprovalStatus.APPROVED
+                || accommodation.getOperationalStatus() != OperationalStatus.ACTIVE) {
+            remove(accommodationId);
+            return;
+        }
+        List<Long> serviceIds = new ArrayList<>();
+        Map<Long, String> names = new HashMap<>();
+        if (accommodation.getServicesList() != null) {
+            for (Services service : accommodation.getServicesList()) {
+                serviceIds.add(service.getId());
+                names.put(service.getId(), service.getName());
+            }
+        }
+        String title = accommodation.getTitle();
+        Cities city = accommodation.getUbication() != null ? accommodation.getUbication().getCity() : null;
+        write(current -> {
+            current.serviceNames.putAll(names);
+            // Las reservas solo cambian con la recarga periódica; se conserva la popularidad conocida
+            Listing previous = current.listings.get(accommodationId);
+            current.put(accommodationId, new Listing(title, city, serviceIds, previous != null ? previous.bookings() : 0));
+        });
+    }
+
+    @Override
+    public void remove(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        write(current -> current.remove(accommodationId));
+    }
+
+    @Override
+    public List<AutocompleteSuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("El texto debe tener entre 1 y " + MAX_PREFIX_LENGTH + " caracteres");
+        }
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_SUGGESTIONS);
+        }
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return catalog.trie.top(key, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clave de búsqueda: palabras normalizadas separadas por un espacio. Un espacio final se conserva
+     * para que "casa " no sugiera "casas".
+     */
+    static String normalize(String text) {
+        List<String> words = SpanishTextAnalyzer.words(text);
+        if (words.isEmpty()) {
+            return "";
+        }
+        String key = String.join(" ", words);
+        return Character.isWhitespace(text.charAt(text.length() - 1)) ? key + " " : key;
+    }
+
+    /**
+     * Claves bajo las que se encuentra un texto: el texto completo y cada sufijo que empieza en una palabra
+     * no vacía, así "Cabaña campestre en Salento" aparece al escribir "campes" o "salen".
+     */
+    static List<String> keys(String text) {
+        List<String> words = SpanishTextAnalyzer.words(text);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            if (i == 0 || !SpanishTextAnalyzer.isStopWord(words.get(i))) {
+                keys.add(String.join(" ", words.subList(i, words.size())));
+            }
+        }
+        return keys;
+    }
+
+    static String cityLabel(Cities city) {
+        String label = CITY_LABELS.get(city);
+        if (label != null) {
+            return label;
+        }
+        StringBuilder result = new StringBuilder();
+        for (String word : city.name().toLowerCase(Locale.ROOT).split("_")) {
+            if (!result.isEmpty()) {
+                result.append(' ');
+            }
+            result.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return result.toString();
+    }
+
+    private void write(Consumer<Catalog> change) {
+        reloadJournal.apply(() -> catalog, target -> {
+            lock.writeLock().lock();
+            try {
+                change.accept(target);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private record Listing(String title, Cities city, List<Long> serviceIds, int bookings) { }
+
+    /**
+     * Trie y contadores de popularidad. Se recuerda cada alojamiento para poder retirar sus claves
+     * y descontar su ciudad y servicios al actualizarlo o eliminarlo.
+     */
+    private static final class Catalog {
+
+        private final SuggestionTrie<AutocompleteSuggestionDTO> trie =
+                new SuggestionTrie<>(Comparator.comparing(AutocompleteSuggestionDTO::label)
+                        .thenComparing(AutocompleteSuggestionDTO::kind)
+                        .thenComparing(AutocompleteSuggestionDTO::value));
+        private final Map<Long, Listing> listings = new HashMap<>();
+        private final Map<Cities, Integer> cityCounts = new EnumMap<>(Cities.class);
+        private final Map<Long, Integer> serviceCounts = new HashMap<>();
+        private final Map<Long, String> serviceNames = new HashMap<>();
+
+        void put(Long accommodationId, Listing listing) {
+            remove(accommodationId);
+            listings.put(accommodationId, listing);
+            if (listing.title() != null) {
+                AutocompleteSuggestionDTO suggestion = titleSuggestion(accommodationId, listing.title());
+                for (String key : keys(listing.title())) {
+                    trie.put(key, suggestion, listing.bookings());
+                }
+            }
+            if (listing.city() != null) {
+                updateCity(listing.city(), 1);
+            }
+            for (Long serviceId : listing.serviceIds()) {
+                updateService(serviceId, 1);
+            }
+        }
+
+        void remove(Long accommodationId) {
+            Listing previous = listings.remove(accommodationId);
+            if (previous == null) {
+                return;
+            }
+            if (previous.title() != null) {
+                AutocompleteSuggestionDTO suggestion = titleSuggestion(accommodationId, previous.title());
+                for (String key : keys(previous.title())) {
+                    trie.remove(key, suggestion);
+                }
+            }
+            if (previous.city() != null) {
+                updateCity(previous.city(), -1);
+            }
+            for (Long serviceId : previous.serviceIds()) {
+                updateService(serviceId, -1);
+            }
+        }
+
+        private void updateCity(Cities city, int delta) {
+            int count = cityCounts.merge(city, delta, Integer::sum);
+            String label = cityLabel(city);
+            AutocompleteSuggestionDTO suggestion = new AutocompleteSuggestionDTO(label, KIND_CITY, city.name());
+            for (String key : keys(label)) {
+                if (count > 0) {
+                    trie.put(key, suggestion, count);
+                } else {
+                    trie.remove(key, suggestion);
+                }
+            }
+            if (count <= 0) {
+                cityCounts.remove(city);
+            }
+        }
+
+        private void updateService(Long serviceId, int delta) {
+            int count = serviceCounts.merge(serviceId, delta, Integer::sum);
+            String name = serviceNames.get(serviceId);
+            if (name != null) {
+                AutocompleteSuggestionDTO suggestion = new AutocompleteSuggestionDTO(name, KIND_SERVICE, serviceId.toString());
+                for (String key : keys(name)) {
+                    if (count > 0) {
+                        trie.put(key, suggestion, count);
+                    } else {
+                        trie.remove(key, suggestion);
+                    }
+                }
+            }
+            if (count <= 0) {
+                serviceCounts.remove(serviceId);
+            }
+        }
+
+        private static AutocompleteSuggestionDTO titleSuggestion(Long accommodationId, String title) {
+            return new AutocompleteSuggestionDTO(title, KIND_TITLE, accommodationId.toString());
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gestion.alojamientos.dto.booking.AvailabilityCalendarDTO;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.DetailBooking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
+
+    /**
+     * Estados de reserva que ocupan noches del alojamiento.
+     */
+    static final Set<StatesOfBooking> BLOCKING_STATES =
+            EnumSet.of(StatesOfBooking.PENDING, StatesOfBooking.CONFIRMED, StatesOfBooking.CHECK_IN);
+
+    static final int MAX_CALENDAR_ACCOMMODATIONS = 200;
+    static final int MAX_CALENDAR_DAYS = 366;
+
+    private final BookingRepo bookingRepo;
+
+    private volatile Map<Long, OccupancyCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    // Las retenciones usan claves negativas para no chocar con los IDs de reserva
+    private final AtomicLong holdSequence = new AtomicLong();
+    private final Map<Long, Long> pendingBindings = new ConcurrentHashMap<>();
+
+    // Los cambios al índice toman la lectura; el reemplazo por uno recargado toma la escritura
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    // Cambios aplicados mientras una recarga lee la base de datos; se repiten sobre el índice nuevo
+    private volatile List<Change> reloadJournal;
+
+    public AvailabilityServiceImpl(BookingRepo bookingRepo) {
+        this.bookingRepo = bookingRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadIndex();
+    }
+
+    @Override
+    public synchronized int reloadIndex() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+
+        // Lo que cambie desde aquí (reservas confirmadas, liberadas o re-etiquetadas) puede no estar en la consulta
+        List<Change> journal = Collections.synchronizedList(new ArrayList<>());
+        reloadJournal = journal;
+        List<Object[]> rows;
+        Map<Long, OccupancyCalendar> fresh = new ConcurrentHashMap<>();
+        try {
+            rows = bookingRepo.findOccupiedRanges(BLOCKING_STATES, today);
+            for (Object[] row : rows) {
+                Long bookingId = (Long) row[0];
+                Long accommodationId = (Long) row[1];
+                LocalDate checkIn = (LocalDate) row[2];
+                LocalDate checkOut = (LocalDate) row[3];
+                fresh.computeIfAbsent(accommodationId, id -> new OccupancyCalendar())
+                        .put(bookingId, checkIn.toEpochDay(), checkOut.toEpochDay());
+            }
+
+            indexLock.writeLock().lock();
+            try {
+                // Conservar las retenciones en curso de transacciones aún abiertas
+                calendars.forEach((accommodationId, calendar) -> calendar.copyHoldsTo(
+                        fresh.computeIfAbsent(accommodationId, id -> new OccupancyCalendar())));
+                // Repetir en orden los cambios ocurridos durante la consulta; son idempotentes
+                // frente a lo que la consulta ya haya visto
+                for (Change change : journal) {
+                    change.replay().accept(fresh.computeIfAbsent(change.accommodationId(), id -> new OccupancyCalendar()));
+                }
+                calendars = fresh;
+                loaded = true;
+            } finally {
+                reloadJournal = null;
+                indexLock.writeLock().unlock();
+            }
+        } finally {
+            reloadJournal = null;
+        }
+
+        log.info("Índice de disponibilidad cargado: {} reservas en {} alojamientos ({} ms)",
+                rows.size(), fresh.size(), System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    @Override
+    public boolean isAvailable(Long accommodationId, LocalDate checkIn, LocalDate checkOut) {
+        if (!loaded) {
+            // Mientras el índice no esté cargado se responde desde la base de datos
+            return !bookingRepo.isAccommodationBooked(accommodationId, checkIn, checkOut);
+        }
+        OccupancyCalendar calendar = calendars.get(accommodationId);
+        return calendar == null || calendar.isFree(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    @Override
+    public List<AvailabilityCalendarDTO> getAvailabilityCalendars(List<Long> accommodationIds, LocalDate startDate, int days) {
+        if (accommodationIds == null || accommodationIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un alojamiento");
+        }
+        if (accommodationIds.size() > MAX_CALENDAR_ACCOMMODATIONS) {
+            throw new IllegalArgumentException("Máximo " + MAX_CALENDAR_ACCOMMODATIONS + " alojamientos por consulta");
+        }
+        if (startDate == null || days <= 0 || days > MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("El rango debe tener entre 1 y " + MAX_CALENDAR_DAYS + " días");
+        }
+        if (!loaded) {
+            reloadIndex();
+        }
+
+        long from = startDate.toEpochDay();
+        List<AvailabilityCalendarDTO> result = new ArrayList<>(accommodationIds.size());
+        for (Long accommodationId : accommodationIds) {
+            OccupancyCalendar calendar = calendars.get(accommodationId);
+            BitSet occupied = calendar == null ? new BitSet() : calendar.occupied(from, from + days);
+            result.add(new AvailabilityCalendarDTO(
+                    accommodationId,
+                    startDate,
+                    days,
+                    days - occupied.cardinality(),
+                    Base64.getEncoder().encodeToString(occupied.toByteArray())
+            ));
+        }
+        return result;
+    }
+
+    @Override
+    public Long reserve(Long accommodationId, LocalDate checkIn, LocalDate checkOut) {
+        if (!loaded) {
+            reloadIndex();
+        }
+        Long holdId = holdSequence.decrementAndGet();
+        // Las retenciones no se registran en el diario: la recarga las copia del índice anterior al reemplazarlo
+        indexLock.readLock().lock();
+        try {
+            OccupancyCalendar calendar = calendars.computeIfAbsent(accommodationId, id -> new OccupancyCalendar());
+            if (!calendar.tryPut(holdId, checkIn.toEpochDay(), checkOut.toEpochDay())) {
+                return null;
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    Long bookingId = pendingBindings.remove(holdId);
+                    if (status == STATUS_COMMITTED && bookingId != null) {
+                        rekey(accommodationId, holdId, bookingId);
+                    } else {
+                        mutate(accommodationId, calendar -> calendar.remove(holdId));
+                    }
+                }
+            });
+        }
+        return holdId;
+    }
+
+    @Override
+    public void bindReservation(Long accommodationId, Long holdId, Long bookingId) {
+        if (holdId == null || bookingId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingBindings.put(holdId, bookingId);
+            return;
+        }
+        rekey(accommodationId, holdId, bookingId);
+    }
+
+    @Override
+    public boolean reschedule(Long accommodationId, Long bookingId, LocalDate checkIn, LocalDate checkOut) {
+        if (!loaded) {
+            reloadIndex();
+        }
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        Long holdId = holdSequence.decrementAndGet();
+        indexLock.readLock().lock();
+        try {
+            OccupancyCalendar calendar = calendars.computeIfAbsent(accommodationId, id -> new OccupancyCalendar());
+            if (!calendar.tryPutExcept(holdId, from, to, bookingId)) {
+                return false;
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // afterCommit de syncBooking corre antes que afterCompletion: las noches nunca quedan libres entre ambos
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    mutate(accommodationId, calendar -> calendar.remove(holdId));
+                }
+            });
+        } else {
+            mutate(accommodationId, calendar -> {
+                calendar.put(bookingId, from, to);
+                calendar.remove(holdId);
+            });
+        }
+        return true;
+    }
+
+    @Override
+    public void syncBooking(Booking booking) {
+        if (booking == null || booking.getId() == null || booking.getAccomodation() == null) {
+            return;
+        }
+        Long bookingId = booking.getId();
+        Long accommodationId = booking.getAccomodation().getId();
+        DetailBooking detail = booking.getDetailBooking();
+
+        if (!BLOCKING_STATES.contains(booking.getBookingState()) || detail == null
+                || detail.getCheckInDate() == null || detail.getCheckOutDate() == null) {
+            releaseBooking(accommodationId, bookingId);
+            return;
+        }
+
+        long from = detail.getCheckInDate().toEpochDay();
+        long to = detail.getCheckOutDate().toEpochDay();
+        afterCommit(() -> mutate(accommodationId, calendar -> calendar.put(bookingId, from, to)));
+    }
+
+    @Override
+    public void releaseBooking(Long accommodationId, Long bookingId) {
+        if (accommodationId == null || bookingId == null) {
+            return;
+        }
+        afterCommit(() -> mutate(accommodationId, calendar -> calendar.remove(bookingId)));
+    }
+
+    /**
+     * La retención pasa a la reserva confirmada. Si una recarga está en curso, la retención ya no existirá
+     * al copiar las del índice anterior, así que en el nuevo se repite como alta de la reserva con su rango.
+     */
+    private void rekey(Long accommodationId, Long holdId, Long bookingId) {
+        long[][] moved = new long[1][];
+        mutate(accommodationId,
+                calendar -> moved[0] = calendar.rekey(holdId, bookingId),
+                calendar -> {
+                    calendar.remove(holdId);
+                    if (moved[0] != null) {
+                        calendar.put(bookingId, moved[0][0], moved[0][1]);
+                    }
+                });
+    }
+
+    private void mutate(Long accommodationId, Consumer<OccupancyCalendar> change) {
+        mutate(accommodationId, change, change);
+    }
+
+    /**
+     * Aplica un cambio al índice vigente y, si hay una recarga en curso, lo anota para repetirlo
+     * (con replay) sobre el índice nuevo antes de publicarlo.
+     */
+    private void mutate(Long accommodationId, Consumer<OccupancyCalendar> change, Consumer<OccupancyCalendar> replay) {
+        indexLock.readLock().lock();
+        try {
+            change.accept(calendars.computeIfAbsent(accommodationId, id -> new OccupancyCalendar()));
+            List<Change> journal = reloadJournal;
+            if (journal != null) {
+                journal.add(new Change(accommodationId, replay));
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private record Change(Long accommodationId, Consumer<OccupancyCalendar> replay) { }
+
+    /**
+     * Ejecuta la acción cuando la transacción actual hace commit, o de inmediato si no hay transacción.
+     * Así un rollback nunca deja noches ocupadas (o liberadas) que no existen en base de datos.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Noches ocupadas de un alojamiento.
+     * Cada bit representa una noche (día epoch relativo a baseDay); se conservan los rangos
+     * por reserva para poder liberar una reserva sin afectar a las demás.
+     * El monitor de cada calendario serializa únicamente los accesos a ese alojamiento.
+     */
+    private static final class OccupancyCalendar {
+
+        private final Map<Long, long[]> ranges = new HashMap<>();
+        private final BitSet nights = new BitSet();
+        private long baseDay = Long.MIN_VALUE;
+
+        synchronized boolean isFree(long from, long to) {
+            if (baseDay == Long.MIN_VALUE || to <= baseDay) {
+                return true;
+            }
+            int start = (int) (Math.max(from, baseDay) - baseDay);
+            int next = nights.nextSetBit(start);
+            return next < 0 || next >= to - baseDay;
+        }
+
+        /**
+         * Noches ocupadas en [from, to), con el bit 0 correspondiente a from.
+         */
+        synchronized BitSet occupied(long from, long to) {
+            if (baseDay == Long.MIN_VALUE || to <= baseDay) {
+                return new BitSet();
+            }
+            long start = Math.max(from, baseDay);
+            BitSet slice = nights.get((int) (start - baseDay), (int) (to - baseDay));
+            if (start == from) {
+                return slice;
+            }
+            BitSet shifted = new BitSet();
+            int offset = (int) (start - from);
+            for (int i = slice.nextSetBit(0); i >= 0; i = slice.nextSetBit(i + 1)) {
+                shifted.set(i + offset);
+            }
+            return shifted;
+        }
+
+        synchronized boolean tryPut(Long key, long from, long to) {
+            if (!isFree(from, to)) {
+                return false;
+            }
+            put(key, from, to);
+            return true;
+        }
+
+        /**
+         * Como tryPut, pero sin contar las noches que ya ocupa la clave ignored.
+         */
+        synchronized boolean tryPutExcept(Long key, long from, long to, Long ignored) {
+            long[] own = ranges.remove(ignored);
+            if (own != null) {
+                rebuild();
+            }
+            boolean free = isFree(from, to);
+            if (own != null) {
+                put(ignored, own[0], own[1]);
+            }
+            if (free) {
+                put(key, from, to);
+            }
+            return free;
+        }
+
+        synchronized long[] rekey(Long oldKey, Long newKey) {
+            long[] range = ranges.remove(oldKey);
+            if (range != null) {
+                ranges.put(newKey, range);
+            }
+            return range;
+        }
+
+        synchronized void copyHoldsTo(OccupancyCalendar target) {
+            ranges.forEach((key, range) -> {
+                if (key < 0) {
+                    target.put(key, range[0], range[1]);
+                }
+            });
+        }
+
+        synchronized void put(Long bookingId, long from, long to) {
+            long[] previous = ranges.put(bookingId, new long[] { from, to });
+            if (previous != null || (baseDay != Long.MIN_VALUE && from < baseDay)) {
+                rebuild();
+            } else {
+                mark(from, to);
+            }
+        }
+
+        synchronized void remove(Long bookingId) {
+            if (ranges.remove(bookingId) != null) {
+                rebuild();
+            }
+        }
+
+        private void rebuild() {
+            long today = LocalDate.now().toEpochDay();
+            ranges.values().removeIf(range -> range[1] <= today);
+            nights.clear();
+            baseDay = Long.MIN_VALUE;
+            ranges.values().stream()
+                    .mapToLong(range -> range[0])
+                    .min()
+                    .ifPresent(min -> baseDay = min);
+            for (long[] range : ranges.values()) {
+                mark(range[0], range[1]);
+            }
+        }
+
+        private void mark(long from, long to) {
+            if (to <= from) {
+                return;
+            }
+            if (baseDay == Long.MIN_VALUE) {
+                baseDay = from;
+            }
+            nights.set((int) (from - baseDay), (int) (to - baseDay));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.gestion.alojamientos.service.Impl;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.gestion.alojamientos.dto.booking.BookingDTO;
+import com.gestion.alojamientos.dto.booking.detailBooking.DetailBookingDTO;
+import com.gestion.alojamientos.mapper.booking.BookingMapper;
+import com.gestion.alojamientos.mapper.booking.DetailBookingMapper;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.BookingEvent;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.BookingEventHandler;
+import com.gestion.alojamientos.service.EmailService;
+
+/**
+ * Correos al huésped disparados por el ciclo de vida de la reserva:
+ * creación, cancelación y check-out.
+ */
+@Service
+public class BookingEmailEventHandler implements BookingEventHandler {
+
+    private final BookingRepo bookingRepo;
+    private final EmailService emailService;
+    private final BookingMapper bookingMapper;
+    private final DetailBookingMapper detailBookingMapper;
+
+    public BookingEmailEventHandler(BookingRepo bookingRepo, EmailService emailService,
+                                    BookingMapper bookingMapper, DetailBookingMapper detailBookingMapper) {
+        this.bookingRepo = bookingRepo;
+        this.emailService = emailService;
+        this.bookingMapper = bookingMapper;
+        this.detailBookingMapper = detailBookingMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void handle(BookingEvent event) throws Exception {
+        boolean created = event.getFromState() == null;
+        if (!created && event.getToState() != StatesOfBooking.CANCELLED && event.getToState() != StatesOfBooking.CHECK_OUT) {
+            return;
+        }
+
+        Booking booking = bookingRepo.findByIdWithAllDetails(event.getBookingId()).orElse(null);
+        if (booking == null) {
+            return;
+        }
+        String guestEmail = booking.getGuest().getEmail();
+        BookingDTO bookingDTO = bookingMapper.toDto(booking);
+        DetailBookingDTO detailBookingDTO = detailBookingMapper.toDto(booking.getDetailBooking());
+
+        if (created) {
+            emailService.SendNewBookingEmail(guestEmail, bookingDTO, detailBookingDTO);
+        } else if (event.getToState() == StatesOfBooking.CANCELLED) {
+            emailService.sendCancelledBookingEmail(guestEmail, bookingDTO, detailBookingDTO);
+
+            // PUNTO PARA PAYMENT SERVICE (reembolso)
+            // paymentService.processRefund(booking);
+        } else {
+            emailService.sendCheckOutThanksEmail(guestEmail, bookingDTO, detailBookingDTO);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gestion.alojamientos.model.booking.BookingEvent;
+import com.gestion.alojamientos.repository.booking.BookingEventRepo;
+import com.gestion.alojamientos.service.BookingEventDispatcher;
+import com.gestion.alojamientos.service.BookingEventHandler;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class BookingEventDispatcherImpl implements BookingEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingEventDispatcherImpl.class);
+
+    static final int MAX_ATTEMPTS = 5;
+    static final int SWEEP_BATCH_SIZE = 200;
+
+    private final BookingEventRepo bookingEventRepo;
+    private final List<BookingEventHandler> handlers;
+    private final ExecutorService workers;
+
+    // Evita que el barrido periódico encole de nuevo un evento que ya está en un worker
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public BookingEventDispatcherImpl(BookingEventRepo bookingEventRepo,
+                                      List<BookingEventHandler> handlers,
+                                      @Value("${booking.events.workers:4}") int workerCount) {
+        this.bookingEventRepo = bookingEventRepo;
+        this.handlers = handlers;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(workerCount, 1), runnable -> {
+            Thread thread = new Thread(runnable, "booking-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+    }
+
+    @Override
+    public void dispatch(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(eventId);
+                }
+            });
+        } else {
+            submit(eventId);
+        }
+    }
+
+    @Override
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000) // Recupera eventos no despachados cada minuto
+    public int dispatchPending() {
+        List<Long> eventIds = bookingEventRepo.findUndispatchedIds(MAX_ATTEMPTS, Limit.of(SWEEP_BATCH_SIZE));
+        int submitted = 0;
+        for (Long eventId : eventIds) {
+            if (submit(eventId)) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            log.info("Reencolados {} eventos de reserva pendientes de despacho", submitted);
+        }
+        return submitted;
+    }
+
+    private boolean submit(Long eventId) {
+        if (!inFlight.add(eventId)) {
+            return false;
+        }
+        try {
+            workers.execute(() -> process(eventId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Apagando la aplicación: el barrido lo recogerá en el próximo arranque
+            inFlight.remove(eventId);
+            return false;
+        }
+    }
+
+    private void process(Long eventId) {
+        try {
+            BookingEvent event = bookingEventRepo.findById(eventId).orElse(null);
+            if (event == null || event.getProcessedAt() != null) {
+                return;
+            }
+            for (BookingEventHandler handler : handlers) {
+                handler.handle(event);
+            }
+            bookingEventRepo.markProcessed(eventId, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Error despachando el evento de reserva {}: {}", eventId, e.getMessage());
+            try {
+                bookingEventRepo.markFailed(eventId, truncate(e.getMessage()));
+            } catch (Exception markError) {
+                log.error("No se pudo registrar el fallo del evento {}", eventId, markError);
+            }
+        } finally {
+            inFlight.remove(eventId);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
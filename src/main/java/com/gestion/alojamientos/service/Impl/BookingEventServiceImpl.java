@@ -0,0 +1,105 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import com.gestion.alojamientos.dto.booking.BookingEventDTO;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.BookingEvent;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingEventRepo;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.BookingEventDispatcher;
+import com.gestion.alojamientos.service.BookingEventService;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+
+@Service
+public class BookingEventServiceImpl implements BookingEventService {
+
+    private final BookingEventRepo bookingEventRepo;
+    private final BookingRepo bookingRepo;
+    private final BookingEventDispatcher bookingEventDispatcher;
+
+    public BookingEventServiceImpl(BookingEventRepo bookingEventRepo, BookingRepo bookingRepo,
+                                   BookingEventDispatcher bookingEventDispatcher) {
+        this.bookingEventRepo = bookingEventRepo;
+        this.bookingRepo = bookingRepo;
+        this.bookingEventDispatcher = bookingEventDispatcher;
+    }
+
+    @Override
+    public void recordTransition(Booking booking, StatesOfBooking from, StatesOfBooking to) {
+        append(booking.getId(), from, to);
+    }
+
+    @Override
+    public void recordTransitions(List<Long> bookingIds, StatesOfBooking from, StatesOfBooking to) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingEvent> events = bookingIds.stream()
+            .map(bookingId -> BookingEvent.builder()
+                .bookingId(bookingId)
+                .fromState(from)
+                .toState(to)
+                .occurredAt(now)
+                .build())
+            .toList();
+        for (BookingEvent saved : bookingEventRepo.saveAll(events)) {
+            bookingEventDispatcher.dispatch(saved.getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean expirePending(Long bookingId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = bookingRepo.updateStateIfCurrent(bookingId, StatesOfBooking.PENDING, StatesOfBooking.CANCELLED, now);
+        if (updated == 0) {
+            return false;
+        }
+        append(bookingId, StatesOfBooking.PENDING, StatesOfBooking.CANCELLED);
+        return true;
+    }
+
+    @Override
+    public List<BookingEventDTO> getHistory(Long bookingId, Long userId, String role) {
+        List<Object[]> participants = bookingRepo.findParticipantIds(bookingId);
+        if (participants.isEmpty()) {
+            throw new EntityNotFoundException("Reserva no encontrada");
+        }
+        // Los IDs de huésped y anfitrión son de tablas distintas: se compara según el rol
+        Object[] participant = participants.get(0);
+        boolean allowed = switch (role == null ? "" : role) {
+            case "ADMIN" -> true;
+            case "GUEST" -> userId != null && userId.equals(participant[0]);
+            case "HOST" -> userId != null && userId.equals(participant[1]);
+            default -> false;
+        };
+        if (!allowed) {
+            throw new AccessDeniedException("No tienes permisos para ver el historial de esta reserva");
+        }
+        return bookingEventRepo.findByBookingIdOrderByIdAsc(bookingId).stream()
+            .map(event -> new BookingEventDTO(
+                event.getId(),
+                event.getBookingId(),
+                event.getFromState() != null ? event.getFromState().name() : null,
+                event.getToState().name(),
+                event.getOccurredAt(),
+                event.getProcessedAt()))
+            .toList();
+    }
+
+    private void append(Long bookingId, StatesOfBooking from, StatesOfBooking to) {
+        BookingEvent saved = bookingEventRepo.save(BookingEvent.builder()
+            .bookingId(bookingId)
+            .fromState(from)
+            .toState(to)
+            .occurredAt(LocalDateTime.now())
+            .build());
+        bookingEventDispatcher.dispatch(saved.getId());
+    }
+}
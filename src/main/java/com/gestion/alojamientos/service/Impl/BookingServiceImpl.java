@@ -21,7 +21,12 @@ import com.gestion.alojamientos.model.users.Guest;
 import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
 import com.gestion.alojamientos.repository.booking.*;
 import com.gestion.alojamientos.repository.user.GuestRepository;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
 import com.gestion.alojamientos.service.BookingService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+import com.gestion.alojamientos.service.QuoteService;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -30,6 +35,8 @@ import jakarta.transaction.Transactional;
 @Transactional
 public class BookingServiceImpl implements BookingService {
 
+    static final int MAX_GROUP_BOOKINGS = 50;
+
     @Autowired
     private BookingRepo bookingRepo;
     @Autowired
@@ -40,6 +47,16 @@ public class BookingServiceImpl implements BookingService {
     private DetailBookingRepo detailBookingRepo;
     @Autowired
     private BookingMapper bookingMapper;
+    @Autowired
+    private AvailabilityService availabilityService;
+    @Autowired
+    private PendingBookingExpiryService pendingBookingExpiryService;
+    @Autowired
+    private QuoteService quoteService;
+    @Autowired
+    private BookingEventService bookingEventService;
+    @Autowired
+    private AccommodationDetailService accommodationDetailService;
 
     @Override
     public BookingDTO createBooking(BookingCreateDTO createBookingDTO) throws Exception {
@@ -62,12 +79,20 @@ public class BookingServiceImpl implements BookingService {
         // Validar capacidad de huéspedes
         validateGuestCapacity(createBookingDTO.detailBookingCreateDTO(), accommodation);
 
-        // Validar disponibilidad (no solapamiento)
-        if (bookingRepo.isAccommodationBooked(
+        // Precio calculado en el servidor (null si el alojamiento aún no tiene tarifa configurada)
+        QuoteDTO quote = quoteService.quote(
             createBookingDTO.idAccommodation(),
             createBookingDTO.detailBookingCreateDTO().checkInDate(),
             createBookingDTO.detailBookingCreateDTO().checkOutDate()
-        )) {
+        );
+
+        // Validar disponibilidad y ocupar las noches de forma atómica (solo se serializa este alojamiento)
+        Long holdId = availabilityService.reserve(
+            createBookingDTO.idAccommodation(),
+            createBookingDTO.detailBookingCreateDTO().checkInDate(),
+            createBookingDTO.detailBookingCreateDTO().checkOutDate()
+        );
+        if (holdId == null) {
             throw new Exception("El alojamiento no está disponible en las fechas seleccionadas");
         }
 
@@ -80,34 +105,127 @@ public class BookingServiceImpl implements BookingService {
 
         // Crear entidad Booking
         Booking booking = buildBookingEntity(createBookingDTO, accommodation, guest, savedDetailBooking);
+        applyQuote(quote, savedDetailBooking, booking);
         Booking savedBooking = bookingRepo.save(booking);
 
-        // Actualizar relación bidireccional
+        // Actualizar relación bidireccional (lado inverso: no genera UPDATE, los INSERT salen en un mismo lote al hacer flush)
         savedDetailBooking.setBooking(savedBooking);
-        detailBookingRepo.save(savedDetailBooking);
 
-        // PUNTO PARA NOTIFICATION SERVICE
-        // notificationService.sendBookingConfirmation(savedBooking);
+        // Asociar las noches retenidas a la reserva creada
+        availabilityService.bindReservation(createBookingDTO.idAccommodation(), holdId, savedBooking.getId());
+
+        // Toda reserva nace pendiente y se cancela sola si no se confirma a tiempo
+        pendingBookingExpiryService.schedule(savedBooking.getId(), createBookingDTO.idAccommodation(), savedBooking.getCreationDate());
+
+        // Registrar la creación; el correo de confirmación se envía de forma asíncrona tras el commit
+        bookingEventService.recordTransition(savedBooking, null, savedBooking.getBookingState());
+
+        // La ficha del alojamiento lista los IDs de sus reservas
+        accommodationDetailService.invalidate(createBookingDTO.idAccommodation());
 
         return bookingMapper.toDto(savedBooking);
     }
     
+    @Override
+    @Transactional(rollbackOn = Exception.class)
+    public List<BookingDTO> createGroupBooking(GroupBookingCreateDTO groupBookingDTO) throws Exception {
+        List<BookingCreateDTO> requests = groupBookingDTO.bookings();
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("La reserva grupal debe incluir al menos una reserva");
+        }
+        if (requests.size() > MAX_GROUP_BOOKINGS) {
+            throw new IllegalArgumentException("Máximo " + MAX_GROUP_BOOKINGS + " reservas por grupo");
+        }
+
+        // Cargar alojamientos y huéspedes en una sola consulta cada uno
+        Map<Long, Accomodation> accommodations = accommodationRepo.findAllById(
+                requests.stream().map(BookingCreateDTO::idAccommodation).distinct().toList())
+            .stream().collect(Collectors.toMap(Accomodation::getId, a -> a));
+        Map<Long, Guest> guests = guestRepo.findAllById(
+                requests.stream().map(BookingCreateDTO::guestId).distinct().toList())
+            .stream().collect(Collectors.toMap(Guest::getId, g -> g));
+
+        // Validar todas las reservas antes de ocupar noches
+        for (BookingCreateDTO request : requests) {
+            Accomodation accommodation = accommodations.get(request.idAccommodation());
+            if (accommodation == null) {
+                throw new EntityNotFoundException("Alojamiento no encontrado: " + request.idAccommodation());
+            }
+            if (!guests.containsKey(request.guestId())) {
+                throw new EntityNotFoundException("Huésped no encontrado: " + request.guestId());
+            }
+            if (accommodation.getOperationalStatus() != OperationalStatus.ACTIVE ||
+                accommodation.getApprovalStatus() != ApprovalStatus.APPROVED) {
+                throw new Exception("El alojamiento " + accommodation.getId() + " no está disponible para reservas");
+            }
+            validateBookingDates(request.detailBookingCreateDTO());
+            validateGuestCapacity(request.detailBookingCreateDTO(), accommodation);
+        }
+
+        // Ocupar las noches de todo el grupo; si una falla, la excepción deshace la transacción
+        // y cada retención ya tomada se libera en el afterCompletion que registró reserve()
+        List<Long> holdIds = new ArrayList<>(requests.size());
+        for (BookingCreateDTO request : requests) {
+            Long holdId = availabilityService.reserve(
+                request.idAccommodation(),
+                request.detailBookingCreateDTO().checkInDate(),
+                request.detailBookingCreateDTO().checkOutDate()
+            );
+            if (holdId == null) {
+                throw new Exception("El alojamiento " + request.idAccommodation() + " no está disponible en las fechas seleccionadas");
+            }
+            holdIds.add(holdId);
+        }
+
+        // Persistir todo el grupo; los INSERT se envían en lotes JDBC al hacer flush
+        List<DetailBooking> details = new ArrayList<>(requests.size());
+        List<Booking> bookings = new ArrayList<>(requests.size());
+        for (BookingCreateDTO request : requests) {
+            DetailBooking detailBooking = buildDetailBooking(request.detailBookingCreateDTO());
+            Booking booking = buildBookingEntity(request, accommodations.get(request.idAccommodation()),
+                guests.get(request.guestId()), detailBooking);
+            applyQuote(quoteService.quote(request.idAccommodation(),
+                request.detailBookingCreateDTO().checkInDate(),
+                request.detailBookingCreateDTO().checkOutDate()), detailBooking, booking);
+            detailBooking.setBooking(booking);
+            details.add(detailBooking);
+            bookings.add(booking);
+        }
+        detailBookingRepo.saveAll(details);
+        List<Booking> savedBookings = bookingRepo.saveAll(bookings);
+
+        for (int i = 0; i < savedBookings.size(); i++) {
+            Booking saved = savedBookings.get(i);
+            availabilityService.bindReservation(requests.get(i).idAccommodation(), holdIds.get(i), saved.getId());
+            pendingBookingExpiryService.schedule(saved.getId(), requests.get(i).idAccommodation(), saved.getCreationDate());
+            bookingEventService.recordTransition(saved, null, saved.getBookingState());
+        }
+        accommodations.keySet().forEach(accommodationDetailService::invalidate);
+
+        return savedBookings.stream()
+            .map(bookingMapper::toDto)
+            .collect(Collectors.toList());
+    }
+
     @Override
     public BookingDTO updateBooking(BookingUpdateDTO updateBookingDTO) throws Exception {
         Booking booking = bookingRepo.findById(updateBookingDTO.idBooking())
             .orElseThrow(() -> new EntityNotFoundException("Reserva no encontrada"));
         
+        StatesOfBooking previousState = booking.getBookingState();
         if (updateBookingDTO.bookingState() != null) {
-        try {
-            booking.setBookingState(StatesOfBooking.valueOf(updateBookingDTO.bookingState().toUpperCase()));
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Estado de reserva no válido: " + updateBookingDTO.bookingState());
-        }
-    }
-        if (updateBookingDTO.totalPrice() != null) {
-            booking.setTotalPrice(updateBookingDTO.totalPrice());
+            StatesOfBooking newState;
+            try {
+                newState = StatesOfBooking.valueOf(updateBookingDTO.bookingState().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Estado de reserva no válido: " + updateBookingDTO.bookingState());
+            }
+            // Solo se permiten las transiciones del ciclo de vida (PENDING → CONFIRMED → CHECK_IN → CHECK_OUT, o CANCELLED)
+            if (previousState != null && newState != previousState && !previousState.canTransitionTo(newState)) {
+                throw new IllegalStateException("Transición de estado no permitida: " + previousState + " → " + newState);
+            }
+            booking.setBookingState(newState);
         }
-
         if (updateBookingDTO.paymenStatus() != null) {
             booking.setPaymentStatus(updateBookingDTO.paymenStatus());
         }
@@ -124,12 +242,19 @@ public class BookingServiceImpl implements BookingService {
 
             DetailBookingUpdateDTO detailDTO = updateBookingDTO.detailBookingUpdateDTO();
 
-            if (detailDTO.checkInDate() != null) {
-                detail.setCheckInDate(detailDTO.checkInDate());
-            }
-
-            if (detailDTO.checkOutDate() != null) {
-                detail.setCheckOutDate(detailDTO.checkOutDate());
+            LocalDate checkIn = detailDTO.checkInDate() != null ? detailDTO.checkInDate() : detail.getCheckInDate();
+            LocalDate checkOut = detailDTO.checkOutDate() != null ? detailDTO.checkOutDate() : detail.getCheckOutDate();
+            if (!checkIn.equals(detail.getCheckInDate()) || !checkOut.equals(detail.getCheckOutDate())) {
+                // El total lo recotiza el servidor para las nuevas fechas; el cliente no envía precios
+                Long accommodationId = booking.getAccomodation().getId();
+                QuoteDTO quote = quoteService.quote(accommodationId, checkIn, checkOut);
+                // Mismo bloqueo y verificación de solapamiento que al crear la reserva
+                if (!availabilityService.reschedule(accommodationId, booking.getId(), checkIn, checkOut)) {
+                    throw new IllegalStateException("El alojamiento no está disponible en las nuevas fechas");
+                }
+                detail.setCheckInDate(checkIn);
+                detail.setCheckOutDate(checkOut);
+                applyQuote(quote, detail, booking);
             }
 
             if (detailDTO.numberOfGuest() != null) {
@@ -153,6 +278,13 @@ public class BookingServiceImpl implements BookingService {
         // Guardar cambios en base de datos
         Booking updatedBooking = bookingRepo.save(booking);
 
+        // Reflejar cambios de estado o fechas en el índice de disponibilidad
+        availabilityService.syncBooking(updatedBooking);
+
+        if (updatedBooking.getBookingState() != previousState) {
+            bookingEventService.recordTransition(updatedBooking, previousState, updatedBooking.getBookingState());
+        }
+
         // Convertir y retornar DTO actualizado
         return bookingMapper.toDto(updatedBooking);
     }
@@ -168,17 +300,22 @@ public class BookingServiceImpl implements BookingService {
         // Validar política de 48 horas
         validateCancellationPolicy(booking);
 
+        StatesOfBooking previousState = booking.getBookingState();
+        if (previousState != null && !previousState.canTransitionTo(StatesOfBooking.CANCELLED)) {
+            throw new IllegalStateException("No se puede cancelar una reserva en estado " + previousState);
+        }
+
         // Actualizar estado
         booking.setBookingState(StatesOfBooking.CANCELLED);
         booking.setUpdateTime(LocalDateTime.now());
         
         Booking cancelledBooking = bookingRepo.save(booking);
 
-        // PUNTO PARA NOTIFICATION SERVICE
-        // notificationService.sendCancellationConfirmation(cancelledBooking);
+        // Liberar las noches en el índice de disponibilidad
+        availabilityService.releaseBooking(booking.getAccomodation().getId(), booking.getId());
 
-        // PUNTO PARA PAYMENT SERVICE (reembolso)
-        // paymentService.processRefund(cancelledBooking);
+        // Correo de cancelación y reembolso se despachan desde el registro de eventos tras el commit
+        bookingEventService.recordTransition(cancelledBooking, previousState, StatesOfBooking.CANCELLED);
 
         return true;
     }
@@ -269,16 +406,9 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private Booking buildBookingEntity(BookingCreateDTO dto, Accomodation accommodation, Guest guest, DetailBooking detailBooking) {
-        // Convertir String a Enum para bookingState
-        StatesOfBooking bookingState;
         Booking booking = new Booking();
-        try {
-            bookingState = parseBookingState(dto.bookingState());
-            booking.setBookingState(bookingState); // si no esta aqui no se inicializa XD
-        } catch (Exception e) {
-
-            e.printStackTrace();
-        }
+        // El estado inicial lo fija el servidor: el cliente no puede crear reservas ya confirmadas
+        booking.setBookingState(StatesOfBooking.PENDING);
         booking.setTotalPrice(dto.totalPrice());
         booking.setPaymentStatus(dto.paymenStatus());
         booking.setCreationDate(LocalDateTime.now());
@@ -309,6 +439,16 @@ public class BookingServiceImpl implements BookingService {
             .build();
     }
 
+    // Método auxiliar: reemplaza los precios enviados por el cliente por la cotización del servidor
+    private void applyQuote(QuoteDTO quote, DetailBooking detailBooking, Booking booking) {
+        if (quote == null) {
+            return;
+        }
+        detailBooking.setPriceNightAccommodation(quote.averageNightlyPrice());
+        detailBooking.setDiscount(quote.discount());
+        detailBooking.setSubTotal(Math.max(quote.subTotal() - quote.discount(), 0.0));
+        booking.setTotalPrice(quote.total());
+    }
     private Double calculateSubTotal(DetailBookingCreateDTO detailDTO) {
         long numberOfNights = ChronoUnit.DAYS.between(detailDTO.checkInDate(), detailDTO.checkOutDate());
         double subTotal = numberOfNights * detailDTO.priceNightAccommodation();
@@ -320,14 +460,6 @@ public class BookingServiceImpl implements BookingService {
         return Math.max(subTotal, 0.0);
     }
 
-    private StatesOfBooking parseBookingState(String bookingStateStr) throws Exception{
-        try {
-            return StatesOfBooking.valueOf(bookingStateStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            throw new Exception("Estado de reserva no válido: " + bookingStateStr);
-        }
-    }
-
     // MÉTODO PARA OBTENER GUEST AUTENTICADO (CUANDO SE IMPLEMENTE SEGURIDAD)
     /*
     private Guest getAuthenticatedGuest() {
@@ -0,0 +1,111 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gestion.alojamientos.dto.booking.StateTransitionReportDTO;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.BookingStateTransitionService;
+
+@Service
+public class BookingStateTransitionServiceImpl implements BookingStateTransitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingStateTransitionServiceImpl.class);
+
+    private final BookingRepo bookingRepo;
+    private final BookingEventService bookingEventService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ReentrantLock running = new ReentrantLock();
+
+    public BookingStateTransitionServiceImpl(BookingRepo bookingRepo,
+                                             BookingEventService bookingEventService,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${booking.state-transitions.chunk-size:1000}") int chunkSize) {
+        this.bookingRepo = bookingRepo;
+        this.bookingEventService = bookingEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    @Scheduled(cron = "${booking.state-transitions.cron:0 5 0 * * *}")
+    public void advanceStatesDaily() {
+        try {
+            advanceStates(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Error en el avance automático de estados de reserva", e);
+        }
+    }
+
+    @Override
+    public StateTransitionReportDTO advanceStates(LocalDate date) {
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Ya hay un avance de estados en curso");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int[] chunks = new int[1];
+
+            // Primero los check-in, para que una reserva con ambas fechas vencidas pase por CHECK_IN y llegue a CHECK_OUT
+            int checkedIn = advance(StatesOfBooking.CONFIRMED, StatesOfBooking.CHECK_IN, date, true, chunks);
+            int checkedOut = advance(StatesOfBooking.CHECK_IN, StatesOfBooking.CHECK_OUT, date, false, chunks);
+
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("Avance de estados al {}: {} reservas a CHECK_IN, {} a CHECK_OUT ({} lotes, {} ms)",
+                    date, checkedIn, checkedOut, chunks[0], elapsed);
+            return new StateTransitionReportDTO(date, checkedIn, checkedOut, chunks[0], elapsed);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Recorre las reservas vencidas por lotes de chunkSize IDs. Cada lote se bloquea, actualiza
+     * y registra en su propia transacción, así una interrupción solo pierde el lote en curso
+     * y la siguiente ejecución continúa donde quedó (las filas movidas ya no cumplen el filtro).
+     */
+    private int advance(StatesOfBooking from, StatesOfBooking to, LocalDate date, boolean byCheckIn, int[] chunks) {
+        int moved = 0;
+        long lastId = 0L;
+        while (true) {
+            long afterId = lastId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = byCheckIn
+                    ? bookingRepo.findIdsDueForCheckIn(from, date, afterId, Limit.of(chunkSize))
+                    : bookingRepo.findIdsDueForCheckOut(from, date, afterId, Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    return new Chunk(0, 0, afterId);
+                }
+                int updated = bookingRepo.updateStateForIds(ids, from, to, LocalDateTime.now());
+                bookingEventService.recordTransitions(ids, from, to);
+                return new Chunk(ids.size(), updated, ids.get(ids.size() - 1));
+            });
+            if (chunk == null || chunk.size() == 0) {
+                return moved;
+            }
+            moved += chunk.updated();
+            chunks[0]++;
+            lastId = chunk.lastId();
+            if (chunk.size() < chunkSize) {
+                return moved;
+            }
+        }
+    }
+
+    private record Chunk(int size, int updated, long lastId) { }
+}
@@ -0,0 +1,489 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.dto.admin.BulkExportReportDTO;
+import com.gestion.alojamientos.repository.booking.BulkExportRepo;
+import com.gestion.alojamientos.service.BulkExportService;
+
+@Service
+public class BulkExportServiceImpl implements BulkExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkExportServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BulkExportRepo exportRepo;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int checkpointRows;
+    private final String dailyFormat;
+
+    // Una sola exportación a archivo a la vez: dos ejecuciones sobre el mismo archivo parcial se pisarían
+    private final ReentrantLock running = new ReentrantLock();
+
+    public BulkExportServiceImpl(BulkExportRepo exportRepo,
+                                 ObjectMapper objectMapper,
+                                 @Value("${export.directory:exports}") String directory,
+                                 @Value("${export.checkpoint-rows:50000}") int checkpointRows,
+                                 @Value("${export.daily-format:ndjson}") String dailyFormat) {
+        this.exportRepo = exportRepo;
+        this.objectMapper = objectMapper;
+        this.directory = Paths.get(directory);
+        this.checkpointRows = Math.max(checkpointRows, 1);
+        this.dailyFormat = dailyFormat;
+    }
+
+    @Override
+    public ExportWriter export(String dataset, String format, Long afterId) {
+        Dataset source = Dataset.parse(dataset);
+        Format target = Format.parse(format);
+        if (afterId != null && afterId < 0) {
+            throw new IllegalArgumentException("El ID inicial no puede ser negativo");
+        }
+        long from = afterId != null ? afterId : 0L;
+        List<String> columns = exportRepo.columns(source.table);
+        return out -> {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(new Unclosable(out), BUFFER_SIZE)) {
+                RowEncoder encoder = encoder(target, gzip, columns);
+                encoder.header();
+                scan(source, from, encoder::row);
+                encoder.flush();
+            }
+        };
+    }
+
+    @Override
+    public BulkExportReportDTO exportToFile(String dataset, String format, LocalDate day) {
+        Dataset source = Dataset.parse(dataset);
+        Format target = Format.parse(format);
+        LocalDate date = day != null ? day : LocalDate.now();
+        if (!running.tryLock()) {
+            throw new IllegalStateException("Ya hay una exportación a archivo en curso");
+        }
+        try {
+            return writeFile(source, target, date);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la exportación " + fileName(source, target, date), e);
+        } finally {
+            running.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${export.daily-cron:0 30 2 * * *}")
+    public void exportDaily() {
+        LocalDate today = LocalDate.now();
+        for (Dataset dataset : Dataset.values()) {
+            try {
+                BulkExportReportDTO report = exportToFile(dataset.slug(), dailyFormat, today);
+                log.info("Exportación diaria de {}: {} filas en {} ({} bytes, {} ms{})", report.dataset(), report.rows(),
+                        report.file(), report.bytes(), report.elapsedMillis(), report.resumed() ? ", retomada" : "");
+            } catch (Exception e) {
+                log.error("Error en la exportación diaria de {}", dataset.slug(), e);
+            }
+        }
+    }
+
+    @Override
+    public String fileName(String dataset, String format, LocalDate day) {
+        return fileName(Dataset.parse(dataset), Format.parse(format), day != null ? day : LocalDate.now());
+    }
+
+    private static String fileName(Dataset dataset, Format format, LocalDate day) {
+        return dataset.table + "-" + day + format.extension;
+    }
+
+    // ===== Exportación a archivo con checkpoints =====
+
+    /**
+     * El archivo se escribe como <nombre>.part y se renombra al terminar. Cada checkpointRows filas se cierra
+     * el miembro gzip en curso, se fuerza a disco y se guarda en <nombre>.checkpoint el último ID, las filas y
+     * los bytes confirmados. Al retomar se trunca el parcial a esos bytes (descartando el miembro a medias) y
+     * se sigue desde el ID siguiente; gzip admite miembros concatenados, así que el resultado es un solo archivo.
+     */
+    private BulkExportReportDTO writeFile(Dataset dataset, Format format, LocalDate day) throws IOException {
+        long start = System.currentTimeMillis();
+        Files.createDirectories(directory);
+        String name = fileName(dataset, format, day);
+        Path target = directory.resolve(name);
+        Path part = directory.resolve(name + ".part");
+        Path checkpointFile = directory.resolve(name + ".checkpoint");
+
+        Checkpoint checkpoint = Files.exists(checkpointFile) ? readCheckpoint(checkpointFile) : Checkpoint.START;
+        if (checkpoint.complete() && Files.exists(target)) {
+            return report(dataset, format, target, checkpoint, false, true, start);
+        }
+        // Sin un parcial que contenga lo confirmado, el checkpoint no sirve y se empieza de cero
+        if (checkpoint.complete() || !Files.exists(part) || Files.size(part) < checkpoint.bytes()) {
+            checkpoint = Checkpoint.START;
+        }
+        boolean resumed = checkpoint.bytes() > 0;
+        if (resumed) {
+            log.info("Retomando la exportación {} desde el ID {} ({} filas ya escritas)", name,
+                    checkpoint.lastId(), checkpoint.rows());
+        }
+
+        List<String> columns = exportRepo.columns(dataset.table);
+        Checkpoint[] confirmed = {checkpoint};
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(checkpoint.bytes());
+            channel.position(checkpoint.bytes());
+            GzipMembers members = new GzipMembers(channel);
+            RowEncoder encoder = encoder(format, members, columns);
+            if (!resumed) {
+                encoder.header();
+            }
+            long[] progress = {checkpoint.lastId(), checkpoint.rows(), 0L};
+            scan(dataset, checkpoint.lastId(), rs -> {
+                encoder.row(rs);
+                progress[0] = rs.getLong(1);
+                progress[1]++;
+                if (++progress[2] >= checkpointRows) {
+                    encoder.flush();
+                    confirmed[0] = new Checkpoint(progress[0], progress[1], members.finishMember(), false);
+                    writeCheckpoint(checkpointFile, confirmed[0]);
+                    progress[2] = 0L;
+                }
+            });
+            encoder.flush();
+            if (channel.position() == 0) {
+                // Una tabla vacía también deja un gzip válido, con un solo miembro sin contenido
+                members.member();
+            }
+            confirmed[0] = new Checkpoint(progress[0], progress[1], members.finishMember(), true);
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writeCheckpoint(checkpointFile, confirmed[0]);
+        return report(dataset, format, target, confirmed[0], resumed, false, start);
+    }
+
+    private static BulkExportReportDTO report(Dataset dataset, Format format, Path file, Checkpoint checkpoint,
+                                              boolean resumed, boolean alreadyComplete, long start) {
+        return new BulkExportReportDTO(dataset.slug(), format.name().toLowerCase(Locale.ROOT), file.toString(),
+                checkpoint.rows(), checkpoint.lastId(), checkpoint.bytes(), resumed, alreadyComplete,
+                System.currentTimeMillis() - start);
+    }
+
+    private static Checkpoint readCheckpoint(Path file) throws IOException {
+        Properties values = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            values.load(in);
+            return new Checkpoint(
+                    Long.parseLong(values.getProperty("lastId", "0")),
+                    Long.parseLong(values.getProperty("rows", "0")),
+                    Long.parseLong(values.getProperty("bytes", "0")),
+                    Boolean.parseBoolean(values.getProperty("complete", "false")));
+        } catch (IllegalArgumentException e) {
+            log.warn("Checkpoint ilegible en {}; la exportación empieza de cero", file);
+            return Checkpoint.START;
+        }
+    }
+
+    // Se escribe a un temporal y se renombra: un corte a mitad nunca deja un checkpoint a medias
+    private static void writeCheckpoint(Path file, Checkpoint checkpoint) throws IOException {
+        Properties values = new Properties();
+        values.setProperty("lastId", Long.toString(checkpoint.lastId()));
+        values.setProperty("rows", Long.toString(checkpoint.rows()));
+        values.setProperty("bytes", Long.toString(checkpoint.bytes()));
+        values.setProperty("complete", Boolean.toString(checkpoint.complete()));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            values.store(out, null);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private record Checkpoint(long lastId, long rows, long bytes, boolean complete) {
+        static final Checkpoint START = new Checkpoint(0L, 0L, 0L, false);
+    }
+
+    /**
+     * Salida hacia el archivo parcial en miembros gzip sucesivos; cada miembro se abre con la primera escritura.
+     */
+    private static final class GzipMembers extends OutputStream {
+
+        private final FileChannel channel;
+        private final OutputStream file;
+        private GZIPOutputStream member;
+
+        GzipMembers(FileChannel channel) {
+            this.channel = channel;
+            this.file = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            member().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            member().write(b, off, len);
+        }
+
+        private GZIPOutputStream member() throws IOException {
+            if (member == null) {
+                member = new GZIPOutputStream(new Unclosable(file), BUFFER_SIZE);
+            }
+            return member;
+        }
+
+        /**
+         * Cierra el miembro en curso, lo fuerza a disco y devuelve el tamaño confirmado del archivo.
+         */
+        long finishMember() throws IOException {
+            if (member != null) {
+                member.close();
+                member = null;
+            }
+            file.flush();
+            channel.force(false);
+            return channel.position();
+        }
+    }
+
+    // ===== Lectura y formatos =====
+
+    private void scan(Dataset dataset, long afterId, RowHandler handler) throws IOException {
+        try {
+            exportRepo.scan(dataset.table, afterId, rs -> {
+                try {
+                    handler.handle(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private RowEncoder encoder(Format format, OutputStream out, List<String> columns) throws IOException {
+        return format == Format.CSV ? new CsvEncoder(out, columns) : new NdjsonEncoder(out, columns);
+    }
+
+    // Fechas como texto ISO-8601; el resto se deja con el tipo que devuelve el driver
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private interface RowEncoder {
+        void header() throws IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * Un objeto JSON por línea, con los nombres de columna como claves.
+     */
+    private final class NdjsonEncoder implements RowEncoder {
+
+        private final JsonGenerator json;
+        private final List<String> columns;
+
+        NdjsonEncoder(OutputStream out, List<String> columns) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void header() {
+            // NDJSON no lleva encabezado
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                json.writeFieldName(columns.get(i));
+                Object value = value(rs, i + 1);
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof Boolean flag) {
+                    json.writeBoolean(flag);
+                } else if (value instanceof BigDecimal decimal) {
+                    json.writeNumber(decimal);
+                } else if (value instanceof BigInteger integer) {
+                    json.writeNumber(integer);
+                } else if (value instanceof Double || value instanceof Float) {
+                    json.writeNumber(((Number) value).doubleValue());
+                } else if (value instanceof Number number) {
+                    json.writeNumber(number.longValue());
+                } else {
+                    json.writeString(value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            json.flush();
+        }
+    }
+
+    /**
+     * CSV según RFC 4180: encabezado con los nombres de columna, comillas solo donde hacen falta y nulos vacíos.
+     */
+    private static final class CsvEncoder implements RowEncoder {
+
+        private final Writer writer;
+        private final List<String> columns;
+
+        CsvEncoder(OutputStream out, List<String> columns) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.columns = columns;
+        }
+
+        @Override
+        public void header() throws IOException {
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = value(rs, i + 1);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * Evita que cerrar el gzip cierre también la salida de abajo (la respuesta HTTP o el archivo parcial).
+     */
+    private static final class Unclosable extends FilterOutputStream {
+
+        Unclosable(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    private enum Dataset {
+        BOOKINGS("booking"),
+        DETAIL_BOOKINGS("detail_booking"),
+        VOUCHERS("voucher");
+
+        private final String table;
+
+        Dataset(String table) {
+            this.table = table;
+        }
+
+        String slug() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+
+        static Dataset parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Exportación no válida: " + value
+                        + " (se admite bookings, detail-bookings o vouchers)");
+            }
+        }
+    }
+
+    private enum Format {
+        NDJSON(".ndjson.gz"),
+        CSV(".csv.gz");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato no válido: " + value + " (se admite ndjson o csv)");
+            }
+        }
+    }
+}
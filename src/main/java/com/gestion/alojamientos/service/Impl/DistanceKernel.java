@@ -0,0 +1,152 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cálculo de distancias Haversine en lote sobre arreglos primitivos.
+ * Las coordenadas se precalculan una vez en un {@link PointBatch} (radianes y coseno de la latitud),
+ * así cada consulta solo escribe en el arreglo de salida del llamador y no crea objetos.
+ * Usa la Vector API incubada cuando el build incluye VectorDistanceKernel (perfil vector) y la JVM
+ * arranca con --add-modules jdk.incubator.vector; en otro caso recurre al bucle escalar.
+ */
+public final class DistanceKernel {
+
+    private static final Logger log = LoggerFactory.getLogger(DistanceKernel.class);
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final String VECTOR_KERNEL = "com.gestion.alojamientos.service.Impl.VectorDistanceKernel";
+
+    // VectorDistanceKernel.distancesKm, o null si se usa el bucle escalar
+    private static final MethodHandle VECTOR_DISTANCES = loadVectorKernel();
+
+    private DistanceKernel() {
+    }
+
+    /**
+     * true si las distancias en lote se calculan con la Vector API.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_DISTANCES != null;
+    }
+
+    /**
+     * Distancias en kilómetros desde el origen (en grados) a cada punto del lote.
+     *
+     * @param out Arreglo de salida con al menos batch.size() posiciones
+     */
+    public static void distancesKm(double originLatitude, double originLongitude, PointBatch batch, double[] out) {
+        if (VECTOR_DISTANCES != null) {
+            try {
+                VECTOR_DISTANCES.invokeExact(Math.toRadians(originLatitude), Math.toRadians(originLongitude), batch, out);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        } else {
+            distancesKmScalar(originLatitude, originLongitude, batch, out);
+        }
+    }
+
+    /**
+     * Versión escalar de {@link #distancesKm}; también atiende la cola que no llena un vector completo.
+     */
+    public static void distancesKmScalar(double originLatitude, double originLongitude, PointBatch batch, double[] out) {
+        scalarRange(Math.toRadians(originLatitude), Math.toRadians(originLongitude), batch, out, 0, batch.size());
+    }
+
+    static void scalarRange(double originLatRad, double originLngRad, PointBatch batch, double[] out, int from, int to) {
+        double originCos = Math.cos(originLatRad);
+        double[] latRad = batch.latRad;
+        double[] lngRad = batch.lngRad;
+        double[] cosLat = batch.cosLat;
+        for (int i = from; i < to; i++) {
+            double sinDLat = Math.sin((latRad[i] - originLatRad) * 0.5);
+            double sinDLng = Math.sin((lngRad[i] - originLngRad) * 0.5);
+            double a = sinDLat * sinDLat + originCos * cosLat[i] * sinDLng * sinDLng;
+            out[i] = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+        }
+    }
+
+    private static MethodHandle loadVectorKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("geo.distance.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            Class<?> kernel = Class.forName(VECTOR_KERNEL);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            int lanes = (int) lookup.findStatic(kernel, "laneCount", MethodType.methodType(int.class)).invokeExact();
+            log.info("Kernel de distancias: Vector API {} ({} carriles)", lanes > 1 ? "activa" : "sin ventaja", lanes);
+            if (lanes <= 1) {
+                return null;
+            }
+            return lookup.findStatic(kernel, "distancesKm",
+                    MethodType.methodType(void.class, double.class, double.class, PointBatch.class, double[].class));
+        } catch (ClassNotFoundException e) {
+            // Build sin el perfil vector: se usa el bucle escalar
+            return null;
+        } catch (Throwable e) {
+            log.warn("Kernel de distancias: no se pudo cargar la Vector API, se usa el bucle escalar", e);
+            return null;
+        }
+    }
+
+    /**
+     * Coordenadas de un conjunto de puntos precalculadas para el kernel.
+     */
+    public static final class PointBatch {
+
+        private final double[] latRad;
+        private final double[] lngRad;
+        private final double[] cosLat;
+
+        private PointBatch(double[] latRad, double[] lngRad, double[] cosLat) {
+            this.latRad = latRad;
+            this.lngRad = lngRad;
+            this.cosLat = cosLat;
+        }
+
+        /**
+         * @param latitudes Latitudes en grados
+         * @param longitudes Longitudes en grados (misma longitud que latitudes)
+         */
+        public static PointBatch of(double[] latitudes, double[] longitudes) {
+            if (latitudes.length != longitudes.length) {
+                throw new IllegalArgumentException("Latitudes y longitudes deben tener el mismo tamaño");
+            }
+            int n = latitudes.length;
+            double[] latRad = new double[n];
+            double[] lngRad = new double[n];
+            double[] cosLat = new double[n];
+            for (int i = 0; i < n; i++) {
+                latRad[i] = Math.toRadians(latitudes[i]);
+                lngRad[i] = Math.toRadians(longitudes[i]);
+                cosLat[i] = Math.cos(latRad[i]);
+            }
+            return new PointBatch(latRad, lngRad, cosLat);
+        }
+
+        public int size() {
+            return latRad.length;
+        }
+
+        double[] latRad() {
+            return latRad;
+        }
+
+        double[] lngRad() {
+            return lngRad;
+        }
+
+        double[] cosLat() {
+            return cosLat;
+        }
+    }
+}
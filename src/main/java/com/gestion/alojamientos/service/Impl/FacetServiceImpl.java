@@ -0,0 +1,311 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gestion.alojamientos.dto.accommodation.FacetCountDTO;
+import com.gestion.alojamientos.dto.accommodation.FacetCountsDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.FacetService;
+
+@Service
+public class FacetServiceImpl implements FacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(FacetServiceImpl.class);
+
+    /**
+     * Rangos de capacidad mostrados en la página de resultados: [mínimo, máximo] inclusive.
+     */
+    static final int[][] CAPACITY_BUCKETS = { { 1, 2 }, { 3, 4 }, { 5, 6 }, { 7, 10 }, { 11, Integer.MAX_VALUE } };
+
+    private final AccommodationRepo accommodationRepo;
+
+    // Los bitmaps no admiten escrituras concurrentes con lecturas; las escrituras son raras y cortas
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Facets facets = new Facets();
+    private final IndexReloadJournal<Facets> reloadJournal = new IndexReloadJournal<>();
+
+    public FacetServiceImpl(AccommodationRepo accommodationRepo) {
+        this.accommodationRepo = accommodationRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        upsert(event.accommodation());
+    }
+
+    @Override
+    public synchronized int reloadIndex() {
+        long start = System.currentTimeMillis();
+        reloadJournal.start();
+        try {
+            return load(start);
+        } finally {
+            reloadJournal.stop();
+        }
+    }
+
+    private int load(long start) {
+        Map<Long, List<Long>> servicesByAccommodation = new HashMap<>();
+        Map<Long, String> serviceNames = new HashMap<>();
+        for (Object[] row : accommodationRepo.findFacetServiceRows()) {
+            servicesByAccommodation.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Long) row[1]);
+            serviceNames.put((Long) row[1], (String) row[2]);
+        }
+
+        Facets fresh = new Facets();
+        fresh.serviceNames.putAll(serviceNames);
+        List<Object[]> rows = accommodationRepo.findFacetRows();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            fresh.put(id, new Entry((Cities) row[1], (AccomodationType) row[2],
+                    row[3] != null ? (Integer) row[3] : 0, servicesByAccommodation.getOrDefault(id, List.of())));
+        }
+        fresh.runOptimize();
+
+        reloadJournal.publish(fresh, next -> {
+            lock.writeLock().lock();
+            try {
+                facets = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        log.info("Bitmaps de facetas cargados: {} alojamientos ({} ms)", rows.size(), System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    @Override
+    public void upsert(Accomodation accommodation) {
+        if (accommodation == null || accommodation.getId() == null) {
+            return;
+        }
+        Long accommodationId = accommodation.getId();
+        if (accommodation.getApprovalStatus() != ApprovalStatus.APPROVED
+                || accommodation.getOperationalStatus() != OperationalStatus.ACTIVE) {
+            remove(accommodationId);
+            return;
+        }
+        List<Long> serviceIds = new ArrayList<>();
+        Map<Long, String> names = new HashMap<>();
+        if (accommodation.getServicesList() != null) {
+            for (Services service : accommodation.getServicesList()) {
+                serviceIds.add(service.getId());
+                names.put(service.getId(), service.getName());
+            }
+        }
+        Entry entry = new Entry(
+                accommodation.getUbication() != null ? accommodation.getUbication().getCity() : null,
+                accommodation.getAccomodationType(),
+                accommodation.getMaxGuestCapacity() != null ? accommodation.getMaxGuestCapacity() : 0,
+                serviceIds);
+        write(current -> {
+            current.serviceNames.putAll(names);
+            current.put(accommodationId, entry);
+        });
+    }
+
+    @Override
+    public void remove(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        write(current -> current.remove(accommodationId));
+    }
+
+    @Override
+    public FacetCountsDTO getFacetCounts(Cities city, AccomodationType type, Integer minGuests,
+                                         Collection<Long> serviceIds) {
+        lock.readLock().lock();
+        try {
+            Facets current = facets;
+            RoaringBitmap cityFilter = city == null ? null : current.byCity.getOrDefault(city, new RoaringBitmap());
+            RoaringBitmap typeFilter = type == null ? null : current.byType.getOrDefault(type, new RoaringBitmap());
+            RoaringBitmap capacityFilter = minGuests == null ? null : current.withCapacityAtLeast(minGuests);
+            RoaringBitmap serviceFilter = null;
+            if (serviceIds != null) {
+                for (Long serviceId : serviceIds) {
+                    RoaringBitmap offering = current.byService.getOrDefault(serviceId, new RoaringBitmap());
+                    serviceFilter = serviceFilter == null ? offering.clone() : RoaringBitmap.and(serviceFilter, offering);
+                }
+            }
+
+            // Cada faceta de selección única se cuenta con los demás filtros, sin el suyo
+            RoaringBitmap withoutCity = intersect(current.all, typeFilter, capacityFilter, serviceFilter);
+            RoaringBitmap withoutType = intersect(current.all, cityFilter, capacityFilter, serviceFilter);
+            RoaringBitmap withoutCapacity = intersect(current.all, cityFilter, typeFilter, serviceFilter);
+            RoaringBitmap matching = intersect(withoutCity, cityFilter);
+
+            List<FacetCountDTO> cities = new ArrayList<>();
+            current.byCity.forEach((value, ids) ->
+                    addCount(cities, value.name(), value.name(), RoaringBitmap.andCardinality(ids, withoutCity)));
+            List<FacetCountDTO> types = new ArrayList<>();
+            current.byType.forEach((value, ids) ->
+                    addCount(types, value.name(), value.name(), RoaringBitmap.andCardinality(ids, withoutType)));
+            List<FacetCountDTO> services = new ArrayList<>();
+            current.byService.forEach((serviceId, ids) -> addCount(services, serviceId.toString(),
+                    current.serviceNames.get(serviceId), RoaringBitmap.andCardinality(ids, matching)));
+
+            // Los rangos se cuentan sumando los bitmaps de cada capacidad exacta que contienen
+            List<FacetCountDTO> capacities = new ArrayList<>();
+            for (int[] bucket : CAPACITY_BUCKETS) {
+                int count = 0;
+                for (RoaringBitmap ids : current.byCapacity.subMap(bucket[0], true, bucket[1], true).values()) {
+                    count += RoaringBitmap.andCardinality(ids, withoutCapacity);
+                }
+                String label = bucket[1] == Integer.MAX_VALUE ? bucket[0] + "+" : bucket[0] + "-" + bucket[1];
+                capacities.add(new FacetCountDTO(label, label + " huéspedes", count));
+            }
+
+            return new FacetCountsDTO(matching.getCardinality(), sorted(cities), sorted(types), sorted(services), capacities);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap... filters) {
+        RoaringBitmap result = base;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = RoaringBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    private static void addCount(List<FacetCountDTO> counts, String value, String label, int count) {
+        if (count > 0) {
+            counts.add(new FacetCountDTO(value, label, count));
+        }
+    }
+
+    private static List<FacetCountDTO> sorted(List<FacetCountDTO> counts) {
+        counts.sort(Comparator.comparing(FacetCountDTO::count).reversed().thenComparing(FacetCountDTO::value));
+        return counts;
+    }
+
+    private void write(Consumer<Facets> change) {
+        reloadJournal.apply(() -> facets, target -> {
+            lock.writeLock().lock();
+            try {
+                change.accept(target);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private record Entry(Cities city, AccomodationType type, int capacity, List<Long> serviceIds) { }
+
+    /**
+     * Un bitmap por valor de faceta. Se recuerda la entrada de cada alojamiento para poder
+     * quitarlo de sus bitmaps exactos al actualizarlo o eliminarlo.
+     */
+    private static final class Facets {
+
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<Cities, RoaringBitmap> byCity = new EnumMap<>(Cities.class);
+        private final Map<AccomodationType, RoaringBitmap> byType = new EnumMap<>(AccomodationType.class);
+        private final TreeMap<Integer, RoaringBitmap> byCapacity = new TreeMap<>();
+        private final Map<Long, RoaringBitmap> byService = new LinkedHashMap<>();
+        private final Map<Long, String> serviceNames = new HashMap<>();
+        private final Map<Integer, Entry> entries = new HashMap<>();
+
+        void put(Long accommodationId, Entry entry) {
+            // Los IDs de los bitmaps son int de 32 bits
+            if (accommodationId < 0 || accommodationId > Integer.MAX_VALUE) {
+                log.warn("Alojamiento ID {} fuera del rango de los bitmaps de facetas; se omite", accommodationId);
+                return;
+            }
+            int id = accommodationId.intValue();
+            remove(accommodationId);
+            all.add(id);
+            if (entry.city() != null) {
+                byCity.computeIfAbsent(entry.city(), key -> new RoaringBitmap()).add(id);
+            }
+            if (entry.type() != null) {
+                byType.computeIfAbsent(entry.type(), key -> new RoaringBitmap()).add(id);
+            }
+            byCapacity.computeIfAbsent(entry.capacity(), key -> new RoaringBitmap()).add(id);
+            for (Long serviceId : entry.serviceIds()) {
+                byService.computeIfAbsent(serviceId, key -> new RoaringBitmap()).add(id);
+            }
+            entries.put(id, entry);
+        }
+
+        void remove(Long accommodationId) {
+            if (accommodationId < 0 || accommodationId > Integer.MAX_VALUE) {
+                return;
+            }
+            int id = accommodationId.intValue();
+            Entry previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            all.remove(id);
+            if (previous.city() != null) {
+                removeFrom(byCity, previous.city(), id);
+            }
+            if (previous.type() != null) {
+                removeFrom(byType, previous.type(), id);
+            }
+            removeFrom(byCapacity, previous.capacity(), id);
+            for (Long serviceId : previous.serviceIds()) {
+                removeFrom(byService, serviceId, id);
+            }
+        }
+
+        RoaringBitmap withCapacityAtLeast(int minGuests) {
+            return RoaringBitmap.or(byCapacity.tailMap(minGuests, true).values().iterator());
+        }
+
+        // Compacta los contenedores con rachas de IDs consecutivos tras una carga completa
+        void runOptimize() {
+            all.runOptimize();
+            byCity.values().forEach(RoaringBitmap::runOptimize);
+            byType.values().forEach(RoaringBitmap::runOptimize);
+            byCapacity.values().forEach(RoaringBitmap::runOptimize);
+            byService.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        private static <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+            RoaringBitmap ids = bitmaps.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+    }
+}
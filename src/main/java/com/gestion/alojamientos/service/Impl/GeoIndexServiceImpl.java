@@ -0,0 +1,336 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.GeoIndexService;
+
+@Service
+public class GeoIndexServiceImpl implements GeoIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeoIndexServiceImpl.class);
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+    static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    /**
+     * Tamaño de celda en grados (~11 km de latitud): una búsqueda de radio urbano toca pocas celdas.
+     */
+    static final double CELL_DEGREES = 0.1;
+    private static final int LAT_CELLS = (int) Math.ceil(180 / CELL_DEGREES);
+    private static final int LNG_CELLS = (int) Math.ceil(360 / CELL_DEGREES);
+
+    // Por encima de este número de celdas es más barato recorrer todos los puntos
+    private static final int MAX_SCANNED_CELLS = 4096;
+
+    // Radio inicial de la búsqueda k-NN; se duplica hasta reunir k resultados o llegar al radio máximo
+    private static final double INITIAL_KNN_RADIUS_KM = 2.0;
+
+    private final AccommodationRepo accommodationRepo;
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean loaded = false;
+    private final IndexReloadJournal<Grid> reloadJournal = new IndexReloadJournal<>();
+
+    public GeoIndexServiceImpl(AccommodationRepo accommodationRepo) {
+        this.accommodationRepo = accommodationRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        upsert(event.accommodation());
+    }
+
+    @Override
+    public synchronized int reloadIndex() {
+        long start = System.currentTimeMillis();
+        reloadJournal.start();
+        try {
+            return load(start);
+        } finally {
+            reloadJournal.stop();
+        }
+    }
+
+    private int load(long start) {
+        List<Object[]> rows = accommodationRepo.findIndexableLocations();
+        Grid fresh = new Grid();
+        for (Object[] row : rows) {
+            fresh.put((Long) row[0], new GeoPoint((Double) row[1], (Double) row[2],
+                    (AccomodationType) row[3], row[4] != null ? (Integer) row[4] : 0));
+        }
+        reloadJournal.publish(fresh, next -> {
+            grid = next;
+            loaded = true;
+        });
+        log.info("Índice geoespacial cargado: {} alojamientos ({} ms)", rows.size(), System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    @Override
+    public void upsert(Accomodation accommodation) {
+        if (accommodation == null || accommodation.getId() == null) {
+            return;
+        }
+        Long accommodationId = accommodation.getId();
+        boolean searchable = accommodation.getApprovalStatus() == ApprovalStatus.APPROVED
+                && accommodation.getOperationalStatus() == OperationalStatus.ACTIVE
+                && accommodation.getUbication() != null
+                && accommodation.getUbication().getLatitud() != null
+                && accommodation.getUbication().getLongitud() != null;
+        if (!searchable) {
+            remove(accommodationId);
+            return;
+        }
+        GeoPoint point = new GeoPoint(
+                accommodation.getUbication().getLatitud(),
+                accommodation.getUbication().getLongitud(),
+                accommodation.getAccomodationType(),
+                accommodation.getMaxGuestCapacity() != null ? accommodation.getMaxGuestCapacity() : 0);
+        reloadJournal.apply(() -> grid, current -> current.put(accommodationId, point));
+    }
+
+    @Override
+    public void remove(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        reloadJournal.apply(() -> grid, current -> current.remove(accommodationId));
+    }
+
+    @Override
+    public List<NearbyAccommodationDTO> findWithinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        if (!loaded) {
+            return findInDatabase(latitude, longitude, radiusKm, limit, null, null);
+        }
+        return scan(grid, latitude, longitude, radiusKm, limit, point -> true).sorted();
+    }
+
+    @Override
+    public List<NearbyAccommodationDTO> findNearest(double latitude, double longitude, int k, double maxRadiusKm,
+                                                    AccomodationType type, Integer minGuests) {
+        if (!loaded) {
+            return findInDatabase(latitude, longitude, maxRadiusKm, k, type, minGuests);
+        }
+        Predicate<GeoPoint> filter = point -> (type == null || point.type() == type)
+                && (minGuests == null || point.maxGuests() >= minGuests);
+        Grid current = grid;
+
+        // Si el círculo de radio r ya contiene k candidatos, ningún punto fuera de él puede desplazarlos
+        double radius = Math.min(INITIAL_KNN_RADIUS_KM, maxRadiusKm);
+        while (true) {
+            TopK nearest = scan(current, latitude, longitude, radius, k, filter);
+            if (nearest.isFull() || radius >= maxRadiusKm) {
+                return nearest.sorted();
+            }
+            radius = Math.min(radius * 2, maxRadiusKm);
+        }
+    }
+
+    /**
+     * Búsqueda en base de datos mientras el índice en memoria no está cargado (arranque o recarga fallida).
+     * El rectángulo que envuelve el círculo aprovecha el índice SPATIAL de ubication; si cruza el
+     * antimeridiano se usa todo el rango de longitudes.
+     */
+    private List<NearbyAccommodationDTO> findInDatabase(double latitude, double longitude, double radiusKm, int limit,
+                                                        AccomodationType type, Integer minGuests) {
+        double latRange = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, latitude - latRange);
+        double maxLat = Math.min(90.0, latitude + latRange);
+        double widestCos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lngRange = widestCos <= 1e-9 ? 180.0 : latRange / widestCos;
+        double minLng = longitude - lngRange;
+        double maxLng = longitude + lngRange;
+        if (minLng < -180.0 || maxLng > 180.0) {
+            minLng = -180.0;
+            maxLng = 180.0;
+        }
+
+        List<Object[]> rows = accommodationRepo.findWithinRadiusSpatial(latitude, longitude, radiusKm,
+                minLat, maxLat, minLng, maxLng, type != null ? type.name() : null, minGuests, limit);
+        List<NearbyAccommodationDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new NearbyAccommodationDTO(((Number) row[0]).longValue(),
+                    ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Recorre las celdas que cubren el círculo y conserva los k candidatos más cercanos que cumplan el filtro.
+     */
+    private static TopK scan(Grid current, double latitude, double longitude, double radiusKm, int k,
+                             Predicate<GeoPoint> filter) {
+        TopK nearest = new TopK(k);
+
+        double latRange = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90.0, latitude - latRange);
+        double maxLat = Math.min(90.0, latitude + latRange);
+        // La celda más ancha en grados de longitud es la más cercana al polo dentro de la franja
+        double widestCos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lngRange = widestCos <= 1e-9 ? 180.0 : latRange / widestCos;
+
+        int minLatCell = latCell(minLat);
+        int maxLatCell = latCell(maxLat);
+        int lngCellSpan = lngRange >= 180.0 ? LNG_CELLS : Math.min(LNG_CELLS, (int) Math.ceil(2 * lngRange / CELL_DEGREES) + 1);
+        long scannedCells = (long) (maxLatCell - minLatCell + 1) * lngCellSpan;
+
+        if (scannedCells > MAX_SCANNED_CELLS) {
+            current.points.forEach((id, point) -> offer(nearest, id, point, latitude, longitude, radiusKm, filter));
+            return nearest;
+        }
+        int firstLngCell = lngRange >= 180.0 ? 0 : lngCell(longitude - lngRange);
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int i = 0; i < lngCellSpan; i++) {
+                Set<Long> ids = current.cells.get(cellKey(latCell, (firstLngCell + i) % LNG_CELLS));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    GeoPoint point = current.points.get(id);
+                    if (point != null) {
+                        offer(nearest, id, point, latitude, longitude, radiusKm, filter);
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private static void offer(TopK nearest, Long id, GeoPoint point, double latitude, double longitude,
+                              double radiusKm, Predicate<GeoPoint> filter) {
+        if (!filter.test(point)) {
+            return;
+        }
+        double distance = haversineKm(latitude, longitude, point.latitude(), point.longitude());
+        if (distance <= radiusKm) {
+            nearest.offer(id, point, distance);
+        }
+    }
+
+    /**
+     * Distancia de gran círculo en kilómetros.
+     */
+    static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90.0) / CELL_DEGREES));
+    }
+
+    private static int lngCell(double longitude) {
+        double normalized = ((longitude + 180.0) % 360.0 + 360.0) % 360.0;
+        return Math.min(LNG_CELLS - 1, (int) Math.floor(normalized / CELL_DEGREES));
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return (long) latCell * LNG_CELLS + lngCell;
+    }
+
+    private record GeoPoint(double latitude, double longitude, AccomodationType type, int maxGuests) { }
+
+    /**
+     * Montículo acotado con los k resultados más cercanos: la raíz es el más lejano de los conservados,
+     * así cada candidato nuevo cuesta O(log k) y la memoria no crece con el número de puntos recorridos.
+     */
+    private static final class TopK {
+
+        private final int k;
+        private final PriorityQueue<NearbyAccommodationDTO> heap;
+
+        TopK(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(Math.max(k, 1),
+                    Comparator.comparingDouble(NearbyAccommodationDTO::distanceKm).reversed());
+        }
+
+        void offer(Long id, GeoPoint point, double distance) {
+            if (heap.size() < k) {
+                heap.add(new NearbyAccommodationDTO(id, point.latitude(), point.longitude(), distance));
+            } else if (k > 0 && distance < heap.peek().distanceKm()) {
+                heap.poll();
+                heap.add(new NearbyAccommodationDTO(id, point.latitude(), point.longitude(), distance));
+            }
+        }
+
+        boolean isFull() {
+            return heap.size() >= k;
+        }
+
+        List<NearbyAccommodationDTO> sorted() {
+            List<NearbyAccommodationDTO> result = new ArrayList<>(heap);
+            result.sort(Comparator.comparingDouble(NearbyAccommodationDTO::distanceKm));
+            return result;
+        }
+    }
+
+    /**
+     * Puntos por alojamiento y alojamientos por celda.
+     */
+    private static final class Grid {
+
+        private final Map<Long, GeoPoint> points = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+        synchronized void put(Long id, GeoPoint point) {
+            long cell = cellOf(point);
+            GeoPoint previous = points.put(id, point);
+            if (previous != null && cellOf(previous) != cell) {
+                detach(id, cellOf(previous));
+            }
+            cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+
+        synchronized void remove(Long id) {
+            GeoPoint previous = points.remove(id);
+            if (previous != null) {
+                detach(id, cellOf(previous));
+            }
+        }
+
+        private static long cellOf(GeoPoint point) {
+            return cellKey(latCell(point.latitude()), lngCell(point.longitude()));
+        }
+
+        private void detach(Long id, long cell) {
+            Set<Long> ids = cells.get(cell);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    cells.remove(cell);
+                }
+            }
+        }
+    }
+}
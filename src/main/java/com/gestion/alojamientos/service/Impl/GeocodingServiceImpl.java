@@ -0,0 +1,169 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
+import com.gestion.alojamientos.model.accomodation.GeocodingCacheEntry;
+import com.gestion.alojamientos.repository.accomodation.GeocodingCacheRepo;
+import com.gestion.alojamientos.service.GeocodingService;
+import com.gestion.alojamientos.service.MapboxService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@Service
+public class GeocodingServiceImpl implements GeocodingService {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodingServiceImpl.class);
+
+    static final int MAX_ADDRESS_LENGTH = 200;
+
+    private final MapboxService mapboxService;
+    private final GeocodingCacheRepo geocodingCacheRepo;
+    private final Duration ttl;
+
+    // LRU en memoria; Optional.empty() recuerda las direcciones que Mapbox no encontró
+    private final Map<String, Optional<GeocodingResultDTO>> memoryCache;
+
+    // Una sola llamada a Mapbox por clave: las peticiones idénticas simultáneas esperan el mismo resultado
+    private final Map<String, CompletableFuture<Optional<GeocodingResultDTO>>> inFlight = new ConcurrentHashMap<>();
+
+    public GeocodingServiceImpl(MapboxService mapboxService, GeocodingCacheRepo geocodingCacheRepo,
+                                @Value("${mapbox.geocoding.cache-size:10000}") int cacheSize,
+                                @Value("${mapbox.geocoding.cache-ttl-days:90}") long ttlDays) {
+        this.mapboxService = mapboxService;
+        this.geocodingCacheRepo = geocodingCacheRepo;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<GeocodingResultDTO>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public GeocodingResultDTO geocode(String address) {
+        if (address == null || address.isBlank()) {
+            throw new IllegalArgumentException("La dirección es obligatoria");
+        }
+        if (address.length() > MAX_ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("La dirección no puede superar " + MAX_ADDRESS_LENGTH + " caracteres");
+        }
+        String normalized = normalizeAddress(address);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("La dirección no contiene texto válido");
+        }
+        String trimmed = address.trim();
+        return lookup("F|" + normalized, () -> mapboxService.forwardGeocode(trimmed))
+                .orElseThrow(() -> new EntityNotFoundException("No se encontró la dirección: " + trimmed));
+    }
+
+    @Override
+    public GeocodingResultDTO reverseGeocode(Double latitude, Double longitude) {
+        if (!mapboxService.validateCoordinates(latitude, longitude)) {
+            throw new IllegalArgumentException("Coordenadas inválidas proporcionadas");
+        }
+        // ~1 m de precisión: coordenadas prácticamente iguales comparten entrada de caché
+        double lat = Math.round(latitude * 1e5) / 1e5;
+        double lng = Math.round(longitude * 1e5) / 1e5;
+        String key = String.format(Locale.ROOT, "R|%.5f,%.5f", lat, lng);
+        return lookup(key, () -> mapboxService.reverseGeocode(lat, lng))
+                .orElseThrow(() -> new EntityNotFoundException("No se encontró ningún lugar en " + lat + ", " + lng));
+    }
+
+    /**
+     * Minúsculas, sin tildes y con la puntuación (incluido #) reducida a espacios:
+     * "Cra. 14 #20-15, Armenia" y "cra 14 # 20 - 15 armenia" comparten la misma entrada.
+     */
+    static String normalizeAddress(String address) {
+        String folded = Normalizer.normalize(address, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return folded.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9-]+", " ")
+                .replaceAll(" ?- ?", "-")
+                .trim();
+    }
+
+    private Optional<GeocodingResultDTO> lookup(String key, Supplier<GeocodingResultDTO> remote) {
+        Optional<GeocodingResultDTO> cached = memoryCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<Optional<GeocodingResultDTO>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<GeocodingResultDTO>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // Otro hilo pudo terminar entre la primera lectura y el registro de esta búsqueda
+            Optional<GeocodingResultDTO> result = memoryCache.get(key);
+            if (result == null) {
+                result = loadFromDatabaseOrRemote(key, remote);
+                memoryCache.put(key, result);
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Optional<GeocodingResultDTO> loadFromDatabaseOrRemote(String key, Supplier<GeocodingResultDTO> remote) {
+        GeocodingCacheEntry entry = geocodingCacheRepo.findByCacheKey(key).orElse(null);
+        if (entry != null && entry.getFetchedAt().isAfter(LocalDateTime.now().minus(ttl))) {
+            return Optional.of(new GeocodingResultDTO(entry.getLatitude(), entry.getLongitude(), entry.getPlaceName()));
+        }
+
+        GeocodingResultDTO fetched = remote.get();
+        if (fetched != null) {
+            save(key, entry, fetched);
+        }
+        return Optional.ofNullable(fetched);
+    }
+
+    private void save(String key, GeocodingCacheEntry entry, GeocodingResultDTO result) {
+        GeocodingCacheEntry target = entry != null ? entry : GeocodingCacheEntry.builder().cacheKey(key).build();
+        target.setLatitude(result.latitude());
+        target.setLongitude(result.longitude());
+        target.setPlaceName(result.placeName() != null && result.placeName().length() > 500
+                ? result.placeName().substring(0, 500) : result.placeName());
+        target.setFetchedAt(LocalDateTime.now());
+        try {
+            geocodingCacheRepo.save(target);
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia guardó la misma clave a la vez; el resultado ya está en la tabla
+            log.debug("Entrada de geocodificación {} ya guardada por otra instancia", key);
+        }
+    }
+
+    private static Optional<GeocodingResultDTO> await(CompletableFuture<Optional<GeocodingResultDTO>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Diario de cambios de un índice en memoria durante su recarga. Lo que se confirma después de que la recarga
+ * lee la base de datos no está en el índice nuevo; los cambios anotados se repiten sobre él antes de publicarlo.
+ * Los cambios al índice vigente toman la lectura; la publicación toma la escritura.
+ *
+ * @param <T> Estructura del índice
+ */
+final class IndexReloadJournal<T> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile List<Consumer<T>> changes;
+
+    /**
+     * Aplica un cambio al índice vigente y, si hay una recarga en curso, lo anota para repetirlo.
+     * El cambio debe ser idempotente frente a lo que la recarga ya haya leído (alta o baja de un alojamiento).
+     */
+    void apply(Supplier<T> current, Consumer<T> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(current.get());
+            List<Consumer<T>> pending = changes;
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Empieza a anotar cambios. Se llama antes de la primera consulta de la recarga.
+     */
+    void start() {
+        changes = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Repite en orden los cambios anotados sobre el índice nuevo y lo publica sin cambios concurrentes.
+     */
+    void publish(T fresh, Consumer<T> swap) {
+        lock.writeLock().lock();
+        try {
+            List<Consumer<T>> pending = changes;
+            if (pending != null) {
+                pending.forEach(change -> change.accept(fresh));
+            }
+            swap.accept(fresh);
+        } finally {
+            changes = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deja de anotar cambios; la recarga lo llama siempre al terminar, también si falla antes de publicar.
+     */
+    void stop() {
+        changes = null;
+    }
+}
@@ -1,18 +1,41 @@
 package com.gestion.alojamientos.service.Impl;
 
+import com.gestion.alojamientos.dto.accommodation.DistanceMatrixDTO;
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
+import com.gestion.alojamientos.dto.accommodation.MapClusterDTO;
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationSummaryDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.RatingSummaryDTO;
 import com.gestion.alojamientos.exception.ElementNotFoundException;
 import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.Cities;
 import com.gestion.alojamientos.model.accomodation.Ubication;
 import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
 import com.gestion.alojamientos.repository.accomodation.UbicationRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.GeoIndexService;
+import com.gestion.alojamientos.service.GeocodingService;
+import com.gestion.alojamientos.service.MapClusterService;
 import com.gestion.alojamientos.service.LocationService;
 import com.gestion.alojamientos.service.MapboxService;
+import com.gestion.alojamientos.service.MunicipalityResolver;
+import com.gestion.alojamientos.service.RatingSummaryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,14 +44,44 @@ public class LocationServiceImpl implements LocationService {
 
     private static final Logger log = LoggerFactory.getLogger(LocationServiceImpl.class);
 
+    static final int DEFAULT_NEARBY_LIMIT = 50;
+    static final int MAX_NEARBY_LIMIT = 500;
+    static final int DEFAULT_NEAREST_K = 20;
+    static final int MAX_NEAREST_K = 100;
+    static final double DEFAULT_NEAREST_RADIUS_KM = 50.0;
+    static final double MAX_NEAREST_RADIUS_KM = 500.0;
+    static final int MAX_MATRIX_ORIGINS = 25;
+    static final int MAX_MATRIX_ACCOMMODATIONS = 1000;
+
     private final UbicationRepo ubicationRepo;
     private final AccommodationRepo accommodationRepo;
     private final MapboxService mapboxService;
-
-    public LocationServiceImpl(UbicationRepo ubicationRepo, AccommodationRepo accommodationRepo, MapboxService mapboxService) {
+    private final GeoIndexService geoIndexService;
+    private final RatingSummaryService ratingSummaryService;
+    private final MapClusterService mapClusterService;
+    private final GeocodingService geocodingService;
+    private final MunicipalityResolver municipalityResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AccommodationDetailService accommodationDetailService;
+    // Proxy de este mismo servicio, para que las llamadas internas pasen por @Transactional
+    private final LocationService self;
+
+    public LocationServiceImpl(UbicationRepo ubicationRepo, AccommodationRepo accommodationRepo, MapboxService mapboxService,
+                               GeoIndexService geoIndexService, RatingSummaryService ratingSummaryService,
+                               MapClusterService mapClusterService, GeocodingService geocodingService,
+                               MunicipalityResolver municipalityResolver, ApplicationEventPublisher eventPublisher,
+                               AccommodationDetailService accommodationDetailService, @Lazy LocationService self) {
         this.ubicationRepo = ubicationRepo;
         this.accommodationRepo = accommodationRepo;
         this.mapboxService = mapboxService;
+        this.geoIndexService = geoIndexService;
+        this.ratingSummaryService = ratingSummaryService;
+        this.mapClusterService = mapClusterService;
+        this.geocodingService = geocodingService;
+        this.municipalityResolver = municipalityResolver;
+        this.eventPublisher = eventPublisher;
+        this.accommodationDetailService = accommodationDetailService;
+        this.self = self;
     }
 
     @Override
@@ -59,8 +112,11 @@ public class LocationServiceImpl implements LocationService {
         // Actualizar coordenadas
         ubication.setLatitud(latitude);
         ubication.setLongitud(longitude);
+        assignCity(ubication, accommodationId);
 
         Ubication savedUbication = ubicationRepo.save(ubication);
+        // Índices en memoria; la ciudad puede haber cambiado al deducirla de las coordenadas
+        eventPublisher.publishEvent(new AccommodationChangedEvent(accommodation));
 
         log.info("Coordenadas actualizadas exitosamente para alojamiento ID: {} - Lat: {}, Lng: {}",
                 accommodationId, latitude, longitude);
@@ -89,7 +145,8 @@ public class LocationServiceImpl implements LocationService {
         Accomodation accommodation = accommodationOpt.get();
         Ubication ubication = accommodation.getUbication();
 
-        if (ubication == null) {
+        boolean newUbication = ubication == null;
+        if (newUbication) {
             // Crear nueva ubicación si no existe
             ubication = Ubication.builder()
                     .latitud(latitude)
@@ -103,8 +160,15 @@ public class LocationServiceImpl implements LocationService {
             ubication.setLatitud(latitude);
             ubication.setLongitud(longitude);
         }
+        assignCity(ubication, accommodationId);
 
         Ubication savedUbication = ubicationRepo.save(ubication);
+        // Índices en memoria; la ciudad puede haber cambiado al deducirla de las coordenadas
+        eventPublisher.publishEvent(new AccommodationChangedEvent(accommodation));
+        if (newUbication) {
+            // La ficha del alojamiento incluye el ID de su ubicación
+            accommodationDetailService.invalidate(accommodationId);
+        }
 
         log.info("Coordenadas registradas exitosamente para alojamiento ID: {} - Lat: {}, Lng: {}",
                 accommodationId, latitude, longitude);
@@ -112,6 +176,26 @@ public class LocationServiceImpl implements LocationService {
         return savedUbication;
     }
 
+    /**
+     * Completa la ciudad a partir de las coordenadas solo si el cliente no la envió.
+     * La ciudad enviada nunca se reemplaza; si no coincide con el municipio de las coordenadas
+     * solo se registra la diferencia.
+     */
+    private void assignCity(Ubication ubication, Long accommodationId) {
+        Optional<Cities> resolved = municipalityResolver.resolve(ubication.getLatitud(), ubication.getLongitud());
+        if (ubication.getCity() == null) {
+            if (resolved.isPresent()) {
+                ubication.setCity(resolved.get());
+            } else {
+                log.warn("Alojamiento ID: {} sin ciudad y sus coordenadas no caen en ningún municipio conocido",
+                        accommodationId);
+            }
+        } else if (resolved.isPresent() && resolved.get() != ubication.getCity()) {
+            log.warn("Ciudad del alojamiento ID: {} ({}) no coincide con el municipio de sus coordenadas ({})",
+                    accommodationId, ubication.getCity(), resolved.get());
+        }
+    }
+
     @Override
     public Ubication getAccommodationCoordinates(Long accommodationId) throws ElementNotFoundException {
         log.info("Obteniendo coordenadas para alojamiento ID: {}", accommodationId);
@@ -135,9 +219,8 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
-    public List<Ubication> findNearbyAccommodations(Double latitude, Double longitude, Double radiusKm) {
-        log.info("Buscando alojamientos cercanos a Lat: {}, Lng: {} en radio de {} km",
-                latitude, longitude, radiusKm);
+    public List<NearbyAccommodationDTO> findNearbyAccommodations(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        log.debug("Buscando alojamientos cercanos a Lat: {}, Lng: {} en radio de {} km", latitude, longitude, radiusKm);
 
         if (!mapboxService.validateCoordinates(latitude, longitude)) {
             throw new IllegalArgumentException("Coordenadas inválidas proporcionadas");
@@ -147,20 +230,170 @@ public class LocationServiceImpl implements LocationService {
             throw new IllegalArgumentException("Radio de búsqueda debe ser mayor a 0");
         }
 
-        // Calcular rango de coordenadas aproximado (simplificado)
-        double latRange = radiusKm / 111.0; // Aproximadamente 111 km por grado de latitud
-        double lngRange = radiusKm / (111.0 * Math.cos(Math.toRadians(latitude)));
+        int effectiveLimit = limit == null ? DEFAULT_NEARBY_LIMIT : limit;
+        if (effectiveLimit <= 0 || effectiveLimit > MAX_NEARBY_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_NEARBY_LIMIT);
+        }
 
-        List<Ubication> nearbyUbications = ubicationRepo.findByCoordinatesRange(
-                latitude - latRange,
-                latitude + latRange,
-                longitude - lngRange,
-                longitude + lngRange
-        );
+        // Solo se recorren las celdas del índice que cubren el círculo; el filtro final es por distancia exacta
+        return geoIndexService.findWithinRadius(latitude, longitude, radiusKm, effectiveLimit);
+    }
 
-        log.info("Encontrados {} alojamientos en el área especificada", nearbyUbications.size());
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyAccommodationSummaryDTO> findNearestAccommodations(Double latitude, Double longitude, Integer k,
+                                                                         Double maxRadiusKm, String accommodationType,
+                                                                         Integer minGuests) {
+        if (!mapboxService.validateCoordinates(latitude, longitude)) {
+            throw new IllegalArgumentException("Coordenadas inválidas proporcionadas");
+        }
+        int effectiveK = k == null ? DEFAULT_NEAREST_K : k;
+        if (effectiveK <= 0 || effectiveK > MAX_NEAREST_K) {
+            throw new IllegalArgumentException("El número de resultados debe estar entre 1 y " + MAX_NEAREST_K);
+        }
+        double radius = maxRadiusKm == null ? DEFAULT_NEAREST_RADIUS_KM : maxRadiusKm;
+        if (radius <= 0 || radius > MAX_NEAREST_RADIUS_KM) {
+            throw new IllegalArgumentException("El radio máximo debe estar entre 0 y " + MAX_NEAREST_RADIUS_KM + " km");
+        }
+        if (minGuests != null && minGuests <= 0) {
+            throw new IllegalArgumentException("El número de huéspedes debe ser mayor a cero");
+        }
+        AccomodationType type = null;
+        if (accommodationType != null && !accommodationType.isBlank()) {
+            try {
+                type = AccomodationType.valueOf(accommodationType.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Tipo de alojamiento no válido: " + accommodationType);
+            }
+        }
 
-        return nearbyUbications;
+        List<NearbyAccommodationDTO> nearest = geoIndexService.findNearest(latitude, longitude, effectiveK, radius, type, minGuests);
+        if (nearest.isEmpty()) {
+            return List.of();
+        }
+
+        // Datos y fotos en una consulta por lote y calificaciones desde sus resúmenes, en lugar de una petición por alojamiento
+        List<Long> ids = nearest.stream().map(NearbyAccommodationDTO::accommodationId).toList();
+        Map<Long, Object[]> summaries = new HashMap<>();
+        for (Object[] row : accommodationRepo.findSummaryRowsByIds(ids)) {
+            summaries.put((Long) row[0], row);
+        }
+        Map<Long, String> mainPhotos = new HashMap<>();
+        for (Object[] row : accommodationRepo.findPhotosByAccommodationIds(ids)) {
+            mainPhotos.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+        Map<Long, RatingSummaryDTO> ratings = ratingSummaryService.getAccommodationSummaries(ids);
+
+        return nearest.stream()
+                .filter(hit -> summaries.containsKey(hit.accommodationId()))
+                .map(hit -> {
+                    Object[] summary = summaries.get(hit.accommodationId());
+                    RatingSummaryDTO rating = ratings.get(hit.accommodationId());
+                    return new NearbyAccommodationSummaryDTO(
+                            hit.accommodationId(),
+                            (String) summary[1],
+                            summary[2] != null ? ((AccomodationType) summary[2]).name() : null,
+                            mainPhotos.get(hit.accommodationId()),
+                            hit.latitude(),
+                            hit.longitude(),
+                            hit.distanceKm(),
+                            rating != null ? rating.averageRating() : null,
+                            rating != null ? rating.ratingCount() : 0L);
+                })
+                .toList();
+    }
+
+    /**
+     * Sin transacción: la llamada a Mapbox no debe retener una conexión a la base de datos.
+     * Las coordenadas se guardan después en su propia transacción, a través del proxy.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Ubication geocodeAccommodation(Long accommodationId) throws ElementNotFoundException {
+        Accomodation accommodation = accommodationRepo.findByIdWithUbication(accommodationId)
+                .orElseThrow(() -> new ElementNotFoundException("Alojamiento no encontrado con ID: " + accommodationId));
+        Ubication ubication = accommodation.getUbication();
+        if (ubication == null || ubication.getDireccion() == null || ubication.getDireccion().isBlank()) {
+            throw new ElementNotFoundException("El alojamiento ID " + accommodationId + " no tiene dirección registrada");
+        }
+
+        String address = ubication.getCity() != null
+                ? ubication.getDireccion() + ", " + ubication.getCity().name().replace('_', ' ')
+                : ubication.getDireccion();
+        GeocodingResultDTO result = geocodingService.geocode(address);
+        log.info("Dirección '{}' geocodificada como {} ({}, {})",
+                address, result.placeName(), result.latitude(), result.longitude());
+        return self.updateAccommodationCoordinates(accommodationId, result.latitude(), result.longitude());
+    }
+
+    @Override
+    public GeocodingResultDTO geocodeAddress(String address) {
+        return geocodingService.geocode(address);
+    }
+
+    @Override
+    public GeocodingResultDTO reverseGeocode(Double latitude, Double longitude) {
+        return geocodingService.reverseGeocode(latitude, longitude);
+    }
+
+    @Override
+    public List<MapClusterDTO> getMapClusters(Double minLatitude, Double minLongitude, Double maxLatitude,
+                                              Double maxLongitude, Integer zoom) {
+        if (zoom == null || !mapboxService.validateCoordinates(minLatitude, minLongitude)
+                || !mapboxService.validateCoordinates(maxLatitude, maxLongitude)) {
+            throw new IllegalArgumentException("Rectángulo o zoom inválidos");
+        }
+        return mapClusterService.getClusters(minLatitude, minLongitude, maxLatitude, maxLongitude, zoom);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DistanceMatrixDTO getDistanceMatrix(List<Double> originLatitudes, List<Double> originLongitudes,
+                                               List<Long> accommodationIds) {
+        if (originLatitudes == null || originLongitudes == null || originLatitudes.isEmpty()
+                || originLatitudes.size() != originLongitudes.size()) {
+            throw new IllegalArgumentException("Debe indicar al menos un origen con latitud y longitud");
+        }
+        if (originLatitudes.size() > MAX_MATRIX_ORIGINS) {
+            throw new IllegalArgumentException("Máximo " + MAX_MATRIX_ORIGINS + " orígenes por consulta");
+        }
+        if (accommodationIds == null || accommodationIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un alojamiento");
+        }
+        if (accommodationIds.size() > MAX_MATRIX_ACCOMMODATIONS) {
+            throw new IllegalArgumentException("Máximo " + MAX_MATRIX_ACCOMMODATIONS + " alojamientos por consulta");
+        }
+        for (int i = 0; i < originLatitudes.size(); i++) {
+            if (!mapboxService.validateCoordinates(originLatitudes.get(i), originLongitudes.get(i))) {
+                throw new IllegalArgumentException("Coordenadas inválidas en el origen " + (i + 1));
+            }
+        }
+
+        Map<Long, double[]> coordinates = new HashMap<>();
+        for (Object[] row : accommodationRepo.findCoordinatesByIds(new LinkedHashSet<>(accommodationIds))) {
+            coordinates.put((Long) row[0], new double[] { (Double) row[1], (Double) row[2] });
+        }
+
+        // Columnas en el orden pedido, sin duplicados; los que no tienen coordenadas se informan aparte
+        List<Long> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(accommodationIds)) {
+            (coordinates.containsKey(id) ? found : missing).add(id);
+        }
+        double[] latitudes = new double[found.size()];
+        double[] longitudes = new double[found.size()];
+        for (int j = 0; j < found.size(); j++) {
+            double[] point = coordinates.get(found.get(j));
+            latitudes[j] = point[0];
+            longitudes[j] = point[1];
+        }
+
+        DistanceKernel.PointBatch batch = DistanceKernel.PointBatch.of(latitudes, longitudes);
+        double[][] distances = new double[originLatitudes.size()][found.size()];
+        for (int i = 0; i < originLatitudes.size(); i++) {
+            DistanceKernel.distancesKm(originLatitudes.get(i), originLongitudes.get(i), batch, distances[i]);
+        }
+        return new DistanceMatrixDTO(found, missing, distances);
     }
 
     @Override
@@ -0,0 +1,349 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gestion.alojamientos.dto.accommodation.MapClusterDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.MapClusterService;
+
+@Service
+public class MapClusterServiceImpl implements MapClusterService {
+
+    private static final Logger log = LoggerFactory.getLogger(MapClusterServiceImpl.class);
+
+    /**
+     * Último zoom precalculado: sus celdas miden ~150 m, más allá el agrupamiento apenas cambia.
+     */
+    static final int MAX_ZOOM = 16;
+
+    // 2^2 = 4 celdas por lado de tesela (256 px): cada grupo ocupa ~64 px en pantalla
+    private static final int CELLS_PER_TILE_SHIFT = 2;
+    private static final int FINEST_CELLS = 1 << (MAX_ZOOM + CELLS_PER_TILE_SHIFT);
+
+    // Límite de la proyección Web Mercator
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+
+    /**
+     * Máximo de celdas que puede cubrir un rectángulo consultado (64 × 64 teselas).
+     */
+    static final long MAX_VIEWPORT_CELLS = 65_536;
+
+    private final AccommodationRepo accommodationRepo;
+
+    private volatile Hierarchy hierarchy = new Hierarchy();
+    private volatile boolean loaded = false;
+    private final IndexReloadJournal<Hierarchy> reloadJournal = new IndexReloadJournal<>();
+
+    public MapClusterServiceImpl(AccommodationRepo accommodationRepo) {
+        this.accommodationRepo = accommodationRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadIndex();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        upsert(event.accommodation());
+    }
+
+    @Override
+    public synchronized int reloadIndex() {
+        long start = System.currentTimeMillis();
+        reloadJournal.start();
+        try {
+            return load(start);
+        } finally {
+            reloadJournal.stop();
+        }
+    }
+
+    private int load(long start) {
+        List<Object[]> rows = accommodationRepo.findClusterableLocations();
+        Hierarchy fresh = new Hierarchy();
+        for (Object[] row : rows) {
+            fresh.put((Long) row[0], Member.of((Double) row[1], (Double) row[2], (Double) row[3]));
+        }
+        reloadJournal.publish(fresh, next -> {
+            hierarchy = next;
+            loaded = true;
+        });
+        log.info("Grupos del mapa cargados: {} alojamientos en {} niveles ({} ms)",
+                rows.size(), MAX_ZOOM + 1, System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    @Override
+    public void upsert(Accomodation accommodation) {
+        if (accommodation == null || accommodation.getId() == null) {
+            return;
+        }
+        Long accommodationId = accommodation.getId();
+        boolean visible = accommodation.getApprovalStatus() == ApprovalStatus.APPROVED
+                && accommodation.getOperationalStatus() == OperationalStatus.ACTIVE
+                && accommodation.getUbication() != null
+                && accommodation.getUbication().getLatitud() != null
+                && accommodation.getUbication().getLongitud() != null;
+        if (!visible) {
+            remove(accommodationId);
+            return;
+        }
+        Member member = Member.of(accommodation.getUbication().getLatitud(), accommodation.getUbication().getLongitud(),
+                accommodation.getBasePricePerNight());
+        reloadJournal.apply(() -> hierarchy, current -> current.put(accommodationId, member));
+    }
+
+    @Override
+    public void remove(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        reloadJournal.apply(() -> hierarchy, current -> current.remove(accommodationId));
+    }
+
+    @Override
+    public List<MapClusterDTO> getClusters(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                           int zoom) {
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("La latitud mínima no puede ser mayor que la máxima");
+        }
+        if (zoom < 0) {
+            throw new IllegalArgumentException("El zoom no puede ser negativo");
+        }
+        if (!loaded) {
+            reloadIndex();
+        }
+        int level = Math.min(zoom, MAX_ZOOM);
+        int shift = MAX_ZOOM - level;
+
+        // En Mercator el norte tiene la coordenada y menor
+        int minY = cellY(maxLatitude) >> shift;
+        int maxY = cellY(minLatitude) >> shift;
+        int minX = cellX(minLongitude) >> shift;
+        int maxX = cellX(maxLongitude) >> shift;
+        int[][] xRanges = minLongitude <= maxLongitude
+                ? new int[][] { { minX, maxX } }
+                : new int[][] { { minX, (FINEST_CELLS >> shift) - 1 }, { 0, maxX } };
+
+        long cells = 0;
+        for (int[] range : xRanges) {
+            cells += (long) (range[1] - range[0] + 1) * (maxY - minY + 1);
+        }
+        if (cells > MAX_VIEWPORT_CELLS) {
+            throw new IllegalArgumentException("El área consultada es demasiado grande para el zoom " + zoom);
+        }
+        return hierarchy.query(level, xRanges, minY, maxY, cells);
+    }
+
+    /**
+     * Columna de la celda del nivel más fino que contiene la longitud.
+     */
+    static int cellX(double longitude) {
+        double x = (longitude + 180.0) / 360.0;
+        return clampCell((int) Math.floor(x * FINEST_CELLS));
+    }
+
+    /**
+     * Fila de la celda del nivel más fino que contiene la latitud (proyección Web Mercator).
+     */
+    static int cellY(double latitude) {
+        double lat = Math.toRadians(Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude)));
+        double y = 0.5 - Math.log(Math.tan(Math.PI / 4 + lat / 2)) / (2 * Math.PI);
+        return clampCell((int) Math.floor(y * FINEST_CELLS));
+    }
+
+    private static int clampCell(int cell) {
+        return Math.max(0, Math.min(FINEST_CELLS - 1, cell));
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * Alojamiento agrupado; x/y es su celda en el nivel más fino y price es infinito si no tiene precio.
+     */
+    private record Member(double latitude, double longitude, double price, int x, int y) {
+
+        static Member of(double latitude, double longitude, Double price) {
+            return new Member(latitude, longitude, price != null ? price : Double.POSITIVE_INFINITY,
+                    cellX(longitude), cellY(latitude));
+        }
+    }
+
+    /**
+     * Agregado de una celda: basta con sumas para mover el centroide al añadir o quitar miembros.
+     * idSum es el ID del único miembro cuando count es 1.
+     */
+    private static final class Cluster {
+
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private double minPrice = Double.POSITIVE_INFINITY;
+        private long idSum;
+
+        MapClusterDTO toDto() {
+            return new MapClusterDTO(
+                    latitudeSum / count,
+                    longitudeSum / count,
+                    count,
+                    Double.isInfinite(minPrice) ? null : minPrice,
+                    count == 1 ? idSum : null);
+        }
+    }
+
+    /**
+     * Celdas de todos los niveles. levels[z] guarda los grupos del zoom z; las celdas del nivel más
+     * fino conservan además los IDs de sus miembros para recalcular el precio mínimo cuando sale el
+     * miembro más barato. Los niveles superiores lo recalculan a partir de sus cuatro celdas hijas.
+     */
+    private static final class Hierarchy {
+
+        private final Map<Long, Member> members = new HashMap<>();
+        private final Map<Long, Set<Long>> finestMembers = new HashMap<>();
+        private final List<Map<Long, Cluster>> levels = new ArrayList<>(MAX_ZOOM + 1);
+
+        Hierarchy() {
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                levels.add(new HashMap<>());
+            }
+        }
+
+        synchronized void put(Long id, Member member) {
+            Member previous = members.put(id, member);
+            if (previous != null) {
+                detach(id, previous);
+            }
+            finestMembers.computeIfAbsent(cellKey(member.x(), member.y()), key -> new HashSet<>()).add(id);
+            for (int z = MAX_ZOOM; z >= 0; z--) {
+                int shift = MAX_ZOOM - z;
+                Cluster cluster = levels.get(z).computeIfAbsent(cellKey(member.x() >> shift, member.y() >> shift),
+                        key -> new Cluster());
+                cluster.count++;
+                cluster.latitudeSum += member.latitude();
+                cluster.longitudeSum += member.longitude();
+                cluster.idSum += id;
+                cluster.minPrice = Math.min(cluster.minPrice, member.price());
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Member previous = members.remove(id);
+            if (previous != null) {
+                detach(id, previous);
+            }
+        }
+
+        /**
+         * Resta el miembro de cada nivel, del más fino al más grueso, para que al recalcular el precio
+         * mínimo de una celda sus hijas ya estén actualizadas.
+         */
+        private void detach(Long id, Member member) {
+            long finestKey = cellKey(member.x(), member.y());
+            Set<Long> ids = finestMembers.get(finestKey);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    finestMembers.remove(finestKey);
+                }
+            }
+            for (int z = MAX_ZOOM; z >= 0; z--) {
+                int shift = MAX_ZOOM - z;
+                int x = member.x() >> shift;
+                int y = member.y() >> shift;
+                Map<Long, Cluster> level = levels.get(z);
+                Cluster cluster = level.get(cellKey(x, y));
+                if (cluster == null) {
+                    continue;
+                }
+                if (--cluster.count == 0) {
+                    level.remove(cellKey(x, y));
+                    continue;
+                }
+                cluster.latitudeSum -= member.latitude();
+                cluster.longitudeSum -= member.longitude();
+                cluster.idSum -= id;
+                if (member.price() <= cluster.minPrice) {
+                    cluster.minPrice = z == MAX_ZOOM ? minMemberPrice(finestKey) : minChildPrice(z, x, y);
+                }
+            }
+        }
+
+        private double minMemberPrice(long finestKey) {
+            double min = Double.POSITIVE_INFINITY;
+            for (Long memberId : finestMembers.getOrDefault(finestKey, Set.of())) {
+                min = Math.min(min, members.get(memberId).price());
+            }
+            return min;
+        }
+
+        private double minChildPrice(int z, int x, int y) {
+            Map<Long, Cluster> children = levels.get(z + 1);
+            double min = Double.POSITIVE_INFINITY;
+            for (int dx = 0; dx <= 1; dx++) {
+                for (int dy = 0; dy <= 1; dy++) {
+                    Cluster child = children.get(cellKey(2 * x + dx, 2 * y + dy));
+                    if (child != null) {
+                        min = Math.min(min, child.minPrice);
+                    }
+                }
+            }
+            return min;
+        }
+
+        /**
+         * Grupos de las celdas del rectángulo: recorre el rango de celdas o, si es mayor que el número
+         * de celdas ocupadas del nivel, recorre las ocupadas y filtra por rango.
+         */
+        synchronized List<MapClusterDTO> query(int z, int[][] xRanges, int minY, int maxY, long cells) {
+            Map<Long, Cluster> level = levels.get(z);
+            List<MapClusterDTO> result = new ArrayList<>();
+            if (cells <= level.size()) {
+                for (int[] range : xRanges) {
+                    for (int x = range[0]; x <= range[1]; x++) {
+                        for (int y = minY; y <= maxY; y++) {
+                            Cluster cluster = level.get(cellKey(x, y));
+                            if (cluster != null) {
+                                result.add(cluster.toDto());
+                            }
+                        }
+                    }
+                }
+                return result;
+            }
+            level.forEach((key, cluster) -> {
+                int x = (int) (key >>> 32);
+                int y = (int) (long) key;
+                if (y < minY || y > maxY) {
+                    return;
+                }
+                for (int[] range : xRanges) {
+                    if (x >= range[0] && x <= range[1]) {
+                        result.add(cluster.toDto());
+                        return;
+                    }
+                }
+            });
+            return result;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.gestion.alojamientos.service.Impl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
 import com.gestion.alojamientos.service.MapboxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.Locale;
 
 @Service
 public class MapboxServiceImpl implements MapboxService {
@@ -16,7 +22,13 @@ public class MapboxServiceImpl implements MapboxService {
     @Value("${mapbox.api.key}")
     private String mapboxApiKey;
 
-    private static final String MAPBOX_BASE_URL = "https://api.mapbox.com";
+    @Value("${mapbox.base-url:https://api.mapbox.com}")
+    private String mapboxBaseUrl;
+
+    @Value("${mapbox.geocoding.country:co}")
+    private String geocodingCountry;
+
+    private static final String GEOCODING_PATH = "/geocoding/v5/mapbox.places/{query}.json";
 
     public MapboxServiceImpl(RestTemplate mapboxRestTemplate) {
         this.mapboxRestTemplate = mapboxRestTemplate;
@@ -57,6 +69,49 @@ public class MapboxServiceImpl implements MapboxService {
         return EARTH_RADIUS_KM * c;
     }
 
+    @Override
+    public GeocodingResultDTO forwardGeocode(String address) {
+        URI uri = UriComponentsBuilder.fromUriString(mapboxBaseUrl)
+                .path(GEOCODING_PATH)
+                .queryParam("access_token", mapboxApiKey)
+                .queryParam("limit", 1)
+                .queryParam("language", "es")
+                .queryParam("country", geocodingCountry)
+                .encode()
+                .buildAndExpand(address)
+                .toUri();
+        return firstFeature(mapboxRestTemplate.getForObject(uri, JsonNode.class));
+    }
+
+    @Override
+    public GeocodingResultDTO reverseGeocode(double latitude, double longitude) {
+        URI uri = UriComponentsBuilder.fromUriString(mapboxBaseUrl)
+                .path(GEOCODING_PATH)
+                .queryParam("access_token", mapboxApiKey)
+                .queryParam("limit", 1)
+                .queryParam("language", "es")
+                .encode()
+                .buildAndExpand(String.format(Locale.ROOT, "%.6f,%.6f", longitude, latitude))
+                .toUri();
+        return firstFeature(mapboxRestTemplate.getForObject(uri, JsonNode.class));
+    }
+
+    /**
+     * Primera "feature" de la respuesta de Mapbox; center viene como [longitud, latitud].
+     */
+    private static GeocodingResultDTO firstFeature(JsonNode response) {
+        if (response == null || !response.path("features").isArray() || response.path("features").isEmpty()) {
+            return null;
+        }
+        JsonNode feature = response.path("features").get(0);
+        JsonNode center = feature.path("center");
+        if (center.size() < 2) {
+            return null;
+        }
+        return new GeocodingResultDTO(center.get(1).asDouble(), center.get(0).asDouble(),
+                feature.path("place_name").asText(null));
+    }
+
     @Override
     public String getApiKey() {
         return mapboxApiKey;
@@ -0,0 +1,122 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.service.MunicipalityResolver;
+
+@Service
+public class MunicipalityResolverImpl implements MunicipalityResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(MunicipalityResolverImpl.class);
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    // Se construye una sola vez y no vuelve a modificarse: las consultas concurrentes son seguras
+    private final STRtree index = new STRtree();
+
+    public MunicipalityResolverImpl(@Value("${location.municipalities.geojson:#{null}}") Resource geojson) {
+        if (geojson == null || !geojson.exists()) {
+            log.warn("Sin GeoJSON de municipios (location.municipalities.geojson): la ciudad no se deduce de las coordenadas");
+            return;
+        }
+        EnumSet<Cities> loaded = EnumSet.noneOf(Cities.class);
+        try (InputStream in = geojson.getInputStream()) {
+            for (JsonNode feature : new ObjectMapper().readTree(in).path("features")) {
+                Cities city = Cities.valueOf(feature.path("properties").path("city").asText());
+                Geometry geometry = toGeometry(feature.path("geometry"));
+                Municipality municipality = new Municipality(city, new IndexedPointInAreaLocator(geometry), geometry.getArea());
+                // Construye el índice interno del localizador antes de compartirlo entre hilos
+                municipality.locator().locate(geometry.getCoordinate());
+                index.insert(geometry.getEnvelopeInternal(), municipality);
+                loaded.add(city);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el GeoJSON de municipios " + geojson, e);
+        }
+        index.build();
+
+        EnumSet<Cities> missing = EnumSet.complementOf(loaded);
+        if (!missing.isEmpty()) {
+            log.warn("Municipios sin contorno en {}: {}", geojson, missing);
+        }
+        log.info("Índice de municipios cargado: {} contornos", index.size());
+    }
+
+    @Override
+    public Optional<Cities> resolve(double latitude, double longitude) {
+        if (index.isEmpty()) {
+            return Optional.empty();
+        }
+        Coordinate point = new Coordinate(longitude, latitude);
+        Municipality best = null;
+        for (Object candidate : index.query(new Envelope(point))) {
+            Municipality municipality = (Municipality) candidate;
+            if (municipality.locator().locate(point) != Location.EXTERIOR
+                    && (best == null || municipality.area() < best.area())) {
+                best = municipality;
+            }
+        }
+        return best == null ? Optional.empty() : Optional.of(best.city());
+    }
+
+    private static Geometry toGeometry(JsonNode geometry) {
+        String type = geometry.path("type").asText();
+        JsonNode coordinates = geometry.path("coordinates");
+        return switch (type) {
+            case "Polygon" -> toPolygon(coordinates);
+            case "MultiPolygon" -> {
+                List<Polygon> polygons = new ArrayList<>();
+                for (JsonNode polygon : coordinates) {
+                    polygons.add(toPolygon(polygon));
+                }
+                yield GEOMETRY_FACTORY.createMultiPolygon(polygons.toArray(Polygon[]::new));
+            }
+            default -> throw new IllegalArgumentException("Geometría no soportada en el GeoJSON de municipios: " + type);
+        };
+    }
+
+    // GeoJSON: primer anillo exterior y el resto huecos, cada posición como [lng, lat]
+    private static Polygon toPolygon(JsonNode rings) {
+        LinearRing shell = toRing(rings.get(0));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = toRing(rings.get(i));
+        }
+        return GEOMETRY_FACTORY.createPolygon(shell, holes);
+    }
+
+    private static LinearRing toRing(JsonNode positions) {
+        Coordinate[] coordinates = new Coordinate[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            coordinates[i] = new Coordinate(positions.get(i).get(0).asDouble(), positions.get(i).get(1).asDouble());
+        }
+        return GEOMETRY_FACTORY.createLinearRing(coordinates);
+    }
+
+    private record Municipality(Cities city, IndexedPointInAreaLocator locator, double area) {
+    }
+}
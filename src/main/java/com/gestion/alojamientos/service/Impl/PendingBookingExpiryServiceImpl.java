@@ -0,0 +1,176 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class PendingBookingExpiryServiceImpl implements PendingBookingExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingBookingExpiryServiceImpl.class);
+
+    private final BookingRepo bookingRepo;
+    private final AvailabilityService availabilityService;
+    private final BookingEventService bookingEventService;
+    private final Duration ttl;
+
+    private final DelayQueue<ExpiringHold> queue = new DelayQueue<>();
+    private volatile Thread worker;
+
+    public PendingBookingExpiryServiceImpl(BookingRepo bookingRepo,
+                                           AvailabilityService availabilityService,
+                                           BookingEventService bookingEventService,
+                                           @Value("${booking.pending-hold.ttl-minutes:30}") long ttlMinutes) {
+        this.bookingRepo = bookingRepo;
+        this.availabilityService = availabilityService;
+        this.bookingEventService = bookingEventService;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        recoverPendingBookings();
+        Thread thread = new Thread(this::run, "pending-booking-expiry");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void schedule(Long bookingId, Long accommodationId, LocalDateTime createdAt) {
+        if (bookingId == null || accommodationId == null) {
+            return;
+        }
+        long expiresAt = (createdAt != null ? createdAt : LocalDateTime.now())
+                .atZone(ZoneId.systemDefault()).toInstant().plus(ttl).toEpochMilli();
+        ExpiringHold hold = new ExpiringHold(bookingId, accommodationId, expiresAt);
+
+        // Programar solo cuando la reserva ya existe en base de datos
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queue.put(hold);
+                }
+            });
+        } else {
+            queue.put(hold);
+        }
+    }
+
+    @Override
+    public boolean expire(Long bookingId, Long accommodationId) {
+        // Cancelación condicional y registro del evento en una sola transacción
+        if (!bookingEventService.expirePending(bookingId)) {
+            // Confirmada, cancelada o eliminada antes de vencer: no hay nada que liberar
+            return false;
+        }
+        availabilityService.releaseBooking(accommodationId, bookingId);
+        log.info("Reserva pendiente {} vencida tras {} minutos sin confirmar", bookingId, ttl.toMinutes());
+        return true;
+    }
+
+    @Override
+    public int expireDue() {
+        int expired = 0;
+        ExpiringHold hold;
+        while ((hold = queue.poll()) != null) {
+            if (expireSafely(hold)) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    @Override
+    public int recoverPendingBookings() {
+        List<Object[]> rows = bookingRepo.findHoldsByState(StatesOfBooking.PENDING);
+        for (Object[] row : rows) {
+            schedule((Long) row[0], (Long) row[1], (LocalDateTime) row[2]);
+        }
+        log.info("Vencimiento de reservas pendientes reprogramado para {} reservas (TTL {} min)",
+                rows.size(), ttl.toMinutes());
+        return rows.size();
+    }
+
+    /**
+     * Bucle del hilo de vencimientos: duerme hasta el próximo vencimiento de la cola.
+     */
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                expireSafely(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean expireSafely(ExpiringHold hold) {
+        try {
+            return expire(hold.bookingId, hold.accommodationId);
+        } catch (Exception e) {
+            // Se reintenta más tarde para no perder el vencimiento por un fallo transitorio
+            log.warn("No se pudo vencer la reserva {}: {}", hold.bookingId, e.getMessage());
+            queue.put(new ExpiringHold(hold.bookingId, hold.accommodationId, System.currentTimeMillis() + 60_000));
+            return false;
+        }
+    }
+
+    /**
+     * Entrada de la cola de vencimientos.
+     */
+    private static final class ExpiringHold implements Delayed {
+
+        private final Long bookingId;
+        private final Long accommodationId;
+        private final long expiresAtMillis;
+
+        ExpiringHold(Long bookingId, Long accommodationId, long expiresAtMillis) {
+            this.bookingId = bookingId;
+            this.accommodationId = accommodationId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiresAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiresAtMillis, ((ExpiringHold) other).expiresAtMillis);
+        }
+    }
+}
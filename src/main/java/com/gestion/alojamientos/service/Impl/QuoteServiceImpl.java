@@ -0,0 +1,342 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.gestion.alojamientos.dto.accommodation.AccommodationPricingDTO;
+import com.gestion.alojamientos.dto.accommodation.SeasonalPriceRuleDTO;
+import com.gestion.alojamientos.dto.booking.QuoteDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.SeasonalPriceRule;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.SeasonalPriceRuleRepo;
+import com.gestion.alojamientos.security.AuthenticatedUser;
+import com.gestion.alojamientos.service.QuoteService;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
+
+@Service
+public class QuoteServiceImpl implements QuoteService {
+
+    static final int MAX_BULK_QUOTES = 50;
+    static final int MAX_NIGHTS = 366;
+    static final int HORIZON_DAYS = 366;
+    static final int WEEKLY_NIGHTS = 7;
+    static final int MONTHLY_NIGHTS = 28;
+
+    // Los calendarios se recalculan pasado este tiempo para recoger cambios hechos fuera de updatePricing
+    static final long MAX_AGE_MILLIS = 10 * 60 * 1000L;
+    static final int MAX_CACHED_CALENDARS = 20_000;
+
+    private final AccommodationRepo accommodationRepo;
+    private final SeasonalPriceRuleRepo seasonalPriceRuleRepo;
+
+    private final Map<Long, PriceCalendar> calendars = new ConcurrentHashMap<>();
+
+    public QuoteServiceImpl(AccommodationRepo accommodationRepo, SeasonalPriceRuleRepo seasonalPriceRuleRepo) {
+        this.accommodationRepo = accommodationRepo;
+        this.seasonalPriceRuleRepo = seasonalPriceRuleRepo;
+    }
+
+    @Override
+    public QuoteDTO quote(Long accommodationId, LocalDate checkIn, LocalDate checkOut) {
+        validateDates(checkIn, checkOut);
+        PriceCalendar calendar = calendarsFor(List.of(accommodationId)).get(accommodationId);
+        if (calendar == null) {
+            throw new EntityNotFoundException("Alojamiento no encontrado con ID: " + accommodationId);
+        }
+        return calendar.quote(accommodationId, checkIn, checkOut);
+    }
+
+    @Override
+    public List<QuoteDTO> quoteBulk(List<Long> accommodationIds, LocalDate checkIn, LocalDate checkOut) {
+        if (accommodationIds == null || accommodationIds.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un alojamiento");
+        }
+        if (accommodationIds.size() > MAX_BULK_QUOTES) {
+            throw new IllegalArgumentException("Máximo " + MAX_BULK_QUOTES + " alojamientos por cotización");
+        }
+        validateDates(checkIn, checkOut);
+
+        Map<Long, PriceCalendar> found = calendarsFor(accommodationIds);
+        List<QuoteDTO> quotes = new ArrayList<>(accommodationIds.size());
+        for (Long accommodationId : new LinkedHashSet<>(accommodationIds)) {
+            PriceCalendar calendar = found.get(accommodationId);
+            QuoteDTO quote = calendar == null ? null : calendar.quote(accommodationId, checkIn, checkOut);
+            if (quote != null) {
+                quotes.add(quote);
+            }
+        }
+        return quotes;
+    }
+
+    @Override
+    @Transactional
+    public void updatePricing(Long accommodationId, Long hostId, AccommodationPricingDTO pricingDTO) {
+        Accomodation accommodation = accommodationRepo.findById(accommodationId)
+            .orElseThrow(() -> new EntityNotFoundException("Alojamiento no encontrado con ID: " + accommodationId));
+        // Validar rol y propiedad: la tarifa es la que se cobra en las reservas, y los IDs de huéspedes
+        // y anfitriones son secuencias independientes que pueden coincidir
+        if (!AuthenticatedUser.hasRole("ROLE_HOST") || hostId == null || accommodation.getHost() == null || !hostId.equals(accommodation.getHost().getId())) {
+            throw new AccessDeniedException("No tienes permisos para modificar la tarifa de este alojamiento");
+        }
+        validatePricing(pricingDTO);
+
+        accommodation.setBasePricePerNight(pricingDTO.basePricePerNight());
+        accommodation.setWeeklyDiscountPercent(pricingDTO.weeklyDiscountPercent());
+        accommodation.setMonthlyDiscountPercent(pricingDTO.monthlyDiscountPercent());
+        accommodationRepo.save(accommodation);
+
+        seasonalPriceRuleRepo.deleteByAccommodationId(accommodationId);
+        if (pricingDTO.seasons() != null && !pricingDTO.seasons().isEmpty()) {
+            List<SeasonalPriceRule> rules = new ArrayList<>(pricingDTO.seasons().size());
+            for (SeasonalPriceRuleDTO season : pricingDTO.seasons()) {
+                rules.add(SeasonalPriceRule.builder()
+                    .accomodation(accommodation)
+                    .startDate(season.startDate())
+                    .endDate(season.endDate())
+                    .nightlyPrice(season.nightlyPrice())
+                    .adjustmentPercent(season.adjustmentPercent())
+                    .description(season.description())
+                    .build());
+            }
+            seasonalPriceRuleRepo.saveAll(rules);
+        }
+        invalidate(accommodationId);
+    }
+
+    @Override
+    public void invalidate(Long accommodationId) {
+        calendars.remove(accommodationId);
+        // Si hay transacción, se vuelve a descartar al hacer commit por si otra cotización
+        // recargó el calendario con los datos anteriores mientras tanto
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    calendars.remove(accommodationId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Devuelve los calendarios de los alojamientos pedidos, cargando los que falten
+     * (o estén vencidos) con una consulta de tarifas y otra de temporadas para todo el lote.
+     */
+    private Map<Long, PriceCalendar> calendarsFor(Collection<Long> accommodationIds) {
+        long now = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        Map<Long, PriceCalendar> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long accommodationId : accommodationIds) {
+            PriceCalendar calendar = calendars.get(accommodationId);
+            if (calendar != null && calendar.isFresh(now, today)) {
+                result.put(accommodationId, calendar);
+            } else {
+                missing.add(accommodationId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, List<SeasonalPriceRule>> rulesByAccommodation = new HashMap<>();
+        for (SeasonalPriceRule rule : seasonalPriceRuleRepo.findActiveByAccommodationIds(missing, today)) {
+            rulesByAccommodation.computeIfAbsent(rule.getAccomodation().getId(), id -> new ArrayList<>()).add(rule);
+        }
+
+        if (calendars.size() + missing.size() > MAX_CACHED_CALENDARS) {
+            calendars.clear();
+        }
+        for (Object[] row : accommodationRepo.findPricingByIds(missing)) {
+            Long accommodationId = (Long) row[0];
+            PriceCalendar calendar = new PriceCalendar(
+                (Double) row[1],
+                (Double) row[2],
+                (Double) row[3],
+                (Double) row[4],
+                row[5] != null ? row[5].toString() : null,
+                rulesByAccommodation.getOrDefault(accommodationId, List.of()),
+                today,
+                now
+            );
+            calendars.put(accommodationId, calendar);
+            result.put(accommodationId, calendar);
+        }
+        return result;
+    }
+
+    private void validateDates(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("Debe indicar la fecha de entrada y la de salida");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("La fecha de salida debe ser posterior a la de entrada");
+        }
+        if (checkOut.toEpochDay() - checkIn.toEpochDay() > MAX_NIGHTS) {
+            throw new IllegalArgumentException("Máximo " + MAX_NIGHTS + " noches por cotización");
+        }
+    }
+
+    private void validatePricing(AccommodationPricingDTO pricingDTO) {
+        if (pricingDTO.basePricePerNight() == null || pricingDTO.basePricePerNight() <= 0) {
+            throw new IllegalArgumentException("El precio base por noche debe ser mayor a cero");
+        }
+        validatePercent(pricingDTO.weeklyDiscountPercent(), "El descuento semanal");
+        validatePercent(pricingDTO.monthlyDiscountPercent(), "El descuento mensual");
+        if (pricingDTO.seasons() != null) {
+            for (SeasonalPriceRuleDTO season : pricingDTO.seasons()) {
+                if (season.startDate() == null || season.endDate() == null || season.endDate().isBefore(season.startDate())) {
+                    throw new IllegalArgumentException("Cada temporada debe tener fecha de inicio y fin válidas");
+                }
+                if (season.nightlyPrice() != null && season.nightlyPrice() <= 0) {
+                    throw new IllegalArgumentException("El precio de temporada debe ser mayor a cero");
+                }
+                if (season.adjustmentPercent() != null && season.adjustmentPercent() <= -100) {
+                    throw new IllegalArgumentException("El ajuste de temporada debe ser mayor a -100%");
+                }
+            }
+        }
+    }
+
+    private void validatePercent(Double percent, String label) {
+        if (percent != null && (percent < 0 || percent >= 100)) {
+            throw new IllegalArgumentException(label + " debe estar entre 0 y 100");
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Calendario de precios por noche de un alojamiento.
+     * Guarda las sumas acumuladas de los próximos HORIZON_DAYS días, así el subtotal de cualquier
+     * estadía dentro del horizonte es una resta; fuera de él se calcula noche a noche.
+     * Es inmutable: se reemplaza completo al recargarse.
+     */
+    private static final class PriceCalendar {
+
+        private final Double basePrice;
+        private final double weeklyDiscount;
+        private final double monthlyDiscount;
+        private final double feePercent;
+        private final String feeTier;
+        private final long[] ruleStart;
+        private final long[] ruleEnd;
+        private final Double[] rulePrice;
+        private final Double[] rulePercent;
+        private final long baseDay;
+        private final double[] prefix;
+        private final long builtAt;
+
+        PriceCalendar(Double basePrice, Double weeklyDiscount, Double monthlyDiscount, Double feePercent,
+                      String feeTier, List<SeasonalPriceRule> rules, LocalDate today, long builtAt) {
+            this.basePrice = basePrice;
+            this.weeklyDiscount = weeklyDiscount != null ? weeklyDiscount : 0.0;
+            this.monthlyDiscount = monthlyDiscount != null ? monthlyDiscount : 0.0;
+            this.feePercent = feePercent != null ? feePercent : 0.0;
+            this.feeTier = feeTier;
+            this.builtAt = builtAt;
+            this.baseDay = today.toEpochDay();
+
+            int count = rules.size();
+            ruleStart = new long[count];
+            ruleEnd = new long[count];
+            rulePrice = new Double[count];
+            rulePercent = new Double[count];
+            for (int i = 0; i < count; i++) {
+                SeasonalPriceRule rule = rules.get(i);
+                ruleStart[i] = rule.getStartDate().toEpochDay();
+                ruleEnd[i] = rule.getEndDate().toEpochDay();
+                rulePrice[i] = rule.getNightlyPrice();
+                rulePercent[i] = rule.getAdjustmentPercent();
+            }
+
+            if (basePrice == null) {
+                prefix = new double[0];
+                return;
+            }
+            prefix = new double[HORIZON_DAYS + 1];
+            for (int i = 0; i < HORIZON_DAYS; i++) {
+                prefix[i + 1] = prefix[i] + nightly(baseDay + i);
+            }
+        }
+
+        boolean isFresh(long now, LocalDate today) {
+            return now - builtAt < MAX_AGE_MILLIS && baseDay == today.toEpochDay();
+        }
+
+        /**
+         * Precio de una noche: la última temporada que la contiene (por fecha de inicio) prevalece.
+         */
+        double nightly(long day) {
+            double price = basePrice;
+            for (int i = ruleStart.length - 1; i >= 0; i--) {
+                if (ruleStart[i] <= day && day <= ruleEnd[i]) {
+                    if (rulePrice[i] != null) {
+                        price = rulePrice[i];
+                    }
+                    if (rulePercent[i] != null) {
+                        price = price * (1 + rulePercent[i] / 100.0);
+                    }
+                    break;
+                }
+            }
+            return price;
+        }
+
+        double sum(long from, long to) {
+            if (from >= baseDay && to <= baseDay + HORIZON_DAYS) {
+                return prefix[(int) (to - baseDay)] - prefix[(int) (from - baseDay)];
+            }
+            double total = 0;
+            for (long day = from; day < to; day++) {
+                total += nightly(day);
+            }
+            return total;
+        }
+
+        QuoteDTO quote(Long accommodationId, LocalDate checkIn, LocalDate checkOut) {
+            if (basePrice == null) {
+                return null;
+            }
+            long from = checkIn.toEpochDay();
+            long to = checkOut.toEpochDay();
+            int nights = (int) (to - from);
+
+            double subTotal = sum(from, to);
+            double discountPercent = nights >= MONTHLY_NIGHTS && monthlyDiscount > 0 ? monthlyDiscount
+                    : nights >= WEEKLY_NIGHTS ? weeklyDiscount : 0.0;
+            double discount = subTotal * discountPercent / 100.0;
+            double serviceFee = (subTotal - discount) * feePercent / 100.0;
+
+            return new QuoteDTO(
+                accommodationId,
+                checkIn,
+                checkOut,
+                nights,
+                round(subTotal / nights),
+                round(subTotal),
+                round(discount),
+                round(serviceFee),
+                feeTier,
+                round(subTotal - discount + serviceFee)
+            );
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gestion.alojamientos.dto.accommodation.TopRatedAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.AccommodationCalificationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.CreateAccommodationCalificationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.RatingSummaryDTO;
+import com.gestion.alojamientos.mapper.accomodation.AccommodationCalificationMapper;
+import com.gestion.alojamientos.model.accomodation.AccommodationRatingSummary;
+import com.gestion.alojamientos.model.accomodation.AccomodationCalification;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.RatingTotals;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRatingSummaryRepo;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.AccomodationCalificationRepo;
+import com.gestion.alojamientos.repository.accomodation.HostRatingSummaryRepo;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.RatingSummaryService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+@Service
+public class RatingSummaryServiceImpl implements RatingSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingSummaryServiceImpl.class);
+
+    static final int MIN_SCORE = 1;
+    static final int MAX_SCORE = 5;
+    static final int MAX_TOP_RATED = 100;
+
+    private final AccomodationCalificationRepo calificationRepo;
+    private final AccommodationRepo accommodationRepo;
+    private final AccommodationRatingSummaryRepo accommodationSummaryRepo;
+    private final HostRatingSummaryRepo hostSummaryRepo;
+    private final AccommodationCalificationMapper calificationMapper;
+    private final AccommodationDetailService accommodationDetailService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+
+    // LRU en memoria; cada instancia solo descarta lo que cambia ella, maxAge acota lo que otra puede servir viejo
+    private final Map<Long, CachedSummary> accommodationCache;
+    private final Map<Long, CachedSummary> hostCache;
+
+    // Un resumen leído solo se guarda en caché si no hubo cambios mientras se leía
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public RatingSummaryServiceImpl(AccomodationCalificationRepo calificationRepo,
+                                    AccommodationRepo accommodationRepo,
+                                    AccommodationRatingSummaryRepo accommodationSummaryRepo,
+                                    HostRatingSummaryRepo hostSummaryRepo,
+                                    AccommodationCalificationMapper calificationMapper,
+                                    AccommodationDetailService accommodationDetailService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${rating.summary-cache.size:10000}") int cacheSize,
+                                    @Value("${rating.summary-cache.max-age-seconds:300}") long maxAgeSeconds) {
+        this.calificationRepo = calificationRepo;
+        this.accommodationRepo = accommodationRepo;
+        this.accommodationSummaryRepo = accommodationSummaryRepo;
+        this.hostSummaryRepo = hostSummaryRepo;
+        this.calificationMapper = calificationMapper;
+        this.accommodationDetailService = accommodationDetailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = Duration.ofSeconds(maxAgeSeconds);
+        this.accommodationCache = lruCache(cacheSize);
+        this.hostCache = lruCache(cacheSize);
+    }
+
+    /**
+     * Llena las tablas de resúmenes la primera vez que arranca con calificaciones ya guardadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (accommodationSummaryRepo.count() == 0 && calificationRepo.count() > 0) {
+                log.info("Resúmenes de calificaciones calculados para {} alojamientos", rebuildSummaries());
+            }
+        } catch (Exception e) {
+            log.error("Error calculando los resúmenes de calificaciones", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public AccommodationCalificationDTO addRating(CreateAccommodationCalificationDTO dto) {
+        if (dto == null || dto.idAccommodation() == null) {
+            throw new IllegalArgumentException("El ID del alojamiento es obligatorio");
+        }
+        int cleanliness = score("limpieza", dto.cleanLiness());
+        int comfort = score("comodidad", dto.comfort());
+        int location = score("ubicación", dto.location());
+        int accuracy = score("precisión del anuncio", dto.accuractOfListing());
+        int communication = score("comunicación con el anfitrión", dto.comunicationHost());
+
+        Accomodation accommodation = accommodationRepo.findById(dto.idAccommodation())
+                .orElseThrow(() -> new EntityNotFoundException("Alojamiento no encontrado con ID: " + dto.idAccommodation()));
+
+        AccomodationCalification calification = calificationMapper.toEntity(dto);
+        calification.setAccomodation(accommodation);
+        calification.setProm((cleanliness + comfort + location + accuracy + communication) / 5.0);
+        AccomodationCalification saved = calificationRepo.save(calification);
+
+        Long hostId = accommodation.getHost() != null ? accommodation.getHost().getId() : null;
+        accommodationSummaryRepo.addToTotals(accommodation.getId(), hostId, saved);
+        evictAfterCommit(accommodation.getId(), hostId);
+        // La ficha precalculada lista los IDs de las calificaciones
+        accommodationDetailService.invalidate(accommodation.getId());
+        return calificationMapper.toDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public void removeRating(Long calificationId) {
+        AccomodationCalification calification = calificationRepo.findById(calificationId)
+                .orElseThrow(() -> new EntityNotFoundException("Calificación no encontrada con ID: " + calificationId));
+        Accomodation accommodation = calification.getAccomodation();
+        Long hostId = accommodation.getHost() != null ? accommodation.getHost().getId() : null;
+
+        // Si otra petición ya la borró, el delete falla al hacer commit y la resta se revierte con él
+        calificationRepo.delete(calification);
+        accommodationSummaryRepo.subtractFromTotals(accommodation.getId(), hostId, calification);
+        evictAfterCommit(accommodation.getId(), hostId);
+        accommodationDetailService.invalidate(accommodation.getId());
+    }
+
+    @Override
+    public RatingSummaryDTO getAccommodationSummary(Long accommodationId) {
+        CachedSummary cached = accommodationCache.get(accommodationId);
+        if (cached != null && isFresh(cached)) {
+            return cached.summary();
+        }
+        long seen = invalidations.get();
+        RatingSummaryDTO summary = accommodationSummaryRepo.findById(accommodationId)
+                .map(row -> toDto(row.getAccommodationId(), row.getTotals()))
+                .orElseGet(() -> empty(accommodationId));
+        cacheIfUnchanged(accommodationCache, accommodationId, summary, seen);
+        return summary;
+    }
+
+    @Override
+    public Map<Long, RatingSummaryDTO> getAccommodationSummaries(Collection<Long> accommodationIds) {
+        Map<Long, RatingSummaryDTO> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : accommodationIds) {
+            CachedSummary cached = accommodationCache.get(id);
+            if (cached != null && isFresh(cached)) {
+                if (cached.summary().ratingCount() > 0) {
+                    result.put(id, cached.summary());
+                }
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long seen = invalidations.get();
+        Map<Long, RatingSummaryDTO> loaded = new HashMap<>();
+        for (AccommodationRatingSummary row : accommodationSummaryRepo.findAllById(missing)) {
+            loaded.put(row.getAccommodationId(), toDto(row.getAccommodationId(), row.getTotals()));
+        }
+        for (Long id : missing) {
+            RatingSummaryDTO summary = loaded.getOrDefault(id, empty(id));
+            cacheIfUnchanged(accommodationCache, id, summary, seen);
+            if (summary.ratingCount() > 0) {
+                result.put(id, summary);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public RatingSummaryDTO getHostSummary(Long hostId) {
+        CachedSummary cached = hostCache.get(hostId);
+        if (cached != null && isFresh(cached)) {
+            return cached.summary();
+        }
+        long seen = invalidations.get();
+        RatingSummaryDTO summary = hostSummaryRepo.findById(hostId)
+                .map(row -> toDto(row.getHostId(), row.getTotals()))
+                .orElseGet(() -> empty(hostId));
+        cacheIfUnchanged(hostCache, hostId, summary, seen);
+        return summary;
+    }
+
+    @Override
+    public List<TopRatedAccommodationDTO> getTopRated(int minRatings, int limit) {
+        if (limit <= 0 || limit > MAX_TOP_RATED) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_TOP_RATED);
+        }
+        if (minRatings < 1) {
+            throw new IllegalArgumentException("El mínimo de calificaciones debe ser al menos 1");
+        }
+        List<Object[]> rows = accommodationSummaryRepo.findTopRatedRows(minRatings, PageRequest.of(0, limit));
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, String> mainPhotos = new HashMap<>();
+        for (Object[] row : accommodationRepo.findPhotosByAccommodationIds(ids)) {
+            mainPhotos.putIfAbsent((Long) row[0], (String) row[1]);
+        }
+        return rows.stream()
+                .map(row -> new TopRatedAccommodationDTO(
+                        (Long) row[0],
+                        (String) row[1],
+                        row[2] != null ? ((AccomodationType) row[2]).name() : null,
+                        mainPhotos.get((Long) row[0]),
+                        (Double) row[3],
+                        (Long) row[4]))
+                .toList();
+    }
+
+    @Override
+    public int rebuildSummaries() {
+        Integer rebuilt = transactionTemplate.execute(status -> accommodationSummaryRepo.rebuildAll());
+        invalidations.incrementAndGet();
+        accommodationCache.clear();
+        hostCache.clear();
+        return rebuilt != null ? rebuilt : 0;
+    }
+
+    private static int score(String dimension, Integer value) {
+        if (value == null || value < MIN_SCORE || value > MAX_SCORE) {
+            throw new IllegalArgumentException("La calificación de " + dimension + " debe estar entre "
+                    + MIN_SCORE + " y " + MAX_SCORE);
+        }
+        return value;
+    }
+
+    private void evictAfterCommit(Long accommodationId, Long hostId) {
+        Runnable evict = () -> {
+            invalidations.incrementAndGet();
+            accommodationCache.remove(accommodationId);
+            if (hostId != null) {
+                hostCache.remove(hostId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private void cacheIfUnchanged(Map<Long, CachedSummary> cache, Long id, RatingSummaryDTO summary, long seen) {
+        if (invalidations.get() == seen) {
+            cache.put(id, new CachedSummary(summary, LocalDateTime.now()));
+        }
+    }
+
+    private boolean isFresh(CachedSummary cached) {
+        return cached.loadedAt().isAfter(LocalDateTime.now().minus(maxAge));
+    }
+
+    private static RatingSummaryDTO toDto(Long id, RatingTotals totals) {
+        long count = totals.getRatingCount();
+        if (count <= 0) {
+            return empty(id);
+        }
+        return new RatingSummaryDTO(
+                id,
+                count,
+                totals.getAverageRating(),
+                (double) totals.getCleanlinessSum() / count,
+                (double) totals.getComfortSum() / count,
+                (double) totals.getLocationSum() / count,
+                (double) totals.getAccuracySum() / count,
+                (double) totals.getCommunicationSum() / count);
+    }
+
+    private static RatingSummaryDTO empty(Long id) {
+        return new RatingSummaryDTO(id, 0L, null, null, null, null, null, null);
+    }
+
+    private static Map<Long, CachedSummary> lruCache(int cacheSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSummary> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    private record CachedSummary(RatingSummaryDTO summary, LocalDateTime loadedAt) { }
+}
@@ -0,0 +1,107 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización de texto en español para los índices de búsqueda.
+ * Quita tildes y diéresis (la ñ queda como n), pasa a minúsculas, separa en palabras
+ * alfanuméricas y reduce cada palabra con un stemmer ligero de plurales y género.
+ */
+public final class SpanishTextAnalyzer {
+
+    /**
+     * Cambia cuando cambian las reglas de normalización: invalida los índices guardados en disco.
+     */
+    public static final int VERSION = 1;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los", "no", "o",
+            "para", "por", "que", "se", "sin", "su", "sus", "un", "una", "y");
+
+    private SpanishTextAnalyzer() {
+    }
+
+    /**
+     * Minúsculas y sin tildes: "Cabaña en Salento" → "cabana en salento".
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Todas las palabras normalizadas del texto, en orden.
+     */
+    public static List<String> words(String text) {
+        List<String> result = new ArrayList<>();
+        for (String word : SEPARATORS.split(fold(text))) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indica si la palabra (ya normalizada) es una palabra vacía como "de" o "la".
+     */
+    public static boolean isStopWord(String word) {
+        return STOP_WORDS.contains(word);
+    }
+
+    /**
+     * Palabras normalizadas del texto, en orden, sin palabras vacías.
+     */
+    public static List<String> tokens(String text) {
+        List<String> result = words(text);
+        result.removeIf(STOP_WORDS::contains);
+        return result;
+    }
+
+    /**
+     * Raíces de las palabras del texto, listas para indexar o consultar.
+     */
+    public static List<String> analyze(String text) {
+        List<String> tokens = tokens(text);
+        tokens.replaceAll(SpanishTextAnalyzer::stem);
+        return tokens;
+    }
+
+    /**
+     * Stemmer ligero (variante del de Savoy): quita la vocal final de género y las terminaciones de plural,
+     * así "cabaña", "cabañas" y "cabaño" comparten raíz. Las palabras de menos de 4 letras no cambian.
+     */
+    public static String stem(String token) {
+        int len = token.length();
+        if (len < 4) {
+            return token;
+        }
+        char last = token.charAt(len - 1);
+        if (last == 'o' || last == 'a' || last == 'e') {
+            return token.substring(0, len - 1);
+        }
+        if (last == 's') {
+            char beforeLast = token.charAt(len - 2);
+            if (len >= 5 && beforeLast == 'e' && token.charAt(len - 3) == 's' && token.charAt(len - 4) == 'e') {
+                return token.substring(0, len - 2);
+            }
+            if (beforeLast == 'e' && token.charAt(len - 3) == 'c') {
+                return token.substring(0, len - 3) + 'z';
+            }
+            if (beforeLast == 'o' || beforeLast == 'a' || beforeLast == 'e') {
+                return token.substring(0, len - 2);
+            }
+        }
+        return token;
+    }
+}
@@ -0,0 +1,214 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Trie comprimido (radix) de claves de texto a elementos con peso. Cada nodo guarda el peso máximo
+ * de su subárbol, de modo que los k elementos más pesados bajo un prefijo se obtienen con una búsqueda
+ * "mejor primero" que solo abre los nodos que pueden superar a lo ya encontrado.
+ * No es seguro para hilos: quien lo usa debe serializar las escrituras respecto a las lecturas.
+ *
+ * @param <T> Elemento sugerido; dos elementos iguales bajo claves distintas se devuelven una sola vez
+ */
+final class SuggestionTrie<T> {
+
+    private final Node<T> root = new Node<>("");
+    private final Comparator<T> tieBreaker;
+
+    SuggestionTrie(Comparator<T> tieBreaker) {
+        this.tieBreaker = tieBreaker;
+    }
+
+    /**
+     * Inserta el elemento bajo la clave, o cambia su peso si ya estaba.
+     */
+    void put(String key, T item, int weight) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        path.push(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node<T> child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                node = child;
+                path.push(node);
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // La clave se separa a mitad de la etiqueta: se parte el nodo en dos
+                Node<T> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.maxWeight = child.maxWeight;
+                node.children.put(key.charAt(i), middle);
+                child = middle;
+            }
+            node = child;
+            path.push(node);
+            i += common;
+        }
+        if (node.items == null) {
+            node.items = new HashMap<>(2);
+        }
+        node.items.put(item, weight);
+        while (!path.isEmpty()) {
+            path.pop().recomputeMaxWeight();
+        }
+    }
+
+    /**
+     * Quita el elemento de la clave; los nodos que quedan vacíos se eliminan y los de un solo hijo se fusionan.
+     */
+    void remove(String key, T item) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Node<T> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<T> child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) {
+                return;
+            }
+            path.push(node);
+            node = child;
+            i += child.label.length();
+        }
+        if (node.items == null || node.items.remove(item) == null) {
+            return;
+        }
+        if (node.items.isEmpty()) {
+            node.items = null;
+        }
+
+        // Se sube desde el nodo modificado limpiando y recalculando pesos
+        Node<T> current = node;
+        while (!path.isEmpty()) {
+            Node<T> parent = path.pop();
+            if (current.items == null && current.children.isEmpty()) {
+                parent.children.remove(current.label.charAt(0));
+            } else if (current.items == null && current.children.size() == 1) {
+                Node<T> only = current.children.values().iterator().next();
+                current.label = current.label + only.label;
+                current.children = only.children;
+                current.items = only.items;
+                current.maxWeight = only.maxWeight;
+            } else {
+                current.recomputeMaxWeight();
+            }
+            current = parent;
+        }
+        root.recomputeMaxWeight();
+    }
+
+    /**
+     * Hasta limit elementos distintos cuyas claves empiezan por el prefijo, del más al menos pesado.
+     */
+    List<T> top(String prefix, int limit) {
+        Node<T> start = find(prefix);
+        if (start == null || limit <= 0) {
+            return List.of();
+        }
+        // Los elementos van antes que los nodos de igual peso: ningún nodo puede contener algo más pesado.
+        // Los nodos empatados se abren en orden de llegada para que el resultado no dependa del azar del montículo
+        PriorityQueue<Candidate<T>> queue = new PriorityQueue<>((a, b) -> {
+            if (a.weight() != b.weight()) {
+                return Integer.compare(b.weight(), a.weight());
+            }
+            if ((a.node() == null) != (b.node() == null)) {
+                return a.node() == null ? -1 : 1;
+            }
+            int byItem = a.node() == null ? tieBreaker.compare(a.item(), b.item()) : 0;
+            return byItem != 0 ? byItem : Long.compare(a.order(), b.order());
+        });
+        long order = 0;
+        queue.add(new Candidate<>(start.maxWeight, start, null, order++));
+        Set<T> result = new LinkedHashSet<>();
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate<T> next = queue.poll();
+            if (next.node() == null) {
+                result.add(next.item());
+                continue;
+            }
+            if (next.node().items != null) {
+                for (Map.Entry<T, Integer> entry : next.node().items.entrySet()) {
+                    queue.add(new Candidate<>(entry.getValue(), null, entry.getKey(), order++));
+                }
+            }
+            for (Node<T> child : next.node().children.values()) {
+                queue.add(new Candidate<>(child.maxWeight, child, null, order++));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    private Node<T> find(String prefix) {
+        Node<T> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node<T> child = node.children.get(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                // El prefijo termina dentro (o al final) de la etiqueta: todo el subárbol coincide
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Candidate<T>(int weight, Node<T> node, T item, long order) { }
+
+    private static final class Node<T> {
+
+        private String label;
+        // Ordenados por carácter: el recorrido no depende del historial de inserciones
+        private Map<Character, Node<T>> children = new TreeMap<>();
+        private Map<T, Integer> items;
+        private int maxWeight = Integer.MIN_VALUE;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        void recomputeMaxWeight() {
+            int max = Integer.MIN_VALUE;
+            if (items != null) {
+                for (int weight : items.values()) {
+                    max = Math.max(max, weight);
+                }
+            }
+            for (Node<T> child : children.values()) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
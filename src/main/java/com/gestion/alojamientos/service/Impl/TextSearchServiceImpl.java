@@ -0,0 +1,416 @@
+package com.gestion.alojamientos.service.Impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.gestion.alojamientos.dto.accommodation.TextSearchHitDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.AccommodationChangedEvent;
+import com.gestion.alojamientos.service.TextSearchService;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class TextSearchServiceImpl implements TextSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TextSearchServiceImpl.class);
+
+    // Parámetros estándar de BM25
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    // Una palabra del título pesa como tres de las normas de la casa
+    static final float TITLE_WEIGHT = 3.0f;
+    static final float SERVICE_WEIGHT = 1.5f;
+    static final float HOUSE_RULES_WEIGHT = 1.0f;
+
+    // Un prefijo más corto se busca solo como palabra completa
+    static final int MIN_PREFIX_LENGTH = 2;
+    // Términos del diccionario que como máximo expande un prefijo
+    static final int MAX_PREFIX_TERMS = 100;
+
+    private static final int SNAPSHOT_MAGIC = 0x54584958;
+    private static final int SNAPSHOT_FORMAT = 1;
+
+    private final AccommodationRepo accommodationRepo;
+    private final Path snapshotPath;
+
+    private volatile Index index = new Index();
+    private volatile boolean loaded = false;
+    private final IndexReloadJournal<Index> reloadJournal = new IndexReloadJournal<>();
+
+    public TextSearchServiceImpl(AccommodationRepo accommodationRepo,
+                                 @Value("${search.text-index.snapshot-path:}") String snapshotPath) {
+        this.accommodationRepo = accommodationRepo;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+    }
+
+    /**
+     * Arranca desde la copia en disco si existe; la recarga periódica recoge después lo que cambió mientras
+     * la aplicación estaba detenida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!loadSnapshot()) {
+            reloadIndex();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        upsert(event.accommodation());
+    }
+
+    @PreDestroy
+    public void saveOnShutdown() {
+        if (loaded) {
+            saveSnapshot();
+        }
+    }
+
+    @Override
+    public synchronized int reloadIndex() {
+        long start = System.currentTimeMillis();
+        reloadJournal.start();
+        try {
+            return load(start);
+        } finally {
+            reloadJournal.stop();
+        }
+    }
+
+    private int load(long start) {
+        Map<Long, List<String>> serviceNames = new HashMap<>();
+        for (Object[] row : accommodationRepo.findTextIndexableServiceNames()) {
+            serviceNames.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        List<Object[]> rows = accommodationRepo.findTextIndexableAccommodations();
+        Index fresh = new Index();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            fresh.put(id, document((String) row[1], (String) row[2], serviceNames.getOrDefault(id, List.of())));
+        }
+        reloadJournal.publish(fresh, next -> {
+            index = next;
+            loaded = true;
+        });
+        log.info("Índice de texto cargado: {} alojamientos, {} términos ({} ms)",
+                rows.size(), fresh.postings.size(), System.currentTimeMillis() - start);
+        saveSnapshot();
+        return rows.size();
+    }
+
+    @Override
+    public void upsert(Accomodation accommodation) {
+        if (accommodation == null || accommodation.getId() == null) {
+            return;
+        }
+        Long accommodationId = accommodation.getId();
+        if (accommodation.getApprovalStatus() != ApprovalStatus.APPROVED
+                || accommodation.getOperationalStatus() != OperationalStatus.ACTIVE) {
+            remove(accommodationId);
+            return;
+        }
+        List<String> services = accommodation.getServicesList() == null ? List.of()
+                : accommodation.getServicesList().stream().map(Services::getName).toList();
+        Document document = document(accommodation.getTitle(), accommodation.getHouseRules(), services);
+        reloadJournal.apply(() -> index, current -> current.put(accommodationId, document));
+    }
+
+    @Override
+    public void remove(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        reloadJournal.apply(() -> index, current -> current.remove(accommodationId));
+    }
+
+    @Override
+    public List<TextSearchHitDTO> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        if (!loaded) {
+            return searchInDatabase(query.trim(), limit);
+        }
+
+        // La última palabra se escribe todavía: se busca como prefijo aunque sea una palabra vacía ("de" → "desayuno")
+        List<String> tokens = SpanishTextAnalyzer.tokens(query);
+        List<String> words = SpanishTextAnalyzer.words(query);
+        boolean prefixLast = !words.isEmpty() && !Character.isWhitespace(query.charAt(query.length() - 1));
+        if (prefixLast && (tokens.isEmpty() || !tokens.get(tokens.size() - 1).equals(words.get(words.size() - 1)))) {
+            tokens.add(words.get(words.size() - 1));
+        }
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index;
+        List<Map<Long, Double>> perToken = new ArrayList<>(tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<Long, Double> matches = match(current, tokens.get(i), prefixLast && i == tokens.size() - 1);
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+            perToken.add(matches);
+        }
+        // Todas las palabras deben aparecer: se recorre la lista de coincidencias más corta
+        perToken.sort(Comparator.comparingInt(Map::size));
+
+        Comparator<TextSearchHitDTO> worstFirst = Comparator.comparingDouble(TextSearchHitDTO::score)
+                .thenComparing(TextSearchHitDTO::accommodationId, Comparator.reverseOrder());
+        PriorityQueue<TextSearchHitDTO> top = new PriorityQueue<>(Math.min(limit, 1024), worstFirst);
+        candidates:
+        for (Map.Entry<Long, Double> candidate : perToken.get(0).entrySet()) {
+            double score = candidate.getValue();
+            for (int i = 1; i < perToken.size(); i++) {
+                Double other = perToken.get(i).get(candidate.getKey());
+                if (other == null) {
+                    continue candidates;
+                }
+                score += other;
+            }
+            TextSearchHitDTO hit = new TextSearchHitDTO(candidate.getKey(), score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (worstFirst.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<TextSearchHitDTO> result = new ArrayList<>(top);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    /**
+     * Puntuación BM25 de cada alojamiento para una palabra. En un prefijo cuenta el mejor término
+     * expandido de cada alojamiento, para no premiar textos con muchas variantes de la misma palabra.
+     */
+    private static Map<Long, Double> match(Index current, String token, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        String stem = SpanishTextAnalyzer.stem(token);
+        if (!prefix || token.length() < MIN_PREFIX_LENGTH) {
+            score(current, stem, scores);
+            return scores;
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        expand(current, stem, terms);
+        expand(current, token, terms);
+        for (String term : terms) {
+            score(current, term, scores);
+        }
+        return scores;
+    }
+
+    private static void expand(Index current, String prefix, Set<String> terms) {
+        for (String term : current.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).keySet()) {
+            if (terms.size() >= MAX_PREFIX_TERMS) {
+                return;
+            }
+            terms.add(term);
+        }
+    }
+
+    private static void score(Index current, String term, Map<Long, Double> scores) {
+        Map<Long, Float> postings = current.postings.get(term);
+        int documents = current.documents.size();
+        if (postings == null || postings.isEmpty() || documents == 0) {
+            return;
+        }
+        int frequency = postings.size();
+        double idf = Math.log(1 + (documents - frequency + 0.5) / (frequency + 0.5));
+        double averageLength = Math.max(current.totalLength / documents, 1e-9);
+        for (Map.Entry<Long, Float> posting : postings.entrySet()) {
+            Document document = current.documents.get(posting.getKey());
+            if (document == null) {
+                continue;
+            }
+            double tf = posting.getValue();
+            double norm = K1 * (1 - B + B * document.length() / averageLength);
+            scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Math::max);
+        }
+    }
+
+    /**
+     * Búsqueda en base de datos mientras el índice no está cargado (arranque sin copia en disco o recarga fallida).
+     */
+    private List<TextSearchHitDTO> searchInDatabase(String query, int limit) {
+        return accommodationRepo.searchByText(query).stream()
+                .limit(limit)
+                .map(a -> new TextSearchHitDTO(a.getId(), 0.0))
+                .toList();
+    }
+
+    static Document document(String title, String houseRules, Collection<String> serviceNames) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, title, TITLE_WEIGHT);
+        addField(weights, houseRules, HOUSE_RULES_WEIGHT);
+        for (String serviceName : serviceNames) {
+            addField(weights, serviceName, SERVICE_WEIGHT);
+        }
+        float length = 0;
+        for (float weight : weights.values()) {
+            length += weight;
+        }
+        return new Document(weights, length);
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : SpanishTextAnalyzer.analyze(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    // ===== Copia en disco =====
+
+    /**
+     * Guarda los documentos (no las listas invertidas, que se reconstruyen al cargar) en un fichero temporal
+     * y lo renombra, de modo que una caída a mitad de escritura nunca deja una copia incompleta.
+     */
+    void saveSnapshot() {
+        if (snapshotPath == null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Index current = index;
+        try {
+            Path absolute = snapshotPath.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_FORMAT);
+                out.writeInt(SpanishTextAnalyzer.VERSION);
+                // Copia estable: los cambios concurrentes no pueden desajustar el contador escrito
+                List<Map.Entry<Long, Document>> documents = new ArrayList<>(current.documents.entrySet());
+                out.writeInt(documents.size());
+                for (Map.Entry<Long, Document> entry : documents) {
+                    out.writeLong(entry.getKey());
+                    out.writeInt(entry.getValue().terms().size());
+                    for (Map.Entry<String, Float> term : entry.getValue().terms().entrySet()) {
+                        out.writeUTF(term.getKey());
+                        out.writeFloat(term.getValue());
+                    }
+                }
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Copia del índice de texto guardada en {} ({} ms)", absolute, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la copia del índice de texto en {}", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Carga la copia en disco. Devuelve false si no existe, está dañada o se generó con otras reglas de normalización.
+     */
+    boolean loadSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT
+                    || in.readInt() != SpanishTextAnalyzer.VERSION) {
+                log.info("Copia del índice de texto en {} obsoleta; se reconstruye desde la base de datos", snapshotPath);
+                return false;
+            }
+            Index restored = new Index();
+            int documents = in.readInt();
+            for (int i = 0; i < documents; i++) {
+                long id = in.readLong();
+                int termCount = in.readInt();
+                Map<String, Float> weights = new HashMap<>(termCount * 2);
+                float length = 0;
+                for (int t = 0; t < termCount; t++) {
+                    String term = in.readUTF();
+                    float weight = in.readFloat();
+                    weights.put(term, weight);
+                    length += weight;
+                }
+                restored.put(id, new Document(weights, length));
+            }
+            index = restored;
+            loaded = true;
+            log.info("Índice de texto cargado desde {}: {} alojamientos ({} ms)",
+                    snapshotPath, documents, System.currentTimeMillis() - start);
+            return true;
+        } catch (IOException e) {
+            log.warn("Copia del índice de texto en {} ilegible; se reconstruye desde la base de datos", snapshotPath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Términos de un alojamiento con su frecuencia ponderada por campo, y la suma de pesos (longitud BM25).
+     */
+    record Document(Map<String, Float> terms, float length) { }
+
+    /**
+     * Diccionario ordenado (para expandir prefijos) de término → alojamiento → frecuencia ponderada.
+     * Las escrituras se serializan; las lecturas no bloquean y como mucho ven un alojamiento a medio actualizar.
+     */
+    private static final class Index {
+
+        private final ConcurrentSkipListMap<String, Map<Long, Float>> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        private volatile double totalLength;
+
+        synchronized void put(Long accommodationId, Document document) {
+            remove(accommodationId);
+            for (Map.Entry<String, Float> term : document.terms().entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new ConcurrentHashMap<>())
+                        .put(accommodationId, term.getValue());
+            }
+            documents.put(accommodationId, document);
+            totalLength += document.length();
+        }
+
+        synchronized void remove(Long accommodationId) {
+            Document previous = documents.remove(accommodationId);
+            if (previous == null) {
+                return;
+            }
+            totalLength -= previous.length();
+            for (String term : previous.terms().keySet()) {
+                Map<Long, Float> docs = postings.get(term);
+                if (docs != null) {
+                    docs.remove(accommodationId);
+                    if (docs.isEmpty()) {
+                        postings.remove(term, docs);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.gestion.alojamientos.service;
 
+import com.gestion.alojamientos.dto.accommodation.DistanceMatrixDTO;
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
+import com.gestion.alojamientos.dto.accommodation.MapClusterDTO;
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationSummaryDTO;
 import com.gestion.alojamientos.exception.ElementNotFoundException;
 import com.gestion.alojamientos.model.accomodation.Ubication;
 
@@ -35,6 +40,33 @@ public interface LocationService {
     Ubication registerAccommodationCoordinates(Long accommodationId, Double latitude, Double longitude)
             throws ElementNotFoundException;
 
+    /**
+     * Obtiene las coordenadas a partir de la dirección y ciudad registradas del alojamiento
+     * y las guarda, para que el anfitrión no tenga que escribirlas a mano.
+     *
+     * @param accommodationId ID del alojamiento
+     * @return Ubicación actualizada
+     * @throws ElementNotFoundException si el alojamiento o su ubicación no existen
+     */
+    Ubication geocodeAccommodation(Long accommodationId) throws ElementNotFoundException;
+
+    /**
+     * Coordenadas de una dirección (geocodificación con caché).
+     *
+     * @param address Dirección a buscar
+     * @return Coordenadas y nombre completo del lugar
+     */
+    GeocodingResultDTO geocodeAddress(String address);
+
+    /**
+     * Nombre del lugar en unas coordenadas (geocodificación inversa con caché).
+     *
+     * @param latitude Latitud
+     * @param longitude Longitud
+     * @return Coordenadas y nombre completo del lugar
+     */
+    GeocodingResultDTO reverseGeocode(Double latitude, Double longitude);
+
     /**
      * Obtiene las coordenadas de un alojamiento.
      *
@@ -45,14 +77,57 @@ public interface LocationService {
     Ubication getAccommodationCoordinates(Long accommodationId) throws ElementNotFoundException;
 
     /**
-     * Busca alojamientos cercanos a un punto específico.
+     * Busca alojamientos aprobados y activos cercanos a un punto específico.
+     * Se resuelve desde el índice geoespacial en memoria con distancia exacta (Haversine).
      *
      * @param latitude Latitud del punto de referencia
      * @param longitude Longitud del punto de referencia
      * @param radiusKm Radio de búsqueda en kilómetros
-     * @return Lista de ubicaciones cercanas
+     * @param limit Máximo de resultados (null para el valor por defecto)
+     * @return Alojamientos dentro del radio, del más cercano al más lejano
+     */
+    List<NearbyAccommodationDTO> findNearbyAccommodations(Double latitude, Double longitude, Double radiusKm, Integer limit);
+
+    /**
+     * Los k alojamientos más cercanos a un punto, con los datos de su tarjeta de listado
+     * (título, tipo, foto principal, distancia y calificación) en una sola respuesta.
+     *
+     * @param latitude Latitud del punto de referencia
+     * @param longitude Longitud del punto de referencia
+     * @param k Número de alojamientos (null para el valor por defecto)
+     * @param maxRadiusKm Distancia máxima en kilómetros (null para el valor por defecto)
+     * @param accommodationType Tipo de alojamiento requerido (opcional)
+     * @param minGuests Capacidad mínima requerida (opcional)
+     * @return Alojamientos del más cercano al más lejano
+     */
+    List<NearbyAccommodationSummaryDTO> findNearestAccommodations(Double latitude, Double longitude, Integer k,
+                                                                  Double maxRadiusKm, String accommodationType,
+                                                                  Integer minGuests);
+
+    /**
+     * Grupos de alojamientos visibles en el rectángulo del mapa al zoom indicado
+     * (centroide, cantidad y precio mínimo de cada grupo).
+     *
+     * @param minLatitude Latitud del borde sur
+     * @param minLongitude Longitud del borde oeste
+     * @param maxLatitude Latitud del borde norte
+     * @param maxLongitude Longitud del borde este
+     * @param zoom Nivel de zoom del mapa
+     * @return Grupos precalculados de las celdas visibles
+     */
+    List<MapClusterDTO> getMapClusters(Double minLatitude, Double minLongitude, Double maxLatitude, Double maxLongitude,
+                                       Integer zoom);
+
+    /**
+     * Calcula en una sola llamada las distancias desde uno o varios orígenes a muchos alojamientos.
+     *
+     * @param originLatitudes Latitudes de los orígenes
+     * @param originLongitudes Longitudes de los orígenes (mismo tamaño que originLatitudes)
+     * @param accommodationIds IDs de los alojamientos destino
+     * @return Matriz origen × alojamiento en kilómetros
      */
-    List<Ubication> findNearbyAccommodations(Double latitude, Double longitude, Double radiusKm);
+    DistanceMatrixDTO getDistanceMatrix(List<Double> originLatitudes, List<Double> originLongitudes,
+                                        List<Long> accommodationIds);
 
     /**
      * Verifica si un alojamiento tiene coordenadas registradas.
@@ -0,0 +1,23 @@
+package com.gestion.alojamientos.service;
+
+import java.util.List;
+
+import com.gestion.alojamientos.dto.accommodation.MapClusterDTO;
+
+/**
+ * Agrupación de alojamientos para el mapa, precalculada por nivel de zoom.
+ * Cada nivel divide el mapa (proyección Web Mercator) en celdas de un cuarto de tesela y
+ * cada celda es la suma de sus cuatro celdas hijas del nivel siguiente, así una consulta solo
+ * lee los grupos ya calculados de las celdas visibles. Los cambios se aplican al hacer commit ({@link AccommodationChangedEvent}).
+ */
+public interface MapClusterService extends AccommodationIndex {
+
+    /**
+     * Grupos visibles en el rectángulo indicado al zoom dado.
+     * Si minLongitude es mayor que maxLongitude el rectángulo cruza el antimeridiano.
+     *
+     * @param zoom Nivel de zoom del mapa (por encima del máximo precalculado se usa el máximo)
+     */
+    List<MapClusterDTO> getClusters(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                                    int zoom);
+}
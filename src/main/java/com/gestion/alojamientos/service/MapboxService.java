@@ -1,6 +1,6 @@
 package com.gestion.alojamientos.service;
 
-import org.springframework.stereotype.Service;
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
 
 /**
  * Servicio para integración con Mapbox.
@@ -28,6 +28,24 @@ public interface MapboxService {
      */
     double calculateDistance(double lat1, double lon1, double lat2, double lon2);
 
+    /**
+     * Geocodificación directa con la API de Mapbox (siempre hace la llamada HTTP;
+     * GeocodingService añade la caché).
+     *
+     * @param address Dirección a buscar
+     * @return Primera coincidencia, o null si Mapbox no encuentra la dirección
+     */
+    GeocodingResultDTO forwardGeocode(String address);
+
+    /**
+     * Geocodificación inversa con la API de Mapbox (siempre hace la llamada HTTP).
+     *
+     * @param latitude Latitud
+     * @param longitude Longitud
+     * @return Lugar más relevante en las coordenadas, o null si no hay ninguno
+     */
+    GeocodingResultDTO reverseGeocode(double latitude, double longitude);
+
     /**
      * Obtiene el token de API de Mapbox para uso interno.
      *
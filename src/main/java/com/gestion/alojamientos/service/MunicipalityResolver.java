@@ -0,0 +1,22 @@
+package com.gestion.alojamientos.service;
+
+import java.util.Optional;
+
+import com.gestion.alojamientos.model.accomodation.Cities;
+
+/**
+ * Resuelve, sin llamadas externas, el municipio del enum {@link Cities} que contiene unas coordenadas.
+ * Los contornos se cargan al arrancar desde el GeoJSON indicado en location.municipalities.geojson
+ * (límites oficiales, p. ej. el Marco Geoestadístico Nacional del DANE, con la propiedad "city" de cada
+ * contorno igual al nombre del enum). Sin ese archivo no se resuelve ningún punto.
+ */
+public interface MunicipalityResolver {
+
+    /**
+     * Municipio que contiene el punto. Si varios lo contienen (un corregimiento dentro de su
+     * municipio) gana el de menor área.
+     *
+     * @return El municipio, o vacío si el punto cae fuera de todos los contornos conocidos
+     */
+    Optional<Cities> resolve(double latitude, double longitude);
+}
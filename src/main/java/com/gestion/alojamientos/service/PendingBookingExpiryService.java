@@ -0,0 +1,43 @@
+package com.gestion.alojamientos.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vencimiento de las reservas PENDING.
+ * Una reserva pendiente que no se confirma dentro del TTL configurado se cancela y sus noches
+ * se liberan en el índice de disponibilidad. Los vencimientos se programan en memoria
+ * (sin escanear la tabla de reservas periódicamente) y se recuperan de la base de datos al arrancar.
+ */
+public interface PendingBookingExpiryService {
+
+    /**
+     * Programa el vencimiento de una reserva pendiente.
+     * Dentro de una transacción se programa al hacer commit.
+     *
+     * @param bookingId ID de la reserva
+     * @param accommodationId ID del alojamiento reservado
+     * @param createdAt Fecha de creación de la reserva; vence en createdAt + TTL
+     */
+    void schedule(Long bookingId, Long accommodationId, LocalDateTime createdAt);
+
+    /**
+     * Vence la reserva si sigue pendiente: la cancela en base de datos y libera sus noches.
+     *
+     * @return true si la reserva seguía pendiente y se canceló, false si ya había cambiado de estado
+     */
+    boolean expire(Long bookingId, Long accommodationId);
+
+    /**
+     * Vence de inmediato todas las reservas programadas cuyo TTL ya se cumplió.
+     *
+     * @return Número de reservas canceladas
+     */
+    int expireDue();
+
+    /**
+     * Reprograma todas las reservas PENDING existentes en base de datos.
+     *
+     * @return Número de reservas programadas
+     */
+    int recoverPendingBookings();
+}
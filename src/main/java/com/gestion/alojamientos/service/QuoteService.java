@@ -0,0 +1,44 @@
+package com.gestion.alojamientos.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.gestion.alojamientos.dto.accommodation.AccommodationPricingDTO;
+import com.gestion.alojamientos.dto.booking.QuoteDTO;
+
+/**
+ * Motor de cotizaciones.
+ * Mantiene en caché un calendario de precios por noche precalculado para cada alojamiento
+ * (precio base, temporadas, descuentos y tarifa de servicio del anfitrión).
+ */
+public interface QuoteService {
+
+    /**
+     * Cotiza una estadía en un alojamiento.
+     *
+     * @return La cotización, o null si el alojamiento no tiene precio base configurado
+     * @throws IllegalArgumentException si las fechas no son válidas
+     * @throws jakarta.persistence.EntityNotFoundException si el alojamiento no existe
+     */
+    QuoteDTO quote(Long accommodationId, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Cotiza las mismas fechas en varios alojamientos (máximo 50).
+     * Los alojamientos inexistentes o sin precio configurado se omiten del resultado.
+     */
+    List<QuoteDTO> quoteBulk(List<Long> accommodationIds, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Reemplaza la tarifa de un alojamiento y descarta su calendario en caché.
+     *
+     * @param hostId ID del anfitrión autenticado; debe ser el propietario del alojamiento
+     * @throws org.springframework.security.access.AccessDeniedException si el usuario autenticado no tiene el rol HOST
+     *         o el alojamiento es de otro anfitrión
+     */
+    void updatePricing(Long accommodationId, Long hostId, AccommodationPricingDTO pricingDTO);
+
+    /**
+     * Descarta el calendario en caché de un alojamiento para que se recalcule en la próxima cotización.
+     */
+    void invalidate(Long accommodationId);
+}
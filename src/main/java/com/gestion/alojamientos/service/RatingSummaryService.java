@@ -0,0 +1,64 @@
+package com.gestion.alojamientos.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.gestion.alojamientos.dto.accommodation.TopRatedAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.AccommodationCalificationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.CreateAccommodationCalificationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.RatingSummaryDTO;
+
+/**
+ * Calificaciones de alojamientos con resúmenes mantenidos de forma incremental.
+ * Cada alta o baja de una calificación ajusta, en la misma transacción, el conteo y las sumas del alojamiento
+ * y de su anfitrión; las lecturas salen de una caché LRU o de una fila por clave, nunca de un AVG sobre
+ * todas las calificaciones.
+ */
+public interface RatingSummaryService {
+
+    /**
+     * Registra una calificación (cada dimensión de 1 a 5) y actualiza los resúmenes.
+     * No se expone por HTTP: quien lo llame debe comprobar antes que el huésped tiene una reserva
+     * en CHECK_OUT de ese alojamiento y que aún no la calificó.
+     *
+     * @throws IllegalArgumentException si falta una dimensión o está fuera de rango
+     * @throws jakarta.persistence.EntityNotFoundException si el alojamiento no existe
+     */
+    AccommodationCalificationDTO addRating(CreateAccommodationCalificationDTO dto);
+
+    /**
+     * Elimina una calificación y la descuenta de los resúmenes.
+     *
+     * @throws jakarta.persistence.EntityNotFoundException si la calificación no existe
+     */
+    void removeRating(Long calificationId);
+
+    /**
+     * Resumen de un alojamiento; sin calificaciones devuelve conteo 0 y promedios nulos.
+     */
+    RatingSummaryDTO getAccommodationSummary(Long accommodationId);
+
+    /**
+     * Resúmenes de varios alojamientos con una sola consulta para los que no estén en caché.
+     * Los alojamientos sin calificaciones no aparecen en el mapa.
+     */
+    Map<Long, RatingSummaryDTO> getAccommodationSummaries(Collection<Long> accommodationIds);
+
+    /**
+     * Resumen de todas las calificaciones recibidas por los alojamientos de un anfitrión.
+     */
+    RatingSummaryDTO getHostSummary(Long hostId);
+
+    /**
+     * Alojamientos aprobados y activos ordenados por promedio, con al menos minRatings calificaciones.
+     */
+    List<TopRatedAccommodationDTO> getTopRated(int minRatings, int limit);
+
+    /**
+     * Recalcula todos los resúmenes desde las calificaciones guardadas.
+     *
+     * @return Número de alojamientos con calificaciones
+     */
+    int rebuildSummaries();
+}
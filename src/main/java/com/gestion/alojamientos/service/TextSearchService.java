@@ -0,0 +1,24 @@
+package com.gestion.alojamientos.service;
+
+import java.util.List;
+
+import com.gestion.alojamientos.dto.accommodation.TextSearchHitDTO;
+
+/**
+ * Índice invertido en memoria sobre el título, las normas de la casa y los nombres de servicios
+ * de los alojamientos aprobados y activos. El texto se normaliza con {@code SpanishTextAnalyzer}
+ * (sin tildes, con raíces de plural y género) y los resultados se ordenan por BM25.
+ * Los cambios se aplican al hacer commit ({@link AccommodationChangedEvent}) y el índice se guarda en disco para arrancar sin recorrer la tabla.
+ */
+public interface TextSearchService extends AccommodationIndex {
+
+    /**
+     * Alojamientos que contienen todas las palabras de la consulta, del más al menos relevante.
+     * La última palabra se trata como prefijo ("caba" encuentra "cabaña") salvo que la consulta
+     * termine en espacio.
+     *
+     * @param query Texto libre
+     * @param limit Máximo de resultados
+     */
+    List<TextSearchHitDTO> search(String query, int limit);
+}
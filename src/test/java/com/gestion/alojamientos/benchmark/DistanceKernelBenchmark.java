@@ -0,0 +1,94 @@
+package com.gestion.alojamientos.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.gestion.alojamientos.service.Impl.DistanceKernel;
+import com.gestion.alojamientos.service.Impl.MapboxServiceImpl;
+
+/**
+ * Compara el cálculo de distancias punto a punto (MapboxService.calculateDistance con Double)
+ * contra el kernel en lote, escalar y vectorial, para 10k y 100k alojamientos.
+ * No forma parte de la suite normal (el nombre no termina en Test). Tras compilar los tests:
+ *   mvn -Pvector test-compile
+ *   java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *        com.gestion.alojamientos.benchmark.DistanceKernelBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DistanceKernelBenchmark {
+
+    private static final double ORIGIN_LAT = 4.5339;
+    private static final double ORIGIN_LNG = -75.6811;
+
+    @Param({"10000", "100000"})
+    private int points;
+
+    private final MapboxServiceImpl mapboxService = new MapboxServiceImpl(null);
+
+    private Double[] boxedLatitudes;
+    private Double[] boxedLongitudes;
+    private DistanceKernel.PointBatch batch;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        double[] latitudes = new double[points];
+        double[] longitudes = new double[points];
+        boxedLatitudes = new Double[points];
+        boxedLongitudes = new Double[points];
+        for (int i = 0; i < points; i++) {
+            latitudes[i] = -4.0 + random.nextDouble() * 16.0;
+            longitudes[i] = -79.0 + random.nextDouble() * 12.0;
+            boxedLatitudes[i] = latitudes[i];
+            boxedLongitudes[i] = longitudes[i];
+        }
+        batch = DistanceKernel.PointBatch.of(latitudes, longitudes);
+        out = new double[points];
+    }
+
+    @Benchmark
+    public void perPoint(Blackhole blackhole) {
+        for (int i = 0; i < points; i++) {
+            blackhole.consume(mapboxService.calculateDistance(ORIGIN_LAT, ORIGIN_LNG, boxedLatitudes[i], boxedLongitudes[i]));
+        }
+    }
+
+    @Benchmark
+    public double[] batchScalar() {
+        DistanceKernel.distancesKmScalar(ORIGIN_LAT, ORIGIN_LNG, batch, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] batchVector() {
+        DistanceKernel.distancesKm(ORIGIN_LAT, ORIGIN_LNG, batch, out);
+        return out;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DistanceKernelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,142 @@
+package com.gestion.alojamientos.benchmark;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.DetailBooking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.model.message.Message;
+import com.gestion.alojamientos.model.users.Guest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Mide el rendimiento de inserción de reservas (Booking + DetailBooking) y mensajes.
+ * Necesita una base MariaDB con al menos un huésped y un alojamiento, por eso no forma parte
+ * de la suite normal (el nombre no termina en Test). Todo se ejecuta en una transacción que
+ * se revierte al final, así que no deja datos.
+ *
+ * Con lotes (configuración por defecto):
+ *   mvn test -Dtest=InsertThroughputBenchmark
+ * Sin lotes, como referencia:
+ *   mvn test -Dtest=InsertThroughputBenchmark -Dspring.jpa.properties.hibernate.jdbc.batch_size=1
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class InsertThroughputBenchmark {
+
+    private static final int WARMUP_ROWS = 500;
+
+    @Value("${benchmark.rows:10000}")
+    private int rows;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1}")
+    private int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void bookingInsertThroughput() {
+        run("Booking + DetailBooking", (guest, accommodation, i) -> {
+            LocalDate checkIn = LocalDate.now().plusYears(5).plusDays(i % 300);
+            DetailBooking detail = DetailBooking.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .numberOfGuest(2)
+                .priceNightAccommodation(100.0)
+                .subTotal(200.0)
+                .listServices(new ArrayList<>())
+                .build();
+            Booking booking = new Booking();
+            booking.setBookingState(StatesOfBooking.PENDING);
+            booking.setTotalPrice(200.0);
+            booking.setPaymentStatus(false);
+            booking.setCreationDate(LocalDateTime.now());
+            booking.setUpdateTime(LocalDateTime.now());
+            booking.setGuest(guest);
+            booking.setAccomodation(accommodation);
+            booking.setDetailBooking(detail);
+            entityManager.persist(detail);
+            entityManager.persist(booking);
+        });
+    }
+
+    @Test
+    void messageInsertThroughput() {
+        run("Message", (guest, accommodation, i) -> {
+            Message message = new Message();
+            message.setSender(guest);
+            message.setReceiver(guest);
+            message.setText("Mensaje de prueba " + i);
+            message.setCreateDate(new Date());
+            entityManager.persist(message);
+        });
+    }
+
+    private void run(String label, RowWriter writer) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            List<Guest> guests = entityManager.createQuery("SELECT g FROM Guest g", Guest.class)
+                .setMaxResults(1).getResultList();
+            List<Accomodation> accommodations = entityManager.createQuery("SELECT a FROM Accomodation a", Accomodation.class)
+                .setMaxResults(1).getResultList();
+            assumeTrue(!guests.isEmpty() && !accommodations.isEmpty(),
+                "Se necesita al menos un huésped y un alojamiento en la base de datos");
+            Guest guest = guests.get(0);
+            Accomodation accommodation = accommodations.get(0);
+
+            insert(writer, guest, accommodation, WARMUP_ROWS);
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            long start = System.nanoTime();
+            insert(writer, guest, accommodation, rows);
+            long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+            System.out.printf("%s: %d filas en %d ms (%.0f filas/s), batch_size=%d, sentencias preparadas=%d%n",
+                label, rows, elapsedMs, rows * 1000.0 / elapsedMs, batchSize, statistics.getPrepareStatementCount());
+            status.setRollbackOnly();
+        });
+    }
+
+    private void insert(RowWriter writer, Guest guest, Accomodation accommodation, int count) {
+        for (int i = 0; i < count; i++) {
+            writer.write(guest, accommodation, i);
+            if ((i + 1) % Math.max(batchSize, 50) == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Guest guest, Accomodation accommodation, int index);
+    }
+}
@@ -0,0 +1,120 @@
+package com.gestion.alojamientos.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Compara la búsqueda por radio con BETWEEN sobre latitud/longitud (recorrido completo) contra
+ * MBRContains sobre una columna POINT con índice SPATIAL más ST_Distance_Sphere.
+ * Genera una tabla temporal bench_ubication (1M filas por defecto, con el motor SEQUENCE de MariaDB)
+ * y la elimina al terminar, así que no toca los datos de la aplicación. Necesita MariaDB, por eso
+ * no forma parte de la suite normal (el nombre no termina en Test):
+ *   mvn test -Dtest=SpatialQueryBenchmark
+ *   mvn test -Dtest=SpatialQueryBenchmark -Dbenchmark.spatial.rows=200000
+ */
+@SpringBootTest
+class SpatialQueryBenchmark {
+
+    private static final int QUERIES = 200;
+    private static final double RADIUS_KM = 10.0;
+    private static final double KM_PER_DEGREE = Math.PI * 6371.0 / 180.0;
+
+    @Value("${benchmark.spatial.rows:1000000}")
+    private int rows;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void radiusQueryBetweenVersusSpatialIndex() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_ubication");
+        try {
+            long start = System.nanoTime();
+            jdbcTemplate.execute("""
+                CREATE TABLE bench_ubication (
+                    id BIGINT PRIMARY KEY,
+                    latitud DOUBLE NOT NULL,
+                    longitud DOUBLE NOT NULL,
+                    coordinates POINT NOT NULL,
+                    SPATIAL INDEX idx_bench_coordinates (coordinates)
+                ) ENGINE = InnoDB
+                """);
+            // Coordenadas aleatorias dentro del rectángulo de Colombia
+            jdbcTemplate.execute("""
+                INSERT INTO bench_ubication (id, latitud, longitud, coordinates)
+                SELECT seq, lat, lng, POINT(lng, lat) FROM (
+                    SELECT seq, -4.2 + RAND(seq) * 16.6 AS lat, -79.0 + RAND(seq + %d) * 12.2 AS lng
+                    FROM seq_1_to_%d
+                ) generated
+                """.formatted(rows, rows));
+            jdbcTemplate.execute("ANALYZE TABLE bench_ubication");
+            System.out.printf("Tabla bench_ubication: %d filas generadas en %d ms%n",
+                rows, (System.nanoTime() - start) / 1_000_000);
+
+            double[][] centers = new double[QUERIES][];
+            Random random = new Random(42);
+            for (int i = 0; i < QUERIES; i++) {
+                centers[i] = new double[] { -4.2 + random.nextDouble() * 16.6, -79.0 + random.nextDouble() * 12.2 };
+            }
+
+            // Calentamiento del buffer pool con ambas variantes
+            for (int i = 0; i < 10; i++) {
+                countWithBetween(centers[i][0], centers[i][1]);
+                countWithSpatialIndex(centers[i][0], centers[i][1]);
+            }
+
+            long betweenNanos = 0;
+            long spatialNanos = 0;
+            for (double[] center : centers) {
+                long t0 = System.nanoTime();
+                int expected = countWithBetween(center[0], center[1]);
+                long t1 = System.nanoTime();
+                int actual = countWithSpatialIndex(center[0], center[1]);
+                long t2 = System.nanoTime();
+                betweenNanos += t1 - t0;
+                spatialNanos += t2 - t1;
+                assertEquals(expected, actual, "Resultados distintos para el centro " + center[0] + "," + center[1]);
+            }
+
+            System.out.printf("Radio %.0f km, %d consultas sobre %d filas: BETWEEN %.2f ms/consulta, SPATIAL %.2f ms/consulta%n",
+                RADIUS_KM, QUERIES, rows, betweenNanos / 1e6 / QUERIES, spatialNanos / 1e6 / QUERIES);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS bench_ubication");
+        }
+    }
+
+    private int countWithBetween(double latitude, double longitude) {
+        double[] box = boundingBox(latitude, longitude);
+        return jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM bench_ubication
+            WHERE latitud BETWEEN ? AND ?
+            AND longitud BETWEEN ? AND ?
+            AND ST_Distance_Sphere(POINT(longitud, latitud), POINT(?, ?), 6371000) <= ?
+            """, Integer.class, box[0], box[1], box[2], box[3], longitude, latitude, RADIUS_KM * 1000);
+    }
+
+    private int countWithSpatialIndex(double latitude, double longitude) {
+        double[] box = boundingBox(latitude, longitude);
+        return jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM bench_ubication
+            WHERE MBRContains(ST_Envelope(LineString(POINT(?, ?), POINT(?, ?))), coordinates)
+            AND ST_Distance_Sphere(coordinates, POINT(?, ?), 6371000) <= ?
+            """, Integer.class, box[2], box[0], box[3], box[1], longitude, latitude, RADIUS_KM * 1000);
+    }
+
+    /**
+     * [minLat, maxLat, minLng, maxLng] del rectángulo que envuelve el círculo de búsqueda.
+     */
+    private static double[] boundingBox(double latitude, double longitude) {
+        double latRange = RADIUS_KM / KM_PER_DEGREE;
+        double lngRange = latRange / Math.cos(Math.toRadians(Math.abs(latitude) + latRange));
+        return new double[] { latitude - latRange, latitude + latRange, longitude - lngRange, longitude + lngRange };
+    }
+}
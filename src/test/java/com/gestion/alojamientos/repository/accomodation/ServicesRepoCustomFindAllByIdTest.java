@@ -0,0 +1,64 @@
+package com.gestion.alojamientos.repository.accomodation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.model.accomodation.Services;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas de la carga por lote de servicios a través de la caché de segundo nivel.
+ */
+@ExtendWith(MockitoExtension.class)
+class ServicesRepoCustomFindAllByIdTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private MultiIdentifierLoadAccess<Services> loadAccess;
+
+    @InjectMocks
+    private ServicesRepoCustomImpl servicesRepo;
+
+    @Test
+    void findAllById_ShouldLoadOnceThroughCache_KeepingOrderAndSkippingMissing() {
+        Services wifi = Services.builder().id(1L).name("WiFi").build();
+        Services pool = Services.builder().id(3L).name("Piscina").build();
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.byMultipleIds(Services.class)).thenReturn(loadAccess);
+        when(loadAccess.with(any(CacheMode.class))).thenReturn(loadAccess);
+        when(loadAccess.withBatchSize(anyInt())).thenReturn(loadAccess);
+        // multiLoad devuelve null en la posición de los IDs que no existen
+        when(loadAccess.multiLoad(List.of(3L, 1L, 9L))).thenReturn(Arrays.asList(pool, wifi, null));
+
+        List<Services> result = servicesRepo.findAllById(Arrays.asList(3L, 1L, null, 3L, 9L));
+
+        assertEquals(List.of(pool, wifi), result);
+        verify(loadAccess).with(CacheMode.NORMAL);
+        verify(loadAccess, times(1)).multiLoad(anyList());
+    }
+
+    @Test
+    void findAllById_ShouldNotQuery_WhenNoIds() {
+        assertTrue(servicesRepo.findAllById(List.of()).isEmpty());
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -16,6 +16,11 @@ import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
 import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
 import com.gestion.alojamientos.repository.user.GuestRepository;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+import com.gestion.alojamientos.service.QuoteService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,6 +59,21 @@ class BookingServiceBuildBookingEntityTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private PendingBookingExpiryService pendingBookingExpiryService;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -162,7 +182,7 @@ class BookingServiceBuildBookingEntityTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenReturn(detailBooking);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -180,7 +200,7 @@ class BookingServiceBuildBookingEntityTest {
         assertEquals(StatesOfBooking.CONFIRMED, result.bookingState());
         assertEquals(200.0, result.totalPrice());
         verify(bookingRepo).save(argThat(booking -> 
-            booking.getBookingState() == StatesOfBooking.CONFIRMED &&
+            booking.getBookingState() == StatesOfBooking.PENDING &&
             booking.getTotalPrice().equals(200.0) &&
             booking.getPaymentStatus().equals(true) &&
             booking.getAccomodation().equals(accommodation) &&
@@ -189,6 +209,33 @@ class BookingServiceBuildBookingEntityTest {
         ));
     }
 
+    /**
+     * Prueba el caso de seguridad: el cliente pide crear la reserva ya confirmada.
+     * Verifica que se guarde como PENDING y se programe su vencimiento.
+     */
+    @Test
+    void shouldCreatePendingBooking_WhenClientRequestsConfirmedState() throws Exception {
+        // Given
+        when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
+        when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
+        when(detailBookingRepo.save(any(DetailBooking.class))).thenReturn(detailBooking);
+        when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingDTO);
+
+        // When
+        bookingService.createBooking(validBookingCreateDTO);
+
+        // Then
+        verify(bookingRepo).save(argThat(booking -> booking.getBookingState() == StatesOfBooking.PENDING));
+        verify(pendingBookingExpiryService).schedule(eq(1L), eq(validAccommodationId), any(LocalDateTime.class));
+        verify(bookingEventService).recordTransition(any(Booking.class), isNull(), eq(StatesOfBooking.PENDING));
+    }
+
     /**
      * Prueba el caso de fracaso: estado de reserva inválido.
      * Verifica que se maneje correctamente cuando el estado de reserva es inválido.
@@ -198,7 +245,7 @@ class BookingServiceBuildBookingEntityTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenReturn(detailBooking);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -225,7 +272,7 @@ class BookingServiceBuildBookingEntityTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenReturn(detailBooking);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -252,7 +299,7 @@ class BookingServiceBuildBookingEntityTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenReturn(detailBooking);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
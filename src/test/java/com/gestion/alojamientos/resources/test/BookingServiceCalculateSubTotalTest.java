@@ -15,6 +15,11 @@ import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
 import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
 import com.gestion.alojamientos.repository.user.GuestRepository;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+import com.gestion.alojamientos.service.QuoteService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -53,6 +58,21 @@ class BookingServiceCalculateSubTotalTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private PendingBookingExpiryService pendingBookingExpiryService;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -198,7 +218,7 @@ class BookingServiceCalculateSubTotalTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenAnswer(invocation -> {
             DetailBooking detailBooking = invocation.getArgument(0);
             detailBooking.setId(1L);
@@ -226,7 +246,7 @@ class BookingServiceCalculateSubTotalTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenAnswer(invocation -> {
             DetailBooking detailBooking = invocation.getArgument(0);
             detailBooking.setId(1L);
@@ -254,7 +274,7 @@ class BookingServiceCalculateSubTotalTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenAnswer(invocation -> {
             DetailBooking detailBooking = invocation.getArgument(0);
             detailBooking.setId(1L);
@@ -282,7 +302,7 @@ class BookingServiceCalculateSubTotalTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenAnswer(invocation -> {
             DetailBooking detailBooking = invocation.getArgument(0);
             detailBooking.setId(1L);
@@ -9,6 +9,8 @@ import com.gestion.alojamientos.model.enums.StatesOfBooking;
 import com.gestion.alojamientos.model.users.Guest;
 import com.gestion.alojamientos.model.users.Host;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +37,12 @@ class BookingServiceCancelBookingTest {
     @Mock
     private BookingRepo bookingRepo;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
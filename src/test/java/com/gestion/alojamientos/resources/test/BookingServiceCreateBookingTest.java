@@ -17,6 +17,11 @@ import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
 import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
 import com.gestion.alojamientos.repository.user.GuestRepository;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+import com.gestion.alojamientos.service.QuoteService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +61,21 @@ class BookingServiceCreateBookingTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private PendingBookingExpiryService pendingBookingExpiryService;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -185,7 +205,7 @@ class BookingServiceCreateBookingTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(validAccommodationId, detailBookingCreateDTO.checkInDate(), detailBookingCreateDTO.checkOutDate())).thenReturn(false);
+        when(availabilityService.reserve(validAccommodationId, detailBookingCreateDTO.checkInDate(), detailBookingCreateDTO.checkOutDate())).thenReturn(-1L);
         when(detailBookingRepo.save(any(DetailBooking.class))).thenReturn(detailBooking);
         when(bookingRepo.save(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.toDto(booking)).thenReturn(bookingDTO);
@@ -200,7 +220,7 @@ class BookingServiceCreateBookingTest {
         assertEquals(200.0, result.totalPrice());
         verify(accommodationRepo).findById(validAccommodationId);
         verify(guestRepo).findById(validGuestId);
-        verify(bookingRepo).isAccommodationBooked(validAccommodationId, detailBookingCreateDTO.checkInDate(), detailBookingCreateDTO.checkOutDate());
+        verify(availabilityService).reserve(validAccommodationId, detailBookingCreateDTO.checkInDate(), detailBookingCreateDTO.checkOutDate());
         verify(detailBookingRepo).save(any(DetailBooking.class));
         verify(bookingRepo).save(any(Booking.class));
         verify(bookingMapper).toDto(booking);
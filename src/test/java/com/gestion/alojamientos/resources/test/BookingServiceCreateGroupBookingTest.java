@@ -0,0 +1,181 @@
+package com.gestion.alojamientos.resources.test;
+
+import com.gestion.alojamientos.dto.booking.BookingCreateDTO;
+import com.gestion.alojamientos.dto.booking.BookingDTO;
+import com.gestion.alojamientos.dto.booking.GroupBookingCreateDTO;
+import com.gestion.alojamientos.dto.booking.detailBooking.DetailBookingCreateDTO;
+import com.gestion.alojamientos.mapper.booking.BookingMapper;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.users.Guest;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
+import com.gestion.alojamientos.repository.user.GuestRepository;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+import com.gestion.alojamientos.service.QuoteService;
+import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de prueba para el método createGroupBooking del servicio BookingServiceImpl.
+ * Prueba que las reservas grupales se creen todas o ninguna.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingServiceCreateGroupBookingTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @Mock
+    private GuestRepository guestRepo;
+
+    @Mock
+    private DetailBookingRepo detailBookingRepo;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private PendingBookingExpiryService pendingBookingExpiryService;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    private Guest guest;
+    private Accomodation accommodation1;
+    private Accomodation accommodation2;
+
+    @BeforeEach
+    void setUp() {
+        guest = new Guest();
+        guest.setId(1L);
+        accommodation1 = accommodation(10L);
+        accommodation2 = accommodation(20L);
+    }
+
+    private Accomodation accommodation(Long id) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(id);
+        accommodation.setMaxGuestCapacity(4);
+        accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+        accommodation.setApprovalStatus(ApprovalStatus.APPROVED);
+        return accommodation;
+    }
+
+    private BookingCreateDTO request(Long accommodationId) {
+        DetailBookingCreateDTO detail = new DetailBookingCreateDTO(
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), 2, 100.0, 200.0, 0.0, 1L, List.of());
+        return new BookingCreateDTO("PENDING", 200.0, false, 1L, detail, accommodationId, 1L);
+    }
+
+    private void stubLookups() {
+        when(accommodationRepo.findAllById(anyIterable())).thenReturn(List.of(accommodation1, accommodation2));
+        when(guestRepo.findAllById(anyIterable())).thenReturn(List.of(guest));
+    }
+
+    //  Éxito: todas las reservas se persisten en un solo saveAll
+    @Test
+    void createGroupBooking_Success() throws Exception {
+        stubLookups();
+        when(availabilityService.reserve(eq(10L), any(), any())).thenReturn(-1L);
+        when(availabilityService.reserve(eq(20L), any(), any())).thenReturn(-2L);
+        when(bookingRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            long id = 100L;
+            for (Booking booking : bookings) {
+                booking.setId(id++);
+            }
+            return bookings;
+        });
+        when(bookingMapper.toDto(any(Booking.class))).thenReturn(mock(BookingDTO.class));
+
+        List<BookingDTO> result = bookingService.createGroupBooking(
+                new GroupBookingCreateDTO(List.of(request(10L), request(20L))));
+
+        assertEquals(2, result.size());
+        verify(detailBookingRepo, times(1)).saveAll(anyList());
+        verify(bookingRepo, times(1)).saveAll(anyList());
+        verify(availabilityService).bindReservation(10L, -1L, 100L);
+        verify(availabilityService).bindReservation(20L, -2L, 101L);
+    }
+
+    //  Fracaso: un alojamiento sin disponibilidad cancela todo el grupo
+    @Test
+    void createGroupBooking_Failure_OneUnavailable() {
+        stubLookups();
+        when(availabilityService.reserve(eq(10L), any(), any())).thenReturn(-1L);
+        when(availabilityService.reserve(eq(20L), any(), any())).thenReturn(null);
+
+        Exception exception = assertThrows(Exception.class, () -> bookingService.createGroupBooking(
+                new GroupBookingCreateDTO(List.of(request(10L), request(20L)))));
+
+        assertTrue(exception.getMessage().contains("20"));
+        // La retención de 10L la libera el rollback (afterCompletion de reserve), no una llamada explícita
+        verify(availabilityService, never()).releaseBooking(any(), any());
+        verify(bookingRepo, never()).saveAll(anyList());
+        verify(detailBookingRepo, never()).saveAll(anyList());
+    }
+
+    //  Fracaso: huésped inexistente, no se ocupa ninguna noche
+    @Test
+    void createGroupBooking_Failure_GuestNotFound() {
+        when(accommodationRepo.findAllById(anyIterable())).thenReturn(List.of(accommodation1));
+        when(guestRepo.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.createGroupBooking(
+                new GroupBookingCreateDTO(List.of(request(10L)))));
+
+        verify(availabilityService, never()).reserve(any(), any(), any());
+    }
+
+    // Datos inválidos: grupo vacío o demasiado grande
+    @Test
+    void createGroupBooking_InvalidData_GroupSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createGroupBooking(new GroupBookingCreateDTO(List.of())));
+
+        List<BookingCreateDTO> tooMany = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            tooMany.add(request(10L));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createGroupBooking(new GroupBookingCreateDTO(tooMany)));
+        verifyNoInteractions(accommodationRepo, availabilityService);
+    }
+}
@@ -15,6 +15,11 @@ import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
 import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
 import com.gestion.alojamientos.repository.user.GuestRepository;
+import com.gestion.alojamientos.service.AccommodationDetailService;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.PendingBookingExpiryService;
+import com.gestion.alojamientos.service.QuoteService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,8 +37,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
- * Clase de prueba para el método parseBookingState del servicio BookingServiceImpl.
- * Prueba la funcionalidad de conversión de String a enum StatesOfBooking.
+ * Clase de prueba para el estado inicial de las reservas en BookingServiceImpl.
+ * Prueba que el estado enviado por el cliente no altere el estado PENDING de creación.
  */
 @ExtendWith(MockitoExtension.class)
 class BookingServiceParseBookingStateTest {
@@ -53,6 +58,21 @@ class BookingServiceParseBookingStateTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private PendingBookingExpiryService pendingBookingExpiryService;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -143,15 +163,15 @@ class BookingServiceParseBookingStateTest {
     }
 
     /**
-     * Prueba el caso de éxito: parsear estado CONFIRMED.
-     * Verifica que se convierta correctamente el String "CONFIRMED" a enum StatesOfBooking.CONFIRMED.
+     * Prueba el caso de seguridad: el estado CONFIRMED enviado por el cliente se ignora.
+     * Verifica que la reserva se guarde como StatesOfBooking.PENDING.
      */
     @Test
-    void shouldReturnConfirmedState_WhenParseConfirmed() throws Exception {
+    void shouldReturnPendingState_WhenParseConfirmed() throws Exception {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any())).thenReturn(null);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -166,7 +186,7 @@ class BookingServiceParseBookingStateTest {
         // Then
         assertNotNull(result);
         verify(bookingRepo).save(argThat(booking -> 
-            booking.getBookingState() == StatesOfBooking.CONFIRMED
+            booking.getBookingState() == StatesOfBooking.PENDING
         ));
     }
 
@@ -179,7 +199,7 @@ class BookingServiceParseBookingStateTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any())).thenReturn(null);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -207,7 +227,7 @@ class BookingServiceParseBookingStateTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any())).thenReturn(null);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
@@ -234,7 +254,7 @@ class BookingServiceParseBookingStateTest {
         // Given
         when(accommodationRepo.findById(validAccommodationId)).thenReturn(Optional.of(accommodation));
         when(guestRepo.findById(validGuestId)).thenReturn(Optional.of(guest));
-        when(bookingRepo.isAccommodationBooked(any(), any(), any())).thenReturn(false);
+        when(availabilityService.reserve(any(), any(), any())).thenReturn(-1L);
         when(detailBookingRepo.save(any())).thenReturn(null);
         when(bookingRepo.save(any(Booking.class))).thenAnswer(invocation -> {
             Booking booking = invocation.getArgument(0);
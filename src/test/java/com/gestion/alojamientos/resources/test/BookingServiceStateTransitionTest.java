@@ -0,0 +1,107 @@
+package com.gestion.alojamientos.resources.test;
+
+import com.gestion.alojamientos.dto.booking.BookingUpdateDTO;
+import com.gestion.alojamientos.mapper.booking.BookingMapper;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas de la máquina de estados de la reserva en updateBooking:
+ * solo se aceptan transiciones válidas y cada una queda registrada en el log de eventos.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingServiceStateTransitionTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private DetailBookingRepo detailBookingRepo;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setCreationDate(LocalDateTime.now());
+    }
+
+    @Test
+    void updateBooking_ShouldRecordTransition_WhenTransitionIsAllowed() throws Exception {
+        booking.setBookingState(StatesOfBooking.PENDING);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepo.save(booking)).thenReturn(booking);
+
+        bookingService.updateBooking(stateUpdate("confirmed"));
+
+        assertEquals(StatesOfBooking.CONFIRMED, booking.getBookingState());
+        verify(bookingEventService).recordTransition(booking, StatesOfBooking.PENDING, StatesOfBooking.CONFIRMED);
+    }
+
+    @Test
+    void updateBooking_ShouldThrowIllegalStateException_WhenLeavingTerminalState() {
+        booking.setBookingState(StatesOfBooking.CANCELLED);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.of(booking));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.updateBooking(stateUpdate("CONFIRMED")));
+
+        assertEquals(StatesOfBooking.CANCELLED, booking.getBookingState());
+        verify(bookingRepo, never()).save(any());
+        verifyNoInteractions(bookingEventService);
+    }
+
+    @Test
+    void updateBooking_ShouldThrowIllegalStateException_WhenSkippingCheckIn() {
+        booking.setBookingState(StatesOfBooking.CONFIRMED);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.of(booking));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.updateBooking(stateUpdate("CHECK_OUT")));
+        verifyNoInteractions(bookingEventService);
+    }
+
+    @Test
+    void updateBooking_ShouldNotRecordEvent_WhenStateIsUnchanged() throws Exception {
+        booking.setBookingState(StatesOfBooking.CHECK_IN);
+        when(bookingRepo.findById(1L)).thenReturn(Optional.of(booking));
+        when(bookingRepo.save(booking)).thenReturn(booking);
+
+        bookingService.updateBooking(stateUpdate("CHECK_IN"));
+
+        verifyNoInteractions(bookingEventService);
+    }
+
+    private BookingUpdateDTO stateUpdate(String state) {
+        return new BookingUpdateDTO(state, null, null, null, null, 1L);
+    }
+}
@@ -0,0 +1,135 @@
+package com.gestion.alojamientos.resources.test;
+
+import com.gestion.alojamientos.dto.booking.BookingUpdateDTO;
+import com.gestion.alojamientos.dto.booking.QuoteDTO;
+import com.gestion.alojamientos.dto.booking.detailBooking.DetailBookingUpdateDTO;
+import com.gestion.alojamientos.mapper.booking.BookingMapper;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.DetailBooking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
+import com.gestion.alojamientos.service.QuoteService;
+import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del cambio de fechas en updateBooking: las nuevas noches pasan por la misma verificación
+ * de disponibilidad que la creación, el total se recotiza en el servidor y el precio enviado se ignora.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingServiceUpdateBookingDatesTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private DetailBookingRepo detailBookingRepo;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private QuoteService quoteService;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    private Booking booking;
+    private DetailBooking detail;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @BeforeEach
+    void setUp() {
+        checkIn = LocalDate.now().plusDays(10);
+        checkOut = checkIn.plusDays(2);
+
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(5L);
+
+        detail = new DetailBooking();
+        detail.setCheckInDate(checkIn);
+        detail.setCheckOutDate(checkOut);
+        detail.setPriceNightAccommodation(100.0);
+        detail.setSubTotal(200.0);
+        detail.setDiscount(0.0);
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setBookingState(StatesOfBooking.CONFIRMED);
+        booking.setTotalPrice(210.0);
+        booking.setCreationDate(LocalDateTime.now());
+        booking.setAccomodation(accommodation);
+        booking.setDetailBooking(detail);
+
+        when(bookingRepo.findById(1L)).thenReturn(Optional.of(booking));
+    }
+
+    @Test
+    void updateBooking_ShouldRequoteTotal_WhenDatesChange() throws Exception {
+        LocalDate newCheckOut = checkOut.plusDays(2);
+        when(quoteService.quote(5L, checkIn, newCheckOut))
+            .thenReturn(new QuoteDTO(5L, checkIn, newCheckOut, 4, 100.0, 400.0, 40.0, 18.0, "GOLD", 378.0));
+        when(availabilityService.reschedule(5L, 1L, checkIn, newCheckOut)).thenReturn(true);
+        when(bookingRepo.save(booking)).thenReturn(booking);
+
+        bookingService.updateBooking(update(1.0, null, newCheckOut));
+
+        assertEquals(newCheckOut, detail.getCheckOutDate());
+        assertEquals(378.0, booking.getTotalPrice());
+        assertEquals(360.0, detail.getSubTotal());
+        verify(quoteService).quote(5L, checkIn, newCheckOut);
+    }
+
+    @Test
+    void updateBooking_ShouldThrowIllegalStateException_WhenNewDatesAreTaken() {
+        LocalDate newCheckOut = checkOut.plusDays(2);
+        when(availabilityService.reschedule(5L, 1L, checkIn, newCheckOut)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> bookingService.updateBooking(update(null, null, newCheckOut)));
+
+        assertEquals(checkOut, detail.getCheckOutDate());
+        assertEquals(210.0, booking.getTotalPrice());
+        verify(bookingRepo, never()).save(any());
+        verify(availabilityService, never()).syncBooking(any());
+    }
+
+    @Test
+    void updateBooking_ShouldIgnoreClientTotal_WhenDatesDoNotChange() throws Exception {
+        when(bookingRepo.save(booking)).thenReturn(booking);
+
+        bookingService.updateBooking(update(1.0, checkIn, checkOut));
+
+        assertEquals(210.0, booking.getTotalPrice());
+        verifyNoInteractions(quoteService);
+        verify(availabilityService, never()).reschedule(any(), any(), any(), any());
+    }
+
+    private BookingUpdateDTO update(Double totalPrice, LocalDate newCheckIn, LocalDate newCheckOut) {
+        DetailBookingUpdateDTO detailUpdate = new DetailBookingUpdateDTO(null, newCheckIn, newCheckOut, null, null);
+        return new BookingUpdateDTO(null, totalPrice, null, null, detailUpdate, 1L);
+    }
+}
@@ -10,6 +10,8 @@ import com.gestion.alojamientos.model.booking.DetailBooking;
 import com.gestion.alojamientos.model.enums.StatesOfBooking;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
 import com.gestion.alojamientos.repository.booking.DetailBookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -42,6 +44,12 @@ class BookingServiceUpdateBookingTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -9,6 +9,8 @@ import com.gestion.alojamientos.model.enums.StatesOfBooking;
 import com.gestion.alojamientos.model.users.Guest;
 import com.gestion.alojamientos.model.users.Host;
 import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.AvailabilityService;
+import com.gestion.alojamientos.service.BookingEventService;
 import com.gestion.alojamientos.service.Impl.BookingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,12 @@ class BookingServiceValidateCancellationPermissionTest {
     @Mock
     private BookingRepo bookingRepo;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
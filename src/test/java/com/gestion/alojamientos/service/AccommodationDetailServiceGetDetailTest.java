@@ -0,0 +1,194 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.ServiceDTO;
+import com.gestion.alojamientos.mapper.accomodation.ServicesMapper;
+import com.gestion.alojamientos.model.accomodation.AccommodationDetailSnapshot;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.model.users.Host;
+import com.gestion.alojamientos.repository.accomodation.AccommodationDetailSnapshotRepo;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.AccommodationDetailServiceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Pruebas de la ficha precalculada: caché en memoria, tabla de respaldo y reconstrucción tras invalidar.
+ */
+@ExtendWith(MockitoExtension.class)
+class AccommodationDetailServiceGetDetailTest {
+
+    private static final long TIMEOUT_MS = 2000;
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @Mock
+    private AccommodationDetailSnapshotRepo snapshotRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private AccommodationDetailServiceImpl detailService;
+    private Accomodation accommodation;
+
+    @BeforeEach
+    void setUp() {
+        detailService = new AccommodationDetailServiceImpl(accommodationRepo, snapshotRepo,
+                Mappers.getMapper(ServicesMapper.class), objectMapper, transactionManager, 100, 60);
+
+        accommodation = new Accomodation();
+        accommodation.setId(1L);
+        accommodation.setTitle("Casa de Playa");
+        accommodation.setAccomodationType(AccomodationType.HOUSE);
+        accommodation.setApprovalStatus(ApprovalStatus.APPROVED);
+        accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+        accommodation.setCreatedTime(LocalDateTime.of(2025, 1, 10, 8, 0));
+        accommodation.setUpdateTime(LocalDateTime.of(2025, 2, 1, 9, 30));
+        accommodation.setUbication(Ubication.builder().id(7L).build());
+        Host host = new Host();
+        host.setId(3L);
+        accommodation.setHost(host);
+        accommodation.setUrlPhotos(new ArrayList<>(List.of("photo1.jpg", "photo2.jpg")));
+        accommodation.setServicesList(List.of(Services.builder().id(1L).name("WiFi").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        detailService.stop();
+    }
+
+    @Test
+    void getDetail_ShouldBuildFromSourceTables_ThenServeFromMemory() {
+        stubSourceTables();
+        when(snapshotRepo.findById(1L)).thenReturn(Optional.empty());
+
+        AccommodationDTO detail = detailService.getDetail(1L);
+
+        assertEquals("Casa de Playa", detail.title());
+        assertEquals("HOUSE", detail.accomodationType());
+        assertEquals(7L, detail.ubicationID());
+        assertEquals(3L, detail.hostID());
+        assertEquals(List.of(10L, 11L), detail.bookingsID());
+        assertEquals(List.of(20L), detail.accommodationCalificationsIDs());
+        assertEquals(List.of(30L, 31L), detail.commentaryIDs());
+        assertEquals(List.of("photo1.jpg", "photo2.jpg"), detail.urlPhotos());
+        assertEquals(List.of(new ServiceDTO(1L, "WiFi")), detail.services());
+
+        // La fila de respaldo se escribe en segundo plano
+        verify(snapshotRepo, timeout(TIMEOUT_MS)).save(argThat(row ->
+                row.getAccommodationId() == 1L && row.getFormatVersion() == 1 && row.getPayload().contains("Casa de Playa")));
+        clearInvocations(accommodationRepo);
+        clearInvocations(snapshotRepo);
+
+        assertEquals(detail, detailService.getDetail(1L));
+        verifyNoInteractions(accommodationRepo, snapshotRepo);
+    }
+
+    @Test
+    void getDetail_ShouldServeStoredSnapshot_WithOneRead() throws Exception {
+        AccommodationDTO stored = new AccommodationDTO(1L, "Casa de Playa", "HOUSE", null, 7L, 4, 2, 1,
+                "APPROVED", "ACTIVE", LocalDateTime.of(2025, 1, 10, 8, 0), LocalDateTime.of(2025, 2, 1, 9, 30),
+                3L, List.of(10L), List.of(), List.of(), List.of("photo1.jpg"), List.of(new ServiceDTO(1L, "WiFi")));
+        when(snapshotRepo.findById(1L)).thenReturn(Optional.of(snapshot(stored, 1, LocalDateTime.now())));
+
+        assertEquals(stored, detailService.getDetail(1L));
+        assertEquals(stored, detailService.getDetail(1L));
+
+        verify(snapshotRepo, times(1)).findById(1L);
+        verifyNoInteractions(accommodationRepo);
+    }
+
+    @Test
+    void getDetail_ShouldRebuild_WhenStoredSnapshotIsStaleOrOldFormat() throws Exception {
+        stubSourceTables();
+        AccommodationDTO old = new AccommodationDTO(1L, "Título viejo", "HOUSE", null, 7L, null, null, null,
+                "APPROVED", "ACTIVE", null, null, 3L, List.of(), List.of(), List.of(), List.of(), List.of());
+        when(snapshotRepo.findById(1L))
+                .thenReturn(Optional.of(snapshot(old, 1, LocalDateTime.now().minusHours(2))));
+
+        assertEquals("Casa de Playa", detailService.getDetail(1L).title());
+
+        // Una fila con otro formato tampoco se usa, aunque sea reciente
+        verify(snapshotRepo, timeout(TIMEOUT_MS)).save(any());
+        AccommodationDetailServiceImpl other = new AccommodationDetailServiceImpl(accommodationRepo, snapshotRepo,
+                Mappers.getMapper(ServicesMapper.class), objectMapper, transactionManager, 100, 60);
+        when(snapshotRepo.findById(1L)).thenReturn(Optional.of(snapshot(old, 0, LocalDateTime.now())));
+        try {
+            assertEquals("Casa de Playa", other.getDetail(1L).title());
+        } finally {
+            other.stop();
+        }
+    }
+
+    @Test
+    void invalidate_ShouldRebuildInBackground_AndServeNewDetail() {
+        stubSourceTables();
+        when(snapshotRepo.findById(1L)).thenReturn(Optional.empty());
+        detailService.getDetail(1L);
+        verify(snapshotRepo, timeout(TIMEOUT_MS)).save(any());
+
+        accommodation.setTitle("Casa de Playa Renovada");
+        detailService.invalidate(1L);
+
+        verify(snapshotRepo, timeout(TIMEOUT_MS)).save(argThat(row -> row.getPayload().contains("Renovada")));
+        clearInvocations(accommodationRepo);
+        clearInvocations(snapshotRepo);
+        assertEquals("Casa de Playa Renovada", detailService.getDetail(1L).title());
+        verifyNoInteractions(accommodationRepo, snapshotRepo);
+    }
+
+    @Test
+    void getDetail_ShouldThrowEntityNotFound_WhenAccommodationMissing() {
+        when(snapshotRepo.findById(99L)).thenReturn(Optional.empty());
+        when(accommodationRepo.findBaseById(99L)).thenReturn(Optional.empty());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> detailService.getDetail(99L));
+
+        assertEquals("Alojamiento no encontrado con ID: 99", exception.getMessage());
+    }
+
+    private void stubSourceTables() {
+        when(accommodationRepo.findBaseById(1L)).thenReturn(Optional.of(accommodation));
+        when(accommodationRepo.findByIdWithPhotos(1L)).thenReturn(Optional.of(accommodation));
+        when(accommodationRepo.findByIdWithServices(1L)).thenReturn(Optional.of(accommodation));
+        when(accommodationRepo.findBookingIdsByAccommodationId(1L)).thenReturn(List.of(10L, 11L));
+        when(accommodationRepo.findCalificationIdsByAccommodationId(1L)).thenReturn(List.of(20L));
+        when(accommodationRepo.findCommentIdsByAccommodationId(1L)).thenReturn(List.of(30L, 31L));
+    }
+
+    private AccommodationDetailSnapshot snapshot(AccommodationDTO detail, int formatVersion, LocalDateTime builtAt)
+            throws Exception {
+        return AccommodationDetailSnapshot.builder()
+                .accommodationId(detail.id())
+                .payload(objectMapper.writeValueAsString(detail))
+                .formatVersion(formatVersion)
+                .builtAt(builtAt)
+                .build();
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.gestion.alojamientos.dto.accommodation.AccommodationCreateDTO;
 import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
@@ -46,6 +47,9 @@ class AccommodationServiceCreateAccommodationTest {
     @Mock
     private AccommodationMapper accommodationMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
 
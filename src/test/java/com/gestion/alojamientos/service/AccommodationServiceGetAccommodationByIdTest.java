@@ -6,7 +6,6 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +35,9 @@ class AccommodationServiceGetAccommodationByIdTest {
     @Mock
     private AccommodationMapper accommodationMapper;
 
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
 
@@ -91,9 +93,7 @@ class AccommodationServiceGetAccommodationByIdTest {
     @Test
     void getAccommodationById_Success() {
         // Arrange
-        when(accommodationRepo.findBaseById(1L)).thenReturn(Optional.of(testAccommodation));
-        when(accommodationRepo.findByIdWithPhotos(1L)).thenReturn(Optional.of(testAccommodation));
-        when(accommodationMapper.toDto(testAccommodation)).thenReturn(expectedDTO);
+        when(accommodationDetailService.getDetail(1L)).thenReturn(expectedDTO);
 
         // Act
         AccommodationDTO result = accommodationService.getAccommodationById(1L);
@@ -105,50 +105,54 @@ class AccommodationServiceGetAccommodationByIdTest {
         assertEquals(expectedDTO.approvalStatus(), result.approvalStatus());
         assertEquals(expectedDTO.operationalStatus(), result.operationalStatus());
 
-        verify(accommodationRepo).findBaseById(1L);
-        verify(accommodationRepo, times(2)).findByIdWithPhotos(1L);
-        verify(accommodationMapper).toDto(testAccommodation);
+        // La ficha sale de la caché de detalle, sin consultar las tablas de origen
+        verify(accommodationDetailService).getDetail(1L);
+        verifyNoInteractions(accommodationRepo);
+        verify(accommodationMapper, never()).toDto(any(Accomodation.class));
     }
 
     @Test
     void getAccommodationById_Failure_AccommodationNotFound() {
         // Arrange
-        when(accommodationRepo.findBaseById(1L)).thenReturn(Optional.empty());
+        when(accommodationDetailService.getDetail(1L))
+                .thenThrow(new EntityNotFoundException("Alojamiento no encontrado con ID: 1"));
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> accommodationService.getAccommodationById(1L));
 
         assertEquals("Alojamiento no encontrado con ID: 1", exception.getMessage());
-        verify(accommodationRepo).findBaseById(1L);
+        verify(accommodationDetailService).getDetail(1L);
         verify(accommodationMapper, never()).toDto(any(Accomodation.class));
     }
 
     @Test
     void getAccommodationById_InvalidData_NegativeId() {
         // Arrange
-        when(accommodationRepo.findBaseById(-1L)).thenReturn(Optional.empty());
+        when(accommodationDetailService.getDetail(-1L))
+                .thenThrow(new EntityNotFoundException("Alojamiento no encontrado con ID: -1"));
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> accommodationService.getAccommodationById(-1L));
 
         assertEquals("Alojamiento no encontrado con ID: -1", exception.getMessage());
-        verify(accommodationRepo).findBaseById(-1L);
+        verify(accommodationDetailService).getDetail(-1L);
         verify(accommodationMapper, never()).toDto(any(Accomodation.class));
     }
 
     @Test
     void getAccommodationById_EdgeCase_ZeroId() {
         // Arrange
-        when(accommodationRepo.findBaseById(0L)).thenReturn(Optional.empty());
+        when(accommodationDetailService.getDetail(0L))
+                .thenThrow(new EntityNotFoundException("Alojamiento no encontrado con ID: 0"));
 
         // Act & Assert
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
                 () -> accommodationService.getAccommodationById(0L));
 
         assertEquals("Alojamiento no encontrado con ID: 0", exception.getMessage());
-        verify(accommodationRepo).findBaseById(0L);
+        verify(accommodationDetailService).getDetail(0L);
         verify(accommodationMapper, never()).toDto(any(Accomodation.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.gestion.alojamientos.dto.accommodation.AccommodationSearchDTO;
+import com.gestion.alojamientos.dto.accommodation.AccommodationSearchPageDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.AccommodationServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationServiceSearchAccommodationsTest {
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @InjectMocks
+    private AccommodationServiceImpl accommodationService;
+
+    private Accomodation accommodation(long id) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(id);
+        accommodation.setTitle("Finca " + id);
+        accommodation.setAccomodationType(AccomodationType.FARMHOUSE);
+        accommodation.setMaxGuestCapacity(6);
+        Ubication ubication = new Ubication();
+        ubication.setCity(Cities.SALENTO);
+        accommodation.setUbication(ubication);
+        return accommodation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSearch(List<Accomodation> rows) {
+        when(accommodationRepo.findBy(any(Specification.class), any())).thenReturn(rows);
+    }
+
+    //  Éxito: hay más resultados, se devuelve el cursor de la última fila
+    @Test
+    void searchAccommodations_Success_ReturnsCursorWhenMoreResults() {
+        List<Accomodation> rows = new ArrayList<>(List.of(accommodation(3L), accommodation(7L), accommodation(9L)));
+        stubSearch(rows);
+        List<Object[]> photos = new ArrayList<>();
+        photos.add(new Object[] { 3L, "foto3a.jpg" });
+        photos.add(new Object[] { 3L, "foto3b.jpg" });
+        when(accommodationRepo.findPhotosByAccommodationIds(List.of(3L, 7L))).thenReturn(photos);
+
+        AccommodationSearchPageDTO result = accommodationService.searchAccommodations(new AccommodationSearchDTO(
+                "salento", "FARMHOUSE", 4, List.of(1L), LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), null, 2));
+
+        assertEquals(2, result.items().size());
+        assertTrue(result.hasMore());
+        assertEquals(7L, result.nextCursor());
+        assertEquals("foto3a.jpg", result.items().get(0).mainPhoto());
+        assertNull(result.items().get(1).mainPhoto());
+        assertEquals("SALENTO", result.items().get(0).city());
+        verify(accommodationRepo, never()).findAll();
+    }
+
+    //  Éxito: última página sin cursor siguiente
+    @Test
+    void searchAccommodations_Success_LastPage() {
+        stubSearch(new ArrayList<>(List.of(accommodation(12L))));
+        when(accommodationRepo.findPhotosByAccommodationIds(List.of(12L))).thenReturn(List.of());
+
+        AccommodationSearchPageDTO result = accommodationService.searchAccommodations(
+                new AccommodationSearchDTO(null, null, null, null, null, null, 9L, null));
+
+        assertEquals(1, result.items().size());
+        assertFalse(result.hasMore());
+        assertNull(result.nextCursor());
+    }
+
+    //  Edge case: sin resultados no se consultan las fotos
+    @Test
+    void searchAccommodations_EdgeCase_EmptyResult() {
+        stubSearch(List.of());
+
+        AccommodationSearchPageDTO result = accommodationService.searchAccommodations(
+                new AccommodationSearchDTO(null, null, null, null, null, null, null, 10));
+
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+        verify(accommodationRepo, never()).findPhotosByAccommodationIds(anyCollection());
+    }
+
+    // Datos inválidos: salida anterior a la entrada
+    @Test
+    void searchAccommodations_InvalidData_CheckOutBeforeCheckIn() {
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        assertThrows(IllegalArgumentException.class, () -> accommodationService.searchAccommodations(
+                new AccommodationSearchDTO(null, null, null, null, checkIn, checkIn.minusDays(1), null, 10)));
+        verifyNoInteractions(accommodationRepo);
+    }
+
+    // Datos inválidos: solo una de las fechas
+    @Test
+    void searchAccommodations_InvalidData_MissingCheckOut() {
+        assertThrows(IllegalArgumentException.class, () -> accommodationService.searchAccommodations(
+                new AccommodationSearchDTO(null, null, null, null, LocalDate.now(), null, null, 10)));
+    }
+
+    // Datos inválidos: ciudad desconocida y tamaño fuera de rango
+    @Test
+    void searchAccommodations_InvalidData_UnknownCityOrSize() {
+        assertThrows(IllegalArgumentException.class, () -> accommodationService.searchAccommodations(
+                new AccommodationSearchDTO("Madrid", null, null, null, null, null, null, 10)));
+        assertThrows(IllegalArgumentException.class, () -> accommodationService.searchAccommodations(
+                new AccommodationSearchDTO(null, null, null, null, null, null, null, 500)));
+        verifyNoInteractions(accommodationRepo);
+    }
+}
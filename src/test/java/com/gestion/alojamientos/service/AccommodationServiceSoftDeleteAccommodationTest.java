@@ -13,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.gestion.alojamientos.model.accomodation.Accomodation;
 import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
@@ -29,6 +30,12 @@ class AccommodationServiceSoftDeleteAccommodationTest {
     @Mock
     private AccommodationRepo accommodationRepo;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
 
@@ -69,6 +76,7 @@ class AccommodationServiceSoftDeleteAccommodationTest {
 
         verify(accommodationRepo).findById(1L);
         verify(accommodationRepo).save(testAccommodation);
+        verify(eventPublisher).publishEvent(new AccommodationChangedEvent(testAccommodation));
     }
     // Fracaso: Alojamiento no encontrado
     @Test
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.gestion.alojamientos.dto.accommodation.AccommodationDTO;
 import com.gestion.alojamientos.dto.accommodation.AccommodationUpdateDTO;
@@ -37,6 +38,12 @@ class AccommodationServiceUpdateAccommodationTest {
     @Mock
     private AccommodationMapper accommodationMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
 
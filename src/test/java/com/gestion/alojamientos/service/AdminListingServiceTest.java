@@ -0,0 +1,142 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.dto.admin.AdminBookingRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminGuestRowDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingFilterDTO;
+import com.gestion.alojamientos.dto.admin.AdminListingPageDTO;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.model.enums.StatesOfGuest;
+import com.gestion.alojamientos.repository.user.AdminListingRepo;
+import com.gestion.alojamientos.service.Impl.AdminListingServiceImpl;
+
+/**
+ * Pruebas de los listados de administración: páginas por cursor, validación de filtros y escritura en streaming.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminListingServiceTest {
+
+    private static final int FETCH_SIZE = 2;
+
+    @Mock
+    private AdminListingRepo listingRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private AdminListingServiceImpl listingService;
+
+    @BeforeEach
+    void setUp() {
+        listingService = new AdminListingServiceImpl(listingRepo, objectMapper, transactionManager, FETCH_SIZE);
+    }
+
+    @Test
+    void listBookings_ShouldAskForOneExtraRow_AndReturnCursorOfLastItem() {
+        when(listingRepo.findBookingRows(any(), eq(3))).thenReturn(List.of(booking(11L), booking(12L), booking(15L)));
+
+        AdminListingPageDTO<AdminBookingRowDTO> page = listingService.listBookings(
+                new AdminListingFilterDTO("confirmed", "salento", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)), 10L, 2);
+
+        assertEquals(List.of(11L, 12L), page.items().stream().map(AdminBookingRowDTO::id).toList());
+        assertTrue(page.hasMore());
+        assertEquals(12L, page.nextCursor());
+    }
+
+    @Test
+    void listGuests_ShouldEndWithoutCursor_OnLastPage() {
+        when(listingRepo.findGuestRows(any(), eq(51))).thenReturn(List.of(guest(1L), guest(2L)));
+
+        AdminListingPageDTO<AdminGuestRowDTO> page = listingService.listGuests(null, null, null);
+
+        assertEquals(2, page.items().size());
+        assertFalse(page.hasMore());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void listings_ShouldRejectInvalidFilters_BeforeQuerying() {
+        assertThrows(IllegalArgumentException.class, () -> listingService.listGuests(
+                new AdminListingFilterDTO(null, "SALENTO", null, null), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> listingService.listHosts(
+                new AdminListingFilterDTO("UNKNOWN", null, null, null), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> listingService.listBookings(
+                new AdminListingFilterDTO(null, null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> listingService.listAccommodations(
+                new AdminListingFilterDTO("CONFIRMED", null, null, null), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> listingService.listAccommodations(null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> listingService.listAccommodations(null, null, 501));
+        assertThrows(IllegalArgumentException.class, () -> listingService.streamBookings(
+                new AdminListingFilterDTO(null, "BOGOTA", null, null), null));
+        verifyNoInteractions(listingRepo);
+    }
+
+    @Test
+    void listAccommodations_ShouldAcceptApprovalAndOperationalStates() {
+        when(listingRepo.findAccommodationRows(any(), anyInt())).thenReturn(List.of());
+
+        listingService.listAccommodations(new AdminListingFilterDTO("pending", null, null, null), null, 10);
+        listingService.listAccommodations(new AdminListingFilterDTO("SUSPENDED", null, null, null), null, 10);
+
+        verify(listingRepo, times(2)).findAccommodationRows(any(), eq(11));
+    }
+
+    @Test
+    void streamGuests_ShouldWriteJsonArray_FromRepositoryStream() throws Exception {
+        when(listingRepo.streamGuestRows(any(), eq(FETCH_SIZE))).thenReturn(Stream.of(guest(1L), guest(2L), guest(3L)));
+
+        AdminListingService.ListingWriter writer =
+                listingService.streamGuests(new AdminListingFilterDTO("ACTIVE", null, null, null), null);
+        // La consulta se abre al escribir, no al pedir el listado
+        verifyNoInteractions(listingRepo);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+
+        JsonNode rows = objectMapper.readTree(out.toByteArray());
+        assertEquals(3, rows.size());
+        assertEquals(3L, rows.get(2).get("id").asLong());
+        assertEquals("ACTIVE", rows.get(0).get("state").asText());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void streamBookings_ShouldWriteEmptyArray_WhenNothingMatches() throws Exception {
+        when(listingRepo.streamBookingRows(any(), eq(FETCH_SIZE))).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        listingService.streamBookings(null, 500L).writeTo(out);
+
+        assertEquals("[]", out.toString());
+    }
+
+    private static AdminGuestRowDTO guest(Long id) {
+        return new AdminGuestRowDTO(id, "guest" + id + "@mail.com", "guest" + id, "Huésped " + id, "3001234567",
+                StatesOfGuest.ACTIVE);
+    }
+
+    private static AdminBookingRowDTO booking(Long id) {
+        return new AdminBookingRowDTO(id, LocalDateTime.of(2025, 1, 5, 10, 0), StatesOfBooking.CONFIRMED, 250000.0,
+                true, 7L, 3L, Cities.SALENTO, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 4));
+    }
+}
@@ -0,0 +1,217 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.accommodation.AutocompleteSuggestionDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.AutocompleteServiceImpl;
+
+/**
+ * Pruebas del autocompletado: prefijos por palabra, orden por popularidad y cambios incrementales.
+ */
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceSuggestTest {
+
+    private static final String[] WORDS = { "cabaña", "casa", "campestre", "café", "finca", "glamping", "vista",
+            "valle", "verde", "piscina", "río", "montaña" };
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @InjectMocks
+    private AutocompleteServiceImpl autocompleteService;
+
+    private final Map<Long, Object[]> titles = new HashMap<>();
+    private final Map<Long, Cities> cities = new HashMap<>();
+    private final Map<Long, List<Long>> services = new HashMap<>();
+
+    @Test
+    void suggest_ShouldMatchWordStarts_IgnoringAccents() {
+        listing(1L, "Cabaña campestre en Salento", 5, Cities.SALENTO, List.of());
+        listing(2L, "Finca Salentina", 1, Cities.SALENTO, List.of());
+        listing(3L, "Casa en Calarcá", 2, Cities.CALARCA, List.of(1L));
+        reload();
+
+        assertEquals(List.of(title(1L, "Cabaña campestre en Salento"), city("Salento", Cities.SALENTO), title(2L, "Finca Salentina")),
+                autocompleteService.suggest("SALEN", 8));
+        assertEquals(List.of(title(1L, "Cabaña campestre en Salento")), autocompleteService.suggest("campes", 8));
+        assertEquals(List.of(title(3L, "Casa en Calarcá"), city("Calarcá", Cities.CALARCA)), autocompleteService.suggest("calar", 8));
+        // "en" es palabra vacía: no se indexa como inicio de sufijo
+        assertTrue(autocompleteService.suggest("en sal", 8).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldRankByPopularity_AndHonorTrailingSpace() {
+        listing(1L, "Casa del Río", 1, Cities.ARMENIA, List.of(7L));
+        listing(2L, "Casas del Valle", 9, Cities.ARMENIA, List.of(7L));
+        listing(3L, "Casa Verde", 4, Cities.PEREIRA, List.of());
+        reload();
+
+        assertEquals(List.of("Casas del Valle", "Casa Verde", "Casa del Río"),
+                autocompleteService.suggest("cas", 8).stream().map(AutocompleteSuggestionDTO::label).toList());
+        assertEquals(List.of("Casa Verde", "Casa del Río"),
+                autocompleteService.suggest("casa ", 8).stream().map(AutocompleteSuggestionDTO::label).toList());
+        assertEquals(1, autocompleteService.suggest("cas", 1).size());
+        assertEquals(List.of(new AutocompleteSuggestionDTO("Servicio 7", "SERVICE", "7")), autocompleteService.suggest("servi", 8));
+    }
+
+    @Test
+    void suggest_ShouldReflectIncrementalChanges() {
+        listing(1L, "Glamping La Montaña", 3, Cities.FILANDIA, List.of(2L));
+        listing(2L, "Finca Cafetera", 1, Cities.FILANDIA, List.of(2L));
+        reload();
+
+        autocompleteService.upsert(accommodation(1L, "Glamping El Mirador", ApprovalStatus.APPROVED, Cities.FILANDIA, List.of()));
+        autocompleteService.remove(2L);
+
+        assertTrue(autocompleteService.suggest("montañ", 8).isEmpty());
+        assertEquals(List.of(title(1L, "Glamping El Mirador")), autocompleteService.suggest("mira", 8));
+        // Ningún alojamiento publicado ofrece ya el servicio 2
+        assertTrue(autocompleteService.suggest("servicio", 8).isEmpty());
+        assertEquals(List.of(city("Filandia", Cities.FILANDIA)), autocompleteService.suggest("fila", 8));
+
+        autocompleteService.upsert(accommodation(1L, "Glamping El Mirador", ApprovalStatus.PENDING, Cities.FILANDIA, List.of()));
+        assertTrue(autocompleteService.suggest("fila", 8).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldMatchFullReload_AfterManyIncrementalChanges() {
+        Random random = new Random(5);
+        for (long id = 1; id <= 300; id++) {
+            listing(id, randomTitle(random), random.nextInt(20), randomCity(random), randomServices(random));
+        }
+        reload();
+
+        for (int i = 0; i < 600; i++) {
+            long id = 1 + random.nextInt(350);
+            if (random.nextInt(3) == 0) {
+                autocompleteService.remove(id);
+                titles.remove(id);
+                cities.remove(id);
+                services.remove(id);
+            } else {
+                String title = randomTitle(random);
+                Cities city = randomCity(random);
+                List<Long> serviceIds = randomServices(random);
+                autocompleteService.upsert(accommodation(id, title, ApprovalStatus.APPROVED, city, serviceIds));
+                // Las reservas solo se actualizan en la recarga: se conservan las conocidas
+                Object[] previous = titles.get(id);
+                listing(id, title, previous != null ? (Integer) previous[2] : 0, city, serviceIds);
+            }
+        }
+
+        String[] prefixes = { "c", "ca", "cab", "casa ", "v", "vall", "pisc", "servicio", "ar", "la t", "mon", "x" };
+        List<List<AutocompleteSuggestionDTO>> incremental = new ArrayList<>();
+        for (String prefix : prefixes) {
+            incremental.add(autocompleteService.suggest(prefix, 20));
+        }
+        reload();
+        for (int i = 0; i < prefixes.length; i++) {
+            assertEquals(autocompleteService.suggest(prefixes[i], 20), incremental.get(i), "Prefijo " + prefixes[i]);
+        }
+    }
+
+    @Test
+    void reloadIndex_ShouldKeepChangesCommittedWhileTheSnapshotIsRead() {
+        listing(1L, "Glamping La Montaña", 3, Cities.FILANDIA, List.of());
+        listing(2L, "Finca Cafetera", 1, Cities.FILANDIA, List.of());
+
+        // El cambio de título y la baja llegan después de la consulta de la recarga, que ya no los ve
+        reload(() -> {
+            autocompleteService.upsert(accommodation(1L, "Glamping El Mirador", ApprovalStatus.APPROVED, Cities.FILANDIA, List.of()));
+            autocompleteService.remove(2L);
+        });
+
+        assertTrue(autocompleteService.suggest("montañ", 8).isEmpty());
+        assertTrue(autocompleteService.suggest("finca", 8).isEmpty());
+        assertEquals(List.of(title(1L, "Glamping El Mirador")), autocompleteService.suggest("mira", 8));
+    }
+
+    @Test
+    void suggest_ShouldThrowIllegalArgumentException_WhenLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> autocompleteService.suggest("casa", 0));
+        assertThrows(IllegalArgumentException.class, () -> autocompleteService.suggest("casa", 21));
+        assertThrows(IllegalArgumentException.class, () -> autocompleteService.suggest("c".repeat(101), 5));
+    }
+
+    private void listing(Long id, String title, int bookings, Cities city, List<Long> serviceIds) {
+        titles.put(id, new Object[] { id, title, bookings });
+        cities.put(id, city);
+        services.put(id, serviceIds);
+    }
+
+    private void reload() {
+        reload(() -> { });
+    }
+
+    private void reload(Runnable duringRead) {
+        List<Object[]> facetRows = new ArrayList<>();
+        List<Object[]> serviceRows = new ArrayList<>();
+        cities.forEach((id, city) -> facetRows.add(new Object[] { id, city, null, null }));
+        services.forEach((id, ids) -> ids.forEach(s -> serviceRows.add(new Object[] { id, s, "Servicio " + s })));
+        List<Object[]> titleRows = new ArrayList<>(titles.values());
+        when(accommodationRepo.findAutocompleteTitleRows()).thenAnswer(invocation -> {
+            duringRead.run();
+            return titleRows;
+        });
+        when(accommodationRepo.findFacetRows()).thenReturn(facetRows);
+        when(accommodationRepo.findFacetServiceRows()).thenReturn(serviceRows);
+        autocompleteService.reloadIndex();
+    }
+
+    private static String randomTitle(Random random) {
+        StringBuilder title = new StringBuilder();
+        int words = 1 + random.nextInt(4);
+        for (int w = 0; w < words; w++) {
+            title.append(w == 0 ? "" : random.nextBoolean() ? " de " : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    private static Cities randomCity(Random random) {
+        return Cities.values()[random.nextInt(Cities.values().length)];
+    }
+
+    private static List<Long> randomServices(Random random) {
+        return random.longs(random.nextInt(3), 1, 6).distinct().boxed().toList();
+    }
+
+    private static AutocompleteSuggestionDTO title(Long id, String label) {
+        return new AutocompleteSuggestionDTO(label, "TITLE", id.toString());
+    }
+
+    private static AutocompleteSuggestionDTO city(String label, Cities city) {
+        return new AutocompleteSuggestionDTO(label, "CITY", city.name());
+    }
+
+    private static Accomodation accommodation(Long id, String title, ApprovalStatus status, Cities city, List<Long> serviceIds) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(id);
+        accommodation.setTitle(title);
+        accommodation.setApprovalStatus(status);
+        accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+        accommodation.setUbication(Ubication.builder().city(city).build());
+        accommodation.setServicesList(serviceIds.stream()
+                .map(s -> Services.builder().id(s).name("Servicio " + s).build()).toList());
+        return accommodation;
+    }
+}
@@ -0,0 +1,79 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.booking.AvailabilityCalendarDTO;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.Impl.AvailabilityServiceImpl;
+
+/**
+ * Pruebas del calendario masivo de disponibilidad.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceGetAvailabilityCalendarsTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDate.now().plusDays(3);
+    }
+
+    @Test
+    void getAvailabilityCalendars_ShouldReturnBitmapPerAccommodation() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, 10L, start.plusDays(2), start.plusDays(5) });
+        rows.add(new Object[] { 2L, 10L, start.minusDays(2), start.plusDays(1) });
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(rows);
+        availabilityService.reloadIndex();
+
+        List<AvailabilityCalendarDTO> result = availabilityService.getAvailabilityCalendars(List.of(10L, 20L), start, 10);
+
+        assertEquals(2, result.size());
+        BitSet occupied = BitSet.valueOf(Base64.getDecoder().decode(result.get(0).occupiedNights()));
+        assertTrue(occupied.get(0));
+        assertFalse(occupied.get(1));
+        assertTrue(occupied.get(2) && occupied.get(3) && occupied.get(4));
+        assertFalse(occupied.get(5));
+        assertEquals(6, result.get(0).freeNights());
+
+        assertEquals(20L, result.get(1).accommodationId());
+        assertEquals(10, result.get(1).freeNights());
+        verify(bookingRepo, times(1)).findOccupiedRanges(anyCollection(), any(LocalDate.class));
+    }
+
+    @Test
+    void getAvailabilityCalendars_ShouldThrowIllegalArgumentException_WhenNoIdsGiven() {
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.getAvailabilityCalendars(Collections.emptyList(), start, 60));
+        verifyNoInteractions(bookingRepo);
+    }
+
+    @Test
+    void getAvailabilityCalendars_ShouldThrowIllegalArgumentException_WhenRangeTooLong() {
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.getAvailabilityCalendars(List.of(1L), start, 400));
+    }
+}
@@ -0,0 +1,153 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.booking.Booking;
+import com.gestion.alojamientos.model.booking.DetailBooking;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.Impl.AvailabilityServiceImpl;
+
+/**
+ * Pruebas del índice en memoria de disponibilidad (AvailabilityServiceImpl).
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceIsAvailableTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.now().plusDays(10);
+    }
+
+    @Test
+    void isAvailable_ShouldLoadOccupiedRangesFromDatabase() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, 7L, day, day.plusDays(3) });
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(rows);
+
+        int loaded = availabilityService.reloadIndex();
+
+        assertEquals(1, loaded);
+        assertFalse(availabilityService.isAvailable(7L, day.plusDays(1), day.plusDays(2)));
+        assertTrue(availabilityService.isAvailable(8L, day, day.plusDays(3)));
+        verify(bookingRepo, never()).isAccommodationBooked(any(), any(), any());
+    }
+
+    @Test
+    void isAvailable_ShouldAllowBackToBackStays() {
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(List.of());
+        availabilityService.reloadIndex();
+
+        availabilityService.syncBooking(booking(1L, 7L, day, day.plusDays(3), StatesOfBooking.CONFIRMED));
+
+        // La noche del check-out queda libre para la siguiente reserva
+        assertTrue(availabilityService.isAvailable(7L, day.plusDays(3), day.plusDays(5)));
+        assertTrue(availabilityService.isAvailable(7L, day.minusDays(2), day));
+        assertFalse(availabilityService.isAvailable(7L, day.minusDays(1), day.plusDays(1)));
+        assertFalse(availabilityService.isAvailable(7L, day.plusDays(2), day.plusDays(4)));
+    }
+
+    @Test
+    void isAvailable_ShouldFreeNights_WhenBookingIsCancelled() {
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(List.of());
+        availabilityService.reloadIndex();
+
+        Booking booking = booking(1L, 7L, day, day.plusDays(3), StatesOfBooking.PENDING);
+        availabilityService.syncBooking(booking);
+        availabilityService.syncBooking(booking(2L, 7L, day.plusDays(3), day.plusDays(4), StatesOfBooking.CONFIRMED));
+        assertFalse(availabilityService.isAvailable(7L, day, day.plusDays(1)));
+
+        booking.setBookingState(StatesOfBooking.CANCELLED);
+        availabilityService.syncBooking(booking);
+
+        assertTrue(availabilityService.isAvailable(7L, day, day.plusDays(3)));
+        assertFalse(availabilityService.isAvailable(7L, day.plusDays(3), day.plusDays(4)));
+    }
+
+    @Test
+    void isAvailable_ShouldQueryDatabase_WhenIndexIsNotLoaded() {
+        when(bookingRepo.isAccommodationBooked(7L, day, day.plusDays(2))).thenReturn(true);
+
+        assertFalse(availabilityService.isAvailable(7L, day, day.plusDays(2)));
+        verify(bookingRepo).isAccommodationBooked(7L, day, day.plusDays(2));
+    }
+
+    @Test
+    void reloadIndex_ShouldKeepBookingsRekeyedWhileTheSnapshotIsRead() {
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(List.of());
+        availabilityService.reloadIndex();
+        Long holdId = availabilityService.reserve(7L, day, day.plusDays(2));
+
+        // La reserva se confirma después de la consulta de la recarga, que ya no la ve ni como retención
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenAnswer(invocation -> {
+            availabilityService.bindReservation(7L, holdId, 40L);
+            return List.of();
+        });
+        availabilityService.reloadIndex();
+
+        assertFalse(availabilityService.isAvailable(7L, day.plusDays(1), day.plusDays(2)));
+        availabilityService.releaseBooking(7L, 40L);
+        assertTrue(availabilityService.isAvailable(7L, day, day.plusDays(2)));
+    }
+
+    @Test
+    void reschedule_ShouldMoveBooking_WhenOnlyItsOwnNightsOverlap() {
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(List.of());
+        availabilityService.reloadIndex();
+        availabilityService.syncBooking(booking(1L, 7L, day, day.plusDays(3), StatesOfBooking.CONFIRMED));
+
+        assertTrue(availabilityService.reschedule(7L, 1L, day.plusDays(1), day.plusDays(4)));
+
+        assertFalse(availabilityService.isAvailable(7L, day.plusDays(3), day.plusDays(4)));
+        assertTrue(availabilityService.isAvailable(7L, day, day.plusDays(1)));
+    }
+
+    @Test
+    void reschedule_ShouldReject_WhenNewNightsBelongToAnotherBooking() {
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(List.of());
+        availabilityService.reloadIndex();
+        availabilityService.syncBooking(booking(1L, 7L, day, day.plusDays(3), StatesOfBooking.CONFIRMED));
+        availabilityService.syncBooking(booking(2L, 7L, day.plusDays(3), day.plusDays(5), StatesOfBooking.CONFIRMED));
+
+        assertFalse(availabilityService.reschedule(7L, 1L, day.plusDays(1), day.plusDays(4)));
+
+        // La reserva conserva sus noches originales
+        assertFalse(availabilityService.isAvailable(7L, day, day.plusDays(1)));
+        assertFalse(availabilityService.isAvailable(7L, day.plusDays(3), day.plusDays(5)));
+        assertTrue(availabilityService.isAvailable(7L, day.plusDays(5), day.plusDays(6)));
+    }
+
+    private Booking booking(Long id, Long accommodationId, LocalDate checkIn, LocalDate checkOut, StatesOfBooking state) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(accommodationId);
+        DetailBooking detail = DetailBooking.builder().checkInDate(checkIn).checkOutDate(checkOut).build();
+        return Booking.builder()
+                .id(id)
+                .accomodation(accommodation)
+                .detailBooking(detail)
+                .bookingState(state)
+                .build();
+    }
+}
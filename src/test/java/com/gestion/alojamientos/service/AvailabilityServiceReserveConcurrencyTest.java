@@ -0,0 +1,139 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.Impl.AvailabilityServiceImpl;
+
+/**
+ * Prueba de estrés de reserve(): miles de intentos concurrentes sobre las mismas noches
+ * deben producir como máximo una reserva ganadora por noche.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceReserveConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 4000;
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    private ExecutorService executor;
+    private LocalDate start;
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepo.findOccupiedRanges(anyCollection(), any(LocalDate.class))).thenReturn(List.of());
+        availabilityService.reloadIndex();
+        executor = Executors.newFixedThreadPool(THREADS);
+        start = LocalDate.now().plusDays(5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reserve_ShouldAllowExactlyOneWinner_WhenAllRequestsTargetSameDates() throws Exception {
+        AtomicInteger winners = new AtomicInteger();
+
+        runConcurrently(ATTEMPTS, i -> {
+            if (availabilityService.reserve(1L, start, start.plusDays(3)) != null) {
+                winners.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, winners.get());
+        assertFalse(availabilityService.isAvailable(1L, start, start.plusDays(1)));
+    }
+
+    @Test
+    void reserve_ShouldNeverDoubleBookANight_WhenRangesOverlapRandomly() throws Exception {
+        int horizon = 60;
+        ConcurrentLinkedQueue<int[]> granted = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(ATTEMPTS, i -> {
+            Random random = new Random(i);
+            int from = random.nextInt(horizon - 1);
+            int to = from + 1 + random.nextInt(Math.min(7, horizon - from));
+            if (availabilityService.reserve(1L, start.plusDays(from), start.plusDays(to)) != null) {
+                granted.add(new int[] { from, to });
+            }
+        });
+
+        int[] occupancy = new int[horizon + 8];
+        for (int[] range : granted) {
+            for (int night = range[0]; night < range[1]; night++) {
+                occupancy[night]++;
+            }
+        }
+        for (int night = 0; night < occupancy.length; night++) {
+            assertTrue(occupancy[night] <= 1, "Noche " + night + " reservada " + occupancy[night] + " veces");
+        }
+        assertFalse(granted.isEmpty());
+    }
+
+    @Test
+    void reserve_ShouldNotBlockOtherAccommodations() throws Exception {
+        int accommodations = 500;
+        AtomicInteger winners = new AtomicInteger();
+
+        runConcurrently(accommodations, i -> {
+            if (availabilityService.reserve((long) i + 1, start, start.plusDays(2)) != null) {
+                winners.incrementAndGet();
+            }
+        });
+
+        assertEquals(accommodations, winners.get());
+    }
+
+    private void runConcurrently(int tasks, IntTask task) throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            Callable<Void> callable = () -> {
+                gate.await();
+                task.run(index);
+                return null;
+            };
+            futures.add(executor.submit(callable));
+        }
+        gate.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        void run(int index);
+    }
+}
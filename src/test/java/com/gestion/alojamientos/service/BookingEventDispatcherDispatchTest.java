@@ -0,0 +1,97 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.model.booking.BookingEvent;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingEventRepo;
+import com.gestion.alojamientos.service.Impl.BookingEventDispatcherImpl;
+
+/**
+ * Pruebas del despacho asíncrono de los eventos de reserva.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingEventDispatcherDispatchTest {
+
+    @Mock
+    private BookingEventRepo bookingEventRepo;
+
+    @Mock
+    private BookingEventHandler handler;
+
+    private BookingEventDispatcherImpl dispatcher;
+
+    private BookingEvent event;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new BookingEventDispatcherImpl(bookingEventRepo, List.of(handler), 2);
+        event = BookingEvent.builder()
+            .id(7L)
+            .bookingId(1L)
+            .fromState(StatesOfBooking.CONFIRMED)
+            .toState(StatesOfBooking.CANCELLED)
+            .occurredAt(LocalDateTime.now())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void dispatch_ShouldRunHandlersAndMarkProcessed() throws Exception {
+        when(bookingEventRepo.findById(7L)).thenReturn(Optional.of(event));
+
+        dispatcher.dispatch(7L);
+
+        verify(bookingEventRepo, timeout(2000)).markProcessed(eq(7L), any(LocalDateTime.class));
+        verify(handler).handle(event);
+        verify(bookingEventRepo, never()).markFailed(any(), any());
+    }
+
+    @Test
+    void dispatch_ShouldRecordFailure_WhenHandlerThrows() throws Exception {
+        when(bookingEventRepo.findById(7L)).thenReturn(Optional.of(event));
+        doThrow(new RuntimeException("SMTP caído")).when(handler).handle(event);
+
+        dispatcher.dispatch(7L);
+
+        verify(bookingEventRepo, timeout(2000)).markFailed(7L, "SMTP caído");
+        verify(bookingEventRepo, never()).markProcessed(any(), any());
+    }
+
+    @Test
+    void dispatch_ShouldSkipHandlers_WhenEventAlreadyProcessed() throws Exception {
+        event.setProcessedAt(LocalDateTime.now());
+        when(bookingEventRepo.findById(7L)).thenReturn(Optional.of(event));
+
+        dispatcher.dispatch(7L);
+
+        verify(bookingEventRepo, timeout(2000)).findById(7L);
+        verify(handler, after(200).never()).handle(any());
+    }
+
+    @Test
+    void dispatchPending_ShouldSubmitUndispatchedEvents() throws Exception {
+        when(bookingEventRepo.findUndispatchedIds(anyInt(), any())).thenReturn(List.of(7L));
+        when(bookingEventRepo.findById(7L)).thenReturn(Optional.of(event));
+
+        assertEquals(1, dispatcher.dispatchPending());
+        verify(bookingEventRepo, timeout(2000)).markProcessed(eq(7L), any(LocalDateTime.class));
+    }
+}
@@ -0,0 +1,78 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import com.gestion.alojamientos.dto.booking.BookingEventDTO;
+import com.gestion.alojamientos.model.booking.BookingEvent;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingEventRepo;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.Impl.BookingEventServiceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Pruebas del historial de estados de una reserva: solo lo leen el huésped, el anfitrión o un administrador.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingEventServiceGetHistoryTest {
+
+    @Mock
+    private BookingEventRepo bookingEventRepo;
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private BookingEventDispatcher bookingEventDispatcher;
+
+    @InjectMocks
+    private BookingEventServiceImpl bookingEventService;
+
+    @BeforeEach
+    void setUp() {
+        // Huésped 7, anfitrión 3
+        lenient().when(bookingRepo.findParticipantIds(1L)).thenReturn(List.<Object[]>of(new Object[] { 7L, 3L }));
+        lenient().when(bookingEventRepo.findByBookingIdOrderByIdAsc(1L)).thenReturn(List.of(BookingEvent.builder()
+                .id(10L).bookingId(1L).toState(StatesOfBooking.PENDING).occurredAt(LocalDateTime.now()).build()));
+    }
+
+    @Test
+    void getHistory_ShouldReturnEvents_ToGuestHostAndAdmin() {
+        List<BookingEventDTO> history = bookingEventService.getHistory(1L, 7L, "GUEST");
+
+        assertEquals(1, history.size());
+        assertEquals("PENDING", history.get(0).toState());
+        assertEquals(1, bookingEventService.getHistory(1L, 3L, "HOST").size());
+        assertEquals(1, bookingEventService.getHistory(1L, 99L, "ADMIN").size());
+    }
+
+    @Test
+    void getHistory_ShouldDenyOtherUsers_ComparingIdsByRole() {
+        assertThrows(AccessDeniedException.class, () -> bookingEventService.getHistory(1L, 8L, "GUEST"));
+        // El ID 3 es el del anfitrión, no el de un huésped
+        assertThrows(AccessDeniedException.class, () -> bookingEventService.getHistory(1L, 3L, "GUEST"));
+        assertThrows(AccessDeniedException.class, () -> bookingEventService.getHistory(1L, 7L, "HOST"));
+        assertThrows(AccessDeniedException.class, () -> bookingEventService.getHistory(1L, null, null));
+        verify(bookingEventRepo, never()).findByBookingIdOrderByIdAsc(any());
+    }
+
+    @Test
+    void getHistory_ShouldThrowEntityNotFound_WhenBookingMissing() {
+        when(bookingRepo.findParticipantIds(2L)).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingEventService.getHistory(2L, 7L, "GUEST"));
+    }
+}
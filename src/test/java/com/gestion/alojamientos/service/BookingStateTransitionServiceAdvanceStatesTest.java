@@ -0,0 +1,83 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gestion.alojamientos.dto.booking.StateTransitionReportDTO;
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.Impl.BookingStateTransitionServiceImpl;
+
+/**
+ * Pruebas del avance diario de estados por lotes.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingStateTransitionServiceAdvanceStatesTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingStateTransitionServiceImpl transitionService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        transitionService = new BookingStateTransitionServiceImpl(bookingRepo, bookingEventService, transactionManager, 2);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void advanceStates_ShouldMoveDueBookingsInChunks() {
+        when(bookingRepo.findIdsDueForCheckIn(eq(StatesOfBooking.CONFIRMED), eq(today), eq(0L), any(Limit.class)))
+            .thenReturn(List.of(1L, 2L));
+        when(bookingRepo.findIdsDueForCheckIn(eq(StatesOfBooking.CONFIRMED), eq(today), eq(2L), any(Limit.class)))
+            .thenReturn(List.of(5L));
+        when(bookingRepo.findIdsDueForCheckOut(eq(StatesOfBooking.CHECK_IN), eq(today), eq(0L), any(Limit.class)))
+            .thenReturn(List.of(9L));
+        when(bookingRepo.updateStateForIds(anyCollection(), any(), any(), any()))
+            .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+
+        StateTransitionReportDTO report = transitionService.advanceStates(today);
+
+        assertEquals(3, report.checkedIn());
+        assertEquals(1, report.checkedOut());
+        assertEquals(3, report.chunks());
+        verify(bookingEventService).recordTransitions(List.of(1L, 2L), StatesOfBooking.CONFIRMED, StatesOfBooking.CHECK_IN);
+        verify(bookingEventService).recordTransitions(List.of(5L), StatesOfBooking.CONFIRMED, StatesOfBooking.CHECK_IN);
+        verify(bookingEventService).recordTransitions(List.of(9L), StatesOfBooking.CHECK_IN, StatesOfBooking.CHECK_OUT);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void advanceStates_ShouldMoveNothing_WhenRunTwice() {
+        when(bookingRepo.findIdsDueForCheckIn(any(), any(), anyLong(), any(Limit.class))).thenReturn(List.of());
+        when(bookingRepo.findIdsDueForCheckOut(any(), any(), anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        StateTransitionReportDTO report = transitionService.advanceStates(today);
+
+        assertEquals(0, report.checkedIn());
+        assertEquals(0, report.checkedOut());
+        verify(bookingRepo, never()).updateStateForIds(anyCollection(), any(), any(), any());
+        verifyNoInteractions(bookingEventService);
+    }
+}
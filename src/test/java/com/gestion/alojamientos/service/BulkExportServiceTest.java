@@ -0,0 +1,195 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.alojamientos.dto.admin.BulkExportReportDTO;
+import com.gestion.alojamientos.repository.booking.BulkExportRepo;
+import com.gestion.alojamientos.service.Impl.BulkExportServiceImpl;
+
+/**
+ * Pruebas de las exportaciones masivas: formatos NDJSON y CSV con gzip, y checkpoints al exportar a archivo.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 31);
+    private static final List<String> VOUCHER_COLUMNS = List.of("id", "creation_date", "total", "voucher_state", "discount");
+
+    @Mock
+    private BulkExportRepo exportRepo;
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BulkExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new BulkExportServiceImpl(exportRepo, objectMapper, directory.toString(), 2, "ndjson");
+    }
+
+    @Test
+    void export_ShouldWriteGzippedNdjson_OneObjectPerLine() throws Exception {
+        when(exportRepo.columns("voucher")).thenReturn(VOUCHER_COLUMNS);
+        stubScan(5L, 6, 6);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export("vouchers", null, 5L).writeTo(out);
+
+        List<String> lines = gunzip(out.toByteArray()).lines().toList();
+        assertEquals(1, lines.size());
+        JsonNode row = objectMapper.readTree(lines.get(0));
+        assertEquals(6L, row.get("id").asLong());
+        assertEquals("2025-01-05T10:30", row.get("creation_date").asText());
+        assertEquals(60.5, row.get("total").asDouble());
+        assertEquals("PAID, \"ok\"", row.get("voucher_state").asText());
+        assertTrue(row.get("discount").isNull());
+    }
+
+    @Test
+    void export_ShouldWriteCsvWithHeader_AndQuoteOnlyWhenNeeded() throws Exception {
+        when(exportRepo.columns("detail_booking")).thenReturn(VOUCHER_COLUMNS);
+        stubScan(0L, 1, 2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export("detail-bookings", "CSV", null).writeTo(out);
+
+        assertEquals("id,creation_date,total,voucher_state,discount\r\n"
+                + "1,2025-01-05T10:30,10.5,\"PAID, \"\"ok\"\"\",\r\n"
+                + "2,2025-01-05T10:30,20.5,\"PAID, \"\"ok\"\"\",\r\n", gunzip(out.toByteArray()));
+    }
+
+    @Test
+    void export_ShouldRejectUnknownDatasetFormatOrId_BeforeQuerying() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.export("payments", null, null));
+        assertThrows(IllegalArgumentException.class, () -> exportService.export("bookings", "xml", null));
+        assertThrows(IllegalArgumentException.class, () -> exportService.export("bookings", "csv", -1L));
+        verifyNoInteractions(exportRepo);
+    }
+
+    @Test
+    void exportToFile_ShouldCheckpointEachBlock_AndRenameWhenDone() throws Exception {
+        when(exportRepo.columns("booking")).thenReturn(VOUCHER_COLUMNS);
+        stubScan(0L, 1, 5);
+
+        BulkExportReportDTO report = exportService.exportToFile("bookings", "ndjson", DAY);
+
+        Path file = directory.resolve("booking-2025-01-31.ndjson.gz");
+        assertEquals(file.toString(), report.file());
+        assertEquals(5L, report.rows());
+        assertEquals(5L, report.lastId());
+        assertFalse(report.resumed());
+        assertFalse(Files.exists(directory.resolve("booking-2025-01-31.ndjson.gz.part")));
+        // Tres miembros gzip (2 + 2 + 1 filas) que se leen como un solo archivo
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(gunzip(Files.readAllBytes(file))));
+        assertEquals(Files.size(file), report.bytes());
+    }
+
+    @Test
+    void exportToFile_ShouldResumeFromLastCheckpoint_WithoutDuplicatingRows() throws Exception {
+        when(exportRepo.columns("booking")).thenReturn(VOUCHER_COLUMNS);
+        // Primera ejecución: se corta en la tercera fila, después del checkpoint de las dos primeras
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(row(1L));
+            handler.processRow(row(2L));
+            handler.processRow(row(3L));
+            throw new IllegalStateException("conexión perdida");
+        }).when(exportRepo).scan(eq("booking"), eq(0L), any());
+        assertThrows(IllegalStateException.class, () -> exportService.exportToFile("bookings", "csv", DAY));
+
+        stubScan(2L, 3, 5);
+        BulkExportReportDTO report = exportService.exportToFile("bookings", "csv", DAY);
+
+        assertTrue(report.resumed());
+        assertEquals(5L, report.rows());
+        List<String> lines = gunzip(Files.readAllBytes(directory.resolve("booking-2025-01-31.csv.gz"))).lines().toList();
+        assertEquals("id,creation_date,total,voucher_state,discount", lines.get(0));
+        assertEquals(List.of("1", "2", "3", "4", "5"), lines.subList(1, lines.size()).stream()
+                .map(line -> line.substring(0, line.indexOf(','))).toList());
+    }
+
+    @Test
+    void exportToFile_ShouldNotRepeatACompletedExport() {
+        when(exportRepo.columns("voucher")).thenReturn(VOUCHER_COLUMNS);
+        stubScan(0L, 1, 3);
+
+        exportService.exportToFile("vouchers", null, DAY);
+        BulkExportReportDTO again = exportService.exportToFile("vouchers", null, DAY);
+
+        assertTrue(again.alreadyComplete());
+        assertEquals(3L, again.rows());
+        verify(exportRepo, times(1)).scan(any(), anyLong(), any());
+    }
+
+    @Test
+    void exportToFile_ShouldWriteValidGzip_WhenTableIsEmpty() throws Exception {
+        when(exportRepo.columns("voucher")).thenReturn(VOUCHER_COLUMNS);
+
+        BulkExportReportDTO report = exportService.exportToFile("vouchers", "ndjson", DAY);
+
+        assertEquals(0L, report.rows());
+        assertEquals("", gunzip(Files.readAllBytes(directory.resolve("voucher-2025-01-31.ndjson.gz"))));
+    }
+
+    // Entrega al handler las filas con IDs firstId..lastId cuando se consulta desde afterId
+    private void stubScan(long afterId, long firstId, long lastId) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (long id = firstId; id <= lastId; id++) {
+                handler.processRow(row(id));
+            }
+            return null;
+        }).when(exportRepo).scan(any(), eq(afterId), any());
+    }
+
+    private static ResultSet row(long id) throws SQLException {
+        Object[] values = {id, Timestamp.valueOf(LocalDateTime.of(2025, 1, 5, 10, 30)), id * 10 + 0.5, "PAID, \"ok\"", null};
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getLong(1)).thenReturn(id);
+        lenient().when(rs.getObject(anyInt())).thenAnswer(invocation -> values[(int) invocation.getArgument(0) - 1]);
+        return rs;
+    }
+
+    private List<Long> ids(String ndjson) throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (String line : ndjson.lines().toList()) {
+            ids.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.accommodation.FacetCountDTO;
+import com.gestion.alojamientos.dto.accommodation.FacetCountsDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.FacetServiceImpl;
+
+/**
+ * Pruebas de los conteos por faceta: bitmaps frente a un recuento directo y cambios incrementales.
+ */
+@ExtendWith(MockitoExtension.class)
+class FacetServiceGetFacetCountsTest {
+
+    private static final long SERVICES = 8;
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @InjectMocks
+    private FacetServiceImpl facetService;
+
+    private Map<Long, Listing> listings;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(11);
+        listings = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            listings.put(id, randomListing(random));
+        }
+        reloadFromListings();
+    }
+
+    @Test
+    void getFacetCounts_ShouldMatchDirectCount_ForFilterCombinations() {
+        assertCounts(null, null, null, List.of());
+        assertCounts(Cities.SALENTO, null, null, List.of());
+        assertCounts(null, AccomodationType.HOUSE, 4, List.of());
+        assertCounts(Cities.ARMENIA, AccomodationType.HOTEL, 3, List.of(1L));
+        assertCounts(null, null, null, List.of(2L, 5L));
+        assertCounts(Cities.FILANDIA, null, 11, List.of(3L, 4L, 7L));
+    }
+
+    @Test
+    void getFacetCounts_ShouldMatchFullReload_AfterIncrementalChanges() {
+        Random random = new Random(3);
+        for (int i = 0; i < 400; i++) {
+            long id = 1 + random.nextInt(2200);
+            int action = random.nextInt(3);
+            if (action == 0) {
+                facetService.remove(id);
+                listings.remove(id);
+            } else {
+                Listing listing = randomListing(random);
+                // Un tercio de las actualizaciones deja el alojamiento pendiente: debe salir de los conteos
+                ApprovalStatus status = action == 1 ? ApprovalStatus.PENDING : ApprovalStatus.APPROVED;
+                facetService.upsert(listing.toAccommodation(id, status));
+                if (status == ApprovalStatus.APPROVED) {
+                    listings.put(id, listing);
+                } else {
+                    listings.remove(id);
+                }
+            }
+        }
+
+        FacetCountsDTO incremental = facetService.getFacetCounts(Cities.PEREIRA, null, 2, List.of(6L));
+        reloadFromListings();
+        assertEquals(facetService.getFacetCounts(Cities.PEREIRA, null, 2, List.of(6L)), incremental);
+        assertCounts(Cities.PEREIRA, null, 2, List.of(6L));
+    }
+
+    @Test
+    void reloadIndex_ShouldKeepChangesCommittedWhileTheSnapshotIsRead() {
+        Listing added = new Listing(Cities.SALENTO, AccomodationType.HOUSE, 4, new long[] { 1L });
+        // El alta y la baja llegan después de la consulta de la recarga, que ya no las ve
+        reloadFromListings(() -> {
+            facetService.upsert(added.toAccommodation(5000L, ApprovalStatus.APPROVED));
+            facetService.remove(1L);
+        });
+        listings.put(5000L, added);
+        listings.remove(1L);
+
+        assertCounts(null, null, null, List.of());
+        assertCounts(Cities.SALENTO, AccomodationType.HOUSE, 4, List.of(1L));
+    }
+
+    @Test
+    void getFacetCounts_ShouldReturnZero_WhenServiceUnknown() {
+        FacetCountsDTO counts = facetService.getFacetCounts(null, null, null, List.of(999L));
+
+        assertEquals(0, counts.total());
+        assertTrue(counts.cities().isEmpty());
+        assertTrue(counts.services().isEmpty());
+    }
+
+    private void assertCounts(Cities city, AccomodationType type, Integer minGuests, List<Long> serviceIds) {
+        FacetCountsDTO counts = facetService.getFacetCounts(city, type, minGuests, serviceIds);
+
+        Predicate<Listing> cityOk = l -> city == null || l.city() == city;
+        Predicate<Listing> typeOk = l -> type == null || l.type() == type;
+        Predicate<Listing> guestsOk = l -> minGuests == null || l.capacity() >= minGuests;
+        Predicate<Listing> servicesOk = l -> Arrays.stream(l.services()).boxed().toList().containsAll(serviceIds);
+        Predicate<Listing> all = cityOk.and(typeOk).and(guestsOk).and(servicesOk);
+
+        assertEquals(count(all), counts.total());
+        for (Cities value : Cities.values()) {
+            assertEquals(count(typeOk.and(guestsOk).and(servicesOk).and(l -> l.city() == value)),
+                    countOf(counts.cities(), value.name()), "Ciudad " + value);
+        }
+        for (AccomodationType value : AccomodationType.values()) {
+            assertEquals(count(cityOk.and(guestsOk).and(servicesOk).and(l -> l.type() == value)),
+                    countOf(counts.accommodationTypes(), value.name()), "Tipo " + value);
+        }
+        for (long serviceId = 1; serviceId <= SERVICES; serviceId++) {
+            long id = serviceId;
+            assertEquals(count(all.and(l -> Arrays.stream(l.services()).anyMatch(s -> s == id))),
+                    countOf(counts.services(), Long.toString(serviceId)), "Servicio " + serviceId);
+        }
+        assertEquals(count(cityOk.and(typeOk).and(servicesOk).and(l -> l.capacity() >= 7 && l.capacity() <= 10)),
+                countOf(counts.capacities(), "7-10"));
+        assertEquals(count(cityOk.and(typeOk).and(servicesOk).and(l -> l.capacity() >= 11)),
+                countOf(counts.capacities(), "11+"));
+    }
+
+    private int count(Predicate<Listing> predicate) {
+        return (int) listings.values().stream().filter(predicate).count();
+    }
+
+    private static int countOf(List<FacetCountDTO> counts, String value) {
+        return counts.stream().filter(c -> c.value().equals(value)).mapToInt(FacetCountDTO::count).findFirst().orElse(0);
+    }
+
+    private void reloadFromListings() {
+        reloadFromListings(() -> { });
+    }
+
+    private void reloadFromListings(Runnable duringRead) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> serviceRows = new ArrayList<>();
+        listings.forEach((id, listing) -> {
+            rows.add(new Object[] { id, listing.city(), listing.type(), listing.capacity() });
+            for (long serviceId : listing.services()) {
+                serviceRows.add(new Object[] { id, serviceId, "Servicio " + serviceId });
+            }
+        });
+        when(accommodationRepo.findFacetRows()).thenAnswer(invocation -> {
+            duringRead.run();
+            return rows;
+        });
+        when(accommodationRepo.findFacetServiceRows()).thenReturn(serviceRows);
+        facetService.reloadIndex();
+    }
+
+    private static Listing randomListing(Random random) {
+        Cities city = random.nextInt(20) == 0 ? null : Cities.values()[random.nextInt(Cities.values().length)];
+        AccomodationType type = AccomodationType.values()[random.nextInt(AccomodationType.values().length)];
+        long[] services = random.longs(random.nextInt(4), 1, SERVICES + 1).distinct().toArray();
+        return new Listing(city, type, 1 + random.nextInt(14), services);
+    }
+
+    private record Listing(Cities city, AccomodationType type, int capacity, long[] services) {
+
+        Accomodation toAccommodation(Long id, ApprovalStatus status) {
+            Accomodation accommodation = new Accomodation();
+            accommodation.setId(id);
+            accommodation.setApprovalStatus(status);
+            accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+            accommodation.setAccomodationType(type);
+            accommodation.setMaxGuestCapacity(capacity);
+            accommodation.setUbication(Ubication.builder().city(city).build());
+            accommodation.setServicesList(Arrays.stream(services)
+                    .mapToObj(s -> Services.builder().id(s).name("Servicio " + s).build()).toList());
+            return accommodation;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.accommodation.NearbyAccommodationDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.GeoIndexServiceImpl;
+
+/**
+ * Pruebas de las búsquedas por radio y k-NN del índice geoespacial frente a un recorrido completo.
+ */
+@ExtendWith(MockitoExtension.class)
+class GeoIndexServiceSearchTest {
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @InjectMocks
+    private GeoIndexServiceImpl geoIndexService;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        // Alojamientos aleatorios alrededor de Armenia (Quindío)
+        Random random = new Random(42);
+        rows = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            rows.add(new Object[] { id, 4.53 + (random.nextDouble() - 0.5) * 2, -75.68 + (random.nextDouble() - 0.5) * 2,
+                    id % 2 == 0 ? AccomodationType.HOUSE : AccomodationType.APARTMENT, (int) (id % 8) + 1 });
+        }
+        when(accommodationRepo.findIndexableLocations()).thenReturn(rows);
+        geoIndexService.reloadIndex();
+    }
+
+    @Test
+    void findWithinRadius_ShouldMatchBruteForce_SortedByDistance() {
+        List<NearbyAccommodationDTO> result = geoIndexService.findWithinRadius(4.53, -75.68, 25, 10_000);
+
+        long expected = rows.stream()
+            .filter(row -> haversine(4.53, -75.68, (Double) row[1], (Double) row[2]) <= 25)
+            .count();
+        assertEquals(expected, result.size());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).distanceKm() <= result.get(i).distanceKm());
+        }
+        assertTrue(result.stream().allMatch(hit -> hit.distanceKm() <= 25));
+    }
+
+    @Test
+    void findWithinRadius_ShouldApplyLimit() {
+        List<NearbyAccommodationDTO> all = geoIndexService.findWithinRadius(4.53, -75.68, 50, 10_000);
+        List<NearbyAccommodationDTO> limited = geoIndexService.findWithinRadius(4.53, -75.68, 50, 5);
+
+        assertEquals(5, limited.size());
+        assertEquals(all.subList(0, 5), limited);
+    }
+
+    @Test
+    void upsertAndRemove_ShouldMoveAccommodationBetweenCells() {
+        geoIndexService.upsert(accommodation(9999L, 10.0, 10.0, ApprovalStatus.APPROVED));
+        assertEquals(9999L, geoIndexService.findWithinRadius(10.0, 10.0, 1, 10).get(0).accommodationId());
+
+        geoIndexService.upsert(accommodation(9999L, 20.0, 20.0, ApprovalStatus.APPROVED));
+        assertTrue(geoIndexService.findWithinRadius(10.0, 10.0, 1, 10).isEmpty());
+        assertEquals(1, geoIndexService.findWithinRadius(20.0, 20.0, 1, 10).size());
+
+        geoIndexService.remove(9999L);
+        assertTrue(geoIndexService.findWithinRadius(20.0, 20.0, 1, 10).isEmpty());
+
+        // Un alojamiento no aprobado no se indexa aunque tenga coordenadas
+        geoIndexService.upsert(accommodation(9999L, 20.0, 20.0, ApprovalStatus.PENDING));
+        assertTrue(geoIndexService.findWithinRadius(20.0, 20.0, 1, 10).isEmpty());
+    }
+
+    @Test
+    void reloadIndex_ShouldKeepChangesCommittedWhileTheSnapshotIsRead() {
+        // El alta y la baja llegan después de la consulta de la recarga, que ya no las ve
+        when(accommodationRepo.findIndexableLocations()).thenAnswer(invocation -> {
+            geoIndexService.upsert(accommodation(9999L, 10.0, 10.0, ApprovalStatus.APPROVED));
+            geoIndexService.remove(1L);
+            return rows;
+        });
+        geoIndexService.reloadIndex();
+
+        assertEquals(9999L, geoIndexService.findWithinRadius(10.0, 10.0, 1, 10).get(0).accommodationId());
+        assertTrue(geoIndexService.findWithinRadius((Double) rows.get(0)[1], (Double) rows.get(0)[2], 0.01, 10).stream()
+            .noneMatch(hit -> hit.accommodationId() == 1L));
+    }
+
+    @Test
+    void findWithinRadius_ShouldFindPointsAcrossTheAntimeridian() {
+        geoIndexService.upsert(accommodation(7777L, 0.0, 179.99, ApprovalStatus.APPROVED));
+
+        List<NearbyAccommodationDTO> result = geoIndexService.findWithinRadius(0.0, -179.99, 5, 10);
+
+        assertEquals(1, result.size());
+        assertEquals(7777L, result.get(0).accommodationId());
+    }
+
+    @Test
+    void findNearest_ShouldReturnKClosestMatchingFilters() {
+        List<NearbyAccommodationDTO> result = geoIndexService.findNearest(4.53, -75.68, 20, 200, AccomodationType.HOUSE, 5);
+
+        List<Long> expected = rows.stream()
+            .filter(row -> row[3] == AccomodationType.HOUSE && (Integer) row[4] >= 5)
+            .sorted((a, b) -> Double.compare(
+                haversine(4.53, -75.68, (Double) a[1], (Double) a[2]),
+                haversine(4.53, -75.68, (Double) b[1], (Double) b[2])))
+            .limit(20)
+            .map(row -> (Long) row[0])
+            .toList();
+        assertEquals(expected, result.stream().map(NearbyAccommodationDTO::accommodationId).toList());
+    }
+
+    @Test
+    void findNearest_ShouldStopAtMaxRadius() {
+        // Ningún alojamiento a menos de 1 km del punto remoto
+        assertTrue(geoIndexService.findNearest(40.0, -3.7, 5, 1, null, null).isEmpty());
+    }
+
+    @Test
+    void findNearest_ShouldQueryDatabase_WhenIndexIsCold() {
+        GeoIndexServiceImpl cold = new GeoIndexServiceImpl(accommodationRepo);
+        List<Object[]> dbRows = new ArrayList<>();
+        dbRows.add(new Object[] { 7L, 4.54, -75.67, 1.5 });
+        when(accommodationRepo.findWithinRadiusSpatial(eq(4.53), eq(-75.68), eq(10.0), anyDouble(), anyDouble(),
+                anyDouble(), anyDouble(), eq("HOUSE"), eq(2), eq(5))).thenReturn(dbRows);
+
+        List<NearbyAccommodationDTO> result = cold.findNearest(4.53, -75.68, 5, 10, AccomodationType.HOUSE, 2);
+
+        assertEquals(List.of(new NearbyAccommodationDTO(7L, 4.54, -75.67, 1.5)), result);
+        // El rectángulo enviado debe contener todo el círculo de 10 km
+        verify(accommodationRepo).findWithinRadiusSpatial(eq(4.53), eq(-75.68), eq(10.0),
+                doubleThat(minLat -> minLat <= 4.53 - 10 / 111.2), doubleThat(maxLat -> maxLat >= 4.53 + 10 / 111.2),
+                doubleThat(minLng -> minLng <= -75.68 - 10 / 111.2), doubleThat(maxLng -> maxLng >= -75.68 + 10 / 111.2),
+                eq("HOUSE"), eq(2), eq(5));
+        verify(accommodationRepo, times(1)).findIndexableLocations();
+    }
+
+    private static Accomodation accommodation(Long id, double latitude, double longitude, ApprovalStatus approvalStatus) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(id);
+        accommodation.setApprovalStatus(approvalStatus);
+        accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+        accommodation.setAccomodationType(AccomodationType.HOUSE);
+        accommodation.setMaxGuestCapacity(4);
+        accommodation.setUbication(Ubication.builder().latitud(latitude).longitud(longitude).build());
+        return accommodation;
+    }
+
+    private static double haversine(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * 6371.0 * Math.asin(Math.sqrt(a));
+    }
+}
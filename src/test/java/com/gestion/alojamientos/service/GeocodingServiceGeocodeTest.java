@@ -0,0 +1,161 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.gestion.alojamientos.dto.accommodation.GeocodingResultDTO;
+import com.gestion.alojamientos.model.accomodation.GeocodingCacheEntry;
+import com.gestion.alojamientos.repository.accomodation.GeocodingCacheRepo;
+import com.gestion.alojamientos.service.Impl.GeocodingServiceImpl;
+import com.gestion.alojamientos.service.Impl.MapboxServiceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Pruebas de la geocodificación con caché contra un servidor Mapbox local.
+ */
+@ExtendWith(MockitoExtension.class)
+class GeocodingServiceGeocodeTest {
+
+    private static final long READ_TIMEOUT_MS = 1000;
+
+    @Mock
+    private GeocodingCacheRepo geocodingCacheRepo;
+
+    private MapboxStubServer mapbox;
+    private GeocodingServiceImpl geocodingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapbox = new MapboxStubServer();
+        mapbox.respond("armenia", 4.5339, -75.6811, "Carrera 14 20-15, Armenia, Quindío, Colombia");
+        mapbox.respond("-75.681100,4.533900", 4.5339, -75.6811, "Armenia, Quindío, Colombia");
+
+        geocodingService = new GeocodingServiceImpl(mapboxService(READ_TIMEOUT_MS), geocodingCacheRepo, 100, 90);
+    }
+
+    private MapboxServiceImpl mapboxService(long readTimeoutMs) {
+        MapboxServiceImpl mapboxService = new MapboxServiceImpl(new RestTemplateBuilder()
+                .connectTimeout(Duration.ofMillis(500))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build());
+        ReflectionTestUtils.setField(mapboxService, "mapboxBaseUrl", mapbox.baseUrl());
+        ReflectionTestUtils.setField(mapboxService, "mapboxApiKey", "test-token");
+        ReflectionTestUtils.setField(mapboxService, "geocodingCountry", "co");
+        return mapboxService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        mapbox.close();
+    }
+
+    @Test
+    void geocode_ShouldCallMapboxOnce_ForEquivalentAddresses() {
+        GeocodingResultDTO first = geocodingService.geocode("Carrera 14 #20-15, Armenia");
+        GeocodingResultDTO second = geocodingService.geocode("  carrera 14 # 20 - 15 ARMENIA ");
+
+        assertEquals(4.5339, first.latitude(), 1e-9);
+        assertEquals(-75.6811, first.longitude(), 1e-9);
+        assertEquals(first, second);
+        assertEquals(1, mapbox.requestCount());
+        verify(geocodingCacheRepo, times(1)).save(argThat(entry -> entry.getCacheKey().equals("F|carrera 14 20-15 armenia")));
+    }
+
+    @Test
+    void geocode_ShouldCoalesceConcurrentIdenticalLookups() throws Exception {
+        mapbox.delay(200);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch gate = new CountDownLatch(1);
+            List<Future<GeocodingResultDTO>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    gate.await();
+                    return geocodingService.geocode("Carrera 14 # 20-15, Armenia");
+                }));
+            }
+            gate.countDown();
+            for (Future<GeocodingResultDTO> future : futures) {
+                assertEquals(4.5339, future.get(10, TimeUnit.SECONDS).latitude(), 1e-9);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, mapbox.requestCount());
+    }
+
+    @Test
+    void geocode_ShouldUseDatabaseEntry_WithoutCallingMapbox() {
+        when(geocodingCacheRepo.findByCacheKey("F|calle 5 salento")).thenReturn(Optional.of(GeocodingCacheEntry.builder()
+                .cacheKey("F|calle 5 salento").latitude(4.6373).longitude(-75.5704).placeName("Salento, Quindío")
+                .fetchedAt(LocalDateTime.now().minusDays(1)).build()));
+
+        GeocodingResultDTO result = geocodingService.geocode("Calle 5, Salento");
+
+        assertEquals("Salento, Quindío", result.placeName());
+        assertEquals(0, mapbox.requestCount());
+        verify(geocodingCacheRepo, never()).save(any());
+    }
+
+    @Test
+    void geocode_ShouldFailFast_AndNotCacheFailure_WhenMapboxExceedsReadTimeout() {
+        GeocodingServiceImpl strict = new GeocodingServiceImpl(mapboxService(200), geocodingCacheRepo, 100, 90);
+        mapbox.delay(2000);
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> strict.geocode("Carrera 14 # 20-15, Armenia"));
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 1500);
+
+        mapbox.delay(0);
+        assertEquals(4.5339, strict.geocode("Carrera 14 # 20-15, Armenia").latitude(), 1e-9);
+    }
+
+    @Test
+    void geocode_ShouldRememberMissingAddresses() {
+        assertThrows(EntityNotFoundException.class, () -> geocodingService.geocode("Dirección inexistente 123"));
+        assertThrows(EntityNotFoundException.class, () -> geocodingService.geocode("direccion inexistente 123"));
+
+        assertEquals(1, mapbox.requestCount());
+        verify(geocodingCacheRepo, never()).save(any());
+    }
+
+    @Test
+    void reverseGeocode_ShouldShareCacheEntry_ForNearlyEqualCoordinates() {
+        GeocodingResultDTO first = geocodingService.reverseGeocode(4.533901, -75.681099);
+        GeocodingResultDTO second = geocodingService.reverseGeocode(4.533899, -75.681101);
+
+        assertEquals("Armenia, Quindío, Colombia", first.placeName());
+        assertEquals(first, second);
+        assertEquals(1, mapbox.requestCount());
+    }
+
+    @Test
+    void geocode_ShouldThrowIllegalArgumentException_WhenAddressTooLong() {
+        assertThrows(IllegalArgumentException.class, () -> geocodingService.geocode("a".repeat(201)));
+        assertThrows(IllegalArgumentException.class, () -> geocodingService.geocode("  ,,  "));
+        assertEquals(0, mapbox.requestCount());
+    }
+}
@@ -0,0 +1,129 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.gestion.alojamientos.dto.accommodation.DistanceMatrixDTO;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.UbicationRepo;
+import com.gestion.alojamientos.service.RatingSummaryService;
+import com.gestion.alojamientos.service.Impl.DistanceKernel;
+import com.gestion.alojamientos.service.Impl.LocationServiceImpl;
+import com.gestion.alojamientos.service.Impl.MapboxServiceImpl;
+
+/**
+ * Pruebas de la matriz de distancias y del kernel en lote que la calcula.
+ */
+@ExtendWith(MockitoExtension.class)
+class LocationServiceGetDistanceMatrixTest {
+
+    private static final double TOLERANCE_KM = 1e-6;
+
+    @Mock
+    private UbicationRepo ubicationRepo;
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @Mock
+    private MapboxService mapboxService;
+
+    @Mock
+    private GeoIndexService geoIndexService;
+
+    @Mock
+    private RatingSummaryService ratingSummaryService;
+
+    @Mock
+    private MapClusterService mapClusterService;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @Mock
+    private MunicipalityResolver municipalityResolver;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
+    @InjectMocks
+    private LocationServiceImpl locationService;
+
+    private final MapboxServiceImpl reference = new MapboxServiceImpl(null);
+
+    @Test
+    void getDistanceMatrix_ShouldMatchPointToPointDistances_AndReportMissing() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, 4.5339, -75.6811 });
+        rows.add(new Object[] { 3L, 6.2442, -75.5812 });
+        when(accommodationRepo.findCoordinatesByIds(anyCollection())).thenReturn(rows);
+        when(mapboxService.validateCoordinates(anyDouble(), anyDouble())).thenReturn(true);
+
+        DistanceMatrixDTO result = locationService.getDistanceMatrix(
+                List.of(4.4389, 10.3910), List.of(-75.2322, -75.4794), List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(3L, 1L), result.accommodationIds());
+        assertEquals(List.of(2L), result.missingAccommodationIds());
+        assertEquals(2, result.distancesKm().length);
+        assertEquals(reference.calculateDistance(4.4389, -75.2322, 6.2442, -75.5812), result.distancesKm()[0][0], TOLERANCE_KM);
+        assertEquals(reference.calculateDistance(10.3910, -75.4794, 4.5339, -75.6811), result.distancesKm()[1][1], TOLERANCE_KM);
+    }
+
+    @Test
+    void getDistanceMatrix_ShouldThrowIllegalArgumentException_WhenOriginsMismatch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> locationService.getDistanceMatrix(List.of(4.0, 5.0), List.of(-75.0), List.of(1L)));
+        verifyNoInteractions(accommodationRepo);
+    }
+
+    @Test
+    void getDistanceMatrix_ShouldThrowIllegalArgumentException_WhenTooManyAccommodations() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 1001; id++) {
+            ids.add(id);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> locationService.getDistanceMatrix(List.of(4.0), List.of(-75.0), ids));
+        assertThrows(IllegalArgumentException.class,
+                () -> locationService.getDistanceMatrix(List.of(4.0), List.of(-75.0), Collections.emptyList()));
+    }
+
+    @Test
+    void distancesKm_ShouldMatchScalarKernel_ForLargeBatch() {
+        Random random = new Random(7);
+        int n = 10_003;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = -90.0 + random.nextDouble() * 180.0;
+            longitudes[i] = -180.0 + random.nextDouble() * 360.0;
+        }
+        DistanceKernel.PointBatch batch = DistanceKernel.PointBatch.of(latitudes, longitudes);
+        double[] batched = new double[n];
+        double[] scalar = new double[n];
+
+        DistanceKernel.distancesKm(4.5339, -75.6811, batch, batched);
+        DistanceKernel.distancesKmScalar(4.5339, -75.6811, batch, scalar);
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(scalar[i], batched[i], TOLERANCE_KM, "Punto " + i);
+            assertEquals(reference.calculateDistance(4.5339, -75.6811, latitudes[i], longitudes[i]), batched[i], TOLERANCE_KM);
+        }
+    }
+}
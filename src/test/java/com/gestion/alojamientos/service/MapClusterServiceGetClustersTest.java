@@ -0,0 +1,160 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.accommodation.MapClusterDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Ubication;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.MapClusterServiceImpl;
+
+/**
+ * Pruebas de los grupos del mapa: totales por zoom y actualización incremental frente a una recarga completa.
+ */
+@ExtendWith(MockitoExtension.class)
+class MapClusterServiceGetClustersTest {
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @InjectMocks
+    private MapClusterServiceImpl mapClusterService;
+
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        // Alojamientos aleatorios en el Eje Cafetero; uno de cada diez sin precio
+        Random random = new Random(42);
+        rows = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            rows.add(new Object[] { id, 4.3 + random.nextDouble() * 1.0, -76.0 + random.nextDouble() * 0.7,
+                    id % 10 == 0 ? null : 80_000.0 + random.nextInt(400_000) });
+        }
+        when(accommodationRepo.findClusterableLocations()).thenReturn(rows);
+        mapClusterService.reloadIndex();
+    }
+
+    @Test
+    void getClusters_ShouldCoverEveryAccommodation_AtEveryZoom() {
+        double globalMin = rows.stream().filter(row -> row[3] != null).mapToDouble(row -> (Double) row[3]).min().orElseThrow();
+
+        // Zoom 14 es el más cercano al que todo el Eje Cafetero cabe en el límite de celdas
+        for (int zoom = 0; zoom <= 14; zoom++) {
+            List<MapClusterDTO> clusters = mapClusterService.getClusters(4.2, -76.1, 5.4, -75.2, zoom);
+            assertEquals(rows.size(), clusters.stream().mapToInt(MapClusterDTO::count).sum(), "Zoom " + zoom);
+            assertEquals(globalMin, clusters.stream().filter(c -> c.minPrice() != null)
+                    .mapToDouble(MapClusterDTO::minPrice).min().orElseThrow(), "Zoom " + zoom);
+        }
+        // Al alejar el mapa los grupos se fusionan
+        assertTrue(mapClusterService.getClusters(4.2, -76.1, 5.4, -75.2, 6).size()
+                < mapClusterService.getClusters(4.2, -76.1, 5.4, -75.2, 12).size());
+    }
+
+    @Test
+    void getClusters_ShouldMatchFullReload_AfterIncrementalChanges() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            long id = 1 + random.nextInt(rows.size());
+            if (random.nextInt(4) == 0) {
+                mapClusterService.remove(id);
+                rows.set((int) id - 1, null);
+            } else {
+                Object[] row = new Object[] { id, 4.3 + random.nextDouble(), -76.0 + random.nextDouble() * 0.7,
+                        random.nextBoolean() ? null : 50_000.0 + random.nextInt(400_000) };
+                mapClusterService.upsert(accommodation(id, (Double) row[1], (Double) row[2], (Double) row[3]));
+                rows.set((int) id - 1, row);
+            }
+        }
+
+        // A zoom 16 solo se consulta un rectángulo del tamaño de una ciudad
+        double[][] viewports = { { 4.2, -76.1, 5.4, -75.2 }, { 4.2, -76.1, 5.4, -75.2 }, { 4.2, -76.1, 5.4, -75.2 },
+                { 4.5, -75.8, 4.7, -75.6 } };
+        int[] zooms = { 3, 9, 14, 16 };
+        List<List<MapClusterDTO>> incremental = new ArrayList<>();
+        for (int i = 0; i < zooms.length; i++) {
+            double[] v = viewports[i];
+            incremental.add(sorted(mapClusterService.getClusters(v[0], v[1], v[2], v[3], zooms[i])));
+        }
+
+        rows.removeIf(row -> row == null);
+        mapClusterService.reloadIndex();
+        for (int z = 0; z < zooms.length; z++) {
+            double[] v = viewports[z];
+            List<MapClusterDTO> expected = sorted(mapClusterService.getClusters(v[0], v[1], v[2], v[3], zooms[z]));
+            List<MapClusterDTO> actual = incremental.get(z);
+            assertEquals(expected.size(), actual.size(), "Zoom " + zooms[z]);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).count(), actual.get(i).count());
+                assertEquals(expected.get(i).minPrice(), actual.get(i).minPrice());
+                assertEquals(expected.get(i).accommodationId(), actual.get(i).accommodationId());
+                assertEquals(expected.get(i).latitude(), actual.get(i).latitude(), 1e-9);
+                assertEquals(expected.get(i).longitude(), actual.get(i).longitude(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void getClusters_ShouldReturnSingleAccommodationId_WhenClusterHasOneMember() {
+        mapClusterService.upsert(accommodation(9001L, 40.4168, -3.7038, 120_000.0));
+
+        List<MapClusterDTO> clusters = mapClusterService.getClusters(40.0, -4.0, 41.0, -3.0, 5);
+
+        assertEquals(List.of(new MapClusterDTO(40.4168, -3.7038, 1, 120_000.0, 9001L)), clusters);
+    }
+
+    @Test
+    void reloadIndex_ShouldKeepChangesCommittedWhileTheSnapshotIsRead() {
+        // El alta y la baja llegan después de la consulta de la recarga, que ya no las ve
+        when(accommodationRepo.findClusterableLocations()).thenAnswer(invocation -> {
+            mapClusterService.upsert(accommodation(9001L, 40.4168, -3.7038, 120_000.0));
+            mapClusterService.remove(1L);
+            return rows;
+        });
+        mapClusterService.reloadIndex();
+
+        assertEquals(List.of(new MapClusterDTO(40.4168, -3.7038, 1, 120_000.0, 9001L)),
+                mapClusterService.getClusters(40.0, -4.0, 41.0, -3.0, 5));
+        assertEquals(rows.size() - 1, mapClusterService.getClusters(4.2, -76.1, 5.4, -75.2, 10).stream()
+                .mapToInt(MapClusterDTO::count).sum());
+    }
+
+    @Test
+    void getClusters_ShouldThrowIllegalArgumentException_WhenViewportTooLargeForZoom() {
+        assertThrows(IllegalArgumentException.class,
+                () -> mapClusterService.getClusters(-60, -170, 60, 170, 14));
+        assertThrows(IllegalArgumentException.class,
+                () -> mapClusterService.getClusters(5.0, -76.0, 4.0, -75.0, 10));
+    }
+
+    private static List<MapClusterDTO> sorted(List<MapClusterDTO> clusters) {
+        List<MapClusterDTO> result = new ArrayList<>(clusters);
+        result.sort(Comparator.comparingDouble(MapClusterDTO::latitude).thenComparingDouble(MapClusterDTO::longitude));
+        return result;
+    }
+
+    private static Accomodation accommodation(Long id, double latitude, double longitude, Double price) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(id);
+        accommodation.setApprovalStatus(ApprovalStatus.APPROVED);
+        accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+        accommodation.setBasePricePerNight(price);
+        accommodation.setUbication(Ubication.builder().latitud(latitude).longitud(longitude).build());
+        return accommodation;
+    }
+}
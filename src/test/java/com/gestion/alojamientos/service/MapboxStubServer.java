@@ -0,0 +1,93 @@
+package com.gestion.alojamientos.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servidor HTTP local que imita la API de geocodificación de Mapbox para las pruebas.
+ * Responde /geocoding/v5/mapbox.places/{query}.json con la primera respuesta registrada cuyo
+ * fragmento aparezca en la consulta (o sin resultados), cuenta las peticiones y puede retrasarlas
+ * para probar timeouts y peticiones simultáneas.
+ */
+class MapboxStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long delayMillis;
+
+    MapboxStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/geocoding/v5/mapbox.places/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Responde con un lugar a las consultas que contengan el fragmento (sin distinguir mayúsculas).
+     */
+    void respond(String fragment, double latitude, double longitude, String placeName) {
+        responses.put(fragment.toLowerCase(Locale.ROOT), String.format(Locale.ROOT,
+                "{\"type\":\"FeatureCollection\",\"features\":[{\"place_name\":\"%s\",\"center\":[%f,%f]}]}",
+                placeName, longitude, latitude));
+    }
+
+    void delay(long millis) {
+        this.delayMillis = millis;
+    }
+
+    int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = exchange.getRequestURI().getPath().toLowerCase(Locale.ROOT);
+        String body = responses.entrySet().stream()
+                .filter(entry -> query.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("{\"type\":\"FeatureCollection\",\"features\":[]}");
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            // El cliente cerró la conexión por timeout
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
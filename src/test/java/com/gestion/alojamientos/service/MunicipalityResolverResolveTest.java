@@ -0,0 +1,67 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.gestion.alojamientos.model.accomodation.Cities;
+import com.gestion.alojamientos.service.Impl.MunicipalityResolverImpl;
+
+/**
+ * Pruebas del índice de municipios. Los contornos son cuadrados de prueba, no límites reales.
+ */
+class MunicipalityResolverResolveTest {
+
+    private static MunicipalityResolver resolver(String features) {
+        String geojson = "{\"type\":\"FeatureCollection\",\"features\":[" + features + "]}";
+        return new MunicipalityResolverImpl(new ByteArrayResource(geojson.getBytes()));
+    }
+
+    private static String square(Cities city, double minLng, double minLat, double maxLng, double maxLat) {
+        return "{\"type\":\"Feature\",\"properties\":{\"city\":\"" + city + "\"},\"geometry\":{\"type\":\"Polygon\","
+                + "\"coordinates\":[[[" + minLng + "," + minLat + "],[" + maxLng + "," + minLat + "],[" + maxLng + ","
+                + maxLat + "],[" + minLng + "," + maxLat + "],[" + minLng + "," + minLat + "]]]}}";
+    }
+
+    @Test
+    void resolve_ShouldReturnContainingCity_AndEmptyOutside() {
+        MunicipalityResolver resolver = resolver(square(Cities.ARMENIA, 0, 0, 1, 1) + "," + square(Cities.SALENTO, 1, 0, 2, 1));
+
+        assertEquals(Optional.of(Cities.ARMENIA), resolver.resolve(0.5, 0.5));
+        assertEquals(Optional.of(Cities.SALENTO), resolver.resolve(0.5, 1.5));
+        assertEquals(Optional.empty(), resolver.resolve(5, 5));
+    }
+
+    @Test
+    void resolve_ShouldPreferSmallestOutline_WhenSeveralContainThePoint() {
+        MunicipalityResolver resolver = resolver(square(Cities.PEREIRA, 0, 0, 10, 10) + "," + square(Cities.CERRITOS, 2, 2, 3, 3));
+
+        assertEquals(Optional.of(Cities.CERRITOS), resolver.resolve(2.5, 2.5));
+        assertEquals(Optional.of(Cities.PEREIRA), resolver.resolve(5, 5));
+    }
+
+    @Test
+    void resolve_ShouldHonorHoles_InMultiPolygons() {
+        MunicipalityResolver custom = resolver("""
+                {"type":"Feature","properties":{"city":"SALENTO"},
+                 "geometry":{"type":"MultiPolygon","coordinates":[
+                  [[[0,0],[10,0],[10,10],[0,10],[0,0]],[[4,4],[6,4],[6,6],[4,6],[4,4]]],
+                  [[[20,20],[21,20],[21,21],[20,21],[20,20]]]]}}
+                """);
+
+        assertEquals(Optional.of(Cities.SALENTO), custom.resolve(2, 2));
+        assertEquals(Optional.empty(), custom.resolve(5, 5));
+        assertEquals(Optional.of(Cities.SALENTO), custom.resolve(20.5, 20.5));
+    }
+
+    @Test
+    void resolve_ShouldReturnEmpty_WhenNoGeoJsonIsConfigured() {
+        assertEquals(Optional.empty(), new MunicipalityResolverImpl(null).resolve(4.5339, -75.6811));
+        assertEquals(Optional.empty(), new MunicipalityResolverImpl(new ClassPathResource("geo/missing.geojson"))
+                .resolve(4.5339, -75.6811));
+    }
+}
@@ -0,0 +1,84 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.model.enums.StatesOfBooking;
+import com.gestion.alojamientos.repository.booking.BookingRepo;
+import com.gestion.alojamientos.service.Impl.PendingBookingExpiryServiceImpl;
+
+/**
+ * Pruebas del vencimiento de reservas PENDING (TTL de 30 minutos).
+ */
+@ExtendWith(MockitoExtension.class)
+class PendingBookingExpiryServiceExpireTest {
+
+    @Mock
+    private BookingRepo bookingRepo;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
+    private PendingBookingExpiryServiceImpl expiryService;
+
+    @BeforeEach
+    void setUp() {
+        expiryService = new PendingBookingExpiryServiceImpl(bookingRepo, availabilityService, bookingEventService, 30);
+    }
+
+    @Test
+    void expire_ShouldCancelAndReleaseNights_WhenStillPending() {
+        when(bookingEventService.expirePending(5L)).thenReturn(true);
+
+        assertTrue(expiryService.expire(5L, 10L));
+        verify(availabilityService).releaseBooking(10L, 5L);
+    }
+
+    @Test
+    void expire_ShouldDoNothing_WhenAlreadyConfirmed() {
+        when(bookingEventService.expirePending(5L)).thenReturn(false);
+
+        assertFalse(expiryService.expire(5L, 10L));
+        verify(availabilityService, never()).releaseBooking(any(), any());
+    }
+
+    @Test
+    void recoverPendingBookings_ShouldExpireOnlyHoldsPastTheirTtl() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, 10L, LocalDateTime.now().minusHours(2) });
+        rows.add(new Object[] { 2L, 20L, LocalDateTime.now().minusMinutes(5) });
+        when(bookingRepo.findHoldsByState(StatesOfBooking.PENDING)).thenReturn(rows);
+        when(bookingEventService.expirePending(1L)).thenReturn(true);
+
+        assertEquals(2, expiryService.recoverPendingBookings());
+        assertEquals(1, expiryService.expireDue());
+
+        verify(availabilityService).releaseBooking(10L, 1L);
+        verify(bookingEventService, never()).expirePending(2L);
+    }
+
+    @Test
+    void expireDue_ShouldRetryLater_WhenDatabaseFails() {
+        expiryService.schedule(3L, 30L, LocalDateTime.now().minusHours(1));
+        when(bookingEventService.expirePending(3L)).thenThrow(new RuntimeException("sin conexión"));
+
+        assertEquals(0, expiryService.expireDue());
+        // El reintento queda programado a futuro, no se vuelve a intentar de inmediato
+        assertEquals(0, expiryService.expireDue());
+        verify(bookingEventService, times(1)).expirePending(3L);
+    }
+}
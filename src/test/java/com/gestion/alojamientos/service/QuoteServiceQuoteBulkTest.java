@@ -0,0 +1,125 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.booking.QuoteDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.SeasonalPriceRule;
+import com.gestion.alojamientos.model.transaction.TypeFee;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.SeasonalPriceRuleRepo;
+import com.gestion.alojamientos.service.Impl.QuoteServiceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Pruebas de la cotización masiva desde el calendario de precios en caché.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuoteServiceQuoteBulkTest {
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @Mock
+    private SeasonalPriceRuleRepo seasonalPriceRuleRepo;
+
+    @InjectMocks
+    private QuoteServiceImpl quoteService;
+
+    private LocalDate checkIn;
+
+    @BeforeEach
+    void setUp() {
+        checkIn = LocalDate.now().plusDays(10);
+    }
+
+    private List<Object[]> pricingRows() {
+        List<Object[]> rows = new ArrayList<>();
+        // id, precio base, descuento semanal, descuento mensual, tarifa de servicio, nivel
+        rows.add(new Object[] { 1L, 100.0, 10.0, null, 5.0, TypeFee.GOLD });
+        rows.add(new Object[] { 2L, null, null, null, null, null });
+        return rows;
+    }
+
+    private SeasonalPriceRule highSeason() {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(1L);
+        return SeasonalPriceRule.builder()
+            .accomodation(accommodation)
+            .startDate(checkIn.plusDays(2))
+            .endDate(checkIn.plusDays(3))
+            .nightlyPrice(150.0)
+            .adjustmentPercent(20.0)
+            .build();
+    }
+
+    @Test
+    void quoteBulk_ShouldApplySeasonsDiscountAndServiceFee() {
+        when(accommodationRepo.findPricingByIds(anyCollection())).thenReturn(pricingRows());
+        when(seasonalPriceRuleRepo.findActiveByAccommodationIds(anyCollection(), any())).thenReturn(List.of(highSeason()));
+
+        List<QuoteDTO> quotes = quoteService.quoteBulk(List.of(1L, 2L, 3L), checkIn, checkIn.plusDays(7));
+
+        // 5 noches a 100 + 2 noches a 150 * 1.2 = 860; 10% semanal = 86; tarifa 5% sobre 774 = 38.7
+        assertEquals(1, quotes.size());
+        QuoteDTO quote = quotes.get(0);
+        assertEquals(7, quote.nights());
+        assertEquals(860.0, quote.subTotal());
+        assertEquals(86.0, quote.discount());
+        assertEquals(38.7, quote.serviceFee());
+        assertEquals(812.7, quote.total());
+        assertEquals("GOLD", quote.feeTier());
+    }
+
+    @Test
+    void quoteBulk_ShouldServeRepeatedQuotesFromCache() {
+        when(accommodationRepo.findPricingByIds(anyCollection())).thenReturn(pricingRows());
+        when(seasonalPriceRuleRepo.findActiveByAccommodationIds(anyCollection(), any())).thenReturn(List.of());
+
+        quoteService.quoteBulk(List.of(1L, 2L), checkIn, checkIn.plusDays(2));
+        List<QuoteDTO> quotes = quoteService.quoteBulk(List.of(1L, 2L), checkIn.plusDays(30), checkIn.plusDays(33));
+
+        assertEquals(300.0, quotes.get(0).subTotal());
+        verify(accommodationRepo, times(1)).findPricingByIds(anyCollection());
+        verify(seasonalPriceRuleRepo, times(1)).findActiveByAccommodationIds(anyCollection(), any());
+    }
+
+    @Test
+    void quote_ShouldReturnNull_WhenAccommodationHasNoPrice() {
+        when(accommodationRepo.findPricingByIds(anyCollection())).thenReturn(pricingRows());
+
+        assertNull(quoteService.quote(2L, checkIn, checkIn.plusDays(1)));
+    }
+
+    @Test
+    void quote_ShouldThrowEntityNotFound_WhenAccommodationDoesNotExist() {
+        when(accommodationRepo.findPricingByIds(anyCollection())).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> quoteService.quote(9L, checkIn, checkIn.plusDays(1)));
+    }
+
+    @Test
+    void quoteBulk_ShouldThrowIllegalArgumentException_WhenTooManyIdsOrInvalidDates() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 0; i < 51; i++) {
+            ids.add(i);
+        }
+        assertThrows(IllegalArgumentException.class, () -> quoteService.quoteBulk(ids, checkIn, checkIn.plusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> quoteService.quoteBulk(List.of(1L), checkIn, checkIn));
+        verifyNoInteractions(accommodationRepo, seasonalPriceRuleRepo);
+    }
+}
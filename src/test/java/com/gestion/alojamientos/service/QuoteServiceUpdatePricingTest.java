@@ -0,0 +1,98 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.gestion.alojamientos.dto.accommodation.AccommodationPricingDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.users.Host;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.SeasonalPriceRuleRepo;
+import com.gestion.alojamientos.service.Impl.QuoteServiceImpl;
+
+/**
+ * Pruebas de los permisos para reemplazar la tarifa de un alojamiento.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuoteServiceUpdatePricingTest {
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @Mock
+    private SeasonalPriceRuleRepo seasonalPriceRuleRepo;
+
+    @InjectMocks
+    private QuoteServiceImpl quoteService;
+
+    private AccommodationPricingDTO pricing;
+
+    @BeforeEach
+    void setUp() {
+        Host host = new Host();
+        host.setId(7L);
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(1L);
+        accommodation.setHost(host);
+        when(accommodationRepo.findById(1L)).thenReturn(Optional.of(accommodation));
+
+        pricing = new AccommodationPricingDTO(120.0, 10.0, 20.0, List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticateAs(String role, Long userId) {
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                "user@test.com", null, List.of(new SimpleGrantedAuthority(role)));
+        auth.setDetails(userId);
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
+    @Test
+    void updatePricing_ShouldSave_WhenOwnerIsHost() {
+        authenticateAs("ROLE_HOST", 7L);
+
+        quoteService.updatePricing(1L, 7L, pricing);
+
+        verify(accommodationRepo).save(argThat(a -> a.getBasePricePerNight().equals(120.0)));
+        verify(seasonalPriceRuleRepo).deleteByAccommodationId(1L);
+    }
+
+    @Test
+    void updatePricing_ShouldThrowAccessDenied_WhenGuestIdMatchesHostId() {
+        authenticateAs("ROLE_GUEST", 7L);
+
+        assertThrows(AccessDeniedException.class, () -> quoteService.updatePricing(1L, 7L, pricing));
+
+        verify(accommodationRepo, never()).save(any());
+        verifyNoInteractions(seasonalPriceRuleRepo);
+    }
+
+    @Test
+    void updatePricing_ShouldThrowAccessDenied_WhenHostIsNotOwner() {
+        authenticateAs("ROLE_HOST", 8L);
+
+        assertThrows(AccessDeniedException.class, () -> quoteService.updatePricing(1L, 8L, pricing));
+
+        verify(accommodationRepo, never()).save(any());
+    }
+}
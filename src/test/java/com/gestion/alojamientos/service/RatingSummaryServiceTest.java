@@ -0,0 +1,207 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.gestion.alojamientos.dto.accommodation.TopRatedAccommodationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.AccommodationCalificationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.CreateAccommodationCalificationDTO;
+import com.gestion.alojamientos.dto.accommodation.CalificationAccommodation.RatingSummaryDTO;
+import com.gestion.alojamientos.mapper.accomodation.AccommodationCalificationMapper;
+import com.gestion.alojamientos.model.accomodation.AccommodationRatingSummary;
+import com.gestion.alojamientos.model.accomodation.AccomodationCalification;
+import com.gestion.alojamientos.model.accomodation.AccomodationType;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.RatingTotals;
+import com.gestion.alojamientos.model.users.Host;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRatingSummaryRepo;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.repository.accomodation.AccomodationCalificationRepo;
+import com.gestion.alojamientos.repository.accomodation.HostRatingSummaryRepo;
+import com.gestion.alojamientos.service.Impl.RatingSummaryServiceImpl;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Pruebas de las calificaciones con resúmenes incrementales: alta, baja, caché de lectura y mejor calificados.
+ */
+@ExtendWith(MockitoExtension.class)
+class RatingSummaryServiceTest {
+
+    @Mock
+    private AccomodationCalificationRepo calificationRepo;
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @Mock
+    private AccommodationRatingSummaryRepo accommodationSummaryRepo;
+
+    @Mock
+    private HostRatingSummaryRepo hostSummaryRepo;
+
+    @Mock
+    private AccommodationDetailService accommodationDetailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RatingSummaryServiceImpl ratingService;
+    private Accomodation accommodation;
+
+    @BeforeEach
+    void setUp() {
+        ratingService = new RatingSummaryServiceImpl(calificationRepo, accommodationRepo, accommodationSummaryRepo,
+                hostSummaryRepo, Mappers.getMapper(AccommodationCalificationMapper.class), accommodationDetailService,
+                transactionManager, 100, 300);
+
+        accommodation = new Accomodation();
+        accommodation.setId(1L);
+        Host host = new Host();
+        host.setId(3L);
+        accommodation.setHost(host);
+    }
+
+    @Test
+    void addRating_ShouldSaveWithAverage_AndAddToBothSummaries() {
+        when(accommodationRepo.findById(1L)).thenReturn(Optional.of(accommodation));
+        when(calificationRepo.save(any(AccomodationCalification.class))).thenAnswer(invocation -> {
+            AccomodationCalification saved = invocation.getArgument(0);
+            saved.setId(50L);
+            return saved;
+        });
+
+        AccommodationCalificationDTO result = ratingService.addRating(new CreateAccommodationCalificationDTO(5, 4, 5, 3, 1L, 4));
+
+        assertEquals(50L, result.id());
+        assertEquals(1L, result.idAccommodation());
+        assertEquals(4.2, result.prom(), 1e-9);
+        verify(accommodationSummaryRepo).addToTotals(eq(1L), eq(3L), argThat(calification ->
+                calification.getId() == 50L && calification.getCleanliness() == 5 && calification.getCommunicationHost() == 4));
+        verify(accommodationDetailService).invalidate(1L);
+    }
+
+    @Test
+    void addRating_ShouldRejectScoresOutOfRange() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ratingService.addRating(new CreateAccommodationCalificationDTO(5, 6, 5, 3, 1L, 4)));
+
+        assertEquals("La calificación de comodidad debe estar entre 1 y 5", exception.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> ratingService.addRating(new CreateAccommodationCalificationDTO(5, 4, null, 3, 1L, 4)));
+        verifyNoInteractions(calificationRepo, accommodationSummaryRepo, accommodationDetailService);
+    }
+
+    @Test
+    void addRating_ShouldThrowEntityNotFound_WhenAccommodationMissing() {
+        when(accommodationRepo.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> ratingService.addRating(new CreateAccommodationCalificationDTO(5, 4, 5, 3, 99L, 4)));
+        verifyNoInteractions(calificationRepo, accommodationSummaryRepo);
+    }
+
+    @Test
+    void removeRating_ShouldDelete_AndSubtractFromBothSummaries() {
+        AccomodationCalification calification = AccomodationCalification.builder()
+                .id(50L).cleanliness(5).comfort(4).location(5).accuracyOfListing(3).communicationHost(4).prom(4.2)
+                .accomodation(accommodation).build();
+        when(calificationRepo.findById(50L)).thenReturn(Optional.of(calification));
+
+        ratingService.removeRating(50L);
+
+        verify(calificationRepo).delete(calification);
+        verify(accommodationSummaryRepo).subtractFromTotals(1L, 3L, calification);
+        verify(accommodationDetailService).invalidate(1L);
+    }
+
+    @Test
+    void getAccommodationSummary_ShouldServeFromMemory_UntilRatingChanges() {
+        when(accommodationSummaryRepo.findById(1L)).thenReturn(Optional.of(summaryRow(1L, 2, 8.4, 9, 8, 10, 6, 9)));
+
+        RatingSummaryDTO summary = ratingService.getAccommodationSummary(1L);
+        assertEquals(new RatingSummaryDTO(1L, 2L, 4.2, 4.5, 4.0, 5.0, 3.0, 4.5), summary);
+        assertEquals(summary, ratingService.getAccommodationSummary(1L));
+        verify(accommodationSummaryRepo, times(1)).findById(1L);
+
+        // Sin transacción activa la caché se descarta de inmediato
+        when(calificationRepo.findById(50L)).thenReturn(Optional.of(AccomodationCalification.builder()
+                .id(50L).cleanliness(5).comfort(4).location(5).accuracyOfListing(3).communicationHost(4).prom(4.2)
+                .accomodation(accommodation).build()));
+        ratingService.removeRating(50L);
+        ratingService.getAccommodationSummary(1L);
+        verify(accommodationSummaryRepo, times(2)).findById(1L);
+    }
+
+    @Test
+    void getAccommodationSummaries_ShouldLoadMissingInOneQuery_AndOmitUnrated() {
+        when(accommodationSummaryRepo.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(summaryRow(1L, 1, 5.0, 5, 5, 5, 5, 5)));
+
+        Map<Long, RatingSummaryDTO> summaries = ratingService.getAccommodationSummaries(List.of(1L, 2L));
+
+        assertEquals(1, summaries.size());
+        assertEquals(5.0, summaries.get(1L).averageRating());
+        // Ambos quedan en caché, también el que no tiene calificaciones
+        assertEquals(0L, ratingService.getAccommodationSummary(2L).ratingCount());
+        ratingService.getAccommodationSummaries(List.of(1L, 2L));
+        verify(accommodationSummaryRepo, times(1)).findAllById(any());
+        verify(accommodationSummaryRepo, never()).findById(any());
+    }
+
+    @Test
+    void getHostSummary_ShouldReturnEmptySummary_WhenHostHasNoRatings() {
+        when(hostSummaryRepo.findById(3L)).thenReturn(Optional.empty());
+
+        assertEquals(new RatingSummaryDTO(3L, 0L, null, null, null, null, null, null), ratingService.getHostSummary(3L));
+    }
+
+    @Test
+    void getTopRated_ShouldMapRowsWithMainPhoto() {
+        when(accommodationSummaryRepo.findTopRatedRows(eq(3L), any(Pageable.class))).thenReturn(List.of(
+                new Object[]{2L, "Cabaña", AccomodationType.FARMHOUSE, 4.9, 12L},
+                new Object[]{1L, "Casa de Playa", AccomodationType.HOUSE, 4.5, 30L}));
+        when(accommodationRepo.findPhotosByAccommodationIds(List.of(2L, 1L))).thenReturn(List.of(
+                new Object[]{2L, "cabana1.jpg"}, new Object[]{2L, "cabana2.jpg"}));
+
+        List<TopRatedAccommodationDTO> top = ratingService.getTopRated(3, 10);
+
+        assertEquals(List.of(
+                new TopRatedAccommodationDTO(2L, "Cabaña", "FARMHOUSE", "cabana1.jpg", 4.9, 12L),
+                new TopRatedAccommodationDTO(1L, "Casa de Playa", "HOUSE", null, 4.5, 30L)), top);
+        assertThrows(IllegalArgumentException.class, () -> ratingService.getTopRated(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> ratingService.getTopRated(3, 101));
+    }
+
+    private static AccommodationRatingSummary summaryRow(Long id, long count, double promSum, long cleanliness,
+                                                         long comfort, long location, long accuracy, long communication) {
+        return AccommodationRatingSummary.builder()
+                .accommodationId(id)
+                .hostId(3L)
+                .totals(RatingTotals.builder()
+                        .ratingCount(count)
+                        .promSum(promSum)
+                        .cleanlinessSum(cleanliness)
+                        .comfortSum(comfort)
+                        .locationSum(location)
+                        .accuracySum(accuracy)
+                        .communicationSum(communication)
+                        .averageRating(promSum / count)
+                        .build())
+                .build();
+    }
+}
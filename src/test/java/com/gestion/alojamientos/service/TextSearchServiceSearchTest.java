@@ -0,0 +1,151 @@
+package com.gestion.alojamientos.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.gestion.alojamientos.dto.accommodation.TextSearchHitDTO;
+import com.gestion.alojamientos.model.accomodation.Accomodation;
+import com.gestion.alojamientos.model.accomodation.ApprovalStatus;
+import com.gestion.alojamientos.model.accomodation.OperationalStatus;
+import com.gestion.alojamientos.model.accomodation.Services;
+import com.gestion.alojamientos.repository.accomodation.AccommodationRepo;
+import com.gestion.alojamientos.service.Impl.TextSearchServiceImpl;
+
+/**
+ * Pruebas del índice de texto: normalización en español, BM25, prefijos, cambios incrementales y copia en disco.
+ */
+@ExtendWith(MockitoExtension.class)
+class TextSearchServiceSearchTest {
+
+    @Mock
+    private AccommodationRepo accommodationRepo;
+
+    @TempDir
+    Path tempDir;
+
+    private TextSearchServiceImpl textSearchService;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 1L, "Cabaña campestre en Salento", "No se permiten mascotas" });
+        rows.add(new Object[] { 2L, "Apartamento céntrico en Armenia", "Silencio después de las 10 pm" });
+        rows.add(new Object[] { 3L, "Finca cafetera con piscina", "Cabañas independientes para familias" });
+        rows.add(new Object[] { 4L, "Hotel boutique", null });
+        List<Object[]> services = new ArrayList<>();
+        services.add(new Object[] { 2L, "Wifi" });
+        services.add(new Object[] { 4L, "Piscina climatizada" });
+        services.add(new Object[] { 4L, "Desayuno incluido" });
+        lenient().when(accommodationRepo.findTextIndexableAccommodations()).thenReturn(rows);
+        lenient().when(accommodationRepo.findTextIndexableServiceNames()).thenReturn(services);
+
+        textSearchService = new TextSearchServiceImpl(accommodationRepo, tempDir.resolve("text-index.snapshot").toString());
+        textSearchService.reloadIndex();
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsCaseAndPlurals() {
+        assertEquals(List.of(1L, 3L), ids(textSearchService.search("CABANAS ", 10)));
+        assertEquals(List.of(2L), ids(textSearchService.search("centrico ", 10)));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveHouseRules() {
+        List<TextSearchHitDTO> hits = textSearchService.search("cabaña ", 10);
+
+        assertEquals(1L, hits.get(0).accommodationId());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_ShouldRequireEveryWord_AndIndexServiceNames() {
+        assertEquals(List.of(4L), ids(textSearchService.search("piscina desayuno ", 10)));
+        assertEquals(List.of(3L, 4L), ids(textSearchService.search("piscina ", 10)).stream().sorted().toList());
+        assertTrue(textSearchService.search("piscina mascotas ", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldTreatLastWordAsPrefix_WhileTyping() {
+        assertEquals(List.of(1L, 3L), ids(textSearchService.search("caba", 10)).stream().sorted().toList());
+        assertEquals(List.of(4L), ids(textSearchService.search("piscina de", 10)));
+        // Con espacio final la palabra está completa: "caba" no es ninguna raíz indexada
+        assertTrue(textSearchService.search("caba ", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldReflectIncrementalChanges() {
+        textSearchService.upsert(accommodation(5L, "Glamping en Filandia", ApprovalStatus.APPROVED,
+                List.of("Jacuzzi")));
+        textSearchService.upsert(accommodation(1L, "Casa de campo en Salento", ApprovalStatus.APPROVED, List.of()));
+        textSearchService.remove(4L);
+        textSearchService.upsert(accommodation(2L, "Apartamento céntrico", ApprovalStatus.PENDING, List.of()));
+
+        assertEquals(List.of(5L), ids(textSearchService.search("jacuzzi", 10)));
+        assertEquals(List.of(3L), ids(textSearchService.search("cabaña ", 10)));
+        assertTrue(textSearchService.search("hotel ", 10).isEmpty());
+        assertTrue(textSearchService.search("apartamento ", 10).isEmpty());
+    }
+
+    @Test
+    void reloadIndex_ShouldKeepChangesCommittedWhileTheSnapshotIsRead() {
+        List<Object[]> rows = accommodationRepo.findTextIndexableAccommodations();
+        // El alta y la baja llegan después de la consulta de la recarga, que ya no las ve
+        when(accommodationRepo.findTextIndexableAccommodations()).thenAnswer(invocation -> {
+            textSearchService.upsert(accommodation(5L, "Glamping en Filandia", ApprovalStatus.APPROVED, List.of()));
+            textSearchService.remove(4L);
+            return rows;
+        });
+        textSearchService.reloadIndex();
+
+        assertEquals(List.of(5L), ids(textSearchService.search("glamping ", 10)));
+        assertTrue(textSearchService.search("hotel ", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRestoreSameResults_FromSnapshot() {
+        textSearchService.upsert(accommodation(5L, "Glamping en Filandia", ApprovalStatus.APPROVED, List.of()));
+        List<TextSearchHitDTO> before = textSearchService.search("glamping filandia", 10);
+        textSearchService.saveOnShutdown();
+
+        TextSearchServiceImpl restarted = new TextSearchServiceImpl(accommodationRepo,
+                tempDir.resolve("text-index.snapshot").toString());
+        restarted.loadOnStartup();
+
+        assertEquals(before, restarted.search("glamping filandia", 10));
+        assertEquals(ids(textSearchService.search("piscina ", 10)), ids(restarted.search("piscina ", 10)));
+        // La carga desde disco no consulta la base de datos
+        verify(accommodationRepo, times(1)).findTextIndexableAccommodations();
+    }
+
+    @Test
+    void search_ShouldHonorLimit_AndIgnoreStopWordOnlyQueries() {
+        assertEquals(1, textSearchService.search("cabañas ", 1).size());
+        assertTrue(textSearchService.search("de la en ", 10).isEmpty());
+        assertTrue(textSearchService.search("   ", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<TextSearchHitDTO> hits) {
+        return hits.stream().map(TextSearchHitDTO::accommodationId).toList();
+    }
+
+    private static Accomodation accommodation(Long id, String title, ApprovalStatus status, List<String> services) {
+        Accomodation accommodation = new Accomodation();
+        accommodation.setId(id);
+        accommodation.setTitle(title);
+        accommodation.setApprovalStatus(status);
+        accommodation.setOperationalStatus(OperationalStatus.ACTIVE);
+        accommodation.setServicesList(services.stream().map(name -> Services.builder().name(name).build()).toList());
+        return accommodation;
+    }
+}
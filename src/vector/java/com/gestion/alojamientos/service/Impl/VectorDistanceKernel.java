@@ -0,0 +1,43 @@
+package com.gestion.alojamientos.service.Impl;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Ruta vectorizada de {@link DistanceKernel}. Se compila solo con el perfil vector y
+ * DistanceKernel la carga por reflexión cuando el módulo jdk.incubator.vector está presente.
+ */
+final class VectorDistanceKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorDistanceKernel() {
+    }
+
+    static int laneCount() {
+        return SPECIES.length();
+    }
+
+    static void distancesKm(double originLatRad, double originLngRad, DistanceKernel.PointBatch batch, double[] out) {
+        double[] latRad = batch.latRad();
+        double[] lngRad = batch.lngRad();
+        double[] cosLat = batch.cosLat();
+        int n = batch.size();
+        double originCos = Math.cos(originLatRad);
+        double diameter = 2 * DistanceKernel.EARTH_RADIUS_KM;
+
+        int i = 0;
+        int upperBound = SPECIES.loopBound(n);
+        for (; i < upperBound; i += SPECIES.length()) {
+            DoubleVector sinDLat = DoubleVector.fromArray(SPECIES, latRad, i)
+                    .sub(originLatRad).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector sinDLng = DoubleVector.fromArray(SPECIES, lngRad, i)
+                    .sub(originLngRad).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector a = sinDLat.mul(sinDLat)
+                    .add(DoubleVector.fromArray(SPECIES, cosLat, i).mul(originCos).mul(sinDLng.mul(sinDLng)));
+            a.sqrt().min(1.0).lanewise(VectorOperators.ASIN).mul(diameter).intoArray(out, i);
+        }
+        DistanceKernel.scalarRange(originLatRad, originLngRad, batch, out, i, n);
+    }
+}